@@ -0,0 +1,75 @@
+package jbse.bc;
+
+import static jbse.bc.ClassLoaders.CLASSLOADER_APP;
+import static jbse.bc.ClassLoaders.CLASSLOADER_BOOT;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jbse.jvm.BenchmarkEngines;
+
+/**
+ * Benchmarks {@link ClassHierarchy#loadCreateClass(int, String, boolean)}, 
+ * both cold (on a fresh {@link ClassHierarchy}, so the classfiles must be 
+ * read and parsed along with all their superclasses and superinterfaces)
+ * and warm (on a {@link ClassHierarchy} where the class is already loaded).
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class ClassHierarchyLoadCreateClassBenchmark {
+    private static final String CLASS_APP = "tsafe/main/SimpleCalculator";
+    private static final String CLASS_BOOT = "java/util/HashMap";
+    
+    private Classpath cp;
+    private ClassHierarchy hierCold;
+    private ClassHierarchy hierWarm;
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        final ArrayList<Path> userPaths = new ArrayList<>();
+        userPaths.add(Paths.get("src/test/resources/jbse/bc/testdata"));
+        this.cp = new Classpath(Paths.get(BenchmarkEngines.JBSE_LIB_PATH), Paths.get(System.getProperty("java.home", "")), Collections.emptyList(), userPaths);
+        this.hierWarm = mkClassHierarchy();
+        this.hierWarm.loadCreateClass(CLASSLOADER_APP, CLASS_APP, true);
+        this.hierWarm.loadCreateClass(CLASSLOADER_BOOT, CLASS_BOOT, true);
+    }
+    
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws Exception {
+        this.hierCold = mkClassHierarchy();
+    }
+    
+    private ClassHierarchy mkClassHierarchy() throws Exception {
+        return new ClassHierarchy(this.cp, ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap());
+    }
+    
+    @Benchmark
+    public ClassFile loadCreateClassAppCold() throws Exception {
+        return this.hierCold.loadCreateClass(CLASSLOADER_APP, CLASS_APP, true);
+    }
+    
+    @Benchmark
+    public ClassFile loadCreateClassBootCold() throws Exception {
+        return this.hierCold.loadCreateClass(CLASSLOADER_BOOT, CLASS_BOOT, true);
+    }
+    
+    @Benchmark
+    public ClassFile loadCreateClassAppWarm() throws Exception {
+        return this.hierWarm.loadCreateClass(CLASSLOADER_APP, CLASS_APP, true);
+    }
+    
+    @Benchmark
+    public ClassFile loadCreateClassBootWarm() throws Exception {
+        return this.hierWarm.loadCreateClass(CLASSLOADER_BOOT, CLASS_BOOT, true);
+    }
+}
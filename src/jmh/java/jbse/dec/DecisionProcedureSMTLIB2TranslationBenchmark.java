@@ -0,0 +1,117 @@
+package jbse.dec;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jbse.common.Type;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.val.Primitive;
+import jbse.val.Term;
+
+/**
+ * Benchmarks the translation of clauses to SMT-LIB2 performed by 
+ * {@link DecisionProcedureExternalInterfaceSMTLIB2_AUFNIRA#sendClauseAssume(Primitive)}.
+ * Since the translation does not talk to the solver, the solver
+ * is replaced by a stub {@link Process}, that runs in the benchmark 
+ * JVM and answers {@code success} to everything.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class DecisionProcedureSMTLIB2TranslationBenchmark {
+    private static final class SolverStub extends Process {
+        private static final byte[] SUCCESS = "success\n".getBytes(StandardCharsets.US_ASCII);
+        
+        private final InputStream in = new InputStream() {
+            private int pos = 0;
+            
+            @Override
+            public int read() {
+                final int retVal = SUCCESS[this.pos];
+                this.pos = (this.pos + 1) % SUCCESS.length;
+                return retVal;
+            }
+        };
+        
+        private final OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                //discards everything
+            }
+        };
+        
+        @Override
+        public OutputStream getOutputStream() {
+            return this.out;
+        }
+        
+        @Override
+        public InputStream getInputStream() {
+            return this.in;
+        }
+        
+        @Override
+        public InputStream getErrorStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        
+        @Override
+        public int waitFor() {
+            return 0;
+        }
+        
+        @Override
+        public int exitValue() {
+            return 0;
+        }
+        
+        @Override
+        public void destroy() {
+            //nothing to do
+        }
+    }
+    
+    private DecisionProcedureExternalInterfaceSMTLIB2_AUFNIRA extIf;
+    private Primitive clauseLinear;
+    private Primitive clauseNonlinear;
+    
+    @Setup
+    public void setUp() throws Exception {
+        final CalculatorRewriting calc = new CalculatorRewriting();
+        calc.addRewriter(new RewriterOperationOnSimplex());
+        this.extIf = new DecisionProcedureExternalInterfaceSMTLIB2_AUFNIRA(calc, new SolverStub());
+        final Term A = calc.valTerm(Type.INT, "A");
+        final Term B = calc.valTerm(Type.INT, "B");
+        final Term C = calc.valTerm(Type.INT, "C");
+        final Term D = calc.valTerm(Type.DOUBLE, "D");
+        
+        //A + 2 * B - C >= 0 && A < C
+        this.clauseLinear = calc.push(A).add(calc.pushInt(2).mul(B).pop()).sub(C).ge(calc.valInt(0))
+                                .and(calc.push(A).lt(C).pop()).pop();
+        
+        //A * B / C != 3 && (double) A * D > 1.5
+        this.clauseNonlinear = calc.push(A).mul(B).div(C).ne(calc.valInt(3))
+                                   .and(calc.push(A).widen(Type.DOUBLE).mul(D).gt(calc.valDouble(1.5)).pop()).pop();
+    }
+    
+    @Benchmark
+    public void translateLinear() throws Exception {
+        this.extIf.sendClauseAssume(this.clauseLinear);
+        this.extIf.retractClause();
+    }
+    
+    @Benchmark
+    public void translateNonlinear() throws Exception {
+        this.extIf.sendClauseAssume(this.clauseNonlinear);
+        this.extIf.retractClause();
+    }
+}
@@ -0,0 +1,121 @@
+package jbse.jvm;
+
+import java.io.File;
+
+import jbse.common.exc.InvalidInputException;
+import jbse.dec.DecisionProcedureAlgorithms;
+import jbse.dec.DecisionProcedureAlwSat;
+import jbse.dec.DecisionProcedureClassInit;
+import jbse.mem.State;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.rules.ClassInitRulesRepo;
+import jbse.val.Calculator;
+
+/**
+ * Utility methods for building the {@link Engine}s
+ * used by the benchmarks. The benchmarks must be run 
+ * from the project root directory by the {@code jmh} 
+ * task, that passes to the benchmark JVM the paths of 
+ * the classes of JBSE and of the benchmarks as the 
+ * {@code jbse.lib.path} and {@code jbse.jmh.classpath} 
+ * system properties.
+ */
+public final class BenchmarkEngines {
+    /** The path of the JBSE classes. */
+    public static final String JBSE_LIB_PATH = property("jbse.lib.path");
+    
+    /** The paths of the benchmarks classes, including the target programs. */
+    public static final String[] BENCHMARKS_PATH = property("jbse.jmh.classpath").split(File.pathSeparator);
+    
+    private static String property(String name) {
+        final String retVal = System.getProperty(name);
+        if (retVal == null) {
+            throw new IllegalStateException("The system property " + name + " is not set, run the benchmarks with the jmh task.");
+        }
+        return retVal;
+    }
+    
+    /**
+     * Builds the {@link EngineParameters} for the symbolic
+     * execution of a method of a target program.
+     * 
+     * @param className a {@link String}, the name of the class of the method.
+     * @param descriptor a {@link String}, the descriptor of the method.
+     * @param methodName a {@link String}, the name of the method.
+     * @return an {@link EngineParameters}.
+     * @throws InvalidInputException if the construction of the 
+     *         decision procedure fails (should never happen).
+     */
+    public static EngineParameters mkParameters(String className, String descriptor, String methodName) 
+    throws InvalidInputException {
+        final CalculatorRewriting calc = mkCalculator();
+        final EngineParameters retVal = new EngineParameters();
+        retVal.setJBSELibPath(JBSE_LIB_PATH);
+        retVal.addUserClasspath(BENCHMARKS_PATH);
+        retVal.setCalculator(calc);
+        retVal.setDecisionProcedure(mkDecisionProcedure(calc));
+        retVal.setMethodSignature(className, descriptor, methodName);
+        return retVal;
+    }
+    
+    /**
+     * Builds the {@link EngineParameters} for the symbolic
+     * execution starting from a state.
+     * 
+     * @param stateStart the starting {@link State}. It is
+     *        cloned.
+     * @param fuseSuperinstructions a {@code boolean}, 
+     *        whether the frequent bytecode idioms shall
+     *        be fused.
+     * @return an {@link EngineParameters}.
+     * @throws InvalidInputException if the construction of the 
+     *         decision procedure fails (should never happen).
+     */
+    public static EngineParameters mkParameters(State stateStart, boolean fuseSuperinstructions) 
+    throws InvalidInputException {
+        final CalculatorRewriting calc = mkCalculator();
+        final EngineParameters retVal = new EngineParameters();
+        retVal.setStartingState(stateStart.clone());
+        retVal.setCalculator(calc);
+        retVal.setDecisionProcedure(mkDecisionProcedure(calc));
+        retVal.setFuseSuperinstructions(fuseSuperinstructions);
+        return retVal;
+    }
+    
+    /**
+     * Symbolically executes the pre-initial phase of a
+     * target method and returns its initial state.
+     * 
+     * @param parameters the {@link EngineParameters} of 
+     *        the target method. 
+     * @return the initial {@link State}.
+     * @throws Exception if the symbolic execution fails.
+     */
+    public static State stateInitial(EngineParameters parameters) throws Exception {
+        try (final Engine engine = new EngineBuilder().build(parameters)) {
+            while (!engine.atInitialState()) {
+                engine.step();
+            }
+            return engine.getCurrentState().clone();
+        }
+    }
+    
+    private static CalculatorRewriting mkCalculator() {
+        final CalculatorRewriting calc = new CalculatorRewriting();
+        calc.addRewriter(new RewriterOperationOnSimplex());
+        return calc;
+    }
+    
+    private static DecisionProcedureAlgorithms mkDecisionProcedure(Calculator calc) 
+    throws InvalidInputException {
+        return new DecisionProcedureAlgorithms(new DecisionProcedureClassInit(new DecisionProcedureAlwSat(calc), new ClassInitRulesRepo()));
+    }
+    
+    /**
+     * Do not instantiate!
+     */
+    private BenchmarkEngines() {
+        //nothing to do
+    }
+}
@@ -0,0 +1,67 @@
+package jbse.jvm;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import jbse.jvm.testdata.ConcreteLoops;
+
+/**
+ * Benchmarks {@link Engine#step()} on the concrete loops
+ * of {@link ConcreteLoops}, with and without superinstruction
+ * fusion. The primary score is the number of complete executions
+ * of {@link ConcreteLoops#run()} per second; the {@code steps} 
+ * secondary score is the number of steps per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class EngineStepBenchmark {
+    @Param({"false", "true"})
+    public boolean fuseSuperinstructions;
+    
+    private jbse.mem.State stateInitial;
+    private Engine engine;
+    
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long steps;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.steps = 0;
+        }
+    }
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        final String className = ConcreteLoops.class.getName().replace('.', '/');
+        this.stateInitial = BenchmarkEngines.stateInitial(BenchmarkEngines.mkParameters(className, "()I", "run"));
+    }
+    
+    @Setup(Level.Invocation)
+    public void setUpInvocation() throws Exception {
+        this.engine = new EngineBuilder().build(BenchmarkEngines.mkParameters(this.stateInitial, this.fuseSuperinstructions));
+    }
+    
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() throws Exception {
+        this.engine.close();
+    }
+    
+    @Benchmark
+    public jbse.mem.State stepConcreteLoops(Counters counters) throws Exception {
+        while (this.engine.canStep()) {
+            this.engine.step();
+            ++counters.steps;
+        }
+        return this.engine.getCurrentState();
+    }
+}
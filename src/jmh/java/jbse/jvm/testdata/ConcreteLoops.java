@@ -0,0 +1,48 @@
+package jbse.jvm.testdata;
+
+/**
+ * Target of the {@link jbse.jvm.EngineStepBenchmark}: a 
+ * few loops over concrete data, exercising the frequent 
+ * bytecode idioms.
+ */
+public class ConcreteLoops {
+    private int[] data;
+    private int scale;
+
+    public ConcreteLoops(int size, int scale) {
+        this.data = new int[size];
+        this.scale = scale;
+    }
+
+    private void fill() {
+        for (int i = 0; i < this.data.length; ++i) {
+            this.data[i] = i * this.scale;
+        }
+    }
+
+    private int sum() {
+        final int[] a = this.data;
+        int acc = 0;
+        for (int i = 0; i < a.length; ++i) {
+            final int x = a[i];
+            acc = acc + x;
+        }
+        return acc;
+    }
+
+    private int countMultiples() {
+        int count = 0;
+        for (int i = 0; i < this.data.length; ++i) {
+            if (this.data[i] % 5 == 3) {
+                count = count + 1;
+            }
+        }
+        return count;
+    }
+
+    public static int run() {
+        final ConcreteLoops l = new ConcreteLoops(200, 7);
+        l.fill();
+        return l.sum() + l.countMultiples();
+    }
+}
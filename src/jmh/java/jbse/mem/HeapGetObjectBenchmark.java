@@ -0,0 +1,71 @@
+package jbse.mem;
+
+import static jbse.bc.ClassLoaders.CLASSLOADER_APP;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jbse.bc.ClassFile;
+import jbse.bc.ClassFileFactoryJavassist;
+import jbse.bc.ClassHierarchy;
+import jbse.bc.Classpath;
+import jbse.jvm.BenchmarkEngines;
+import jbse.rewr.CalculatorRewriting;
+
+/**
+ * Benchmarks {@link Heap#getObject(long)} on a heap at the
+ * end of a chain of lazy clones, as it happens after many
+ * branches. Every invocation reads the object from a fresh 
+ * lazy clone, so it always walks the whole delegation chain.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class HeapGetObjectBenchmark {
+    @Param({"1", "16", "64"})
+    public int depth;
+    
+    private Heap heapLeaf;
+    private long posRoot;
+    
+    @Setup
+    public void setUp() throws Exception {
+        final ArrayList<Path> userPaths = new ArrayList<>();
+        userPaths.add(Paths.get("src/test/resources/jbse/bc/testdata"));
+        final Classpath cp = new Classpath(Paths.get(BenchmarkEngines.JBSE_LIB_PATH), Paths.get(System.getProperty("java.home", "")), Collections.emptyList(), userPaths);
+        final ClassHierarchy hier = new ClassHierarchy(cp, ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap());
+        final CalculatorRewriting calc = new CalculatorRewriting();
+        final ClassFile classFile = hier.loadCreateClass(CLASSLOADER_APP, "tsafe/main/SimpleCalculator", true);
+        
+        Heap heap = new Heap(1_000_000);
+        this.posRoot = heap.addNew(mkInstance(calc, classFile));
+        for (int i = 0; i < this.depth; ++i) {
+            heap = heap.lazyClone();
+            heap.addNew(mkInstance(calc, classFile)); //every level has its own objects
+        }
+        this.heapLeaf = heap;
+    }
+    
+    private static InstanceImpl_DEFAULT mkInstance(CalculatorRewriting calc, ClassFile classFile) throws Exception {
+        return new InstanceImpl_DEFAULT(calc, false, classFile, null, null, classFile.numOfStaticFields(), classFile.getAllFields());
+    }
+    
+    @Benchmark
+    public HeapObjekt getObjectAtRoot() {
+        return this.heapLeaf.lazyClone().getObject(this.posRoot);
+    }
+    
+    @Benchmark
+    public boolean existsAtRoot() {
+        return this.heapLeaf.existsAt(this.posRoot);
+    }
+}
@@ -0,0 +1,38 @@
+package jbse.mem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+
+import jbse.jvm.BenchmarkEngines;
+import jbse.jvm.testdata.ConcreteLoops;
+
+/**
+ * Benchmarks {@link State#lazyClone()} and {@link State#clone()} 
+ * on a realistic state, i.e., the initial state of a symbolic 
+ * execution, whose heap and static method area are populated 
+ * by the JRE bootstrap.
+ */
+@BenchmarkMode(Mode.Throughput)
+@org.openjdk.jmh.annotations.State(Scope.Thread)
+public class StateLazyCloneBenchmark {
+    private State state;
+    
+    @Setup
+    public void setUp() throws Exception {
+        final String className = ConcreteLoops.class.getName().replace('.', '/');
+        this.state = BenchmarkEngines.stateInitial(BenchmarkEngines.mkParameters(className, "()I", "run"));
+    }
+    
+    @Benchmark
+    public State lazyClone() {
+        return this.state.lazyClone();
+    }
+    
+    @Benchmark
+    public State clone() {
+        return this.state.clone();
+    }
+}
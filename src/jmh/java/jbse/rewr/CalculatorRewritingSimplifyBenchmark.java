@@ -0,0 +1,58 @@
+package jbse.rewr;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jbse.common.Type;
+import jbse.val.Primitive;
+import jbse.val.Term;
+
+/**
+ * Benchmarks {@link CalculatorRewriting#simplify(Primitive)}
+ * on polynomial expressions that have been built without 
+ * simplification.
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class CalculatorRewritingSimplifyBenchmark {
+    private CalculatorRewriting calc;
+    private Primitive polynomial;
+    private Primitive polynomialDivision;
+    
+    @Setup
+    public void setUp() throws Exception {
+        final CalculatorRewriting calcBuild = new CalculatorRewriting();
+        calcBuild.addRewriter(new RewriterOperationOnSimplex());
+        final Term A = calcBuild.valTerm(Type.INT, "A");
+        final Term B = calcBuild.valTerm(Type.INT, "B");
+        final Term C = calcBuild.valTerm(Type.INT, "C");
+        
+        //(A + B) * (A - B) + 2 * A * C - C * A
+        this.polynomial = calcBuild.push(A).add(B).mul(calcBuild.push(A).sub(B).pop())
+                                   .add(calcBuild.pushInt(2).mul(A).mul(C).pop())
+                                   .sub(calcBuild.push(C).mul(A).pop()).pop();
+        
+        //(2 * A * A * B + 4 * A * B) / (A * B)
+        this.polynomialDivision = calcBuild.pushInt(2).mul(A).mul(A).mul(B)
+                                           .add(calcBuild.pushInt(4).mul(A).mul(B).pop())
+                                           .div(calcBuild.push(A).mul(B).pop()).pop();
+        
+        this.calc = new CalculatorRewriting();
+        this.calc.addRewriter(new RewriterOperationOnSimplex());
+        this.calc.addRewriter(new RewriterPolynomials());
+    }
+    
+    @Benchmark
+    public Primitive simplifyPolynomial() {
+        return this.calc.simplify(this.polynomial);
+    }
+    
+    @Benchmark
+    public Primitive simplifyPolynomialDivision() {
+        return this.calc.simplify(this.polynomialDivision);
+    }
+}
@@ -0,0 +1,50 @@
+package jbse.val;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import jbse.common.Type;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+
+/**
+ * Benchmarks the construction of expressions through a 
+ * {@link Calculator}, both on symbolic operands and on 
+ * concrete operands (that the rewriters fold).
+ */
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Thread)
+public class CalculatorBenchmark {
+    private CalculatorRewriting calc;
+    private Term A, B, C;
+    private Simplex one, two;
+    
+    @Setup
+    public void setUp() throws Exception {
+        this.calc = new CalculatorRewriting();
+        this.calc.addRewriter(new RewriterOperationOnSimplex());
+        this.A = this.calc.valTerm(Type.INT, "A");
+        this.B = this.calc.valTerm(Type.INT, "B");
+        this.C = this.calc.valTerm(Type.INT, "C");
+        this.one = this.calc.valInt(1);
+        this.two = this.calc.valInt(2);
+    }
+    
+    @Benchmark
+    public Primitive buildSymbolic() throws Exception {
+        //(A + 1) * B - C / 2 < A
+        final Primitive left = this.calc.push(this.A).add(this.one).mul(this.B).sub(this.calc.push(this.C).div(this.two).pop()).pop();
+        return this.calc.push(left).lt(this.A).pop();
+    }
+    
+    @Benchmark
+    public Primitive buildConcrete() throws Exception {
+        //(1 + 2) * 2 - 1 / 2 < 1
+        final Primitive left = this.calc.push(this.one).add(this.two).mul(this.two).sub(this.calc.push(this.one).div(this.two).pop()).pop();
+        return this.calc.push(left).lt(this.one).pop();
+    }
+}
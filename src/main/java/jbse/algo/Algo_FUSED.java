@@ -0,0 +1,296 @@
+package jbse.algo;
+
+import static jbse.algo.Util.continueWith;
+import static jbse.bc.Offsets.IFX_OFFSET;
+import static jbse.bc.Offsets.XLOADSTORE_IMMEDIATE_OFFSET;
+import static jbse.bc.Offsets.XLOADSTORE_IMPLICIT_OFFSET;
+import static jbse.bc.Opcodes.OP_IF_ICMPEQ;
+import static jbse.bc.Opcodes.OP_IF_ICMPGE;
+import static jbse.bc.Opcodes.OP_IF_ICMPGT;
+import static jbse.bc.Opcodes.OP_IF_ICMPLE;
+import static jbse.bc.Opcodes.OP_IF_ICMPLT;
+import static jbse.bc.Opcodes.OP_IF_ICMPNE;
+import static jbse.common.Type.INT;
+import static jbse.common.Util.asUnsignedByte;
+
+import java.util.function.Supplier;
+
+import jbse.dec.DecisionProcedureAlgorithms;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.InvalidProgramCounterException;
+import jbse.mem.exc.InvalidSlotException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.tree.DecisionAlternative_NONE;
+import jbse.val.Simplex;
+import jbse.val.Value;
+
+/**
+ * Abstract {@link Algorithm} for the superinstructions, i.e.,
+ * short sequences of bytecodes that frequently occur together
+ * and that can be executed in a single step when their operands
+ * are concrete. A superinstruction is dispatched on the opcode
+ * of its first bytecode; if the code that follows does not match
+ * the expected idiom, or some operand is symbolic, it redispatches
+ * the execution to the {@link Algorithm} for the first bytecode alone.
+ */
+abstract class Algo_FUSED extends Algorithm<
+BytecodeData_0,
+DecisionAlternative_NONE,
+StrategyDecide<DecisionAlternative_NONE>,
+StrategyRefine<DecisionAlternative_NONE>,
+StrategyUpdate<DecisionAlternative_NONE>> {
+    /** The {@link Algorithm} for the first bytecode of the superinstruction. */
+    private final Algorithm<?, ?, ?, ?, ?> algoUnfused;
+
+    protected int offset; //set by cooker
+
+    /**
+     * Constructor.
+     *
+     * @param algoUnfused the {@link Algorithm} to which the execution
+     *        must be redispatched when the superinstruction cannot be
+     *        executed.
+     */
+    Algo_FUSED(Algorithm<?, ?, ?, ?, ?> algoUnfused) {
+        this.algoUnfused = algoUnfused;
+    }
+
+    @Override
+    protected Supplier<Integer> numOperands() {
+        return () -> 0;
+    }
+
+    @Override
+    protected final Supplier<BytecodeData_0> bytecodeData() {
+        return BytecodeData_0::get;
+    }
+
+    @Override
+    protected final BytecodeCooker bytecodeCooker() {
+        return (state) -> {
+            boolean fused;
+            try {
+                fused = !this.data.nextWide() && cookFused(state);
+            } catch (InvalidProgramCounterException | InvalidSlotException e) {
+                //the code does not match the idiom
+                fused = false;
+            }
+            if (!fused) {
+                unfuse(state);
+            }
+        };
+    }
+
+    /**
+     * Checks whether the superinstruction can be executed,
+     * and calculates what is necessary to complete its semantics,
+     * including the program counter offset {@link #offset}.
+     *
+     * @param state the current {@link State}.
+     * @return {@code true} iff the code at the current program
+     *         counter matches the superinstruction and all its
+     *         operands are concrete.
+     * @throws InvalidProgramCounterException if the idiom
+     *         runs past the end of the method's code.
+     * @throws InvalidSlotException if some local variable
+     *         does not exist.
+     * @throws ThreadStackEmptyException if the thread stack
+     *         is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    protected abstract boolean cookFused(State state)
+    throws InvalidProgramCounterException, InvalidSlotException,
+    ThreadStackEmptyException, FrozenStateException;
+
+    private void unfuse(State state) throws FrozenStateException, InterruptException {
+        if (this.data.nextWide()) {
+            state.setWide(); //restores the WIDE prefix for algoUnfused
+        }
+        continueWith(this.algoUnfused);
+    }
+
+    @Override
+    protected final Class<DecisionAlternative_NONE> classDecisionAlternative() {
+        return DecisionAlternative_NONE.class;
+    }
+
+    @Override
+    protected final DecisionAlternative_NONE decideConcrete(State state) {
+        return DecisionAlternative_NONE.instance();
+    }
+
+    @Override
+    protected final StrategyDecide<DecisionAlternative_NONE> decider() {
+        return (state, result) -> {
+            result.add(DecisionAlternative_NONE.instance());
+            return DecisionProcedureAlgorithms.Outcome.FF;
+        };
+    }
+
+    @Override
+    protected final StrategyRefine<DecisionAlternative_NONE> refiner() {
+        return (state, alt) -> { };
+    }
+
+    @Override
+    protected final Supplier<Boolean> isProgramCounterUpdateAnOffset() {
+        return () -> true;
+    }
+
+    @Override
+    protected final Supplier<Integer> programCounterUpdate() {
+        return () -> this.offset;
+    }
+
+    /**
+     * Returns the local variable slot of a load bytecode.
+     *
+     * @param state the current {@link State}.
+     * @param displacement an {@code int}, the displacement
+     *        of the bytecode from the current program counter.
+     * @param opcodeLoad a {@code byte}, the opcode of the
+     *        load bytecode with immediate slot (e.g.,
+     *        {@link jbse.bc.Opcodes#OP_ILOAD OP_ILOAD}).
+     * @param opcodeLoad_0 a {@code byte}, the opcode of the
+     *        first load bytecode with implicit slot (e.g.,
+     *        {@link jbse.bc.Opcodes#OP_ILOAD_0 OP_ILOAD_0}).
+     * @return the slot, or {@code -1} if the bytecode
+     *         at {@code displacement} is not one of the load
+     *         bytecodes identified by {@code opcodeLoad} and
+     *         {@code opcodeLoad_0}.
+     * @throws InvalidProgramCounterException if {@code displacement}
+     *         is out of the method's code.
+     * @throws ThreadStackEmptyException if the thread stack
+     *         is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    static int loadSlot(State state, int displacement, byte opcodeLoad, byte opcodeLoad_0)
+    throws InvalidProgramCounterException, ThreadStackEmptyException, FrozenStateException {
+        final byte opcode = state.getInstruction(displacement);
+        if (opcode == opcodeLoad) {
+            return asUnsignedByte(state.getInstruction(displacement + 1));
+        } else if (opcode >= opcodeLoad_0 && opcode <= opcodeLoad_0 + 3) {
+            return opcode - opcodeLoad_0;
+        } else {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the length of a load bytecode.
+     *
+     * @param state the current {@link State}.
+     * @param displacement an {@code int}, the displacement
+     *        of the bytecode from the current program counter.
+     *        It must be a load bytecode.
+     * @param opcodeLoad a {@code byte}, the opcode of the
+     *        load bytecode with immediate slot.
+     * @return an {@code int}, the length of the bytecode.
+     * @throws InvalidProgramCounterException if {@code displacement}
+     *         is out of the method's code.
+     * @throws ThreadStackEmptyException if the thread stack
+     *         is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    static int loadLength(State state, int displacement, byte opcodeLoad)
+    throws InvalidProgramCounterException, ThreadStackEmptyException, FrozenStateException {
+        return (state.getInstruction(displacement) == opcodeLoad ? XLOADSTORE_IMMEDIATE_OFFSET : XLOADSTORE_IMPLICIT_OFFSET);
+    }
+
+    /**
+     * Returns the concrete {@code int} value stored
+     * in a local variable.
+     *
+     * @param state the current {@link State}.
+     * @param slot an {@code int}, the slot of the local variable.
+     * @return the {@link Integer} value of the local variable, or
+     *         {@code null} if the variable does not store a concrete
+     *         {@code int}.
+     * @throws InvalidSlotException if {@code slot} is not a
+     *         valid slot number.
+     * @throws ThreadStackEmptyException if the thread stack
+     *         is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    static Integer concreteInt(State state, int slot)
+    throws InvalidSlotException, ThreadStackEmptyException, FrozenStateException {
+        return concreteInt(state.getLocalVariableValue(slot));
+    }
+
+    /**
+     * Returns the concrete {@code int} value of a {@link Value}.
+     *
+     * @param value a {@link Value}.
+     * @return the {@link Integer} value of {@code value}, or
+     *         {@code null} if {@code value} is not a concrete
+     *         {@code int}.
+     */
+    static Integer concreteInt(Value value) {
+        if (value instanceof Simplex && value.getType() == INT) {
+            return (Integer) ((Simplex) value).getActualValue();
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an opcode is an if_icmp* bytecode.
+     *
+     * @param opcode a {@code byte}.
+     * @return {@code true} iff {@code opcode} is an
+     *         if_icmp[eq/ne/lt/ge/gt/le] bytecode.
+     */
+    static boolean isIfIcmp(byte opcode) {
+        return (opcode == OP_IF_ICMPEQ || opcode == OP_IF_ICMPNE ||
+                opcode == OP_IF_ICMPLT || opcode == OP_IF_ICMPGE ||
+                opcode == OP_IF_ICMPGT || opcode == OP_IF_ICMPLE);
+    }
+
+    /**
+     * Evaluates the comparison of an if_icmp* bytecode.
+     *
+     * @param opcode a {@code byte}, an if_icmp* opcode.
+     * @param value1 an {@code int}, the first (deepest) operand.
+     * @param value2 an {@code int}, the second (topmost) operand.
+     * @return {@code true} iff the bytecode jumps.
+     */
+    static boolean ifIcmpJumps(byte opcode, int value1, int value2) {
+        switch (opcode) {
+        case OP_IF_ICMPEQ:
+            return value1 == value2;
+        case OP_IF_ICMPNE:
+            return value1 != value2;
+        case OP_IF_ICMPLT:
+            return value1 < value2;
+        case OP_IF_ICMPGE:
+            return value1 >= value2;
+        case OP_IF_ICMPGT:
+            return value1 > value2;
+        default: //OP_IF_ICMPLE
+            return value1 <= value2;
+        }
+    }
+
+    /**
+     * Returns the program counter offset, from the start of the
+     * superinstruction, of the bytecode that follows an
+     * if_icmp* bytecode.
+     *
+     * @param state the current {@link State}.
+     * @param displacement an {@code int}, the displacement
+     *        of the if_icmp* bytecode from the current program
+     *        counter.
+     * @param jumps a {@code boolean}, whether the if_icmp*
+     *        bytecode jumps.
+     * @return an {@code int}, the offset.
+     * @throws InvalidProgramCounterException if {@code displacement}
+     *         is out of the method's code.
+     * @throws ThreadStackEmptyException if the thread stack
+     *         is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    static int ifIcmpOffset(State state, int displacement, boolean jumps)
+    throws InvalidProgramCounterException, ThreadStackEmptyException, FrozenStateException {
+        return displacement + (jumps ? state.getCurrentFrame().getImmediateSignedWord(displacement + 1) : IFX_OFFSET);
+    }
+}
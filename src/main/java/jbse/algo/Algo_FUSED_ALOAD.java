@@ -0,0 +1,73 @@
+package jbse.algo;
+
+import static jbse.algo.Util.continueWith;
+import static jbse.algo.Util.throwVerifyError;
+import static jbse.bc.Opcodes.OP_ALOAD;
+import static jbse.bc.Opcodes.OP_ALOAD_0;
+import static jbse.bc.Opcodes.OP_GETFIELD;
+
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.InvalidProgramCounterException;
+import jbse.mem.exc.InvalidSlotException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.tree.DecisionAlternative_NONE;
+import jbse.val.ReferenceConcrete;
+import jbse.val.Value;
+
+/**
+ * {@link Algorithm} for the superinstruction aload[_0/1/2/3], getfield
+ * (read of a field of an object stored in a local variable). Since 
+ * the load of a concrete reference needs no decision, it pushes the 
+ * reference and continues with the getfield bytecode in the same 
+ * step. 
+ */
+final class Algo_FUSED_ALOAD extends Algo_FUSED {
+    /** The {@link Algorithm} for the getfield bytecode. */
+    private final Algorithm<?, ?, ?, ?, ?> algoGetfield;
+
+    private Value valToLoad; //set by cooker
+
+    /**
+     * Constructor.
+     * 
+     * @param algoUnfused the {@link Algorithm} for the 
+     *        aload[_0/1/2/3] bytecode alone.
+     * @param algoGetfield the {@link Algorithm} for the 
+     *        getfield bytecode.
+     */
+    public Algo_FUSED_ALOAD(Algorithm<?, ?, ?, ?, ?> algoUnfused, Algorithm<?, ?, ?, ?, ?> algoGetfield) {
+        super(algoUnfused);
+        this.algoGetfield = algoGetfield;
+    }
+
+    @Override
+    protected boolean cookFused(State state) 
+    throws InvalidProgramCounterException, InvalidSlotException, 
+    ThreadStackEmptyException, FrozenStateException {
+        final int slot = loadSlot(state, 0, OP_ALOAD, OP_ALOAD_0);
+        if (slot < 0) {
+            return false;
+        }
+        this.offset = loadLength(state, 0, OP_ALOAD);
+        if (state.getInstruction(this.offset) != OP_GETFIELD) {
+            return false;
+        }
+        this.valToLoad = state.getLocalVariableValue(slot);
+        return (this.valToLoad instanceof ReferenceConcrete);
+    }
+
+    @Override
+    protected StrategyUpdate<DecisionAlternative_NONE> updater() {
+        return (state, alt) -> {
+            state.pushOperand(this.valToLoad);
+            try {
+                state.incProgramCounter(this.offset);
+            } catch (InvalidProgramCounterException e) {
+                throwVerifyError(state, this.ctx.getCalculator());
+                return;
+            }
+            continueWith(this.algoGetfield);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package jbse.algo;
+
+import static jbse.algo.Util.failExecution;
+import static jbse.bc.Offsets.XCONST_OFFSET;
+
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.InvalidNumberOfOperandsException;
+import jbse.mem.exc.InvalidProgramCounterException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.tree.DecisionAlternative_NONE;
+
+/**
+ * {@link Algorithm} for the superinstruction iconst_[m1/0/1/2/3/4/5], 
+ * if_icmp* (comparison of the operand on the top of the stack
+ * with a small constant).
+ */
+final class Algo_FUSED_ICONST extends Algo_FUSED {
+    private final int value; //set by constructor
+
+    /**
+     * Constructor.
+     * 
+     * @param algoUnfused the {@link Algorithm} for the 
+     *        iconst_* bytecode alone.
+     * @param value the {@code int} value pushed 
+     *        by the iconst_* bytecode.
+     */
+    public Algo_FUSED_ICONST(Algorithm<?, ?, ?, ?, ?> algoUnfused, int value) {
+        super(algoUnfused);
+        this.value = value;
+    }
+
+    @Override
+    protected boolean cookFused(State state) 
+    throws InvalidProgramCounterException, ThreadStackEmptyException, FrozenStateException {
+        final byte opcodeIf = state.getInstruction(XCONST_OFFSET);
+        if (!isIfIcmp(opcodeIf)) {
+            return false;
+        }
+        final Integer value1;
+        try {
+            value1 = concreteInt(state.topOperand());
+        } catch (InvalidNumberOfOperandsException e) {
+            return false; //let the unfused bytecodes detect the error
+        }
+        if (value1 == null) {
+            return false;
+        }
+        this.offset = ifIcmpOffset(state, XCONST_OFFSET, ifIcmpJumps(opcodeIf, value1.intValue(), this.value));
+        return true;
+    }
+
+    @Override
+    protected StrategyUpdate<DecisionAlternative_NONE> updater() {
+        return (state, alt) -> {
+            try {
+                state.popOperand();
+            } catch (InvalidNumberOfOperandsException e) {
+                //this should never happen
+                failExecution(e);
+            }
+        };
+    }
+}
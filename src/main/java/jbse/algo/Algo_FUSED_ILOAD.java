@@ -0,0 +1,117 @@
+package jbse.algo;
+
+import static jbse.bc.Offsets.ARRAYLENGTH_OFFSET;
+import static jbse.bc.Offsets.MATH_LOGICAL_OP_OFFSET;
+import static jbse.bc.Opcodes.OP_ALOAD;
+import static jbse.bc.Opcodes.OP_ALOAD_0;
+import static jbse.bc.Opcodes.OP_ARRAYLENGTH;
+import static jbse.bc.Opcodes.OP_IADD;
+import static jbse.bc.Opcodes.OP_ILOAD;
+import static jbse.bc.Opcodes.OP_ILOAD_0;
+
+import jbse.mem.Array;
+import jbse.mem.Objekt;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.InvalidProgramCounterException;
+import jbse.mem.exc.InvalidSlotException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.tree.DecisionAlternative_NONE;
+import jbse.val.ReferenceConcrete;
+import jbse.val.Value;
+
+/**
+ * {@link Algorithm} for the superinstructions starting with 
+ * an iload[_0/1/2/3] bytecode. It manages the idioms:
+ * 
+ * <ul>
+ * <li>iload, iload, iadd (sum of two local variables);</li>
+ * <li>iload, aload, arraylength, if_icmp* (loop check over 
+ * the length of an array).</li>
+ * </ul>
+ */
+final class Algo_FUSED_ILOAD extends Algo_FUSED {
+    private boolean push; //set by cooker
+    private int valToPush; //set by cooker
+
+    /**
+     * Constructor.
+     * 
+     * @param algoUnfused the {@link Algorithm} for the 
+     *        iload[_0/1/2/3] bytecode alone.
+     */
+    public Algo_FUSED_ILOAD(Algorithm<?, ?, ?, ?, ?> algoUnfused) {
+        super(algoUnfused);
+    }
+
+    @Override
+    protected boolean cookFused(State state) 
+    throws InvalidProgramCounterException, InvalidSlotException, 
+    ThreadStackEmptyException, FrozenStateException {
+        final int slot1 = loadSlot(state, 0, OP_ILOAD, OP_ILOAD_0);
+        if (slot1 < 0) {
+            return false;
+        }
+        final Integer value1 = concreteInt(state, slot1);
+        if (value1 == null) {
+            return false;
+        }
+        final int length1 = loadLength(state, 0, OP_ILOAD);
+
+        //iload, iload, iadd
+        final int slot2 = loadSlot(state, length1, OP_ILOAD, OP_ILOAD_0);
+        if (slot2 >= 0) {
+            final int length2 = loadLength(state, length1, OP_ILOAD);
+            if (state.getInstruction(length1 + length2) != OP_IADD) {
+                return false;
+            }
+            final Integer value2 = concreteInt(state, slot2);
+            if (value2 == null) {
+                return false;
+            }
+            this.push = true;
+            this.valToPush = value1.intValue() + value2.intValue();
+            this.offset = length1 + length2 + MATH_LOGICAL_OP_OFFSET;
+            return true;
+        }
+
+        //iload, aload, arraylength, if_icmp*
+        final int slotArray = loadSlot(state, length1, OP_ALOAD, OP_ALOAD_0);
+        if (slotArray < 0) {
+            return false;
+        }
+        final int length2 = loadLength(state, length1, OP_ALOAD);
+        final int displacementIf = length1 + length2 + ARRAYLENGTH_OFFSET;
+        if (state.getInstruction(length1 + length2) != OP_ARRAYLENGTH) {
+            return false;
+        }
+        final byte opcodeIf = state.getInstruction(displacementIf);
+        if (!isIfIcmp(opcodeIf)) {
+            return false;
+        }
+        final Value ref = state.getLocalVariableValue(slotArray);
+        if (!(ref instanceof ReferenceConcrete)) {
+            return false;
+        }
+        final Objekt array = state.getObject((ReferenceConcrete) ref);
+        if (!(array instanceof Array)) {
+            return false; //null, let arraylength throw
+        }
+        final Integer arrayLength = concreteInt(((Array) array).getLength());
+        if (arrayLength == null) {
+            return false;
+        }
+        this.push = false;
+        this.offset = ifIcmpOffset(state, displacementIf, ifIcmpJumps(opcodeIf, value1.intValue(), arrayLength.intValue()));
+        return true;
+    }
+
+    @Override
+    protected StrategyUpdate<DecisionAlternative_NONE> updater() {
+        return (state, alt) -> {
+            if (this.push) {
+                state.pushOperand(this.ctx.getCalculator().valInt(this.valToPush));
+            }
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package jbse.algo;
 
 import static jbse.algo.Util.exitFromAlgorithm;
+import static jbse.algo.Util.failExecution;
 import static jbse.algo.Util.throwVerifyError;
 import static jbse.bc.Offsets.IFX_OFFSET;
 import static jbse.common.Type.INT;
@@ -8,11 +9,16 @@ import static jbse.common.Type.widens;
 
 import java.util.function.Supplier;
 
+import jbse.apps.run.DecisionProcedureGuidance;
 import jbse.dec.DecisionProcedureAlgorithms.Outcome;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.InvalidSlotException;
 import jbse.tree.DecisionAlternative_IFX;
 import jbse.val.Calculator;
 import jbse.val.Operator;
 import jbse.val.Primitive;
+import jbse.val.Simplex;
 import jbse.val.exc.InvalidOperandException;
 import jbse.val.exc.InvalidTypeException;
 
@@ -39,6 +45,8 @@ StrategyUpdate<DecisionAlternative_IFX>> {
     }
 
     private Primitive comparison; //produced by cooker
+    private PathMerger.Merge merge; //produced by cooker
+    private LoopSummarizer.Summary summary; //produced by cooker
     private boolean doJump; //produced by updater
 
     @Override
@@ -79,14 +87,70 @@ StrategyUpdate<DecisionAlternative_IFX>> {
 
             //builds the comparison condition
             try {
-                this.comparison = calc.push(val1).applyBinary(this.operator, val2).pop();
+                if (val1 instanceof Simplex && val2 instanceof Simplex && 
+                    val1.getType() == INT && val2.getType() == INT) {
+                    //concrete fast path, avoids building and simplifying an expression
+                    final int val1Int = ((Integer) ((Simplex) val1).getActualValue()).intValue();
+                    final int val2Int = ((Integer) ((Simplex) val2).getActualValue()).intValue();
+                    this.comparison = calc.valBoolean(compare(val1Int, val2Int));
+                } else {
+                    this.comparison = calc.push(val1).applyBinary(this.operator, val2).pop();
+                }
             } catch (InvalidOperandException | InvalidTypeException e) {
                 throwVerifyError(state, this.ctx.getCalculator());
                 exitFromAlgorithm();
             }
+
+            //possibly merges the paths that follow the branch
+            this.merge = null;
+            if (this.ctx.mergePaths && !(this.comparison instanceof Simplex)) {
+                try {
+                    this.merge = PathMerger.merge(state, calc, this.comparison, this.data.jumpOffset());
+                } catch (FrozenStateException e) {
+                    //this should never happen
+                    failExecution(e);
+                }
+            }
+
+            //possibly summarizes the loop whose condition is the branch
+            //(not during guidance, since the guiding concrete execution
+            //cannot evaluate the number of iterations of the loop)
+            this.summary = null;
+            if (this.merge == null && this.ctx.summarizeLoops && !(this.comparison instanceof Simplex) && !isGuiding()) {
+                try {
+                    this.summary = LoopSummarizer.summarize(state, calc, this.ctx.getCalculatorPolynomials(calc), this.ctx.decisionProcedure, this.operator, 
+                                                            new Primitive[] { val1, val2 }, numOperands().get(), this.data.jumpOffset(),
+                                                            this.ctx.summarizeLoopsNonlinear);
+                } catch (FrozenStateException e) {
+                    //this should never happen
+                    failExecution(e);
+                }
+            }
         };
     }
 
+    private boolean isGuiding() {
+        return (this.ctx.decisionProcedure instanceof DecisionProcedureGuidance && 
+                ((DecisionProcedureGuidance) this.ctx.decisionProcedure).isGuiding());
+    }
+
+    private boolean compare(int val1, int val2) {
+        switch (this.operator) {
+        case EQ:
+            return val1 == val2;
+        case NE:
+            return val1 != val2;
+        case GT:
+            return val1 > val2;
+        case GE:
+            return val1 >= val2;
+        case LT:
+            return val1 < val2;
+        default: //LE
+            return val1 <= val2;
+        }
+    }
+
     @Override
     protected Class<DecisionAlternative_IFX> classDecisionAlternative() {
         return DecisionAlternative_IFX.class;
@@ -100,6 +164,19 @@ StrategyUpdate<DecisionAlternative_IFX>> {
         };
     }
 
+    @Override
+    protected DecisionAlternative_IFX decideConcrete(State state) {
+        if (this.merge != null || this.summary != null) {
+            //a single state reaches the join point or 
+            //the loop exit; the alternative is irrelevant
+            return DecisionAlternative_IFX.toConcrete(true);
+        }
+        if (this.comparison instanceof Simplex) {
+            return DecisionAlternative_IFX.toConcrete(((Boolean) ((Simplex) this.comparison).getActualValue()).booleanValue());
+        }
+        return null;
+    }
+
     @Override
     protected StrategyRefine<DecisionAlternative_IFX> refiner() {
         return (state, alt) -> {
@@ -112,6 +189,24 @@ StrategyUpdate<DecisionAlternative_IFX>> {
     @Override
     protected StrategyUpdate<DecisionAlternative_IFX> updater() {
         return (state, alt) -> {
+            if (this.merge != null) {
+                try {
+                    this.merge.apply(state);
+                } catch (InvalidSlotException e) {
+                    throwVerifyError(state, this.ctx.getCalculator());
+                    exitFromAlgorithm();
+                }
+                return;
+            }
+            if (this.summary != null) {
+                try {
+                    this.summary.apply(state);
+                } catch (InvalidSlotException e) {
+                    throwVerifyError(state, this.ctx.getCalculator());
+                    exitFromAlgorithm();
+                }
+                return;
+            }
             this.doJump = alt.value();
         };
     }
@@ -123,6 +218,6 @@ StrategyUpdate<DecisionAlternative_IFX>> {
 
     @Override
     protected Supplier<Integer> programCounterUpdate() {
-        return () -> (this.doJump ? this.data.jumpOffset() : IFX_OFFSET);
+        return () -> (this.merge != null ? this.merge.offset : this.summary != null ? this.summary.offset : this.doJump ? this.data.jumpOffset() : IFX_OFFSET);
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import static jbse.mem.Util.areAlias;
 import java.util.function.Supplier;
 
 import jbse.dec.DecisionProcedureAlgorithms;
+import jbse.mem.State;
 import jbse.tree.DecisionAlternative_IFX;
 import jbse.val.Null;
 import jbse.val.Reference;
@@ -97,6 +98,12 @@ StrategyUpdate<DecisionAlternative_IFX>> {
         };
     }
 
+    @Override
+    protected DecisionAlternative_IFX decideConcrete(State state) {
+        //the decision is always concrete
+        return DecisionAlternative_IFX.toConcrete(this.doJump);
+    }
+
     @Override
     protected StrategyRefine<DecisionAlternative_IFX> refiner() {
         return (state, alt) -> { };
@@ -10,6 +10,7 @@ import static jbse.bc.Signatures.ABSTRACT_METHOD_ERROR;
 import static jbse.bc.Signatures.ILLEGAL_ACCESS_ERROR;
 import static jbse.bc.Signatures.INCOMPATIBLE_CLASS_CHANGE_ERROR;
 import static jbse.bc.Signatures.OUT_OF_MEMORY_ERROR;
+import static jbse.common.Type.VOID;
 
 import java.util.function.Supplier;
 
@@ -33,6 +34,7 @@ import jbse.mem.exc.HeapMemoryExhaustedException;
 import jbse.mem.exc.InvalidProgramCounterException;
 import jbse.mem.exc.InvalidSlotException;
 import jbse.tree.DecisionAlternative_NONE;
+import jbse.val.Primitive;
 import jbse.val.exc.InvalidTypeException;
 
 /**
@@ -61,6 +63,10 @@ final class Algo_INVOKEX_Completion extends Algo_INVOKEX_Abstract {
 
     private int pcOffsetReturn; //set by methods
     
+    private MethodSummarizer.Summary summary; //set by cooker
+    
+    private Primitive valueReturned; //set by cooker
+    
     public void setProgramCounterOffset(int pcOffset) {
         this.pcOffsetReturn = pcOffset;
     }
@@ -153,6 +159,19 @@ final class Algo_INVOKEX_Completion extends Algo_INVOKEX_Abstract {
                 //this should never happen
                 failExecution(e);
             }
+            
+            //possibly replaces the invocation with the method's summary
+            this.summary = null;
+            if (this.ctx.summarizeMethods) {
+                final MethodSummarizer.Summary summary = this.ctx.getMethodSummary(this.methodImplClass, this.methodImplSignature);
+                final MethodSummarizer.CallSite callSite = (summary == null ? null : summary.getCallSite(state.getCurrentMethodSignature(), state.getCurrentProgramCounter()));
+                if (callSite != null && !callSite.notApplicable) {
+                    this.valueReturned = summary.instantiate(this.ctx.getCalculator(), this.ctx.decisionProcedure, state.getHistoryPoint(), this.data.operands(), callSite);
+                    if (this.valueReturned != null || summary.returnType == VOID) {
+                        this.summary = summary;
+                    }
+                }
+            }
         };
     }
 
@@ -177,6 +196,12 @@ final class Algo_INVOKEX_Completion extends Algo_INVOKEX_Abstract {
     @Override
     protected StrategyUpdate<DecisionAlternative_NONE> updater() {
         return (state, alt) -> {
+            if (this.summary != null) {
+                if (this.valueReturned != null) {
+                    state.pushOperand(this.valueReturned);
+                }
+                return;
+            }
             try {
                 state.pushFrame(this.ctx.getCalculator(), this.methodImplClass, this.methodImplSignature, false, this.pcOffsetReturn, this.data.operands());
             } catch (InvalidProgramCounterException | InvalidSlotException | InvalidTypeException e) {
@@ -196,6 +221,9 @@ final class Algo_INVOKEX_Completion extends Algo_INVOKEX_Abstract {
 
     @Override
     protected Supplier<Integer> programCounterUpdate() {
-        return () -> 0; //nothing to add to the program counter of the pushed frame
+        //if the invocation is summarized the program counter goes
+        //to the return point, otherwise there is nothing to add to 
+        //the program counter of the pushed frame
+        return () -> (this.summary == null ? 0 : this.pcOffsetReturn);
     }
 }
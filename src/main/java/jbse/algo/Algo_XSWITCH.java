@@ -3,6 +3,7 @@ package jbse.algo;
 import static jbse.algo.Util.exitFromAlgorithm;
 import static jbse.algo.Util.failExecution;
 import static jbse.algo.Util.throwVerifyError;
+import static jbse.common.Type.INT;
 
 import java.util.function.Supplier;
 
@@ -15,6 +16,7 @@ import jbse.tree.DecisionAlternative_XSWITCH;
 import jbse.val.Calculator;
 import jbse.val.Expression;
 import jbse.val.Primitive;
+import jbse.val.Simplex;
 import jbse.val.exc.InvalidOperandException;
 import jbse.val.exc.InvalidTypeException;
 
@@ -82,6 +84,22 @@ StrategyUpdate<DecisionAlternative_XSWITCH>> {
         };
     }
 
+    @Override
+    protected DecisionAlternative_XSWITCH decideConcrete(State state) {
+        if (this.selector instanceof Simplex && this.selector.getType() == INT) {
+            final int selectorValue = ((Integer) ((Simplex) this.selector).getActualValue()).intValue();
+            int branchCounter = 1;
+            for (int i : this.data.switchTable()) {
+                if (i == selectorValue) { 
+                    return DecisionAlternative_XSWITCH.toConcrete(i, branchCounter);
+                }
+                ++branchCounter;
+            }
+            return DecisionAlternative_XSWITCH.toConcreteDefault(branchCounter);
+        }
+        return null;
+    }
+
     @Override
     protected StrategyRefine<DecisionAlternative_XSWITCH> refiner() {
         return (state, alt) -> {
@@ -3,7 +3,6 @@ package jbse.algo;
 import static jbse.algo.Util.failExecution;
 import static jbse.algo.Util.throwVerifyError;
 
-import java.util.Collection;
 import java.util.SortedSet;
 import java.util.function.Supplier;
 
@@ -20,6 +19,7 @@ import jbse.mem.exc.InvalidNumberOfOperandsException;
 import jbse.mem.exc.InvalidProgramCounterException;
 import jbse.mem.exc.ThreadStackEmptyException;
 import jbse.tree.DecisionAlternative;
+import jbse.tree.DecisionAlternative_NONE;
 import jbse.val.exc.InvalidOperandException;
 import jbse.val.exc.InvalidOperatorException;
 import jbse.val.exc.InvalidTypeException;
@@ -132,6 +132,7 @@ UP extends StrategyUpdate<R>> implements Action {
     private final DE decider; //just caches
     private final RE refiner; //just caches
     private UP updater; //just caches
+    private SortedSet<R> decisionResultsSingle; //just caches
     protected final Supplier<Integer> programCounterUpdate; //just caches
     protected final Supplier<Boolean> isProgramCounterUpdateAnOffset; //just caches
 
@@ -142,6 +143,7 @@ UP extends StrategyUpdate<R>> implements Action {
         this.decider = decider();
         this.refiner = refiner();
         this.updater = null; //to be initialized lazily (at construction time no ExecutionContext is available)
+        this.decisionResultsSingle = null; //to be initialized lazily (ditto)
         this.programCounterUpdate = programCounterUpdate();
         this.isProgramCounterUpdateAnOffset = isProgramCounterUpdateAnOffset();
     }
@@ -249,8 +251,18 @@ UP extends StrategyUpdate<R>> implements Action {
             failExecution(e);
         }
 
+        //concrete fast path: if the alternative can be determined 
+        //without querying the decision procedure, completes the
+        //bytecode semantics directly on the state
+        final R resultConcrete = decideConcrete(state);
+        if (resultConcrete != null) {
+            final boolean branchAdded = possiblyAddBranchPoint(false, resultConcrete);
+            execAlternative(state, resultConcrete, false, false, branchAdded);
+            return;
+        }
+
         //decides the satisfiability of the different alternatives
-        final SortedSet<R> decisionResults = this.ctx.mkDecisionResultSet(classDecisionAlternative());     
+        final SortedSet<R> decisionResults = mkDecisionResultSet();     
         final Outcome outcome = this.decider.decide(state, decisionResults);
 
         //checks if at least one alternative is satisfiable
@@ -262,79 +274,127 @@ UP extends StrategyUpdate<R>> implements Action {
         //generates the next states
         final boolean shouldRefine = outcome.shouldRefine();
         final boolean branchingDecision = outcome.branchingDecision();
-        final boolean branchAdded = possiblyAddBranchPoint(decisionResults);
+        final R resultFirst = decisionResults.first();
+        final boolean branchAdded = possiblyAddBranchPoint(tot > 1, resultFirst);
+        if (tot == 1) {
+            //common case: no need to clone the state nor to iterate
+            execAlternative(state, resultFirst, shouldRefine, branchingDecision, branchAdded);
+            return;
+        }
         for (R result : decisionResults) {
-            final State stateCurrent = (tot > 1 ? state.lazyClone() : state);
-
-            //pops the operands from the operand stack
-            try {
-                stateCurrent.popOperands(this.numOperands.get());
-            } catch (ThreadStackEmptyException | InvalidNumberOfOperandsException e) {
-                //this should never happen
-                failExecution(e);
+            final State stateCurrent = state.lazyClone();
+            execAlternative(stateCurrent, result, shouldRefine, branchingDecision, branchAdded);
+        }
+        state.freeze();
+    }
+    
+    /**
+     * Returns the set where the decider will store
+     * the decision results. For decisions that cannot 
+     * branch (i.e., whose alternatives are 
+     * {@link DecisionAlternative_NONE}) the same set 
+     * is reused across executions.
+     * 
+     * @return an empty {@link SortedSet}{@code <R>}.
+     */
+    private SortedSet<R> mkDecisionResultSet() {
+        final Class<R> classDecisionAlternative = classDecisionAlternative();
+        if (classDecisionAlternative == DecisionAlternative_NONE.class) {
+            if (this.decisionResultsSingle == null) {
+                this.decisionResultsSingle = this.ctx.mkDecisionResultSetSingle(classDecisionAlternative);
+            } else {
+                this.decisionResultsSingle.clear();
             }
+            return this.decisionResultsSingle;
+        }
+        return this.ctx.mkDecisionResultSet(classDecisionAlternative);
+    }
+    
+    /**
+     * Override this method to provide a fast path for the
+     * case where the outcome of the bytecode can be determined 
+     * without invoking the decider, typically because all the 
+     * operands are concrete. When this method returns a 
+     * {@link DecisionAlternative}, the decider is not invoked, 
+     * the state is not refined, and the updater is invoked on
+     * the returned alternative. 
+     * It is invoked after the bytecode data have been read 
+     * and cooked. By default it returns {@code null}.
+     * 
+     * @param state the current {@link State}. 
+     * @return the only possible {@code R} alternative, that 
+     *         must be concrete, or {@code null} if it cannot be 
+     *         determined without invoking the decider (in which
+     *         case the full pipeline is executed).
+     */
+    protected R decideConcrete(State state) {
+        return null;
+    }
 
-            InterruptException interrupt = null;
-            try {
-                //possibly refines the state
-                if (shouldRefine) {
-                    this.refiner.refine(stateCurrent, result);
-                }
-                
-            	//initializes lazily this.updated
-                if (this.updater == null) {
-                    this.updater = updater();
-                }
-                
-
-                //completes the bytecode semantics
-                this.updater.update(stateCurrent, result);
-            } catch (InterruptException e) {
-                interrupt = e;
-            } catch (InvalidInputException | InvalidTypeException | 
-                     InvalidOperatorException | InvalidOperandException | 
-                     ThreadStackEmptyException e) {
-                //this should never happen
-                failExecution(e);
+    private void execAlternative(State stateCurrent, R result, boolean shouldRefine, boolean branchingDecision, boolean branchAdded) 
+    throws ContradictionException, InvalidInputException, DecisionException, 
+    ClasspathException, CannotManageStateException, FailureException, InterruptException {
+        //pops the operands from the operand stack
+        try {
+            stateCurrent.popOperands(this.numOperands.get());
+        } catch (ThreadStackEmptyException | InvalidNumberOfOperandsException e) {
+            //this should never happen
+            failExecution(e);
+        }
+
+        InterruptException interrupt = null;
+        try {
+            //possibly refines the state
+            if (shouldRefine) {
+                this.refiner.refine(stateCurrent, result);
             }
 
-            //updates the program counter
-            try {
-                if (stateCurrent.isStuck() || stateCurrent.getStackSize() == 0) {
-                    //nothing to do
-                } else if (interrupt == null) {
-                    if (this.isProgramCounterUpdateAnOffset.get()) {
-                        stateCurrent.incProgramCounter(this.programCounterUpdate.get());
-                    } else {
-                        stateCurrent.setProgramCounter(this.programCounterUpdate.get());
-                    }
-                } else if (interrupt.hasContinuation()) {
-                    throw interrupt;
-                } //else, nothing to do
-            } catch (InvalidProgramCounterException e) {
-                throwVerifyError(stateCurrent, this.ctx.getCalculator());
-            } catch (ThreadStackEmptyException e) {
-                //this should never happen
-                failExecution(e);
+            //initializes lazily this.updated
+            if (this.updater == null) {
+                this.updater = updater();
             }
 
-            //is the state the result of a branching decision?
-            stateCurrent.setBranchingDecision(branchingDecision);
+            //completes the bytecode semantics
+            this.updater.update(stateCurrent, result);
+        } catch (InterruptException e) {
+            interrupt = e;
+        } catch (InvalidInputException | InvalidTypeException | 
+                 InvalidOperatorException | InvalidOperandException | 
+                 ThreadStackEmptyException e) {
+            //this should never happen
+            failExecution(e);
+        }
 
-            //adds the created state to the tree, if on a new branch
-            if (branchAdded) {
-                this.ctx.stateTree.addState(stateCurrent, result.getBranchNumber(), result.getIdentifier());
-            }
+        //updates the program counter
+        try {
+            if (stateCurrent.isStuck() || stateCurrent.getStackSize() == 0) {
+                //nothing to do
+            } else if (interrupt == null) {
+                if (this.isProgramCounterUpdateAnOffset.get()) {
+                    stateCurrent.incProgramCounter(this.programCounterUpdate.get());
+                } else {
+                    stateCurrent.setProgramCounter(this.programCounterUpdate.get());
+                }
+            } else if (interrupt.hasContinuation()) {
+                throw interrupt;
+            } //else, nothing to do
+        } catch (InvalidProgramCounterException e) {
+            throwVerifyError(stateCurrent, this.ctx.getCalculator());
+        } catch (ThreadStackEmptyException e) {
+            //this should never happen
+            failExecution(e);
         }
-        
-        if (tot > 1) {
-        	state.freeze();
+
+        //is the state the result of a branching decision?
+        stateCurrent.setBranchingDecision(branchingDecision);
+
+        //adds the created state to the tree, if on a new branch
+        if (branchAdded) {
+            this.ctx.stateTree.addState(stateCurrent, result.getBranchNumber(), result.getIdentifier());
         }
     }
 
-    private boolean possiblyAddBranchPoint(Collection<R> decisionResults) {
-        final boolean moreThanOneResult = (decisionResults.size() > 1);
-        final DecisionAlternative d = decisionResults.iterator().next();
+    private boolean possiblyAddBranchPoint(boolean moreThanOneResult, DecisionAlternative d) {
         final boolean trivial = d.trivial();
         final boolean concrete = d.concrete();
         final boolean noDecision = d.noDecision();
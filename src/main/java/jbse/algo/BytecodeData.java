@@ -4,9 +4,6 @@ import static jbse.algo.Util.exitFromAlgorithm;
 import static jbse.algo.Util.failExecution;
 import static jbse.algo.Util.throwVerifyError;
 import static jbse.common.Type.isPrimitive;
-import static jbse.common.Util.asUnsignedByte;
-import static jbse.common.Util.byteCat;
-import static jbse.common.Util.byteCatShort;
 
 import java.util.function.Supplier;
 
@@ -111,7 +108,7 @@ public abstract class BytecodeData {
     protected final void readImmediateSignedByte(State state, Calculator calc, int immediateDisplacement) 
     throws InterruptException, ClasspathException, FrozenStateException {
         try {
-            this.valByte = state.getInstruction(immediateDisplacement);
+            this.valByte = state.getCurrentFrame().getInstruction(immediateDisplacement);
         } catch (InvalidProgramCounterException e) {
             throwVerifyError(state, calc);
             exitFromAlgorithm();
@@ -136,7 +133,7 @@ public abstract class BytecodeData {
     protected final void readImmediateUnsignedByte(State state, Calculator calc, int immediateDisplacement) 
     throws InterruptException, ClasspathException, FrozenStateException {
         try {
-            this.valShort = asUnsignedByte(state.getInstruction(immediateDisplacement));
+            this.valShort = state.getCurrentFrame().getImmediateUnsignedByte(immediateDisplacement);
         } catch (InvalidProgramCounterException e) {
             throwVerifyError(state, calc);
             exitFromAlgorithm();
@@ -162,7 +159,7 @@ public abstract class BytecodeData {
     protected final void readImmediateSignedWord(State state, Calculator calc, int immediateDisplacement) 
     throws InterruptException, ClasspathException, FrozenStateException {
         try {
-            this.valShort = byteCatShort(state.getInstruction(immediateDisplacement), state.getInstruction(immediateDisplacement + 1));
+            this.valShort = state.getCurrentFrame().getImmediateSignedWord(immediateDisplacement);
         } catch (InvalidProgramCounterException e) {
             throwVerifyError(state, calc);
             exitFromAlgorithm();
@@ -188,8 +185,7 @@ public abstract class BytecodeData {
     protected final void readImmediateUnsignedWord(State state, Calculator calc, int immediateDisplacement) 
     throws InterruptException, ClasspathException, FrozenStateException {
         try {
-            this.valInt = 
-                byteCat(state.getInstruction(immediateDisplacement), state.getInstruction(immediateDisplacement + 1));
+            this.valInt = state.getCurrentFrame().getImmediateUnsignedWord(immediateDisplacement);
         } catch (InvalidProgramCounterException e) {
             throwVerifyError(state, calc);
             exitFromAlgorithm();
@@ -215,9 +211,7 @@ public abstract class BytecodeData {
     protected final void readImmediateSignedDword(State state, Calculator calc, int immediateDisplacement) 
     throws InterruptException, ClasspathException, FrozenStateException {
         try {
-            this.valInt = 
-                byteCat(state.getInstruction(immediateDisplacement), state.getInstruction(immediateDisplacement + 1), 
-                        state.getInstruction(immediateDisplacement + 2), state.getInstruction(immediateDisplacement + 3));
+            this.valInt = state.getCurrentFrame().getImmediateSignedDword(immediateDisplacement);
         } catch (InvalidProgramCounterException e) {
             throwVerifyError(state, calc);
             exitFromAlgorithm();
@@ -0,0 +1,181 @@
+package jbse.algo;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+import jbse.tree.DecisionAlternative;
+
+/**
+ * A {@link SortedSet} of decision results for decisions that
+ * can have at most one outcome, as is the case of the decisions
+ * whose alternatives are {@link jbse.tree.DecisionAlternative_NONE}.
+ * Differently from a {@link java.util.TreeSet} it does not allocate
+ * any node when an element is added, and it can be reused across
+ * decisions by {@link #clear() clearing} it.
+ *
+ * @param <R> the type of the decision alternatives.
+ */
+final class DecisionResultSetSingle<R extends DecisionAlternative> extends AbstractSet<R> implements SortedSet<R> {
+    /** The comparator, used only to detect duplicates. */
+    private final Comparator<? super R> comparator;
+
+    /** The element, or {@code null} if the set is empty. */
+    private R element;
+
+    /**
+     * Constructor. Builds an empty set.
+     *
+     * @param comparator a {@link Comparator}{@code <? super R>}.
+     *        Since all the possible alternatives of a single-outcome
+     *        decision are equivalent, it must return {@code 0}
+     *        for all the possible pairs of alternatives.
+     */
+    DecisionResultSetSingle(Comparator<? super R> comparator) {
+        this.comparator = comparator;
+        this.element = null;
+    }
+
+    /**
+     * Adds an alternative to this set. Since the set is for 
+     * single-outcome decisions, only one alternative may be 
+     * added to it: {@link Algorithm} uses it only for the decisions
+     * whose alternatives are {@link jbse.tree.DecisionAlternative_NONE}, 
+     * and any other decision must use the set returned by 
+     * {@link ExecutionContext#mkDecisionResultSet(Class)}.
+     * 
+     * @param e the alternative to be added.
+     * @return {@code true} iff this set was empty.
+     * @throws NullPointerException if {@code e == null}.
+     * @throws UnsupportedOperationException if this set already
+     *         contains an alternative that is not equivalent to 
+     *         {@code e}.
+     */
+    @Override
+    public boolean add(R e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        if (this.element == null) {
+            this.element = e;
+            return true;
+        }
+        if (this.comparator.compare(this.element, e) == 0) {
+            return false;
+        }
+        throw new UnsupportedOperationException("Tried to add two different alternatives to a single-outcome decision result set.");
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return this.element != null && this.element.equals(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (contains(o)) {
+            this.element = null;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        this.element = null;
+    }
+
+    @Override
+    public int size() {
+        return (this.element == null ? 0 : 1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.element == null;
+    }
+
+    @Override
+    public Iterator<R> iterator() {
+        return new Iterator<R>() {
+            private boolean hasNext = (DecisionResultSetSingle.this.element != null);
+            private boolean canRemove = false;
+
+            @Override
+            public boolean hasNext() {
+                return this.hasNext;
+            }
+
+            @Override
+            public R next() {
+                if (!this.hasNext) {
+                    throw new NoSuchElementException();
+                }
+                this.hasNext = false;
+                this.canRemove = true;
+                return DecisionResultSetSingle.this.element;
+            }
+
+            @Override
+            public void remove() {
+                if (!this.canRemove) {
+                    throw new IllegalStateException();
+                }
+                this.canRemove = false;
+                DecisionResultSetSingle.this.element = null;
+            }
+        };
+    }
+
+    @Override
+    public Comparator<? super R> comparator() {
+        return this.comparator;
+    }
+
+    @Override
+    public R first() {
+        if (this.element == null) {
+            throw new NoSuchElementException();
+        }
+        return this.element;
+    }
+
+    @Override
+    public R last() {
+        return first();
+    }
+
+    /*
+     * Since all the alternatives are equivalent according to the 
+     * comparator, a range with bounds from (inclusive) and to
+     * (exclusive) is always empty, while the range of the 
+     * alternatives greater or equal to from includes all of them. 
+     */
+
+    @Override
+    public SortedSet<R> subSet(R fromElement, R toElement) {
+        if (fromElement == null || toElement == null) {
+            throw new NullPointerException();
+        }
+        return Collections.emptySortedSet();
+    }
+
+    @Override
+    public SortedSet<R> headSet(R toElement) {
+        if (toElement == null) {
+            throw new NullPointerException();
+        }
+        return Collections.emptySortedSet();
+    }
+
+    @Override
+    public SortedSet<R> tailSet(R fromElement) {
+        if (fromElement == null) {
+            throw new NullPointerException();
+        }
+        return this;
+    }
+}
@@ -150,8 +150,24 @@ public class DispatcherBytecodeAlgorithm extends Dispatcher<Byte, Algorithm<?, ?
     private final Algo_XSUB           algo_XSUB            = new Algo_XSUB();
     private final Algo_XUSHR          algo_XUSHR           = new Algo_XUSHR();
     private final Algo_XXOR           algo_XXOR            = new Algo_XXOR();
+    
+    /** 
+     * Caches the result of the dispatch for all the opcodes, 
+     * indexed by the unsigned value of the opcode. 
+     */
+    private final Algorithm<?, ?, ?, ?, ?>[] table = new Algorithm<?, ?, ?, ?, ?>[256];
 
-    public DispatcherBytecodeAlgorithm() {
+    /**
+     * Constructor.
+     * 
+     * @param fuseSuperinstructions a {@code boolean}, 
+     *        {@code true} iff the frequent bytecode idioms
+     *        (aload, getfield; iload, iload, iadd; 
+     *        iconst_*, if_icmp*; iload, aload, arraylength, 
+     *        if_icmp*) must be executed in a single step 
+     *        when their operands are concrete.
+     */
+    public DispatcherBytecodeAlgorithm(boolean fuseSuperinstructions) {
         //implemented bytecodes (sometimes with limited support)
         setCase(OP_NOP,             () -> this.algo_NOP);
         setCase(OP_ACONST_NULL,     () -> this.algo_ACONST_NULL);
@@ -362,6 +378,42 @@ public class DispatcherBytecodeAlgorithm extends Dispatcher<Byte, Algorithm<?, ?
 
         //the remaining bytecodes should never appear in a classfile
         setDefault(() -> this.algo_NOTALLOWED);
+        
+        //fills the dispatch table
+        for (int opcode = 0; opcode < this.table.length; ++opcode) {
+            try {
+                this.table[opcode] = super.select((byte) opcode);
+            } catch (Exception e) {
+                //this should never happen
+                throw new UnexpectedInternalException(e);
+            }
+        }
+        
+        //possibly replaces the first bytecodes of the
+        //superinstructions with their fused versions
+        if (fuseSuperinstructions) {
+            setFused(OP_ILOAD,     new Algo_FUSED_ILOAD(this.algo_XLOAD));
+            setFused(OP_ILOAD_0,   new Algo_FUSED_ILOAD(this.algo_XLOAD_0));
+            setFused(OP_ILOAD_1,   new Algo_FUSED_ILOAD(this.algo_XLOAD_1));
+            setFused(OP_ILOAD_2,   new Algo_FUSED_ILOAD(this.algo_XLOAD_2));
+            setFused(OP_ILOAD_3,   new Algo_FUSED_ILOAD(this.algo_XLOAD_3));
+            setFused(OP_ALOAD,     new Algo_FUSED_ALOAD(this.algo_XLOAD, this.algo_GETFIELD));
+            setFused(OP_ALOAD_0,   new Algo_FUSED_ALOAD(this.algo_XLOAD_0, this.algo_GETFIELD));
+            setFused(OP_ALOAD_1,   new Algo_FUSED_ALOAD(this.algo_XLOAD_1, this.algo_GETFIELD));
+            setFused(OP_ALOAD_2,   new Algo_FUSED_ALOAD(this.algo_XLOAD_2, this.algo_GETFIELD));
+            setFused(OP_ALOAD_3,   new Algo_FUSED_ALOAD(this.algo_XLOAD_3, this.algo_GETFIELD));
+            setFused(OP_ICONST_M1, new Algo_FUSED_ICONST(this.algo_ICONST_M1, -1));
+            setFused(OP_ICONST_0,  new Algo_FUSED_ICONST(this.algo_ICONST_0, 0));
+            setFused(OP_ICONST_1,  new Algo_FUSED_ICONST(this.algo_ICONST_1, 1));
+            setFused(OP_ICONST_2,  new Algo_FUSED_ICONST(this.algo_ICONST_2, 2));
+            setFused(OP_ICONST_3,  new Algo_FUSED_ICONST(this.algo_ICONST_3, 3));
+            setFused(OP_ICONST_4,  new Algo_FUSED_ICONST(this.algo_ICONST_4, 4));
+            setFused(OP_ICONST_5,  new Algo_FUSED_ICONST(this.algo_ICONST_5, 5));
+        }
+    }
+    
+    private void setFused(byte bytecode, Algo_FUSED algo) {
+        this.table[bytecode & 0xFF] = algo;
     }
 
     public Action_START selectStart() {
@@ -374,15 +426,17 @@ public class DispatcherBytecodeAlgorithm extends Dispatcher<Byte, Algorithm<?, ?
 
     @Override
     public Algorithm<?, ?, ?, ?, ?> select(Byte bytecode) {
-        final Algorithm<?, ?, ?, ?, ?> retVal;
-        try {
-            retVal = super.select(bytecode);
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            //this should never happen
-            throw new UnexpectedInternalException(e);
-        }
-        return retVal;
+        return select(bytecode.byteValue());
+    }
+
+    /**
+     * Selects the {@link Algorithm} for a bytecode
+     * without boxing it.
+     * 
+     * @param bytecode a {@code byte}, the opcode. 
+     * @return the {@link Algorithm} for {@code bytecode}.
+     */
+    public Algorithm<?, ?, ?, ?, ?> select(byte bytecode) {
+        return this.table[bytecode & 0xFF];
     }
 }
@@ -1,6 +1,7 @@
 package jbse.algo;
 
 import static jbse.algo.Overrides.ALGO_INVOKEMETA_METACIRCULAR;
+import static jbse.algo.Overrides.ALGO_JAVA_ARRAYS_FILL;
 import static jbse.algo.Overrides.ALGO_JAVA_CLASS_FORNAME0;
 import static jbse.algo.Overrides.ALGO_JAVA_CLASS_GETCOMPONENTTYPE;
 import static jbse.algo.Overrides.ALGO_JAVA_CLASS_GETCONSTANTPOOL;
@@ -47,9 +48,16 @@ import static jbse.algo.Overrides.ALGO_JAVA_OBJECT_GETCLASS;
 import static jbse.algo.Overrides.ALGO_JAVA_OBJECT_HASHCODE;
 import static jbse.algo.Overrides.ALGO_JAVA_PACKAGE_GETSYSTEMPACKAGE0;
 import static jbse.algo.Overrides.ALGO_JAVA_REFLECT_ARRAY_NEWARRAY;
+import static jbse.algo.Overrides.ALGO_JAVA_STRING_CHARAT;
+import static jbse.algo.Overrides.ALGO_JAVA_STRING_COMPARETO;
+import static jbse.algo.Overrides.ALGO_JAVA_STRING_CONCAT;
+import static jbse.algo.Overrides.ALGO_JAVA_STRING_EQUALS;
 import static jbse.algo.Overrides.ALGO_JAVA_STRING_HASHCODE;
+import static jbse.algo.Overrides.ALGO_JAVA_STRING_INDEXOF;
 import static jbse.algo.Overrides.ALGO_JAVA_STRING_INTERN;
+import static jbse.algo.Overrides.ALGO_JAVA_STRING_SUBSTRING;
 import static jbse.algo.Overrides.ALGO_JAVA_STRINGBUILDER_APPEND;
+import static jbse.algo.Overrides.ALGO_JAVA_STRINGBUILDER_TOSTRING;
 import static jbse.algo.Overrides.ALGO_JAVA_SYSTEM_ARRAYCOPY;
 import static jbse.algo.Overrides.ALGO_JAVA_SYSTEM_IDENTITYHASHCODE;
 import static jbse.algo.Overrides.ALGO_JAVA_SYSTEM_MAPLIBRARYNAME;
@@ -150,6 +158,22 @@ import static jbse.bc.Signatures.JAVA_ACCESSCONTROLLER_DOPRIVILEGED_NOEXCEPTION_
 import static jbse.bc.Signatures.JAVA_ACCESSCONTROLLER_GETSTACKACCESSCONTROLCONTEXT;
 import static jbse.bc.Signatures.JAVA_ARRAYDEQUE;
 import static jbse.bc.Signatures.JAVA_ARRAYLIST;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_BOOLEAN;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_BOOLEAN_RANGE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_BYTE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_BYTE_RANGE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_CHAR;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_CHAR_RANGE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_DOUBLE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_DOUBLE_RANGE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_FLOAT;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_FLOAT_RANGE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_INT;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_INT_RANGE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_LONG;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_LONG_RANGE;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_SHORT;
+import static jbse.bc.Signatures.JAVA_ARRAYS_FILL_SHORT_RANGE;
 import static jbse.bc.Signatures.JAVA_ATOMICLONG_VMSUPPORTSCS8;
 import static jbse.bc.Signatures.JAVA_ATTRIBUTES_NAME;
 import static jbse.bc.Signatures.JAVA_BYTE_BYTECACHE;
@@ -256,14 +280,25 @@ import static jbse.bc.Signatures.JAVA_STRICTMATH_SINH;
 import static jbse.bc.Signatures.JAVA_STRICTMATH_SQRT;
 import static jbse.bc.Signatures.JAVA_STRICTMATH_TAN;
 import static jbse.bc.Signatures.JAVA_STRICTMATH_TANH;
+import static jbse.bc.Signatures.JAVA_STRING_CHARAT;
+import static jbse.bc.Signatures.JAVA_STRING_COMPARETO;
+import static jbse.bc.Signatures.JAVA_STRING_CONCAT;
+import static jbse.bc.Signatures.JAVA_STRING_EQUALS;
 import static jbse.bc.Signatures.JAVA_STRING_HASHCODE;
+import static jbse.bc.Signatures.JAVA_STRING_INDEXOF_CHAR;
+import static jbse.bc.Signatures.JAVA_STRING_INDEXOF_CHAR_FROM;
+import static jbse.bc.Signatures.JAVA_STRING_INDEXOF_STRING;
+import static jbse.bc.Signatures.JAVA_STRING_INDEXOF_STRING_FROM;
 import static jbse.bc.Signatures.JAVA_STRING_INTERN;
+import static jbse.bc.Signatures.JAVA_STRING_SUBSTRING_BEGIN;
+import static jbse.bc.Signatures.JAVA_STRING_SUBSTRING_BEGIN_END;
 import static jbse.bc.Signatures.JAVA_STRINGBUILDER_APPEND_BOOLEAN;
 import static jbse.bc.Signatures.JAVA_STRINGBUILDER_APPEND_CHAR;
 import static jbse.bc.Signatures.JAVA_STRINGBUILDER_APPEND_DOUBLE;
 import static jbse.bc.Signatures.JAVA_STRINGBUILDER_APPEND_FLOAT;
 import static jbse.bc.Signatures.JAVA_STRINGBUILDER_APPEND_INT;
 import static jbse.bc.Signatures.JAVA_STRINGBUILDER_APPEND_LONG;
+import static jbse.bc.Signatures.JAVA_STRINGBUILDER_TOSTRING;
 import static jbse.bc.Signatures.JAVA_SYSTEM_ARRAYCOPY;
 import static jbse.bc.Signatures.JAVA_SYSTEM_CURRENTTIMEMILLIS;
 import static jbse.bc.Signatures.JAVA_SYSTEM_IDENTITYHASHCODE;
@@ -396,6 +431,7 @@ import static jbse.bc.Signatures.noclass_REGISTERMETHODTYPE;
 import static jbse.bc.Signatures.noclass_SETSTANDARDCLASSLOADERSREADY;
 import static jbse.bc.Signatures.noclass_STORELINKEDMETHODANDAPPENDIX;
 
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
@@ -414,9 +450,13 @@ import jbse.common.exc.InvalidInputException;
 import jbse.common.exc.UnexpectedInternalException;
 import jbse.dec.DecisionProcedureAlgorithms;
 import jbse.mem.State;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.rewr.RewriterPolynomials;
 import jbse.rules.TriggerRulesRepo;
 import jbse.tree.DecisionAlternative;
 import jbse.tree.DecisionAlternativeComparators;
+import jbse.tree.DecisionAlternative_NONE;
 import jbse.tree.StateTree;
 import jbse.tree.StateTree.BreadthMode;
 import jbse.tree.StateTree.StateIdentificationMode;
@@ -502,7 +542,62 @@ public final class ExecutionContext {
     public final TriggerManager triggerManager;
 
     /** The {@link DispatcherBytecodeAlgorithm}. */
-    public final DispatcherBytecodeAlgorithm dispatcher = new DispatcherBytecodeAlgorithm();
+    public final DispatcherBytecodeAlgorithm dispatcher;
+
+    /** 
+     * Whether the paths through the short diamonds
+     * that follow a branch on a symbolic condition must
+     * be merged (see {@link PathMerger}).
+     */
+    public final boolean mergePaths;
+
+    /** 
+     * Whether the loops on induction variables whose
+     * condition is symbolic must be summarized (see 
+     * {@link LoopSummarizer}). Note that a summary 
+     * assumes that the loop terminates: When the increments
+     * of the compared variables are symbolic, the executions
+     * where the loop does not terminate are silently dropped
+     * from the path condition.
+     */
+    public final boolean summarizeLoops;
+
+    /** 
+     * Whether the closed forms of the summarized loops 
+     * may be nonlinear in the number of iterations (e.g.,
+     * the triangular term of a variable incremented by 
+     * another induction variable). It must be {@code false}
+     * when the decision procedure does not support
+     * nonlinear integer arithmetic.
+     */
+    public final boolean summarizeLoopsNonlinear;
+
+    /** 
+     * The {@link CalculatorRewriting} that normalizes polynomials,
+     * used to analyze the loops to summarize. Lazily built by 
+     * {@link #getCalculatorPolynomials(Calculator)}.
+     */
+    private CalculatorRewriting calcPolynomials = null;
+
+    /** 
+     * Whether the invocations of the methods that only
+     * compute on primitive parameters must be replaced
+     * by their summaries (see {@link MethodSummarizer}).
+     */
+    public final boolean summarizeMethods;
+
+    /** 
+     * Caches the summaries of the methods by the {@link ClassFile}
+     * of their implementation and their {@link Signature}, mapping 
+     * the methods that cannot be summarized to {@code null}.
+     */
+    private final HashMap<ClassFile, HashMap<Signature, MethodSummarizer.Summary>> methodSummaries = new HashMap<>();
+
+    /** 
+     * The {@link MethodSummaryStore} where the summaries of the 
+     * methods are persisted, or {@code null} if they are not.
+     */
+    private final MethodSummaryStore methodSummaryStore;
 
     /** 
      * The {@link DispatcherMeta} for handling methods with 
@@ -529,6 +624,24 @@ public final class ExecutionContext {
      * @param maxHeapSize a {@code long}, the maximum size of the
      *        heap expressed as maximum number of objects it can store.
      *        Ignored when {@code initialState != null}.
+     * @param fuseSuperinstructions a {@code boolean}, {@code true} iff 
+     *        the frequent bytecode idioms with concrete operands must be 
+     *        executed in a single step.
+     * @param mergePaths a {@code boolean}, {@code true} iff the paths 
+     *        through the short diamonds that follow a branch on a 
+     *        symbolic condition must be merged.
+     * @param summarizeLoops a {@code boolean}, {@code true} iff the 
+     *        loops on induction variables whose condition is symbolic 
+     *        must be summarized.
+     * @param summarizeLoopsNonlinear a {@code boolean}, {@code true} 
+     *        iff the closed forms of the summarized loops may be 
+     *        nonlinear.
+     * @param summarizeMethods a {@code boolean}, {@code true} iff the 
+     *        invocations of the methods that only compute on primitive 
+     *        parameters must be replaced by their summaries.
+     * @param methodSummaryStore a {@link Path}, the file where the 
+     *        summaries of the methods are persisted across runs, or 
+     *        {@code null} if they must not be persisted.
      * @param classpath a {@link Classpath} object, containing 
      *        information about the classpath of the symbolic execution.
      *        Ignored when {@code startingState != null}.
@@ -563,6 +676,12 @@ public final class ExecutionContext {
                             int maxSimpleArrayLength,
                             long maxHeapSize,
                             boolean makePreInitClassesSymbolic,
+                            boolean fuseSuperinstructions,
+                            boolean mergePaths,
+                            boolean summarizeLoops,
+                            boolean summarizeLoopsNonlinear,
+                            boolean summarizeMethods,
+                            Path methodSummaryStore,
                             Classpath classpath,
                             Class<? extends ClassFileFactory> classFileFactoryClass,
                             Map<String, Set<String>> expansionBackdoor, 
@@ -579,6 +698,12 @@ public final class ExecutionContext {
         this.maxSimpleArrayLength = maxSimpleArrayLength;
         this.maxHeapSize = maxHeapSize;
         this.makePreInitClassesSymbolic = makePreInitClassesSymbolic;
+        this.dispatcher = new DispatcherBytecodeAlgorithm(fuseSuperinstructions);
+        this.mergePaths = mergePaths;
+        this.summarizeLoops = summarizeLoops;
+        this.summarizeLoopsNonlinear = summarizeLoopsNonlinear;
+        this.summarizeMethods = summarizeMethods;
+        this.methodSummaryStore = (methodSummaryStore == null ? null : new MethodSummaryStore(methodSummaryStore, calc));
         this.classpath = classpath;
         this.classFileFactoryClass = classFileFactoryClass;
         this.expansionBackdoor = new HashMap<>(expansionBackdoor);      //safety copy
@@ -599,6 +724,22 @@ public final class ExecutionContext {
             addBaseOverridden(JAVA_ACCESSCONTROLLER_DOPRIVILEGED_NOEXCEPTION_1,   BASE_JAVA_ACCESSCONTROLLER_DOPRIVILEGED_NOEXCEPTION_1);
             addBaseOverridden(JAVA_ACCESSCONTROLLER_DOPRIVILEGED_NOEXCEPTION_2,   BASE_JAVA_ACCESSCONTROLLER_DOPRIVILEGED_NOEXCEPTION_2);
             addBaseOverridden(JAVA_ACCESSCONTROLLER_GETSTACKACCESSCONTROLCONTEXT, BASE_JAVA_ACCESSCONTROLLER_GETSTACKACCESSCONTROLCONTEXT);
+            addMetaOverridden(JAVA_ARRAYS_FILL_BOOLEAN,                            ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_BOOLEAN_RANGE,                      ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_BYTE,                               ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_BYTE_RANGE,                         ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_CHAR,                               ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_CHAR_RANGE,                         ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_DOUBLE,                             ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_DOUBLE_RANGE,                       ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_FLOAT,                              ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_FLOAT_RANGE,                        ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_INT,                                ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_INT_RANGE,                          ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_LONG,                               ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_LONG_RANGE,                         ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_SHORT,                              ALGO_JAVA_ARRAYS_FILL);
+            addMetaOverridden(JAVA_ARRAYS_FILL_SHORT_RANGE,                        ALGO_JAVA_ARRAYS_FILL);
             addBaseOverridden(JAVA_ATOMICLONG_VMSUPPORTSCS8,                      BASE_JAVA_ATOMICLONG_VMSUPPORTSCS8);
             addBaseOverridden(JAVA_CLASS_DESIREDASSERTIONSTATUS0,                 BASE_JAVA_CLASS_DESIREDASSERTIONSTATUS0);
             addMetaOverridden(JAVA_CLASS_FORNAME0,                                ALGO_JAVA_CLASS_FORNAME0);
@@ -683,14 +824,25 @@ public final class ExecutionContext {
             addMetaOverridden(JAVA_STRICTMATH_SQRT,                               ALGO_INVOKEMETA_METACIRCULAR);
             addMetaOverridden(JAVA_STRICTMATH_TAN,                                ALGO_INVOKEMETA_METACIRCULAR);
             addMetaOverridden(JAVA_STRICTMATH_TANH,                               ALGO_INVOKEMETA_METACIRCULAR);
+            addMetaOverridden(JAVA_STRING_CHARAT,                                 ALGO_JAVA_STRING_CHARAT);
+            addMetaOverridden(JAVA_STRING_COMPARETO,                              ALGO_JAVA_STRING_COMPARETO);
+            addMetaOverridden(JAVA_STRING_CONCAT,                                 ALGO_JAVA_STRING_CONCAT);
+            addMetaOverridden(JAVA_STRING_EQUALS,                                 ALGO_JAVA_STRING_EQUALS);
             addMetaOverridden(JAVA_STRING_HASHCODE,                               ALGO_JAVA_STRING_HASHCODE);
+            addMetaOverridden(JAVA_STRING_INDEXOF_CHAR,                           ALGO_JAVA_STRING_INDEXOF);
+            addMetaOverridden(JAVA_STRING_INDEXOF_CHAR_FROM,                      ALGO_JAVA_STRING_INDEXOF);
+            addMetaOverridden(JAVA_STRING_INDEXOF_STRING,                         ALGO_JAVA_STRING_INDEXOF);
+            addMetaOverridden(JAVA_STRING_INDEXOF_STRING_FROM,                    ALGO_JAVA_STRING_INDEXOF);
             addMetaOverridden(JAVA_STRING_INTERN,                                 ALGO_JAVA_STRING_INTERN);
+            addMetaOverridden(JAVA_STRING_SUBSTRING_BEGIN,                        ALGO_JAVA_STRING_SUBSTRING);
+            addMetaOverridden(JAVA_STRING_SUBSTRING_BEGIN_END,                    ALGO_JAVA_STRING_SUBSTRING);
             addMetaOverridden(JAVA_STRINGBUILDER_APPEND_BOOLEAN,                  ALGO_JAVA_STRINGBUILDER_APPEND);
             addMetaOverridden(JAVA_STRINGBUILDER_APPEND_CHAR,                     ALGO_JAVA_STRINGBUILDER_APPEND);
             addMetaOverridden(JAVA_STRINGBUILDER_APPEND_DOUBLE,                   ALGO_JAVA_STRINGBUILDER_APPEND);
             addMetaOverridden(JAVA_STRINGBUILDER_APPEND_FLOAT,                    ALGO_JAVA_STRINGBUILDER_APPEND);
             addMetaOverridden(JAVA_STRINGBUILDER_APPEND_INT,                      ALGO_JAVA_STRINGBUILDER_APPEND);
             addMetaOverridden(JAVA_STRINGBUILDER_APPEND_LONG,                     ALGO_JAVA_STRINGBUILDER_APPEND);
+            addMetaOverridden(JAVA_STRINGBUILDER_TOSTRING,                        ALGO_JAVA_STRINGBUILDER_TOSTRING);
             addMetaOverridden(JAVA_SYSTEM_ARRAYCOPY,                              ALGO_JAVA_SYSTEM_ARRAYCOPY);
             addMetaOverridden(JAVA_SYSTEM_CURRENTTIMEMILLIS,                      ALGO_INVOKEMETA_METACIRCULAR);
             addBaseOverridden(JAVA_SYSTEM_INITPROPERTIES,                         BASE_JAVA_SYSTEM_INITPROPERTIES);
@@ -983,6 +1135,69 @@ public final class ExecutionContext {
         this.dispatcherMeta.addUninterpretedPattern(patternMethodClassName, patternMethodDescriptor, patternMethodName);
     }
 
+    /**
+     * Returns a {@link CalculatorRewriting} that, besides the 
+     * rewriting of the {@link Calculator} of the symbolic execution,
+     * normalizes polynomials. It is built upon the first request.
+     * 
+     * @param calc the {@link Calculator} of the symbolic execution.
+     * @return a {@link CalculatorRewriting}.
+     */
+    CalculatorRewriting getCalculatorPolynomials(Calculator calc) {
+        if (this.calcPolynomials == null) {
+            if (calc instanceof CalculatorRewriting) {
+                this.calcPolynomials = new CalculatorRewriting((CalculatorRewriting) calc);
+            } else {
+                this.calcPolynomials = new CalculatorRewriting();
+                this.calcPolynomials.addRewriter(new RewriterOperationOnSimplex());
+            }
+            this.calcPolynomials.addRewriter(new RewriterPolynomials());
+        }
+        return this.calcPolynomials;
+    }
+
+    /**
+     * Returns the summary of a method, reading it from
+     * the method summary store or calculating it upon 
+     * the first request.
+     *
+     * @param classFile the {@link ClassFile} of the method
+     *        implementation.
+     * @param methodSignature the {@link Signature} of the method
+     *        implementation.
+     * @return a {@link MethodSummarizer.Summary}, or {@code null}
+     *         if the method cannot be summarized.
+     */
+    MethodSummarizer.Summary getMethodSummary(ClassFile classFile, Signature methodSignature) {
+        final HashMap<Signature, MethodSummarizer.Summary> methodSummariesClass = this.methodSummaries.computeIfAbsent(classFile, k -> new HashMap<>());
+        if (methodSummariesClass.containsKey(methodSignature)) {
+            return methodSummariesClass.get(methodSignature);
+        }
+        MethodSummarizer.Summary retVal = (this.methodSummaryStore == null ? null : this.methodSummaryStore.get(classFile, methodSignature));
+        if (retVal == MethodSummaryStore.UNSUMMARIZABLE) {
+            //already analyzed by another run
+            retVal = null;
+        } else if (retVal == null) {
+            retVal = MethodSummarizer.summarize(this.calc, classFile, methodSignature);
+            if (this.methodSummaryStore != null) {
+                this.methodSummaryStore.put(classFile, methodSignature, retVal);
+            }
+        }
+        methodSummariesClass.put(methodSignature, retVal);
+        return retVal;
+    }
+
+    /**
+     * Writes the summaries of the methods calculated 
+     * during the execution to the method summary store, 
+     * if there is one.
+     */
+    public void saveMethodSummaries() {
+        if (this.methodSummaryStore != null) {
+            this.methodSummaryStore.save();
+        }
+    }
+
     /**
      * Determines whether a class has a pure static initializer, where with
      * "pure" we mean that its effect is independent on when the initializer
@@ -1060,4 +1275,23 @@ public final class ExecutionContext {
         final TreeSet<R> retVal = new TreeSet<>(comparator);
         return retVal;
     }
+
+    /**
+     * Makes a decision result set for decisions that 
+     * may have at most one outcome. It is cheaper than
+     * the set returned by {@link #mkDecisionResultSet(Class)}, 
+     * and can be reused by clearing it.
+     * 
+     * @param superclassDecisionAlternatives a {@link Class}{@code <R>}, 
+     *        the superclass of the decision alternatives. All the 
+     *        alternatives of class {@code superclassDecisionAlternatives}
+     *        must be equivalent (e.g., {@link DecisionAlternative_NONE}).
+     * @return an empty {@link SortedSet}{@code <R>} that can store 
+     *         at most one element.
+     */
+    public <R extends DecisionAlternative> 
+    SortedSet<R> mkDecisionResultSetSingle(Class<R> superclassDecisionAlternatives) {
+        final Comparator<R> comparator = this.comparators.get(superclassDecisionAlternatives);
+        return new DecisionResultSetSingle<>(comparator);
+    }
 }
@@ -0,0 +1,538 @@
+package jbse.algo;
+
+import static jbse.bc.Offsets.IFX_OFFSET;
+import static jbse.common.Type.INT;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import jbse.bc.Signature;
+import jbse.common.exc.InvalidInputException;
+import jbse.dec.DecisionProcedure;
+import jbse.dec.exc.DecisionException;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.InvalidProgramCounterException;
+import jbse.mem.exc.InvalidSlotException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.rewr.CalculatorRewriting;
+import jbse.val.Calculator;
+import jbse.val.Expression;
+import jbse.val.Operator;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.Simplex;
+import jbse.val.Value;
+import jbse.val.exc.InvalidOperandException;
+import jbse.val.exc.InvalidOperatorException;
+import jbse.val.exc.InvalidTypeException;
+
+/**
+ * Summarizes the loops on induction variables whose
+ * condition is an if* bytecode with a symbolic condition.
+ * The loop may either be bottom-tested:
+ *
+ * <pre>
+ * B:  ...       (body and condition)
+ *     if* B
+ * </pre>
+ *
+ * or top-tested:
+ *
+ * <pre>
+ * H:  ...       (condition)
+ *     if* X
+ *     ...       (body)
+ *     goto H
+ * X:  ...
+ * </pre>
+ *
+ * The code of an iteration must be straight-line code that only
+ * computes on primitive values (see {@link PathMerger}). All the
+ * local variables it writes must be {@code int}, and either
+ * be incremented at each iteration by a loop-invariant amount
+ * (basic induction variables), or by a loop-invariant amount plus
+ * a linear combination of the basic induction variables. The if*
+ * must compare a basic induction variable with a loop-invariant
+ * value or with another basic induction variable, and cannot be
+ * a disequality test. Under these conditions the values of the
+ * variables after {@code k} iterations have a closed form that is
+ * a polynomial in {@code k}, and the comparison is linear in
+ * {@code k}, so the loop can be summarized by the closed forms
+ * plus a single constraint on the number {@code k} of iterations.
+ * The closed forms are linear in {@code k} only if all the
+ * increments are concrete and no variable is incremented by an
+ * induction variable: Otherwise, the loop is summarized only
+ * if the decision procedure supports nonlinear integer arithmetic.
+ * As the rest of JBSE, the summary assumes unbounded integer
+ * arithmetic. The constraint on {@code k} assumes that the loop
+ * terminates: If the compared variables change at each iteration
+ * by a symbolic amount, the values of the amount for which the 
+ * loop does not terminate are excluded from the path condition.
+ */
+final class LoopSummarizer {
+    /** The maximum length in bytes of the code of an iteration. */
+    private static final int MAX_LOOP_LENGTH = 128;
+
+    /**
+     * The prefix of the name of the function that yields
+     * the number of iterations of a summarized loop.
+     */
+    private static final String LOOP_COUNT_PREFIX = "loopCount_";
+
+    /**
+     * The result of summarizing: How the state must be
+     * updated to exit the loop.
+     */
+    static final class Summary {
+        /** The offset of the loop exit from the if*. */
+        final int offset;
+
+        /** Maps the slots of the modified local variables to their values. */
+        final TreeMap<Integer, Primitive> locals;
+
+        /** The constraint on the number of iterations. */
+        final Primitive assumption;
+
+        private Summary(int offset, TreeMap<Integer, Primitive> locals, Primitive assumption) {
+            this.offset = offset;
+            this.locals = locals;
+            this.assumption = assumption;
+        }
+
+        /**
+         * Updates a state with the effect of the summarized loop.
+         *
+         * @param state the {@link State} to update. Its current
+         *        frame must be the one of the if* and the if*
+         *        operands must have already been popped.
+         * @throws InvalidSlotException if some local variable
+         *         does not exist (should never happen).
+         * @throws ThreadStackEmptyException if the thread stack
+         *         is empty.
+         * @throws InvalidInputException if {@code state} is frozen.
+         */
+        void apply(State state) throws InvalidSlotException, ThreadStackEmptyException, InvalidInputException {
+            state.assume(this.assumption);
+            for (Map.Entry<Integer, Primitive> local : this.locals.entrySet()) {
+                state.setLocalVariable(local.getKey(), local.getValue());
+            }
+        }
+    }
+
+    /**
+     * Tries to summarize the loop whose condition is the if*
+     * at the current program counter.
+     *
+     * @param state the current {@link State}.
+     * @param calc a {@link Calculator}.
+     * @param calcPoly a {@link CalculatorRewriting} that normalizes
+     *        polynomials, so the increments of the induction variables
+     *        can be calculated by subtraction (see 
+     *        {@link ExecutionContext#getCalculatorPolynomials(Calculator)}).
+     * @param decisionProcedure a {@link DecisionProcedure},
+     *        used to check that the summary is feasible when
+     *        the termination of the loop depends on symbolic
+     *        increments.
+     * @param operator the comparison {@link Operator} of the if*.
+     * @param operands a {@link Primitive}{@code []} with length 2,
+     *        the compared values (for the if* that compare with
+     *        zero, the second must be zero).
+     * @param numOperands the number of operands of the if*
+     *        (1 or 2).
+     * @param jumpOffset an {@code int}, the jump offset of the if*.
+     * @param nonlinear {@code true} iff the closed forms may be
+     *        nonlinear in the number of iterations.
+     * @return a {@link Summary}, or {@code null} if the if* is not
+     *         the condition of a loop that can be summarized.
+     * @throws ThreadStackEmptyException if the thread stack
+     *         is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     * @throws DecisionException if the decision procedure fails.
+     * @throws InvalidInputException possibly never.
+     */
+    static Summary summarize(State state, Calculator calc, CalculatorRewriting calcPoly, DecisionProcedure decisionProcedure,
+                             Operator operator, Primitive[] operands, int numOperands, int jumpOffset, boolean nonlinear)
+    throws ThreadStackEmptyException, FrozenStateException, DecisionException, InvalidInputException {
+        //the loop continues when the if* jumps if it is bottom-tested,
+        //when it does not jump if it is top-tested; the disequality
+        //tests are excluded because the set of the iterations where
+        //they hold is not convex
+        final boolean bottomTested = (jumpOffset < 0);
+        if ((bottomTested && (-jumpOffset > MAX_LOOP_LENGTH || operator == Operator.NE)) ||
+            (!bottomTested && (jumpOffset > MAX_LOOP_LENGTH || operator == Operator.EQ))) {
+            return null;
+        }
+        if (operands[0].getType() != INT || operands[1].getType() != INT) {
+            return null;
+        }
+        try {
+            //finds the local variables written by an iteration
+            final PathMerger.Region regionWritten = new PathMerger.Region();
+            if (!iterate(state, calcPoly, regionWritten, jumpOffset)) {
+                return null;
+            }
+            final TreeSet<Integer> slots = new TreeSet<>(regionWritten.locals.keySet());
+            if (slots.isEmpty()) {
+                return null;
+            }
+            final TreeMap<Integer, Primitive> initial = new TreeMap<>();
+            for (int slot : slots) {
+                final Value value = state.getLocalVariableValue(slot);
+                if (!(value instanceof Primitive) || value.getType() != INT) {
+                    return null;
+                }
+                initial.put(slot, (Primitive) value);
+            }
+
+            //executes an iteration twice, starting from two different
+            //sets of placeholders for the written local variables:
+            //what does not depend on the placeholders is the same
+            //in both the executions
+            final TreeMap<Integer, Primitive> placeholdersA = placeholders(calcPoly, slots, "A");
+            final TreeMap<Integer, Primitive> placeholdersB = placeholders(calcPoly, slots, "B");
+            final PathMerger.Region regionA = iterateFrom(state, calcPoly, placeholdersA, jumpOffset);
+            final PathMerger.Region regionB = iterateFrom(state, calcPoly, placeholdersB, jumpOffset);
+            if (regionA == null || regionB == null ||
+                regionA.stack.size() != numOperands || regionB.stack.size() != numOperands) {
+                return null;
+            }
+
+            //finds the basic induction variables and their increments
+            final TreeMap<Integer, Primitive> steps = new TreeMap<>();
+            final TreeMap<Integer, Primitive> deltasA = new TreeMap<>();
+            final TreeMap<Integer, Primitive> deltasB = new TreeMap<>();
+            for (int slot : slots) {
+                final Primitive deltaA = delta(calcPoly, regionA, placeholdersA, slot);
+                final Primitive deltaB = delta(calcPoly, regionB, placeholdersB, slot);
+                if (deltaA == null || deltaB == null) {
+                    return null;
+                }
+                if (deltaA.equals(deltaB)) {
+                    steps.put(slot, deltaA);
+                } else {
+                    deltasA.put(slot, deltaA);
+                    deltasB.put(slot, deltaB);
+                }
+            }
+
+            //the other written variables must be incremented by a linear
+            //combination of the basic induction variables plus an invariant;
+            //the coefficients are calculated by executing an iteration
+            //with each basic induction variable incremented by one
+            final TreeMap<Integer, TreeMap<Integer, Simplex>> coefficients = new TreeMap<>();
+            final TreeMap<Integer, Primitive> rests = new TreeMap<>();
+            for (int slot : deltasA.keySet()) {
+                coefficients.put(slot, new TreeMap<>());
+            }
+            for (int slotBasic : steps.keySet()) {
+                if (deltasA.isEmpty()) {
+                    break;
+                }
+                final TreeMap<Integer, Primitive> placeholdersShifted = new TreeMap<>(placeholdersA);
+                placeholdersShifted.put(slotBasic, calcPoly.push(placeholdersA.get(slotBasic)).add(calcPoly.valInt(1)).pop());
+                final PathMerger.Region regionShifted = iterateFrom(state, calcPoly, placeholdersShifted, jumpOffset);
+                if (regionShifted == null) {
+                    return null;
+                }
+                for (int slot : deltasA.keySet()) {
+                    final Primitive coefficient = calcPoly.push((Primitive) regionShifted.locals.get(slot)).sub((Primitive) regionA.locals.get(slot)).pop();
+                    if (!(coefficient instanceof Simplex)) {
+                        return null;
+                    }
+                    if (!((Simplex) coefficient).isZeroOne(true)) {
+                        coefficients.get(slot).put(slotBasic, (Simplex) coefficient);
+                    }
+                }
+            }
+            for (int slot : deltasA.keySet()) {
+                Primitive restA = deltasA.get(slot);
+                Primitive restB = deltasB.get(slot);
+                for (Map.Entry<Integer, Simplex> coefficient : coefficients.get(slot).entrySet()) {
+                    restA = calcPoly.push(restA).sub(calcPoly.push(coefficient.getValue()).mul(placeholdersA.get(coefficient.getKey())).pop()).pop();
+                    restB = calcPoly.push(restB).sub(calcPoly.push(coefficient.getValue()).mul(placeholdersB.get(coefficient.getKey())).pop()).pop();
+                }
+                if (!restA.equals(restB)) {
+                    return null;
+                }
+                rests.put(slot, restA);
+            }
+
+            //the compared values must be basic induction variables
+            //or invariants
+            final Integer[] operandSlots = new Integer[2];
+            boolean someInduction = false;
+            for (int i = 0; i < 2; ++i) {
+                final Value operandA = (i < numOperands ? regionA.stack.get(i) : operands[i]);
+                final Value operandB = (i < numOperands ? regionB.stack.get(i) : operands[i]);
+                for (int slot : steps.keySet()) {
+                    if (operandA.equals(regionA.locals.get(slot)) && operandB.equals(regionB.locals.get(slot))) {
+                        if (!operands[i].equals(initial.get(slot))) {
+                            return null;
+                        }
+                        operandSlots[i] = slot;
+                        someInduction = true;
+                        break;
+                    }
+                }
+                if (operandSlots[i] == null && !operandA.equals(operandB)) {
+                    return null;
+                }
+            }
+            if (!someInduction) {
+                return null;
+            }
+
+            //without support for nonlinear arithmetic, the products of
+            //k with symbolic increments, and the triangular terms of the
+            //variables incremented by induction variables, are excluded
+            if (!nonlinear && !linear(steps, rests, coefficients)) {
+                return null;
+            }
+
+            //builds the summary: k is the number of the iterations,
+            //C(j) is the condition for continuing after j iterations;
+            //since C(j) is linear in j, C(0) && C(k - 1) implies
+            //C(j) for all 0 <= j < k
+            final ArrayList<Primitive> countArgs = new ArrayList<>(initial.values());
+            countArgs.addAll(steps.values());
+            countArgs.add(operands[0]);
+            countArgs.add(operands[1]);
+            final Primitive k = calc.applyFunctionPrimitiveAndPop(INT, state.getHistoryPoint(), countOperator(state, countArgs.size()), countArgs.toArray(new Value[0]));
+            final Primitive kMinusOne = calc.push(k).sub(calc.valInt(1)).pop();
+            final Primitive zero = calc.valInt(0);
+            final Primitive assumption =
+                calc.push(k).ge(zero)
+                .and(calc.push(continues(calc, operator, bottomTested, operands, operandSlots, initial, steps, k)).not().pop())
+                .and(calc.push(k).eq(zero)
+                     .or(calc.push(continues(calc, operator, bottomTested, operands, operandSlots, initial, steps, zero))
+                         .and(continues(calc, operator, bottomTested, operands, operandSlots, initial, steps, kMinusOne)).pop()).pop()).pop();
+            final Primitive assumptionSimplified = calc.simplify(decisionProcedure.simplify(assumption));
+            if (assumptionSimplified instanceof Simplex) {
+                if (!((Boolean) ((Simplex) assumptionSimplified).getActualValue()).booleanValue()) {
+                    return null;
+                }
+            } else if (!(assumptionSimplified instanceof Expression)) {
+                return null;
+            } else {
+                //if the distance between the compared values moves at each 
+                //iteration by a concrete amount in the direction that falsifies 
+                //the condition, the loop always terminates and the assumption
+                //is satisfiable; otherwise, the loop may not terminate
+                final Boolean terminates = terminates(calcPoly, operator, bottomTested, operandSlots, steps);
+                if (terminates == null) {
+                    if (!decisionProcedure.isSat((Expression) assumptionSimplified)) {
+                        //the loop does not terminate
+                        return null;
+                    }
+                } else if (!terminates.booleanValue()) {
+                    //the loop terminates only if it is never entered
+                    return null;
+                }
+            }
+
+            //calculates the values of the local variables at loop exit
+            final TreeMap<Integer, Primitive> locals = new TreeMap<>();
+            for (int slot : steps.keySet()) {
+                locals.put(slot, valueBasic(calc, initial.get(slot), steps.get(slot), k));
+            }
+            for (int slot : rests.keySet()) {
+                //x_k = x_0 + k * rest + sum_w a_w * (k * w_0 + step_w * k * (k - 1) / 2)
+                final Primitive triangular = calc.push(k).mul(kMinusOne).div(calc.valInt(2)).pop();
+                Primitive value = valueBasic(calc, initial.get(slot), rests.get(slot), k);
+                for (Map.Entry<Integer, Simplex> coefficient : coefficients.get(slot).entrySet()) {
+                    final int slotBasic = coefficient.getKey();
+                    final Primitive sum = calc.push(k).mul(initial.get(slotBasic)).add(calc.push(steps.get(slotBasic)).mul(triangular).pop()).pop();
+                    value = calc.push(value).add(calc.push(coefficient.getValue()).mul(sum).pop()).pop();
+                }
+                locals.put(slot, value);
+            }
+
+            return new Summary((bottomTested ? IFX_OFFSET : jumpOffset), locals, assumptionSimplified);
+        } catch (InvalidProgramCounterException | InvalidSlotException |
+                 InvalidOperandException | InvalidTypeException | InvalidOperatorException | ClassCastException e) {
+            //the code is not what we expected
+            return null;
+        }
+    }
+
+    /**
+     * Symbolically executes an iteration of the loop.
+     *
+     * @param state the current {@link State}.
+     * @param calc a {@link Calculator}.
+     * @param region the {@link PathMerger.Region} where the effect
+     *        of the execution is stored.
+     * @param jumpOffset an {@code int}, the jump offset of the if*.
+     * @return {@code true} iff the iteration could be executed.
+     * @throws InvalidProgramCounterException if the loop runs out
+     *         of the method's code.
+     * @throws InvalidSlotException if some local variable does not exist.
+     * @throws InvalidOperandException if some operand is ill-typed.
+     * @throws InvalidTypeException if some operand is ill-typed.
+     * @throws ThreadStackEmptyException if the thread stack is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    private static boolean iterate(State state, Calculator calc, PathMerger.Region region, int jumpOffset)
+    throws InvalidProgramCounterException, InvalidSlotException, InvalidOperandException,
+    InvalidTypeException, ThreadStackEmptyException, FrozenStateException {
+        if (jumpOffset < 0) {
+            //bottom-tested: the iteration is the code from the jump target to the if*
+            return PathMerger.execute(state, calc, region, jumpOffset, 0, false);
+        }
+        //top-tested: the iteration is the body, that must end with a
+        //goto backwards, followed by the code from the goto target
+        //to the if*
+        if (!PathMerger.execute(state, calc, region, IFX_OFFSET, jumpOffset, true) || !region.endsWithGoto ||
+            region.gotoTarget > 0 || region.gotoTarget + MAX_LOOP_LENGTH < jumpOffset) {
+            return false;
+        }
+        return PathMerger.execute(state, calc, region, region.gotoTarget, 0, false);
+    }
+
+    private static PathMerger.Region iterateFrom(State state, Calculator calc, TreeMap<Integer, Primitive> start, int jumpOffset)
+    throws InvalidProgramCounterException, InvalidSlotException, InvalidOperandException,
+    InvalidTypeException, ThreadStackEmptyException, FrozenStateException {
+        final PathMerger.Region region = new PathMerger.Region();
+        region.locals.putAll(start);
+        return (iterate(state, calc, region, jumpOffset) ? region : null);
+    }
+
+    private static TreeMap<Integer, Primitive> placeholders(Calculator calc, TreeSet<Integer> slots, String suffix)
+    throws InvalidTypeException {
+        final TreeMap<Integer, Primitive> retVal = new TreeMap<>();
+        for (int slot : slots) {
+            retVal.put(slot, calc.valTerm(INT, "{LOOP_" + suffix + slot + "}"));
+        }
+        return retVal;
+    }
+
+    private static Primitive delta(Calculator calc, PathMerger.Region region, TreeMap<Integer, Primitive> start, int slot)
+    throws InvalidOperandException, InvalidTypeException {
+        final Value end = region.locals.get(slot);
+        if (!(end instanceof Primitive) || end.getType() != INT) {
+            return null;
+        }
+        return calc.push((Primitive) end).sub(start.get(slot)).pop();
+    }
+
+    private static boolean linear(TreeMap<Integer, Primitive> steps, TreeMap<Integer, Primitive> rests, 
+                                  TreeMap<Integer, TreeMap<Integer, Simplex>> coefficients) {
+        for (Primitive step : steps.values()) {
+            if (!(step instanceof Simplex)) {
+                return false;
+            }
+        }
+        for (Primitive rest : rests.values()) {
+            if (!(rest instanceof Simplex)) {
+                return false;
+            }
+        }
+        for (TreeMap<Integer, Simplex> coefficientsSlot : coefficients.values()) {
+            if (!coefficientsSlot.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Primitive valueBasic(Calculator calc, Primitive initial, Primitive step, Primitive iterations)
+    throws InvalidOperandException, InvalidTypeException {
+        return calc.push(initial).add(calc.push(iterations).mul(step).pop()).pop();
+    }
+
+    private static Primitive continues(Calculator calc, Operator operator, boolean bottomTested, Primitive[] operands,
+                                       Integer[] operandSlots, TreeMap<Integer, Primitive> initial,
+                                       TreeMap<Integer, Primitive> steps, Primitive iterations)
+    throws InvalidOperandException, InvalidTypeException, InvalidOperatorException {
+        final Primitive[] compared = new Primitive[2];
+        for (int i = 0; i < 2; ++i) {
+            compared[i] = (operandSlots[i] == null ? operands[i] :
+                           valueBasic(calc, initial.get(operandSlots[i]), steps.get(operandSlots[i]), iterations));
+        }
+        final Primitive jumps = calc.push(compared[0]).applyBinary(operator, compared[1]).pop();
+        return (bottomTested ? jumps : calc.push(jumps).not().pop());
+    }
+
+    /**
+     * Checks whether the loop always terminates.
+     *
+     * @param calc a {@link Calculator}.
+     * @param operator the comparison {@link Operator} of the if*.
+     * @param bottomTested {@code true} iff the loop is bottom-tested.
+     * @param operandSlots an {@link Integer}{@code []}, the slots of the
+     *        basic induction variables compared by the if* ({@code null}
+     *        for the invariant operands).
+     * @param steps the increments of the basic induction variables.
+     * @return {@link Boolean#TRUE} if the difference between the compared
+     *         values changes at each iteration by a concrete amount that
+     *         eventually makes the loop exit, {@link Boolean#FALSE} if it 
+     *         changes by a concrete amount that never does, {@code null}
+     *         if the amount is symbolic.
+     * @throws InvalidOperandException if some operand is ill-typed.
+     * @throws InvalidTypeException if some operand is ill-typed.
+     */
+    private static Boolean terminates(Calculator calc, Operator operator, boolean bottomTested,
+                                      Integer[] operandSlots, TreeMap<Integer, Primitive> steps)
+    throws InvalidOperandException, InvalidTypeException {
+        final Primitive[] stepsCompared = new Primitive[2];
+        for (int i = 0; i < 2; ++i) {
+            stepsCompared[i] = (operandSlots[i] == null ? calc.valInt(0) : steps.get(operandSlots[i]));
+        }
+        final Primitive stepDifference = calc.push(stepsCompared[0]).sub(stepsCompared[1]).pop();
+        if (!(stepDifference instanceof Simplex)) {
+            return null;
+        }
+        final int d = ((Integer) ((Simplex) stepDifference).getActualValue()).intValue();
+
+        //the relation between the compared values 
+        //that makes the loop continue
+        final Operator continues = (bottomTested ? operator : 
+                                    operator == Operator.LT ? Operator.GE :
+                                    operator == Operator.LE ? Operator.GT :
+                                    operator == Operator.GT ? Operator.LE :
+                                    operator == Operator.GE ? Operator.LT :
+                                    operator == Operator.EQ ? Operator.NE : Operator.EQ);
+        switch (continues) {
+        case LT:
+        case LE:
+            return Boolean.valueOf(d > 0);
+        case GT:
+        case GE:
+            return Boolean.valueOf(d < 0);
+        case EQ:
+            return Boolean.valueOf(d != 0);
+        default: //NE, excluded by the caller
+            return Boolean.FALSE;
+        }
+    }
+
+    /**
+     * Returns the operator of the function that yields the
+     * number of iterations of the loop, as a function of
+     * the values of the variables at loop entry.
+     *
+     * @param state the current {@link State}.
+     * @param arity the number of arguments of the function.
+     * @return a {@link String} in the format of the
+     *         {@link PrimitiveSymbolicApply} operators.
+     * @throws ThreadStackEmptyException if the thread stack is empty.
+     */
+    private static String countOperator(State state, int arity) throws ThreadStackEmptyException {
+        final Signature method = state.getCurrentMethodSignature();
+        final StringBuilder descriptor = new StringBuilder("(");
+        for (int i = 0; i < arity; ++i) {
+            descriptor.append(INT);
+        }
+        descriptor.append(')');
+        descriptor.append(INT);
+        final String name = LOOP_COUNT_PREFIX + Integer.toHexString(method.toString().hashCode()) + "_" + state.getCurrentProgramCounter();
+        return new Signature(method.getClassName(), descriptor.toString(), name).toString();
+    }
+
+    private LoopSummarizer() {
+        //do not instantiate!
+    }
+}
@@ -0,0 +1,505 @@
+package jbse.algo;
+
+import static jbse.bc.Opcodes.*;
+import static jbse.common.Type.DOUBLE;
+import static jbse.common.Type.INT;
+import static jbse.common.Type.LONG;
+import static jbse.common.Type.VOID;
+import static jbse.common.Type.isPrimitive;
+import static jbse.common.Type.isPrimitiveOpStack;
+import static jbse.common.Type.splitParametersDescriptors;
+import static jbse.common.Type.splitReturnValueDescriptor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import jbse.bc.ClassFile;
+import jbse.bc.Signature;
+import jbse.bc.exc.MethodCodeNotFoundException;
+import jbse.bc.exc.MethodNotFoundException;
+import jbse.common.exc.InvalidInputException;
+import jbse.common.exc.UnexpectedInternalException;
+import jbse.dec.DecisionProcedure;
+import jbse.dec.exc.DecisionException;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.InvalidProgramCounterException;
+import jbse.mem.exc.InvalidSlotException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.val.Calculator;
+import jbse.val.Expression;
+import jbse.val.HistoryPoint;
+import jbse.val.Operator;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.Rewriter;
+import jbse.val.Simplex;
+import jbse.val.Term;
+import jbse.val.Value;
+import jbse.val.exc.InvalidOperandException;
+import jbse.val.exc.InvalidOperatorException;
+import jbse.val.exc.InvalidTypeException;
+import jbse.val.exc.NoResultException;
+
+/**
+ * Calculates the summaries of the methods that only compute on
+ * their primitive parameters, without accessing the heap,
+ * invoking other methods or raising exceptions (e.g.,
+ * validation helpers as {@code isValid(int)} or numeric helpers
+ * as {@code max(int, int)}). The summary of such a method is
+ * calculated once by symbolically executing all its paths
+ * on symbolic placeholders for its parameters, and is the set
+ * of the (path condition, return value) pairs of the paths. Since
+ * the method has no effect, a summary can be instantiated at
+ * every invocation by replacing the placeholders with the actual
+ * parameters, and the invocation can be replaced by pushing an
+ * {@link PrimitiveSymbolicApply#ITE if-then-else} term
+ * on the return values, without pushing a frame nor
+ * stepping the method's bytecodes.
+ */
+final class MethodSummarizer {
+    /** The maximum number of paths of a summarized method. */
+    private static final int MAX_PATHS = 16;
+
+    /** The maximum number of bytecodes executed to summarize a method. */
+    private static final int MAX_STEPS = 2048;
+
+    /**
+     * The maximum number of instantiations of a summary at a
+     * call site that query the decision procedure without
+     * pruning any path. After them, the instantiations at the
+     * call site build the whole if-then-else without querying it.
+     */
+    static final int MAX_INSTANTIATIONS_UNPRUNED = 8;
+
+    /**
+     * What is known about the instantiations of a 
+     * summary at a call site.
+     */
+    static final class CallSite {
+        /** Whether the summary cannot be instantiated at the call site. */
+        boolean notApplicable = false;
+
+        /** 
+         * The number of instantiations at the call site 
+         * that queried the decision procedure.
+         */
+        int instantiationsQuerying = 0;
+
+        /** 
+         * Whether some instantiation at the call site pruned
+         * a path by querying the decision procedure.
+         */
+        boolean pruned = false;
+
+        /**
+         * Checks whether the next instantiation at the
+         * call site should query the decision procedure.
+         * 
+         * @return {@code true} iff some previous query
+         *         pruned a path, or there were less than
+         *         {@link #MAX_INSTANTIATIONS_UNPRUNED} 
+         *         instantiations.
+         */
+        boolean shouldQuery() {
+            return (this.pruned || this.instantiationsQuerying < MAX_INSTANTIATIONS_UNPRUNED);
+        }
+    }
+
+    /**
+     * The summary of a method.
+     */
+    static final class Summary {
+        /** Whether the method is static. */
+        final boolean isStatic;
+
+        /** The placeholders for the parameters of the method (receiver excluded). */
+        final Term[] params;
+
+        /** The declared return type of the method. */
+        final char returnType;
+
+        /**
+         * The path conditions of the paths of the method,
+         * on the placeholders.
+         */
+        final List<Primitive> conditions;
+
+        /**
+         * The return values of the paths of the method,
+         * on the placeholders; {@code null} if the method
+         * is {@code void}.
+         */
+        final List<Primitive> returnValues;
+
+        /** 
+         * The call sites where this summary was instantiated, 
+         * indexed by caller method and program counter.
+         */
+        private final HashMap<String, CallSite> callSites = new HashMap<>();
+
+        Summary(boolean isStatic, Term[] params, char returnType, List<Primitive> conditions, List<Primitive> returnValues) {
+            this.isStatic = isStatic;
+            this.params = params;
+            this.returnType = returnType;
+            this.conditions = conditions;
+            this.returnValues = returnValues;
+        }
+
+        /**
+         * Returns a call site of this summary.
+         * 
+         * @param callerSignature the {@link Signature} of the
+         *        caller method.
+         * @param programCounter an {@code int}, the program
+         *        counter of the invocation in the caller method.
+         * @return a {@link CallSite}.
+         */
+        CallSite getCallSite(Signature callerSignature, int programCounter) {
+            return this.callSites.computeIfAbsent(callerSignature + "@" + programCounter, k -> new CallSite());
+        }
+
+        /**
+         * Instantiates this summary on the actual parameters
+         * of an invocation.
+         *
+         * Unless {@code callSite} says otherwise, the paths
+         * whose conditions on {@code args} are unsatisfiable
+         * under the current assumptions of {@code decisionProcedure}
+         * are dropped, and the if-then-else is cut at the first 
+         * path whose condition is implied by them. This costs up
+         * to two queries per path, that are not done anymore at
+         * the call sites where they never pruned a path.
+         *
+         * @param calc a {@link Calculator}.
+         * @param decisionProcedure a {@link DecisionProcedure}.
+         * @param historyPoint the current {@link HistoryPoint}.
+         * @param args a {@link Value}{@code []}, the actual parameters
+         *        of the invocation (receiver included).
+         * @param callSite the {@link CallSite} of the invocation. 
+         *        It is updated with the outcome of the instantiation.
+         * @return the {@link Primitive} returned by the invocation,
+         *         or {@code null} if the method is {@code void} or the
+         *         summary cannot be instantiated on {@code args}.
+         * @throws InvalidTypeException possibly never.
+         * @throws InvalidInputException possibly never.
+         * @throws DecisionException if the decision procedure fails.
+         */
+        Primitive instantiate(Calculator calc, DecisionProcedure decisionProcedure, HistoryPoint historyPoint, Value[] args, CallSite callSite)
+        throws InvalidTypeException, InvalidInputException, DecisionException {
+            if (this.returnType == VOID) {
+                return null;
+            }
+
+            //binds the placeholders to the actual parameters
+            final int first = (this.isStatic ? 0 : 1);
+            if (args.length != this.params.length + first) {
+                callSite.notApplicable = true;
+                return null;
+            }
+            final HashMap<Term, Primitive> binding = new HashMap<>();
+            for (int i = 0; i < this.params.length; ++i) {
+                final Value arg = args[i + first];
+                if (!(arg instanceof Primitive) || arg.getType() != this.params[i].getType()) {
+                    callSite.notApplicable = true;
+                    return null;
+                }
+                binding.put(this.params[i], (Primitive) arg);
+            }
+
+            //builds the if-then-else on the return values, starting
+            //from the last path, whose condition is implied by the
+            //negation of all the others
+            final boolean query = callSite.shouldQuery();
+            try {
+                final int last = this.returnValues.size() - 1;
+                Primitive retVal = calc.simplify(substitute(calc, this.returnValues.get(last), binding));
+                for (int i = last - 1; i >= 0; --i) {
+                    final Primitive condition = calc.simplify(substitute(calc, this.conditions.get(i), binding));
+                    final Primitive value = calc.simplify(substitute(calc, this.returnValues.get(i), binding));
+                    if (condition instanceof Simplex) {
+                        if (((Boolean) ((Simplex) condition).getActualValue()).booleanValue()) {
+                            retVal = value;
+                        } //else, the path is infeasible and retVal does not change
+                    } else if (query && condition instanceof Expression && !decisionProcedure.isSat((Expression) condition)) {
+                        //the path is infeasible and retVal does not change
+                        callSite.pruned = true;
+                    } else if (query && condition instanceof Expression && !decisionProcedure.isSat((Expression) calc.push(condition).not().pop())) {
+                        //the path is the only feasible one among itself and the following ones
+                        callSite.pruned = true;
+                        retVal = value;
+                    } else if (!value.equals(retVal)) {
+                        retVal = calc.applyFunctionPrimitiveAndPop(value.getType(), historyPoint, PrimitiveSymbolicApply.ITE, condition, value, retVal);
+                    }
+                }
+                if (!isPrimitiveOpStack(this.returnType)) {
+                    //as Algo_XRETURN does
+                    retVal = calc.push(retVal).narrow(this.returnType).pop();
+                }
+                if (query) {
+                    ++callSite.instantiationsQuerying;
+                }
+                return retVal;
+            } catch (NoResultException | InvalidOperandException e) {
+                callSite.notApplicable = true;
+                return null;
+            }
+        }
+
+        private static Primitive substitute(Calculator calc, Primitive p, HashMap<Term, Primitive> binding) throws NoResultException {
+            return Rewriter.applyRewriters(p, new Substitution(calc, binding));
+        }
+    }
+
+    /**
+     * A {@link Rewriter} that replaces the placeholders
+     * with the actual parameters. The expressions are 
+     * rebuilt by a {@link Calculator}, so that the 
+     * operations on concrete parameters are folded.
+     */
+    private static final class Substitution extends Rewriter {
+        private final Calculator calc;
+        private final HashMap<Term, Primitive> binding;
+
+        Substitution(Calculator calc, HashMap<Term, Primitive> binding) {
+            this.calc = calc;
+            this.binding = binding;
+        }
+
+        @Override
+        protected void rewriteTerm(Term x) throws NoResultException {
+            final Primitive value = this.binding.get(x);
+            setResult(value == null ? x : value);
+        }
+
+        @Override
+        protected void rewriteExpression(Expression x) throws NoResultException {
+            try {
+                if (x.isUnary()) {
+                    setResult(this.calc.push(rewrite(x.getOperand())).applyUnary(x.getOperator()).pop());
+                } else {
+                    setResult(this.calc.push(rewrite(x.getFirstOperand())).applyBinary(x.getOperator(), rewrite(x.getSecondOperand())).pop());
+                }
+            } catch (InvalidOperandException | InvalidTypeException | InvalidOperatorException e) {
+                //rewriting of operands yielded bad results: fails
+                throw new NoResultException(e);
+            }
+        }
+    }
+
+    /**
+     * A path under exploration.
+     */
+    private static final class Path implements PathMerger.Frame {
+        final byte[] code;
+        int pc;
+        final Primitive[] locals;
+        final ArrayList<Value> stack;
+        Primitive condition;
+
+        Path(byte[] code, int pc, Primitive[] locals, ArrayList<Value> stack, Primitive condition) {
+            this.code = code;
+            this.pc = pc;
+            this.locals = locals;
+            this.stack = stack;
+            this.condition = condition;
+        }
+
+        Path fork(int pc, Primitive condition) {
+            return new Path(this.code, pc, this.locals.clone(), new ArrayList<>(this.stack), condition);
+        }
+
+        @Override
+        public byte getInstruction(int pc) {
+            return this.code[pc];
+        }
+
+        @Override
+        public int getImmediateSignedWord(int pc) {
+            return (short) ((this.code[pc] << 8) | (this.code[pc + 1] & 0xFF));
+        }
+
+        @Override
+        public Value getLocalVariableValue(int slot) {
+            return this.locals[slot];
+        }
+
+        @Override
+        public void setLocalVariableValue(int slot, Primitive value) {
+            this.locals[slot] = value;
+        }
+    }
+
+    /**
+     * Tries to summarize a method.
+     *
+     * @param calc a {@link Calculator}.
+     * @param classFile the {@link ClassFile} of the method
+     *        implementation.
+     * @param methodSignature the {@link Signature} of the method
+     *        implementation.
+     * @return a {@link Summary}, or {@code null} if the method
+     *         cannot be summarized.
+     */
+    static Summary summarize(Calculator calc, ClassFile classFile, Signature methodSignature) {
+        try {
+            //the parameters and the return value must be primitive
+            //(the receiver, if present, is never accessed)
+            final String descriptor = methodSignature.getDescriptor();
+            final String[] paramsDescriptors = splitParametersDescriptors(descriptor);
+            final String returnDescriptor = splitReturnValueDescriptor(descriptor);
+            if (!isPrimitive(returnDescriptor) && returnDescriptor.charAt(0) != VOID) {
+                return null;
+            }
+            final boolean isStatic = classFile.isMethodStatic(methodSignature);
+            final byte[] code = classFile.getMethodCodeBySignature(methodSignature);
+            final Primitive[] locals = new Primitive[classFile.getLocalVariableLength(methodSignature)];
+            final Term[] params = new Term[paramsDescriptors.length];
+            int slot = (isStatic ? 0 : 1);
+            for (int i = 0; i < paramsDescriptors.length; ++i) {
+                if (!isPrimitive(paramsDescriptors[i]) || !isPrimitiveOpStack(paramsDescriptors[i].charAt(0))) {
+                    return null;
+                }
+                final char type = paramsDescriptors[i].charAt(0);
+                params[i] = placeholder(calc, type, i);
+                locals[slot] = params[i];
+                slot += (type == LONG || type == DOUBLE ? 2 : 1);
+            }
+
+            //explores all the paths
+            final ArrayList<Primitive> conditions = new ArrayList<>();
+            final ArrayList<Primitive> returnValues = new ArrayList<>();
+            final ArrayDeque<Path> toExplore = new ArrayDeque<>();
+            toExplore.push(new Path(code, 0, locals, new ArrayList<>(), calc.valBoolean(true)));
+            int steps = 0;
+            while (!toExplore.isEmpty()) {
+                final Path path = toExplore.pop();
+                while (true) {
+                    if (++steps > MAX_STEPS) {
+                        return null;
+                    }
+                    final int next = step(calc, path, toExplore);
+                    if (next == STEP_RETURN) {
+                        conditions.add(path.condition);
+                        returnValues.add(returnDescriptor.charAt(0) == VOID ? null : (Primitive) path.stack.get(path.stack.size() - 1));
+                        break;
+                    } else if (next == STEP_FAIL || conditions.size() + toExplore.size() >= MAX_PATHS) {
+                        return null;
+                    }
+                }
+            }
+
+            return new Summary(isStatic, params, returnDescriptor.charAt(0), conditions, returnValues);
+        } catch (MethodNotFoundException | MethodCodeNotFoundException | InvalidTypeException |
+                 InvalidOperandException | InvalidOperatorException |
+                 ClassCastException | IndexOutOfBoundsException e) {
+            //the method is not what we expected
+            return null;
+        }
+    }
+
+    /**
+     * Returns the placeholder for a parameter.
+     *
+     * @param calc a {@link Calculator}.
+     * @param type a {@code char}, the type of the parameter.
+     * @param index an {@code int}, the position of the parameter
+     *        (receiver excluded).
+     * @return a {@link Term}.
+     * @throws InvalidTypeException if {@code type} is not primitive.
+     */
+    static Term placeholder(Calculator calc, char type, int index) throws InvalidTypeException {
+        return calc.valTerm(type, "{PARAM" + index + "}");
+    }
+
+    /** Returned by {@link #step} when the path continues. */
+    private static final int STEP_CONTINUE = 0;
+
+    /** Returned by {@link #step} when the path returns. */
+    private static final int STEP_RETURN = 1;
+
+    /** Returned by {@link #step} when the method cannot be summarized. */
+    private static final int STEP_FAIL = 2;
+
+    /**
+     * Symbolically executes a bytecode.
+     *
+     * @param calc a {@link Calculator}.
+     * @param path the {@link Path} to advance.
+     * @param toExplore where the new paths are pushed
+     *        when the bytecode is a branch.
+     * @return {@link #STEP_CONTINUE}, {@link #STEP_RETURN}
+     *         or {@link #STEP_FAIL}.
+     * @throws InvalidOperandException if some operand is ill-typed.
+     * @throws InvalidTypeException if some operand is ill-typed.
+     * @throws InvalidOperatorException possibly never.
+     */
+    private static int step(Calculator calc, Path path, ArrayDeque<Path> toExplore)
+    throws InvalidOperandException, InvalidTypeException, InvalidOperatorException {
+        final ArrayList<Value> stack = path.stack;
+        final byte opcode = path.getInstruction(path.pc);
+        switch (opcode) {
+        case OP_IFEQ: case OP_IFNE: case OP_IFLT: case OP_IFGE: case OP_IFGT: case OP_IFLE:
+            if (stack.isEmpty()) {
+                return STEP_FAIL;
+            }
+            return branch(calc, path, toExplore, OPERATORS[opcode - OP_IFEQ],
+                          (Primitive) stack.remove(stack.size() - 1), calc.valInt(0));
+        case OP_IF_ICMPEQ: case OP_IF_ICMPNE: case OP_IF_ICMPLT:
+        case OP_IF_ICMPGE: case OP_IF_ICMPGT: case OP_IF_ICMPLE: {
+            if (stack.size() < 2) {
+                return STEP_FAIL;
+            }
+            final Primitive second = (Primitive) stack.remove(stack.size() - 1);
+            final Primitive first = (Primitive) stack.remove(stack.size() - 1);
+            return branch(calc, path, toExplore, OPERATORS[opcode - OP_IF_ICMPEQ], first, second);
+        }
+        case OP_GOTO:
+            path.pc += path.getImmediateSignedWord(path.pc + 1);
+            return STEP_CONTINUE;
+        case OP_IRETURN: case OP_LRETURN: case OP_FRETURN: case OP_DRETURN:
+            return (stack.isEmpty() ? STEP_FAIL : STEP_RETURN);
+        case OP_RETURN:
+            return STEP_RETURN;
+        default:
+            //straight-line bytecodes are executed as PathMerger does
+            try {
+                final int next = PathMerger.step(calc, path, stack, path.pc);
+                if (next == PathMerger.STEP_FAIL) {
+                    return STEP_FAIL;
+                }
+                path.pc = next;
+                return STEP_CONTINUE;
+            } catch (InvalidProgramCounterException | InvalidSlotException | 
+                     ThreadStackEmptyException | FrozenStateException e) {
+                //this should never happen, paths have no state
+                throw new UnexpectedInternalException(e);
+            }
+        }
+    }
+
+    /** The comparison operators of the if* bytecodes, in opcode order. */
+    private static final Operator[] OPERATORS = { Operator.EQ, Operator.NE, Operator.LT, Operator.GE, Operator.GT, Operator.LE };
+
+    private static int branch(Calculator calc, Path path, ArrayDeque<Path> toExplore, Operator operator, Primitive first, Primitive second)
+    throws InvalidOperandException, InvalidTypeException, InvalidOperatorException {
+        if (first.getType() != INT || second.getType() != INT) {
+            return STEP_FAIL;
+        }
+        final int target = path.pc + path.getImmediateSignedWord(path.pc + 1);
+        final Primitive condition = calc.push(first).applyBinary(operator, second).pop();
+        if (condition instanceof Simplex) {
+            path.pc = (((Boolean) ((Simplex) condition).getActualValue()).booleanValue() ? target : path.pc + 3);
+        } else {
+            toExplore.push(path.fork(target, calc.push(path.condition).and(condition).pop()));
+            path.condition = calc.push(path.condition).and(calc.push(condition).not().pop()).pop();
+            path.pc += 3;
+        }
+        return STEP_CONTINUE;
+    }
+
+    private MethodSummarizer() {
+        //do not instantiate!
+    }
+}
@@ -0,0 +1,491 @@
+package jbse.algo;
+
+import static jbse.common.Type.BOOLEAN;
+import static jbse.common.Type.BYTE;
+import static jbse.common.Type.CHAR;
+import static jbse.common.Type.DOUBLE;
+import static jbse.common.Type.FLOAT;
+import static jbse.common.Type.INT;
+import static jbse.common.Type.LONG;
+import static jbse.common.Type.SHORT;
+import static jbse.common.Type.VOID;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import jbse.bc.ClassFile;
+import jbse.bc.Signature;
+import jbse.bc.exc.MethodCodeNotFoundException;
+import jbse.bc.exc.MethodNotFoundException;
+import jbse.common.exc.UnexpectedInternalException;
+import jbse.val.Any;
+import jbse.val.Calculator;
+import jbse.val.Expression;
+import jbse.val.NarrowingConversion;
+import jbse.val.Operator;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.PrimitiveSymbolicAtomic;
+import jbse.val.PrimitiveVisitor;
+import jbse.val.Simplex;
+import jbse.val.Term;
+import jbse.val.WideningConversion;
+import jbse.val.exc.InvalidOperandException;
+import jbse.val.exc.InvalidOperatorException;
+import jbse.val.exc.InvalidTypeException;
+
+/**
+ * A file that stores the {@link MethodSummarizer.Summary summaries}
+ * of methods, so they can be reused by other runs. The summaries are
+ * indexed by method signature, and each is tagged with a hash of the
+ * bytecode of the method; a summary is discarded when the bytecode
+ * it was calculated from changes. (The whole classfile cannot be
+ * hashed, since {@link ClassFile}s do not keep their binary content,
+ * but the summary of a method only depends on its own bytecode.)
+ * The store also records the methods that cannot be summarized:
+ * For them {@link #get} returns {@link #UNSUMMARIZABLE}, so they
+ * are not analyzed again.
+ * The file is read once, upon the first lookup, and the summaries
+ * calculated by the run are merged into it by {@link #save()}, that
+ * writes a new file and atomically replaces the old one, so many
+ * JVMs can read the store while another one updates it. The failures
+ * in reading or writing the file are ignored, as the store is just
+ * a cache.
+ */
+final class MethodSummaryStore {
+    /** The magic number at the start of the file. */
+    private static final int MAGIC = 0x4A425345; //"JBSE"
+
+    /** The version of the file format. */
+    private static final short VERSION = 1;
+
+    /**
+     * A fingerprint of the {@link Operator}s, that are
+     * stored by ordinal.
+     */
+    private static final int OPERATORS_FINGERPRINT = Arrays.toString(Operator.values()).hashCode();
+
+    //the tags of the encoded primitives
+    private static final byte TAG_SIMPLEX = 0;
+    private static final byte TAG_TERM = 1;
+    private static final byte TAG_EXPRESSION_UNARY = 2;
+    private static final byte TAG_EXPRESSION_BINARY = 3;
+    private static final byte TAG_WIDENING = 4;
+    private static final byte TAG_NARROWING = 5;
+
+    /**
+     * Returned by {@link #get} for the methods that the
+     * store records as not summarizable. It is not a
+     * valid summary, and must be compared by identity.
+     */
+    static final MethodSummarizer.Summary UNSUMMARIZABLE = new MethodSummarizer.Summary(false, new Term[0], VOID, Collections.emptyList(), Collections.emptyList());
+
+    /**
+     * An entry of the store: The hash of the bytecode
+     * of the method and the encoded summary.
+     */
+    private static final class Entry {
+        final long codeHash;
+        final byte[] summary;
+
+        Entry(long codeHash, byte[] summary) {
+            this.codeHash = codeHash;
+            this.summary = summary;
+        }
+    }
+
+    /** The file. */
+    private final Path file;
+
+    /** The {@link Calculator} used to decode the summaries. */
+    private final Calculator calc;
+
+    /**
+     * The entries read from the file, indexed by method
+     * signature; {@code null} until the first lookup.
+     */
+    private HashMap<String, Entry> entriesRead = null;
+
+    /** The entries added by this run, indexed by method signature. */
+    private final HashMap<String, Entry> entriesAdded = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param file the {@link Path} of the file.
+     * @param calc a {@link Calculator}.
+     */
+    MethodSummaryStore(Path file, Calculator calc) {
+        this.file = file;
+        this.calc = calc;
+    }
+
+    /**
+     * Gets the summary of a method from the store.
+     *
+     * @param classFile the {@link ClassFile} of the method
+     *        implementation.
+     * @param methodSignature the {@link Signature} of the method
+     *        implementation.
+     * @return the stored {@link MethodSummarizer.Summary}, or
+     *         {@link #UNSUMMARIZABLE} if the store records that
+     *         the method cannot be summarized, or {@code null}
+     *         if the store has no up-to-date entry for the method,
+     *         or the entry is corrupted. Only in the last case the
+     *         caller should summarize the method itself.
+     */
+    MethodSummarizer.Summary get(ClassFile classFile, Signature methodSignature) {
+        final Entry entry = lookup(classFile, methodSignature);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            final MethodSummarizer.Summary retVal = decodeSummary(new DataInputStream(new ByteArrayInputStream(entry.summary)));
+            return (retVal == null ? UNSUMMARIZABLE : retVal);
+        } catch (IOException | InvalidTypeException | InvalidOperandException | InvalidOperatorException |
+                 IllegalArgumentException | IndexOutOfBoundsException e) {
+            //corrupted entry
+            return null;
+        }
+    }
+
+    /**
+     * Adds a summary to the store. It will be written
+     * to the file by {@link #save()}.
+     *
+     * @param classFile the {@link ClassFile} of the method
+     *        implementation.
+     * @param methodSignature the {@link Signature} of the method
+     *        implementation.
+     * @param summary the {@link MethodSummarizer.Summary} of the method,
+     *        or {@code null} if the method cannot be summarized.
+     */
+    void put(ClassFile classFile, Signature methodSignature, MethodSummarizer.Summary summary) {
+        final Long codeHash = codeHash(classFile, methodSignature);
+        if (codeHash == null) {
+            return;
+        }
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            encodeSummary(new DataOutputStream(bytes), summary);
+            final Entry entryRead = lookup(classFile, methodSignature);
+            if (entryRead != null && Arrays.equals(entryRead.summary, bytes.toByteArray())) {
+                //already in the file
+                return;
+            }
+            this.entriesAdded.put(methodSignature.toString(), new Entry(codeHash, bytes.toByteArray()));
+        } catch (IOException | UnsupportedOperationException e) {
+            //the summary contains something that cannot be
+            //stored: does not store it
+        }
+    }
+
+    /**
+     * Merges the summaries added by this run into the file.
+     * The file is locked during the update, so concurrent
+     * updates do not lose summaries.
+     */
+    void save() {
+        if (this.entriesAdded.isEmpty()) {
+            return;
+        }
+        final Path lockFile = this.file.resolveSibling(this.file.getFileName() + ".lock");
+        try (final FileChannel lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            final FileLock lock = lockChannel.lock();
+            try {
+                //rereads the file, that another run could have updated
+                final HashMap<String, Entry> entries = read();
+                entries.putAll(this.entriesAdded);
+                final Path tmpFile = Files.createTempFile(this.file.toAbsolutePath().getParent(), this.file.getFileName().toString(), ".tmp");
+                try {
+                    try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile)))) {
+                        out.writeInt(MAGIC);
+                        out.writeShort(VERSION);
+                        out.writeInt(OPERATORS_FINGERPRINT);
+                        out.writeInt(entries.size());
+                        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                            out.writeUTF(entry.getKey());
+                            out.writeLong(entry.getValue().codeHash);
+                            out.writeInt(entry.getValue().summary.length);
+                            out.write(entry.getValue().summary);
+                        }
+                    }
+                    Files.move(tmpFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(tmpFile);
+                }
+                this.entriesAdded.clear();
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            //gives up saving
+        }
+    }
+
+    private Entry lookup(ClassFile classFile, Signature methodSignature) {
+        if (this.entriesRead == null) {
+            this.entriesRead = read();
+        }
+        final Entry entry = this.entriesRead.get(methodSignature.toString());
+        if (entry == null) {
+            return null;
+        }
+        final Long codeHash = codeHash(classFile, methodSignature);
+        return (codeHash != null && codeHash == entry.codeHash ? entry : null);
+    }
+
+    private HashMap<String, Entry> read() {
+        final HashMap<String, Entry> retVal = new HashMap<>();
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file)))) {
+            if (in.readInt() != MAGIC || in.readShort() != VERSION || in.readInt() != OPERATORS_FINGERPRINT) {
+                return retVal;
+            }
+            final int size = in.readInt();
+            for (int i = 0; i < size; ++i) {
+                final String methodSignature = in.readUTF();
+                final long codeHash = in.readLong();
+                final byte[] summary = new byte[in.readInt()];
+                in.readFully(summary);
+                retVal.put(methodSignature, new Entry(codeHash, summary));
+            }
+        } catch (NoSuchFileException e) {
+            //the store is empty
+        } catch (IOException | NegativeArraySizeException e) {
+            //truncated or corrupted file: keeps what was read
+        }
+        return retVal;
+    }
+
+    private static Long codeHash(ClassFile classFile, Signature methodSignature) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((byte) (classFile.isMethodStatic(methodSignature) ? 1 : 0));
+            digest.update(ByteBuffer.allocate(4).putInt(classFile.getLocalVariableLength(methodSignature)).array());
+            final byte[] hash = digest.digest(classFile.getMethodCodeBySignature(methodSignature));
+            long retVal = 0;
+            for (int i = 0; i < 8; ++i) {
+                retVal = (retVal << 8) | (hash[i] & 0xFF);
+            }
+            return retVal;
+        } catch (MethodNotFoundException | MethodCodeNotFoundException e) {
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            //this should never happen, SHA-256 is always supported
+            throw new UnexpectedInternalException(e);
+        }
+    }
+
+    private static void encodeSummary(DataOutputStream out, MethodSummarizer.Summary summary) throws IOException {
+        if (summary == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        out.writeBoolean(summary.isStatic);
+        out.writeChar(summary.returnType);
+        out.writeShort(summary.params.length);
+        for (Term param : summary.params) {
+            out.writeChar(param.getType());
+        }
+        out.writeShort(summary.conditions.size());
+        for (int i = 0; i < summary.conditions.size(); ++i) {
+            encodePrimitive(out, summary.conditions.get(i));
+            final Primitive returnValue = summary.returnValues.get(i);
+            out.writeBoolean(returnValue != null);
+            if (returnValue != null) {
+                encodePrimitive(out, returnValue);
+            }
+        }
+    }
+
+    private MethodSummarizer.Summary decodeSummary(DataInputStream in)
+    throws IOException, InvalidTypeException, InvalidOperandException, InvalidOperatorException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        final boolean isStatic = in.readBoolean();
+        final char returnType = in.readChar();
+        final Term[] params = new Term[in.readShort()];
+        for (int i = 0; i < params.length; ++i) {
+            params[i] = MethodSummarizer.placeholder(this.calc, in.readChar(), i);
+        }
+        final int paths = in.readShort();
+        final ArrayList<Primitive> conditions = new ArrayList<>();
+        final ArrayList<Primitive> returnValues = new ArrayList<>();
+        for (int i = 0; i < paths; ++i) {
+            conditions.add(decodePrimitive(in));
+            returnValues.add(in.readBoolean() ? decodePrimitive(in) : null);
+        }
+        return new MethodSummarizer.Summary(isStatic, params, returnType, conditions, returnValues);
+    }
+
+    private static void encodePrimitive(DataOutputStream out, Primitive p) throws IOException {
+        try {
+            p.accept(new PrimitiveVisitor() {
+                @Override
+                public void visitAny(Any x) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void visitExpression(Expression e) throws Exception {
+                    if (e.isUnary()) {
+                        out.writeByte(TAG_EXPRESSION_UNARY);
+                        out.writeByte(e.getOperator().ordinal());
+                        e.getOperand().accept(this);
+                    } else {
+                        out.writeByte(TAG_EXPRESSION_BINARY);
+                        out.writeByte(e.getOperator().ordinal());
+                        e.getFirstOperand().accept(this);
+                        e.getSecondOperand().accept(this);
+                    }
+                }
+
+                @Override
+                public void visitPrimitiveSymbolicApply(PrimitiveSymbolicApply x) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void visitPrimitiveSymbolicAtomic(PrimitiveSymbolicAtomic s) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void visitSimplex(Simplex x) throws IOException {
+                    out.writeByte(TAG_SIMPLEX);
+                    out.writeChar(x.getType());
+                    final Object value = x.getActualValue();
+                    switch (x.getType()) {
+                    case BOOLEAN:
+                        out.writeBoolean((Boolean) value);
+                        break;
+                    case BYTE:
+                        out.writeByte((Byte) value);
+                        break;
+                    case CHAR:
+                        out.writeChar((Character) value);
+                        break;
+                    case SHORT:
+                        out.writeShort((Short) value);
+                        break;
+                    case INT:
+                        out.writeInt((Integer) value);
+                        break;
+                    case LONG:
+                        out.writeLong((Long) value);
+                        break;
+                    case FLOAT:
+                        out.writeFloat((Float) value);
+                        break;
+                    case DOUBLE:
+                        out.writeDouble((Double) value);
+                        break;
+                    default:
+                        throw new UnsupportedOperationException();
+                    }
+                }
+
+                @Override
+                public void visitTerm(Term x) throws IOException {
+                    out.writeByte(TAG_TERM);
+                    out.writeChar(x.getType());
+                    out.writeUTF(x.getValue());
+                }
+
+                @Override
+                public void visitNarrowingConversion(NarrowingConversion x) throws Exception {
+                    out.writeByte(TAG_NARROWING);
+                    out.writeChar(x.getType());
+                    x.getArg().accept(this);
+                }
+
+                @Override
+                public void visitWideningConversion(WideningConversion x) throws Exception {
+                    out.writeByte(TAG_WIDENING);
+                    out.writeChar(x.getType());
+                    x.getArg().accept(this);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            //this should never happen
+            throw new UnexpectedInternalException(e);
+        }
+    }
+
+    private Primitive decodePrimitive(DataInputStream in)
+    throws IOException, InvalidTypeException, InvalidOperandException, InvalidOperatorException {
+        final byte tag = in.readByte();
+        switch (tag) {
+        case TAG_SIMPLEX: {
+            final char type = in.readChar();
+            switch (type) {
+            case BOOLEAN:
+                return this.calc.valBoolean(in.readBoolean());
+            case BYTE:
+                return this.calc.valByte(in.readByte());
+            case CHAR:
+                return this.calc.valChar(in.readChar());
+            case SHORT:
+                return this.calc.valShort(in.readShort());
+            case INT:
+                return this.calc.valInt(in.readInt());
+            case LONG:
+                return this.calc.valLong(in.readLong());
+            case FLOAT:
+                return this.calc.valFloat(in.readFloat());
+            case DOUBLE:
+                return this.calc.valDouble(in.readDouble());
+            default:
+                throw new IOException("Unexpected simplex type " + type + ".");
+            }
+        }
+        case TAG_TERM: {
+            final char type = in.readChar();
+            return this.calc.valTerm(type, in.readUTF());
+        }
+        case TAG_EXPRESSION_UNARY: {
+            final Operator operator = Operator.values()[in.readByte()];
+            return Expression.makeExpressionUnary(operator, decodePrimitive(in));
+        }
+        case TAG_EXPRESSION_BINARY: {
+            final Operator operator = Operator.values()[in.readByte()];
+            final Primitive firstOperand = decodePrimitive(in);
+            return Expression.makeExpressionBinary(firstOperand, operator, decodePrimitive(in));
+        }
+        case TAG_WIDENING: {
+            final char type = in.readChar();
+            return WideningConversion.make(type, decodePrimitive(in));
+        }
+        case TAG_NARROWING: {
+            final char type = in.readChar();
+            return NarrowingConversion.make(type, decodePrimitive(in));
+        }
+        default:
+            throw new IOException("Unexpected tag " + tag + ".");
+        }
+    }
+}
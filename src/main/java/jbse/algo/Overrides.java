@@ -34,6 +34,7 @@ public final class Overrides {
     public static final String ALGO_INVOKEMETA_METACIRCULAR                        = internalClassName(jbse.algo.Algo_INVOKEMETA_Metacircular.class.getName());
     
     //Overriding meta-level implementations of standard methods
+    public static final String ALGO_JAVA_ARRAYS_FILL                               = internalClassName(jbse.algo.meta.Algo_JAVA_ARRAYS_FILL.class.getName());
     public static final String ALGO_JAVA_CLASS_FORNAME0                            = internalClassName(jbse.algo.meta.Algo_JAVA_CLASS_FORNAME0.class.getName());
     public static final String ALGO_JAVA_CLASS_GETCOMPONENTTYPE                    = internalClassName(jbse.algo.meta.Algo_JAVA_CLASS_GETCOMPONENTTYPE.class.getName());
     public static final String ALGO_JAVA_CLASS_GETCONSTANTPOOL                     = internalClassName(jbse.algo.meta.Algo_JAVA_CLASS_GETCONSTANTPOOL.class.getName());
@@ -80,9 +81,16 @@ public final class Overrides {
     public static final String ALGO_JAVA_OBJECT_HASHCODE                           = internalClassName(jbse.algo.meta.Algo_JAVA_OBJECT_HASHCODE.class.getName());
     public static final String ALGO_JAVA_PACKAGE_GETSYSTEMPACKAGE0                 = internalClassName(jbse.algo.meta.Algo_JAVA_PACKAGE_GETSYSTEMPACKAGE0.class.getName());
     public static final String ALGO_JAVA_REFLECT_ARRAY_NEWARRAY                    = internalClassName(jbse.algo.meta.Algo_JAVA_REFLECT_ARRAY_NEWARRAY.class.getName());
+    public static final String ALGO_JAVA_STRING_CHARAT                             = internalClassName(jbse.algo.meta.Algo_JAVA_STRING_CHARAT.class.getName());
+    public static final String ALGO_JAVA_STRING_COMPARETO                          = internalClassName(jbse.algo.meta.Algo_JAVA_STRING_COMPARETO.class.getName());
+    public static final String ALGO_JAVA_STRING_CONCAT                             = internalClassName(jbse.algo.meta.Algo_JAVA_STRING_CONCAT.class.getName());
+    public static final String ALGO_JAVA_STRING_EQUALS                             = internalClassName(jbse.algo.meta.Algo_JAVA_STRING_EQUALS.class.getName());
     public static final String ALGO_JAVA_STRING_HASHCODE                           = internalClassName(jbse.algo.meta.Algo_JAVA_STRING_HASHCODE.class.getName());
+    public static final String ALGO_JAVA_STRING_INDEXOF                            = internalClassName(jbse.algo.meta.Algo_JAVA_STRING_INDEXOF.class.getName());
     public static final String ALGO_JAVA_STRING_INTERN                             = internalClassName(jbse.algo.meta.Algo_JAVA_STRING_INTERN.class.getName());
+    public static final String ALGO_JAVA_STRING_SUBSTRING                          = internalClassName(jbse.algo.meta.Algo_JAVA_STRING_SUBSTRING.class.getName());
     public static final String ALGO_JAVA_STRINGBUILDER_APPEND                      = internalClassName(jbse.algo.meta.Algo_JAVA_STRINGBUILDER_APPEND.class.getName());
+    public static final String ALGO_JAVA_STRINGBUILDER_TOSTRING                    = internalClassName(jbse.algo.meta.Algo_JAVA_STRINGBUILDER_TOSTRING.class.getName());
     public static final String ALGO_JAVA_SYSTEM_ARRAYCOPY                          = internalClassName(jbse.algo.meta.Algo_JAVA_SYSTEM_ARRAYCOPY.class.getName());
     public static final String ALGO_JAVA_SYSTEM_IDENTITYHASHCODE                   = internalClassName(jbse.algo.meta.Algo_JAVA_SYSTEM_IDENTITYHASHCODE.class.getName());
     public static final String ALGO_JAVA_SYSTEM_MAPLIBRARYNAME                     = internalClassName(jbse.algo.meta.Algo_JAVA_SYSTEM_MAPLIBRARYNAME.class.getName());
@@ -0,0 +1,559 @@
+package jbse.algo;
+
+import static jbse.bc.Offsets.GOTO_OFFSET;
+import static jbse.bc.Offsets.IFX_OFFSET;
+import static jbse.bc.Opcodes.*;
+import static jbse.common.Type.BYTE;
+import static jbse.common.Type.CHAR;
+import static jbse.common.Type.DOUBLE;
+import static jbse.common.Type.FLOAT;
+import static jbse.common.Type.INT;
+import static jbse.common.Type.LONG;
+import static jbse.common.Type.SHORT;
+import static jbse.common.Util.asUnsignedByte;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import jbse.common.exc.InvalidInputException;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.InvalidProgramCounterException;
+import jbse.mem.exc.InvalidSlotException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.val.Calculator;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.Value;
+import jbse.val.exc.InvalidOperandException;
+import jbse.val.exc.InvalidTypeException;
+
+/**
+ * Merges the two paths that start from an if* bytecode with
+ * a symbolic condition and that join at the end of a short
+ * diamond, i.e., either an if-then:
+ *
+ * <pre>
+ *     if* J
+ *     ...       (fallthrough region)
+ * J:  ...       (join point)
+ * </pre>
+ *
+ * or an if-then-else:
+ *
+ * <pre>
+ *     if* T
+ *     ...       (fallthrough region)
+ *     goto J
+ * T:  ...       (jump region)
+ * J:  ...       (join point)
+ * </pre>
+ *
+ * The regions must be straight-line code that only computes
+ * on primitive values in the operand stack and in the local
+ * variables, without accessing the heap, invoking methods
+ * or raising exceptions. Both regions are executed
+ * symbolically, and every local variable or operand that
+ * differs at the join point is bound to an
+ * {@link PrimitiveSymbolicApply#ITE if-then-else} term,
+ * so a single state reaches the join point instead of two.
+ */
+final class PathMerger {
+    /** The maximum length in bytes of the code from the if* to the join point. */
+    private static final int MAX_DIAMOND_LENGTH = 64;
+
+    /**
+     * The result of merging: How the state must be
+     * updated to reach the join point.
+     */
+    static final class Merge {
+        /** The offset of the join point from the if*. */
+        final int offset;
+
+        /** Maps the slots of the modified local variables to their values. */
+        final TreeMap<Integer, Value> locals;
+
+        /** The values to be pushed on the operand stack, bottommost first. */
+        final ArrayList<Value> operands;
+
+        private Merge(int offset, TreeMap<Integer, Value> locals, ArrayList<Value> operands) {
+            this.offset = offset;
+            this.locals = locals;
+            this.operands = operands;
+        }
+
+        /**
+         * Updates a state with the effect of the merged regions.
+         *
+         * @param state the {@link State} to update. Its current
+         *        frame must be the one of the if* and the if*
+         *        operands must have already been popped.
+         * @throws InvalidSlotException if some local variable
+         *         does not exist (should never happen).
+         * @throws ThreadStackEmptyException if the thread stack
+         *         is empty.
+         * @throws FrozenStateException if {@code state} is frozen.
+         */
+        void apply(State state) throws InvalidSlotException, ThreadStackEmptyException, FrozenStateException {
+            for (Map.Entry<Integer, Value> local : this.locals.entrySet()) {
+                state.setLocalVariable(local.getKey(), local.getValue());
+            }
+            for (Value operand : this.operands) {
+                state.pushOperand(operand);
+            }
+        }
+    }
+
+    /**
+     * The symbolic effect of the execution of a region.
+     */
+    static final class Region {
+        /** Maps the slots of the local variables written by the region to their values. */
+        final HashMap<Integer, Value> locals = new HashMap<>();
+
+        /** The values pushed by the region on the operand stack, bottommost first. */
+        final ArrayList<Value> stack = new ArrayList<>();
+
+        /** Whether the region ends with a goto. */
+        boolean endsWithGoto = false;
+
+        /**
+         * The displacement from the if* of the target of the goto that
+         * ends the region; meaningful only if {@link #endsWithGoto}.
+         */
+        int gotoTarget;
+    }
+
+    /**
+     * Tries to merge the paths that start from the if* at the
+     * current program counter.
+     *
+     * @param state the current {@link State}.
+     * @param calc a {@link Calculator}.
+     * @param condition a {@link Primitive}, the condition under which
+     *        the if* jumps.
+     * @param jumpOffset an {@code int}, the jump offset of the if*.
+     * @return a {@link Merge}, or {@code null} if the code that follows
+     *         the if* is not a diamond that can be merged.
+     * @throws ThreadStackEmptyException if the thread stack
+     *         is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    static Merge merge(State state, Calculator calc, Primitive condition, int jumpOffset)
+    throws ThreadStackEmptyException, FrozenStateException {
+        if (jumpOffset <= IFX_OFFSET || jumpOffset > MAX_DIAMOND_LENGTH) {
+            //backward jump (loop), or too long
+            return null;
+        }
+        try {
+            //executes the regions
+            final Region regionFallthrough = new Region();
+            if (!execute(state, calc, regionFallthrough, IFX_OFFSET, jumpOffset, true)) {
+                return null;
+            }
+            final Region regionJump = new Region();
+            final int join;
+            if (!regionFallthrough.endsWithGoto) {
+                join = jumpOffset;
+            } else {
+                join = regionFallthrough.gotoTarget;
+                if (join <= IFX_OFFSET) {
+                    //backward goto: the if* is the condition of
+                    //a top-tested loop, not of a diamond
+                    return null;
+                }
+                if (join <= jumpOffset || join > MAX_DIAMOND_LENGTH) {
+                    return null;
+                }
+                if (!execute(state, calc, regionJump, jumpOffset, join, false)) {
+                    return null;
+                }
+            }
+
+            //merges the operand stacks
+            if (regionFallthrough.stack.size() != regionJump.stack.size()) {
+                return null;
+            }
+            final ArrayList<Value> operands = new ArrayList<>();
+            for (int i = 0; i < regionJump.stack.size(); ++i) {
+                final Value merged = ite(state, calc, condition, regionJump.stack.get(i), regionFallthrough.stack.get(i));
+                if (merged == null) {
+                    return null;
+                }
+                operands.add(merged);
+            }
+
+            //merges the local variables
+            final TreeSet<Integer> slots = new TreeSet<>(regionFallthrough.locals.keySet());
+            slots.addAll(regionJump.locals.keySet());
+            final TreeMap<Integer, Value> locals = new TreeMap<>();
+            for (int slot : slots) {
+                final Value valueJump = (regionJump.locals.containsKey(slot) ? regionJump.locals.get(slot) : state.getLocalVariableValue(slot));
+                final Value valueFallthrough = (regionFallthrough.locals.containsKey(slot) ? regionFallthrough.locals.get(slot) : state.getLocalVariableValue(slot));
+                final Value merged = ite(state, calc, condition, valueJump, valueFallthrough);
+                if (merged == null) {
+                    return null;
+                }
+                locals.put(slot, merged);
+            }
+
+            return new Merge(join, locals, operands);
+        } catch (InvalidProgramCounterException | InvalidSlotException |
+                 InvalidOperandException | InvalidTypeException | InvalidInputException e) {
+            //the code is not what we expected
+            return null;
+        }
+    }
+
+    /**
+     * Builds the value of a variable at the join point.
+     *
+     * @param state the current {@link State}.
+     * @param calc a {@link Calculator}.
+     * @param condition the condition of the if*.
+     * @param valueJump the value of the variable at the end of the jump region.
+     * @param valueFallthrough the value of the variable at the end of the fallthrough region.
+     * @return a {@link Value}, or {@code null} if the values cannot be merged.
+     * @throws InvalidTypeException possibly never.
+     * @throws InvalidInputException possibly never.
+     */
+    private static Value ite(State state, Calculator calc, Primitive condition, Value valueJump, Value valueFallthrough)
+    throws InvalidTypeException, InvalidInputException {
+        if (valueJump == null || valueFallthrough == null) {
+            return null;
+        }
+        if (valueJump.equals(valueFallthrough)) {
+            return valueJump;
+        }
+        if (!(valueJump instanceof Primitive) || !(valueFallthrough instanceof Primitive) ||
+            valueJump.getType() != valueFallthrough.getType()) {
+            return null;
+        }
+        return calc.applyFunctionPrimitiveAndPop(valueJump.getType(), state.getHistoryPoint(), PrimitiveSymbolicApply.ITE, condition, valueJump, valueFallthrough);
+    }
+
+    /**
+     * The code and the local variables on which
+     * a straight-line bytecode is executed by
+     * {@link PathMerger#step}.
+     */
+    interface Frame {
+        /**
+         * Returns a byte of the code.
+         *
+         * @param pc an {@code int}, the position of the byte.
+         * @return a {@code byte}.
+         * @throws InvalidProgramCounterException if {@code pc} is 
+         *         out of the code.
+         * @throws ThreadStackEmptyException if the thread stack is empty.
+         * @throws FrozenStateException if the state is frozen.
+         */
+        byte getInstruction(int pc) throws InvalidProgramCounterException, ThreadStackEmptyException, FrozenStateException;
+
+        /**
+         * Returns a signed word of the code.
+         *
+         * @param pc an {@code int}, the position of the first byte
+         *        of the word.
+         * @return an {@code int}.
+         * @throws InvalidProgramCounterException if {@code pc} is 
+         *         out of the code.
+         * @throws ThreadStackEmptyException if the thread stack is empty.
+         * @throws FrozenStateException if the state is frozen.
+         */
+        int getImmediateSignedWord(int pc) throws InvalidProgramCounterException, ThreadStackEmptyException, FrozenStateException;
+
+        /**
+         * Returns the value of a local variable.
+         *
+         * @param slot an {@code int}, the slot of the variable.
+         * @return a {@link Value}, or {@code null} if 
+         *         the variable is not set.
+         * @throws InvalidSlotException if the variable does not exist.
+         * @throws ThreadStackEmptyException if the thread stack is empty.
+         * @throws FrozenStateException if the state is frozen.
+         */
+        Value getLocalVariableValue(int slot) throws InvalidSlotException, ThreadStackEmptyException, FrozenStateException;
+
+        /**
+         * Sets the value of a local variable.
+         *
+         * @param slot an {@code int}, the slot of the variable.
+         * @param value a {@link Primitive}.
+         */
+        void setLocalVariableValue(int slot, Primitive value);
+    }
+
+    /**
+     * The {@link Frame} of a {@link Region}: The local 
+     * variables written by the region shadow the ones 
+     * of the current frame of the state.
+     */
+    private static final class FrameRegion implements Frame {
+        private final State state;
+        private final Region region;
+
+        FrameRegion(State state, Region region) {
+            this.state = state;
+            this.region = region;
+        }
+
+        @Override
+        public byte getInstruction(int pc) 
+        throws InvalidProgramCounterException, ThreadStackEmptyException, FrozenStateException {
+            return this.state.getInstruction(pc);
+        }
+
+        @Override
+        public int getImmediateSignedWord(int pc) 
+        throws InvalidProgramCounterException, ThreadStackEmptyException, FrozenStateException {
+            return this.state.getCurrentFrame().getImmediateSignedWord(pc);
+        }
+
+        @Override
+        public Value getLocalVariableValue(int slot) 
+        throws InvalidSlotException, ThreadStackEmptyException, FrozenStateException {
+            return (this.region.locals.containsKey(slot) ? this.region.locals.get(slot) : this.state.getLocalVariableValue(slot));
+        }
+
+        @Override
+        public void setLocalVariableValue(int slot, Primitive value) {
+            this.region.locals.put(slot, value);
+        }
+    }
+
+    /**
+     * Symbolically executes a region.
+     *
+     * @param state the current {@link State}.
+     * @param calc a {@link Calculator}.
+     * @param region the {@link Region} where the effect of the execution
+     *        is stored. The local variables it already stores are
+     *        read in place of the ones of the current frame.
+     * @param start an {@code int}, the displacement from the current
+     *        program counter of the first bytecode of the region.
+     * @param end an {@code int}, the displacement from the current
+     *        program counter of the first bytecode after the region.
+     * @param allowGoto {@code true} iff the region may end with a goto.
+     * @return {@code true} iff the region could be executed.
+     * @throws InvalidProgramCounterException if the region runs out
+     *         of the method's code.
+     * @throws InvalidSlotException if some local variable does not exist.
+     * @throws InvalidOperandException if some operand is ill-typed.
+     * @throws InvalidTypeException if some operand is ill-typed.
+     * @throws ThreadStackEmptyException if the thread stack is empty.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    static boolean execute(State state, Calculator calc, Region region, int start, int end, boolean allowGoto)
+    throws InvalidProgramCounterException, InvalidSlotException, InvalidOperandException,
+    InvalidTypeException, ThreadStackEmptyException, FrozenStateException {
+        final FrameRegion frame = new FrameRegion(state, region);
+        int pc = start;
+        while (pc < end) {
+            if (state.getInstruction(pc) == OP_GOTO) {
+                if (allowGoto && pc + GOTO_OFFSET == end) {
+                    region.endsWithGoto = true;
+                    region.gotoTarget = pc + state.getCurrentFrame().getImmediateSignedWord(pc + 1);
+                    return true;
+                }
+                return false;
+            }
+            pc = step(calc, frame, region.stack, pc);
+            if (pc == STEP_FAIL) {
+                return false;
+            }
+        }
+        return (pc == end);
+    }
+
+    /**
+     * Returned by {@link #step} when the bytecode cannot be executed
+     * (the displacements of the bytecodes can be negative).
+     */
+    static final int STEP_FAIL = Integer.MIN_VALUE;
+
+    /**
+     * Symbolically executes a straight-line bytecode that
+     * only computes on primitive values.
+     *
+     * @param calc a {@link Calculator}.
+     * @param frame the {@link Frame} with the code and
+     *        the local variables.
+     * @param stack the operand stack, topmost last.
+     * @param pc an {@code int}, the position of the bytecode.
+     * @return an {@code int}, the position of the next bytecode,
+     *         or {@link #STEP_FAIL} if the bytecode is not
+     *         straight-line, or accesses the heap, invokes, may throw
+     *         an exception, or is wide, or its operands are not
+     *         primitive.
+     * @throws InvalidProgramCounterException if the bytecode runs
+     *         out of the code.
+     * @throws InvalidSlotException if some local variable does not exist.
+     * @throws InvalidOperandException if some operand is ill-typed.
+     * @throws InvalidTypeException if some operand is ill-typed.
+     * @throws ThreadStackEmptyException if the thread stack is empty.
+     * @throws FrozenStateException if the state is frozen.
+     */
+    static int step(Calculator calc, Frame frame, ArrayList<Value> stack, int pc)
+    throws InvalidProgramCounterException, InvalidSlotException, InvalidOperandException,
+    InvalidTypeException, ThreadStackEmptyException, FrozenStateException {
+        final byte opcode = frame.getInstruction(pc);
+        switch (opcode) {
+        case OP_NOP:
+            return pc + 1;
+        case OP_ICONST_M1: case OP_ICONST_0: case OP_ICONST_1: case OP_ICONST_2:
+        case OP_ICONST_3: case OP_ICONST_4: case OP_ICONST_5:
+            stack.add(calc.valInt(opcode - OP_ICONST_0));
+            return pc + 1;
+        case OP_LCONST_0: case OP_LCONST_1:
+            stack.add(calc.valLong(opcode - OP_LCONST_0));
+            return pc + 1;
+        case OP_FCONST_0: case OP_FCONST_1: case OP_FCONST_2:
+            stack.add(calc.valFloat(opcode - OP_FCONST_0));
+            return pc + 1;
+        case OP_DCONST_0: case OP_DCONST_1:
+            stack.add(calc.valDouble(opcode - OP_DCONST_0));
+            return pc + 1;
+        case OP_BIPUSH:
+            stack.add(calc.valInt(frame.getInstruction(pc + 1)));
+            return pc + 2;
+        case OP_SIPUSH:
+            stack.add(calc.valInt(frame.getImmediateSignedWord(pc + 1)));
+            return pc + 3;
+        case OP_ILOAD: case OP_LLOAD: case OP_FLOAD: case OP_DLOAD:
+            return (load(frame, stack, asUnsignedByte(frame.getInstruction(pc + 1))) ? pc + 2 : STEP_FAIL);
+        case OP_ILOAD_0: case OP_ILOAD_1: case OP_ILOAD_2: case OP_ILOAD_3:
+        case OP_LLOAD_0: case OP_LLOAD_1: case OP_LLOAD_2: case OP_LLOAD_3:
+        case OP_FLOAD_0: case OP_FLOAD_1: case OP_FLOAD_2: case OP_FLOAD_3:
+        case OP_DLOAD_0: case OP_DLOAD_1: case OP_DLOAD_2: case OP_DLOAD_3:
+            return (load(frame, stack, (opcode - OP_ILOAD_0) % 4) ? pc + 1 : STEP_FAIL);
+        case OP_ISTORE: case OP_LSTORE: case OP_FSTORE: case OP_DSTORE:
+            return (store(frame, stack, asUnsignedByte(frame.getInstruction(pc + 1))) ? pc + 2 : STEP_FAIL);
+        case OP_ISTORE_0: case OP_ISTORE_1: case OP_ISTORE_2: case OP_ISTORE_3:
+        case OP_LSTORE_0: case OP_LSTORE_1: case OP_LSTORE_2: case OP_LSTORE_3:
+        case OP_FSTORE_0: case OP_FSTORE_1: case OP_FSTORE_2: case OP_FSTORE_3:
+        case OP_DSTORE_0: case OP_DSTORE_1: case OP_DSTORE_2: case OP_DSTORE_3:
+            return (store(frame, stack, (opcode - OP_ISTORE_0) % 4) ? pc + 1 : STEP_FAIL);
+        case OP_IINC: {
+            final int slot = asUnsignedByte(frame.getInstruction(pc + 1));
+            final Value value = frame.getLocalVariableValue(slot);
+            if (!(value instanceof Primitive)) {
+                return STEP_FAIL;
+            }
+            frame.setLocalVariableValue(slot, calc.push((Primitive) value).add(calc.valInt(frame.getInstruction(pc + 2))).pop());
+            return pc + 3;
+        }
+        case OP_POP:
+            if (stack.isEmpty() || isCategory2(stack.get(stack.size() - 1))) {
+                return STEP_FAIL;
+            }
+            stack.remove(stack.size() - 1);
+            return pc + 1;
+        case OP_DUP:
+            if (stack.isEmpty() || isCategory2(stack.get(stack.size() - 1))) {
+                return STEP_FAIL;
+            }
+            stack.add(stack.get(stack.size() - 1));
+            return pc + 1;
+        case OP_IADD: case OP_LADD: case OP_FADD: case OP_DADD:
+        case OP_ISUB: case OP_LSUB: case OP_FSUB: case OP_DSUB:
+        case OP_IMUL: case OP_LMUL: case OP_FMUL: case OP_DMUL:
+        case OP_IAND: case OP_LAND: case OP_IOR: case OP_LOR: case OP_IXOR: case OP_LXOR:
+        case OP_ISHL: case OP_LSHL: case OP_ISHR: case OP_LSHR: case OP_IUSHR: case OP_LUSHR: {
+            if (stack.size() < 2) {
+                return STEP_FAIL;
+            }
+            final Primitive second = (Primitive) stack.remove(stack.size() - 1);
+            final Primitive first = (Primitive) stack.remove(stack.size() - 1);
+            stack.add(binary(calc, opcode, first, second));
+            return pc + 1;
+        }
+        case OP_INEG: case OP_LNEG: case OP_FNEG: case OP_DNEG:
+            if (stack.isEmpty()) {
+                return STEP_FAIL;
+            }
+            stack.add(calc.push((Primitive) stack.remove(stack.size() - 1)).neg().pop());
+            return pc + 1;
+        case OP_I2L: case OP_F2L: case OP_D2L:
+            return (convert(calc, stack, LONG) ? pc + 1 : STEP_FAIL);
+        case OP_I2F: case OP_L2F: case OP_D2F:
+            return (convert(calc, stack, FLOAT) ? pc + 1 : STEP_FAIL);
+        case OP_I2D: case OP_L2D: case OP_F2D:
+            return (convert(calc, stack, DOUBLE) ? pc + 1 : STEP_FAIL);
+        case OP_L2I: case OP_F2I: case OP_D2I:
+            return (convert(calc, stack, INT) ? pc + 1 : STEP_FAIL);
+        case OP_I2B: case OP_I2C: case OP_I2S:
+            if (!convert(calc, stack, (opcode == OP_I2B ? BYTE : opcode == OP_I2C ? CHAR : SHORT))) {
+                return STEP_FAIL;
+            }
+            stack.add(calc.push((Primitive) stack.remove(stack.size() - 1)).widen(INT).pop());
+            return pc + 1;
+        default:
+            //jumps, accesses the heap, invokes, may throw
+            //an exception, or is wide: cannot execute
+            return STEP_FAIL;
+        }
+    }
+
+    private static boolean load(Frame frame, ArrayList<Value> stack, int slot)
+    throws InvalidSlotException, ThreadStackEmptyException, FrozenStateException {
+        final Value value = frame.getLocalVariableValue(slot);
+        if (!(value instanceof Primitive)) {
+            return false;
+        }
+        stack.add(value);
+        return true;
+    }
+
+    private static boolean store(Frame frame, ArrayList<Value> stack, int slot) {
+        if (stack.isEmpty() || !(stack.get(stack.size() - 1) instanceof Primitive)) {
+            return false;
+        }
+        frame.setLocalVariableValue(slot, (Primitive) stack.remove(stack.size() - 1));
+        return true;
+    }
+
+    private static boolean convert(Calculator calc, ArrayList<Value> stack, char type)
+    throws InvalidOperandException, InvalidTypeException {
+        if (stack.isEmpty()) {
+            return false;
+        }
+        stack.add(calc.push((Primitive) stack.remove(stack.size() - 1)).to(type).pop());
+        return true;
+    }
+
+    private static boolean isCategory2(Value value) {
+        return (value.getType() == LONG || value.getType() == DOUBLE);
+    }
+
+    private static Primitive binary(Calculator calc, byte opcode, Primitive first, Primitive second)
+    throws InvalidOperandException, InvalidTypeException {
+        switch (opcode) {
+        case OP_IADD: case OP_LADD: case OP_FADD: case OP_DADD:
+            return calc.push(first).add(second).pop();
+        case OP_ISUB: case OP_LSUB: case OP_FSUB: case OP_DSUB:
+            return calc.push(first).sub(second).pop();
+        case OP_IMUL: case OP_LMUL: case OP_FMUL: case OP_DMUL:
+            return calc.push(first).mul(second).pop();
+        case OP_IAND: case OP_LAND:
+            return calc.push(first).andBitwise(second).pop();
+        case OP_IOR: case OP_LOR:
+            return calc.push(first).orBitwise(second).pop();
+        case OP_IXOR: case OP_LXOR:
+            return calc.push(first).xorBitwise(second).pop();
+        case OP_ISHL: case OP_LSHL:
+            return calc.push(first).shl(second).pop();
+        case OP_ISHR: case OP_LSHR:
+            return calc.push(first).shr(second).pop();
+        default: //OP_IUSHR, OP_LUSHR
+            return calc.push(first).ushr(second).pop();
+        }
+    }
+
+    private PathMerger() {
+        //do not instantiate!
+    }
+}
@@ -0,0 +1,114 @@
+package jbse.algo.meta;
+
+import static jbse.algo.Util.continueWithBaseLevelImpl;
+import static jbse.algo.Util.exitFromAlgorithm;
+import static jbse.algo.Util.failExecution;
+import static jbse.algo.Util.throwVerifyError;
+import static jbse.common.Type.isPrimitiveOpStack;
+import static jbse.common.Type.parametersNumber;
+import static jbse.common.Type.toPrimitiveOrVoidInternalName;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+import jbse.algo.Algo_INVOKEMETA_Nonbranching;
+import jbse.algo.InterruptException;
+import jbse.algo.StrategyUpdate;
+import jbse.bc.ClassFile;
+import jbse.common.exc.ClasspathException;
+import jbse.common.exc.InvalidInputException;
+import jbse.mem.Array;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.tree.DecisionAlternative_NONE;
+import jbse.val.Calculator;
+import jbse.val.Primitive;
+import jbse.val.Reference;
+import jbse.val.ReferenceConcrete;
+import jbse.val.ReferenceSymbolic;
+import jbse.val.Simplex;
+import jbse.val.exc.InvalidOperandException;
+import jbse.val.exc.InvalidTypeException;
+
+/**
+ * Meta-level implementation of the {@link java.util.Arrays#fill(int[], int) java.util.Arrays.fill}
+ * methods for arrays with primitive member type. The whole range is filled in
+ * one step; if the array has not a simple representation, the range is described
+ * by one array entry. When the array is null or unresolved, or the range is
+ * symbolic or out of bounds, the base-level implementation is executed.
+ */
+public final class Algo_JAVA_ARRAYS_FILL extends Algo_INVOKEMETA_Nonbranching {
+    private Reference arrayReference; //set by cookMore
+    private Primitive fromIndex, toIndex; //set by cookMore
+    private Primitive value; //set by cookMore
+
+    @Override
+    protected Supplier<Integer> numOperands() {
+        return () -> parametersNumber(this.methodSignatureImplementation.getDescriptor(), this.isStatic);
+    }
+
+    @Override
+    protected void cookMore(State state)
+    throws ThreadStackEmptyException, InterruptException, InvalidInputException, ClasspathException, FrozenStateException {
+        final Calculator calc = this.ctx.getCalculator();
+        try {
+            this.arrayReference = (Reference) this.data.operand(0);
+            if (state.isNull(this.arrayReference) ||
+                (!(this.arrayReference instanceof ReferenceConcrete) && !state.resolved((ReferenceSymbolic) this.arrayReference))) {
+                continueWithBaseLevelImpl(state, this.isInterface, this.isSpecial, this.isStatic);
+            }
+            final Array array = (Array) state.getObject(this.arrayReference);
+            final ClassFile arrayMemberType = array.getType().getMemberClass();
+            if (!arrayMemberType.isPrimitiveOrVoid()) {
+                //this should never happen, the overridden methods
+                //are only those for primitive arrays
+                failExecution("Invoked the meta-level implementation of java.util.Arrays.fill with an array with nonprimitive member type " + arrayMemberType.getClassName() + ".");
+            }
+            final Primitive length = array.getLength();
+            if (this.data.operands().length == 2) {
+                this.fromIndex = calc.valInt(0);
+                this.toIndex = length;
+                this.value = (Primitive) this.data.operand(1);
+            } else {
+                this.fromIndex = (Primitive) this.data.operand(1);
+                this.toIndex = (Primitive) this.data.operand(2);
+                this.value = (Primitive) this.data.operand(3);
+                if (!(this.fromIndex instanceof Simplex && this.toIndex instanceof Simplex && length instanceof Simplex)) {
+                    continueWithBaseLevelImpl(state, this.isInterface, this.isSpecial, this.isStatic);
+                }
+                final int fromIndexInt = ((Integer) ((Simplex) this.fromIndex).getActualValue()).intValue();
+                final int toIndexInt = ((Integer) ((Simplex) this.toIndex).getActualValue()).intValue();
+                final int lengthInt = ((Integer) ((Simplex) length).getActualValue()).intValue();
+                if (fromIndexInt < 0 || fromIndexInt > toIndexInt || toIndexInt > lengthInt) {
+                    //the base-level implementation throws the right exception
+                    continueWithBaseLevelImpl(state, this.isInterface, this.isSpecial, this.isStatic);
+                }
+            }
+
+            //converts the value in case of byte/char/short/boolean
+            //arrays, as xastore does
+            final char arrayMemberTypeInternal = toPrimitiveOrVoidInternalName(arrayMemberType.getClassName());
+            if (!isPrimitiveOpStack(arrayMemberTypeInternal)) {
+                this.value = calc.push(this.value).to(arrayMemberTypeInternal).pop();
+            }
+        } catch (ClassCastException | InvalidTypeException | InvalidOperandException e) {
+            throwVerifyError(state, calc);
+            exitFromAlgorithm();
+        }
+    }
+
+    @Override
+    protected StrategyUpdate<DecisionAlternative_NONE> updater() {
+        return (state, alt) -> {
+            try {
+                final Array array = (Array) state.getObject(this.arrayReference);
+                final Iterator<? extends Array.AccessOutcomeIn> entries = array.fill(this.ctx.getCalculator(), this.fromIndex, this.toIndex, this.value);
+                this.ctx.decisionProcedure.completeFill(entries);
+            } catch (InvalidTypeException | ClassCastException e) {
+                //this should never happen
+                failExecution(e);
+            }
+        };
+    }
+}
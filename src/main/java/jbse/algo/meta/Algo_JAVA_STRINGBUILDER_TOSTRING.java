@@ -0,0 +1,42 @@
+package jbse.algo.meta;
+
+import static jbse.bc.Signatures.JAVA_ABSTRACTSTRINGBUILDER_COUNT;
+import static jbse.bc.Signatures.JAVA_ABSTRACTSTRINGBUILDER_VALUE;
+
+import jbse.common.exc.InvalidInputException;
+import jbse.mem.Array;
+import jbse.mem.Instance;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.HeapMemoryExhaustedException;
+import jbse.val.Calculator;
+import jbse.val.Reference;
+import jbse.val.ReferenceConcrete;
+import jbse.val.ReferenceSymbolic;
+import jbse.val.Value;
+
+/**
+ * Meta-level implementation of {@link java.lang.StringBuilder#toString()}
+ * when all the operands are concrete.
+ */
+public final class Algo_JAVA_STRINGBUILDER_TOSTRING extends Algo_JAVA_STRING_CONCRETEX {
+    @Override
+    protected Value calculate(State state, Calculator calc)
+    throws HeapMemoryExhaustedException, FrozenStateException, InvalidInputException {
+        final Instance thisObject = concreteInstance(state, (Reference) this.data.operand(0));
+        if (thisObject == null) {
+            return null;
+        }
+        final Integer count = concreteInt(thisObject.getFieldValue(JAVA_ABSTRACTSTRINGBUILDER_COUNT));
+        final Reference valueReference = (Reference) thisObject.getFieldValue(JAVA_ABSTRACTSTRINGBUILDER_VALUE);
+        if (count == null || state.isNull(valueReference) ||
+            (!(valueReference instanceof ReferenceConcrete) && !state.resolved((ReferenceSymbolic) valueReference))) {
+            return null;
+        }
+        final String value = ((Array) state.getObject(valueReference)).valueString();
+        if (value == null || count < 0 || count > value.length()) {
+            return null;
+        }
+        return state.createString(calc, value.substring(0, count));
+    }
+}
@@ -0,0 +1,24 @@
+package jbse.algo.meta;
+
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.HeapMemoryExhaustedException;
+import jbse.val.Calculator;
+import jbse.val.Value;
+
+/**
+ * Meta-level implementation of {@link java.lang.String#compareTo(String)}
+ * when all the operands are concrete.
+ */
+public final class Algo_JAVA_STRING_COMPARETO extends Algo_JAVA_STRING_CONCRETEX {
+    @Override
+    protected Value calculate(State state, Calculator calc) 
+    throws HeapMemoryExhaustedException, FrozenStateException {
+        final String thisString = concreteString(state, this.data.operand(0));
+        final String otherString = concreteString(state, this.data.operand(1));
+        if (thisString == null || otherString == null) {
+            return null;
+        }
+        return calc.valInt(thisString.compareTo(otherString));
+    }
+}
@@ -0,0 +1,29 @@
+package jbse.algo.meta;
+
+import jbse.common.exc.InvalidInputException;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.HeapMemoryExhaustedException;
+import jbse.val.Calculator;
+import jbse.val.Value;
+
+/**
+ * Meta-level implementation of {@link java.lang.String#concat(String)}
+ * when all the operands are concrete.
+ */
+public final class Algo_JAVA_STRING_CONCAT extends Algo_JAVA_STRING_CONCRETEX {
+    @Override
+    protected Value calculate(State state, Calculator calc) 
+    throws HeapMemoryExhaustedException, FrozenStateException, InvalidInputException {
+        final String thisString = concreteString(state, this.data.operand(0));
+        final String otherString = concreteString(state, this.data.operand(1));
+        if (thisString == null || otherString == null) {
+            return null;
+        }
+        if (otherString.isEmpty()) {
+            //as the base-level implementation, returns this
+            return this.data.operand(0);
+        }
+        return state.createString(calc, thisString.concat(otherString));
+    }
+}
@@ -0,0 +1,145 @@
+package jbse.algo.meta;
+
+import static jbse.algo.Util.continueWithBaseLevelImpl;
+import static jbse.algo.Util.exitFromAlgorithm;
+import static jbse.algo.Util.throwNew;
+import static jbse.algo.Util.throwVerifyError;
+import static jbse.algo.Util.valueString;
+import static jbse.bc.Signatures.OUT_OF_MEMORY_ERROR;
+import static jbse.common.Type.parametersNumber;
+
+import java.util.function.Supplier;
+
+import jbse.algo.Algo_INVOKEMETA_Nonbranching;
+import jbse.algo.InterruptException;
+import jbse.algo.StrategyUpdate;
+import jbse.common.exc.ClasspathException;
+import jbse.common.exc.InvalidInputException;
+import jbse.mem.Instance;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.HeapMemoryExhaustedException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.tree.DecisionAlternative_NONE;
+import jbse.val.Calculator;
+import jbse.val.Reference;
+import jbse.val.ReferenceConcrete;
+import jbse.val.ReferenceSymbolic;
+import jbse.val.Simplex;
+import jbse.val.Value;
+
+/**
+ * Abstract meta-level implementation of many {@link java.lang.String}
+ * and {@link java.lang.StringBuilder} methods. When all the operands
+ * of the invocation are concrete the result is calculated at the
+ * meta-level in one step, otherwise the base-level implementation
+ * is executed.
+ */
+public abstract class Algo_JAVA_STRING_CONCRETEX extends Algo_INVOKEMETA_Nonbranching {
+    private Value toPush; //set by cookMore
+
+    @Override
+    protected final Supplier<Integer> numOperands() {
+        return () -> parametersNumber(this.methodSignatureImplementation.getDescriptor(), this.isStatic);
+    }
+
+    /**
+     * Calculates the return value of the invocation at the
+     * meta-level.
+     *
+     * @param state the current {@link State}.
+     * @param calc a {@link Calculator}.
+     * @return the {@link Value} to be returned, or {@code null}
+     *         if the operands are not all concrete, or the
+     *         invocation must raise an exception; in this
+     *         case the base-level implementation is executed.
+     * @throws HeapMemoryExhaustedException if the heap is full.
+     * @throws FrozenStateException if {@code state} is frozen.
+     * @throws InvalidInputException possibly never.
+     * @throws ClassCastException if some operand has a wrong type.
+     */
+    protected abstract Value calculate(State state, Calculator calc)
+    throws HeapMemoryExhaustedException, FrozenStateException, InvalidInputException;
+
+    @Override
+    protected final void cookMore(State state)
+    throws ThreadStackEmptyException, InterruptException, InvalidInputException, ClasspathException {
+        final Calculator calc = this.ctx.getCalculator();
+        try {
+            this.toPush = calculate(state, calc);
+            if (this.toPush == null) {
+                continueWithBaseLevelImpl(state, this.isInterface, this.isSpecial, this.isStatic);
+            }
+        } catch (HeapMemoryExhaustedException e) {
+            throwNew(state, calc, OUT_OF_MEMORY_ERROR);
+            exitFromAlgorithm();
+        } catch (ClassCastException e) {
+            throwVerifyError(state, calc);
+            exitFromAlgorithm();
+        }
+    }
+
+    /**
+     * Returns the text of a {@code java.lang.String}.
+     *
+     * @param state a {@link State}.
+     * @param value a {@link Value}, a reference to a
+     *        {@code java.lang.String}.
+     * @return the text of the {@code java.lang.String}
+     *         referred by {@code value}, or {@code null} if
+     *         {@code value} is null, or is an unresolved symbolic
+     *         reference, or refers an object that is not a string,
+     *         or whose text is not concrete.
+     * @throws FrozenStateException if {@code state} is frozen.
+     * @throws ClassCastException if {@code value} is not a {@link Reference}.
+     */
+    protected static final String concreteString(State state, Value value) throws FrozenStateException {
+        final Instance i = concreteInstance(state, (Reference) value);
+        return (i == null ? null : valueString(state, i));
+    }
+
+    /**
+     * Returns the object a reference refers to.
+     *
+     * @param state a {@link State}.
+     * @param ref a {@link Reference}.
+     * @return the {@link Instance} referred by {@code ref},
+     *         or {@code null} if {@code ref} is null, or is an
+     *         unresolved symbolic reference, or does not
+     *         refer an {@link Instance}.
+     * @throws FrozenStateException if {@code state} is frozen.
+     */
+    protected static final Instance concreteInstance(State state, Reference ref) throws FrozenStateException {
+        if (state.isNull(ref)) {
+            return null;
+        }
+        if (!(ref instanceof ReferenceConcrete) && !state.resolved((ReferenceSymbolic) ref)) {
+            return null;
+        }
+        try {
+            return (Instance) state.getObject(ref);
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the value of an {@code int} operand.
+     *
+     * @param value a {@link Value}.
+     * @return the value of {@code value} as an {@link Integer},
+     *         or {@code null} if {@code value} is symbolic.
+     * @throws ClassCastException if {@code value} is concrete
+     *         but not an {@code int}.
+     */
+    protected static final Integer concreteInt(Value value) {
+        return (value instanceof Simplex ? (Integer) ((Simplex) value).getActualValue() : null);
+    }
+
+    @Override
+    protected final StrategyUpdate<DecisionAlternative_NONE> updater() {
+        return (state, alt) -> {
+            state.pushOperand(this.toPush);
+        };
+    }
+}
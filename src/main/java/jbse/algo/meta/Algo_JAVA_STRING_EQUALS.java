@@ -0,0 +1,31 @@
+package jbse.algo.meta;
+
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.HeapMemoryExhaustedException;
+import jbse.val.Calculator;
+import jbse.val.Reference;
+import jbse.val.Value;
+
+/**
+ * Meta-level implementation of {@link java.lang.String#equals(Object)}
+ * when all the operands are concrete.
+ */
+public final class Algo_JAVA_STRING_EQUALS extends Algo_JAVA_STRING_CONCRETEX {
+    @Override
+    protected Value calculate(State state, Calculator calc) 
+    throws HeapMemoryExhaustedException, FrozenStateException {
+        final String thisString = concreteString(state, this.data.operand(0));
+        if (thisString == null) {
+            return null;
+        }
+        if (state.isNull((Reference) this.data.operand(1))) {
+            return calc.valInt(0);
+        }
+        final String otherString = concreteString(state, this.data.operand(1));
+        if (otherString == null) {
+            return null;
+        }
+        return calc.valInt(thisString.equals(otherString) ? 1 : 0);
+    }
+}
@@ -0,0 +1,40 @@
+package jbse.algo.meta;
+
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.HeapMemoryExhaustedException;
+import jbse.val.Calculator;
+import jbse.val.Reference;
+import jbse.val.Value;
+
+/**
+ * Meta-level implementation of the many {@link java.lang.String#indexOf}
+ * when all the operands are concrete.
+ */
+public final class Algo_JAVA_STRING_INDEXOF extends Algo_JAVA_STRING_CONCRETEX {
+    @Override
+    protected Value calculate(State state, Calculator calc) 
+    throws HeapMemoryExhaustedException, FrozenStateException {
+        final String thisString = concreteString(state, this.data.operand(0));
+        if (thisString == null) {
+            return null;
+        }
+        final Integer fromIndex;
+        if (this.data.operands().length == 3) {
+            fromIndex = concreteInt(this.data.operand(2));
+            if (fromIndex == null) {
+                return null;
+            }
+        } else {
+            fromIndex = 0;
+        }
+        final Value what = this.data.operand(1);
+        if (what instanceof Reference) {
+            final String str = concreteString(state, what);
+            return (str == null ? null : calc.valInt(thisString.indexOf(str, fromIndex)));
+        } else {
+            final Integer ch = concreteInt(what);
+            return (ch == null ? null : calc.valInt(thisString.indexOf(ch, fromIndex)));
+        }
+    }
+}
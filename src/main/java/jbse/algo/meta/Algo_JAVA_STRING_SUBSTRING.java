@@ -0,0 +1,34 @@
+package jbse.algo.meta;
+
+import jbse.common.exc.InvalidInputException;
+import jbse.mem.State;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.HeapMemoryExhaustedException;
+import jbse.val.Calculator;
+import jbse.val.Value;
+
+/**
+ * Meta-level implementation of the many {@link java.lang.String#substring}
+ * when all the operands are concrete.
+ */
+public final class Algo_JAVA_STRING_SUBSTRING extends Algo_JAVA_STRING_CONCRETEX {
+    @Override
+    protected Value calculate(State state, Calculator calc) 
+    throws HeapMemoryExhaustedException, FrozenStateException, InvalidInputException {
+        final String thisString = concreteString(state, this.data.operand(0));
+        if (thisString == null) {
+            return null;
+        }
+        final Integer beginIndex = concreteInt(this.data.operand(1));
+        final Integer endIndex = (this.data.operands().length == 3 ? concreteInt(this.data.operand(2)) : Integer.valueOf(thisString.length()));
+        if (beginIndex == null || endIndex == null || 
+            beginIndex < 0 || endIndex > thisString.length() || beginIndex > endIndex) {
+            return null;
+        }
+        if (beginIndex == 0 && endIndex == thisString.length()) {
+            //as the base-level implementation, returns this
+            return this.data.operand(0);
+        }
+        return state.createString(calc, thisString.substring(beginIndex, endIndex));
+    }
+}
@@ -39,4 +39,11 @@ public interface Formatter {
      * {@link #emit()}.
      */
     void cleanup();
+
+    /**
+     * Releases the resources held by this formatter. 
+     * Must be invoked when the symbolic execution ends, 
+     * also when it ends abnormally. 
+     */
+    default void close() { }
 }
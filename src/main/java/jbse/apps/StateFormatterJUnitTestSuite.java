@@ -10,6 +10,11 @@ import static jbse.common.Type.isPrimitiveIntegral;
 import static jbse.common.Type.splitParametersDescriptors;
 import static jbse.common.Type.splitReturnValueDescriptor;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Supplier;
 
@@ -36,7 +41,12 @@ import jbse.val.WideningConversion;
 
 /**
  * A {@link Formatter} that emits a JUnit test suite, with 
- * test cases covering the symbolic states.
+ * test cases covering the symbolic states. If it is given 
+ * a directory, it does not emit the test suite, but splits 
+ * it in many test suite files in the directory, each with 
+ * a bounded number of test cases, and writes each test case 
+ * as soon as its state is formatted, so the memory it uses 
+ * does not grow with the number of test cases.
  * 
  * @author Esther Turati
  * @author Pietro Braione
@@ -44,23 +54,49 @@ import jbse.val.WideningConversion;
 public final class StateFormatterJUnitTestSuite implements Formatter {
     private final Supplier<State> initialStateSupplier;
     private final Supplier<Map<PrimitiveSymbolic, Simplex>> modelSupplier;
+    private final Path testSuitesDirectory;
+    private final int testSuiteSize;
     private StringBuilder output = new StringBuilder();
     private int testCounter = 0;
+    private String testSuiteName;
+    private BufferedWriter testSuiteWriter = null;
+    private int testSuiteCounter = 0;
+    private int testSuiteTestCounter = 0;
 
     public StateFormatterJUnitTestSuite(Supplier<State> initialStateSupplier, 
                                         Supplier<Map<PrimitiveSymbolic, Simplex>> modelSupplier) {
+        this(initialStateSupplier, modelSupplier, null, 0);
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param initialStateSupplier a {@link Supplier} of the initial {@link State}.
+     * @param modelSupplier a {@link Supplier} of the model of the path condition
+     *        of the formatted {@link State}.
+     * @param testSuitesDirectory a {@link Path}, the directory where the test 
+     *        suite files are written, or {@code null} if the test suite must be 
+     *        emitted.
+     * @param testSuiteSize a positive {@code int}, the maximum number of test 
+     *        cases in a test suite file. Ignored if {@code testSuitesDirectory == null}.
+     */
+    public StateFormatterJUnitTestSuite(Supplier<State> initialStateSupplier, 
+                                        Supplier<Map<PrimitiveSymbolic, Simplex>> modelSupplier,
+                                        Path testSuitesDirectory, int testSuiteSize) {
         this.initialStateSupplier = initialStateSupplier;
         this.modelSupplier = modelSupplier;
+        this.testSuitesDirectory = testSuitesDirectory;
+        this.testSuiteSize = testSuiteSize;
     }
 
     @Override
     public void formatPrologue(final String clazz) {
-        this.output.append("import org.junit.Test;\n")
-                .append("import static org.junit.Assert.*;\n")
-                .append("import java.lang.*;\n")
-                .append("import java.util.*;\n").append('\n')
-                .append("public class ")
-                .append(clazz).append("Test {\n");
+        if (this.testSuitesDirectory == null) {
+            appendTestSuiteStart(this.output, clazz + "Test");
+        } else {
+            //the test suite files are started lazily
+            this.testSuiteName = clazz + "Test";
+        }
 
         /*this.initialStateSupplier.get().getRootClass().getClassName();
         this.output.append(PROLOGUE);*/
@@ -68,16 +104,71 @@ public final class StateFormatterJUnitTestSuite implements Formatter {
 
     @Override
     public void formatState(State state) {
+        final StringBuilder testCase = new StringBuilder();
         try {
-			new JUnitTestCase(this.output, this.initialStateSupplier.get(), state, this.modelSupplier.get(), this.testCounter++);
+			new JUnitTestCase(testCase, this.initialStateSupplier.get(), state, this.modelSupplier.get(), this.testCounter++);
 		} catch (FrozenStateException e) {
-			this.output.delete(0, this.output.length());
+			return;
 		}
+        if (this.testSuitesDirectory == null) {
+            this.output.append(testCase);
+        } else {
+            writeTestCase(testCase);
+        }
     }
 
     @Override
     public void formatEpilogue() {
-        this.output.append("}\n");
+        if (this.testSuitesDirectory == null) {
+            this.output.append("}\n");
+        } else {
+            closeTestSuiteFile();
+        }
+    }
+
+    private static void appendTestSuiteStart(StringBuilder s, String testSuiteName) {
+        s.append("import org.junit.Test;\n")
+         .append("import static org.junit.Assert.*;\n")
+         .append("import java.lang.*;\n")
+         .append("import java.util.*;\n").append('\n')
+         .append("public class ")
+         .append(testSuiteName).append(" {\n");
+    }
+
+    private void writeTestCase(StringBuilder testCase) {
+        try {
+            if (this.testSuiteWriter == null) {
+                final String testSuiteFileName = this.testSuiteName + "_" + this.testSuiteCounter;
+                Files.createDirectories(this.testSuitesDirectory);
+                this.testSuiteWriter = Files.newBufferedWriter(this.testSuitesDirectory.resolve(testSuiteFileName + ".java"));
+                final StringBuilder testSuiteStart = new StringBuilder();
+                appendTestSuiteStart(testSuiteStart, testSuiteFileName);
+                this.testSuiteWriter.append(testSuiteStart);
+            }
+            this.testSuiteWriter.append(testCase);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ++this.testSuiteTestCounter;
+        if (this.testSuiteTestCounter == this.testSuiteSize) {
+            closeTestSuiteFile();
+        }
+    }
+
+    private void closeTestSuiteFile() {
+        if (this.testSuiteWriter == null) {
+            return;
+        }
+        try {
+            this.testSuiteWriter.append("}\n");
+            this.testSuiteWriter.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.testSuiteWriter = null;
+            ++this.testSuiteCounter;
+            this.testSuiteTestCounter = 0;
+        }
     }
 
     @Override
@@ -90,6 +181,13 @@ public final class StateFormatterJUnitTestSuite implements Formatter {
         this.output = new StringBuilder();
     }
 
+    @Override
+    public void close() {
+        //closes the last test suite file if the 
+        //epilogue was not formatted
+        closeTestSuiteFile();
+    }
+
     private static class JUnitTestCase {
         private static final String INDENT = "        ";
         private final StringBuilder s; 
@@ -122,6 +220,7 @@ public final class StateFormatterJUnitTestSuite implements Formatter {
                 this.s.append(".class)\n");
                 this.s.append("    public void test");
                 this.s.append(exceptionTest.substring(exceptionTest.lastIndexOf(".") + 1));
+                this.s.append(testCounter);
             }
             this.s.append("() {\n").append('\n');
         }
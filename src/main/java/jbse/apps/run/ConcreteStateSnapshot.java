@@ -0,0 +1,276 @@
+package jbse.apps.run;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jbse.bc.Signature;
+
+/**
+ * A snapshot of the part of a concrete state that is reachable
+ * from the root frame and from the static fields of the loaded
+ * classes. It is taken once at the entry of the guiding method,
+ * and can be saved to and loaded from a file, so that guidance
+ * queries can be answered without a live concrete execution.
+ * Primitive values are stored as the corresponding boxed Java
+ * values, references as {@link ObjectId}s, and {@code null} as
+ * {@code null}. A snapshot also records the target method, the
+ * stop method, the number of hits and the classpath of the 
+ * concrete execution that took it, so that a loaded snapshot
+ * can be checked against the current symbolic execution.
+ */
+final class ConcreteStateSnapshot implements Serializable {
+    private static final long serialVersionUID = -3406296436151924528L;
+
+    /**
+     * The identifier of an object in a {@link ConcreteStateSnapshot}.
+     */
+    static final class ObjectId implements Serializable {
+        private static final long serialVersionUID = 6473262604245617937L;
+
+        private final long id;
+
+        ObjectId(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.id);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null) {
+                return false;
+            }
+            if (getClass() != obj.getClass()) {
+                return false;
+            }
+            final ObjectId other = (ObjectId) obj;
+            return this.id == other.id;
+        }
+
+        @Override
+        public String toString() {
+            return "{O" + this.id + "}";
+        }
+    }
+
+    /**
+     * An object (or array) in a {@link ConcreteStateSnapshot}.
+     */
+    static final class ObjectSnapshot implements Serializable {
+        private static final long serialVersionUID = -5873432215296751284L;
+
+        /** The class of the object, as a JBSE class name. */
+        final String type;
+
+        /** The hash code of the object. */
+        final int hashCode;
+
+        /**
+         * The values of the fields of the object, keyed by
+         * {@link ConcreteStateSnapshot#fieldKey(String, String)},
+         * or {@code null} if the object is an array. It is empty
+         * for the {@code java.lang.Class} and {@code java.lang.ClassLoader}
+         * objects and the reflective metadata, whose fields are
+         * not recorded.
+         */
+        final HashMap<String, Object> fields;
+
+        /**
+         * The elements of the array, or {@code null} if the object
+         * is not an array.
+         */
+        final Object[] elements;
+
+        ObjectSnapshot(String type, int hashCode, HashMap<String, Object> fields, Object[] elements) {
+            this.type = type;
+            this.hashCode = hashCode;
+            this.fields = fields;
+            this.elements = elements;
+        }
+    }
+
+    /** The signature of the target method of the symbolic execution, as a {@link String}. */
+    private final String targetMethod;
+
+    /** The signature of the method where the concrete execution stopped, as a {@link String}. */
+    private final String stopMethod;
+
+    /** The number of invocations of the stop method before the concrete execution stopped. */
+    private final int numberOfHits;
+
+    /** The classpath of the concrete execution. */
+    private final ArrayList<String> classPath = new ArrayList<>();
+
+    /** The values of the local variables of the root frame, keyed by name. */
+    private final HashMap<String, Object> rootLocals = new HashMap<>();
+
+    /**
+     * The values of the static fields, keyed by the (internal) name of
+     * the class and then by the name of the field.
+     */
+    private final HashMap<String, HashMap<String, Object>> staticFields = new HashMap<>();
+
+    /** The objects. */
+    private final HashMap<ObjectId, ObjectSnapshot> objects = new HashMap<>();
+
+    /**
+     * Constructor. Builds an empty snapshot.
+     * 
+     * @param targetMethod the {@link Signature} of the target method 
+     *        of the symbolic execution.
+     * @param stopMethod the {@link Signature} of the method at whose
+     *        entry the concrete execution stops.
+     * @param numberOfHits an {@code int}, the number of invocations
+     *        of {@code stopMethod} before the concrete execution stops.
+     * @param classPath an {@link Iterable}{@code <}{@link Path}{@code >},
+     *        the classpath of the concrete execution.
+     */
+    ConcreteStateSnapshot(Signature targetMethod, Signature stopMethod, int numberOfHits, Iterable<Path> classPath) {
+        this.targetMethod = targetMethod.toString();
+        this.stopMethod = stopMethod.toString();
+        this.numberOfHits = numberOfHits;
+        for (Path p : classPath) {
+            this.classPath.add(p.toString());
+        }
+    }
+    
+    /**
+     * Checks whether this snapshot was taken by the concrete
+     * execution with some parameters.
+     * 
+     * @param targetMethod the {@link Signature} of the target method 
+     *        of the symbolic execution.
+     * @param stopMethod the {@link Signature} of the method at whose
+     *        entry the concrete execution stops.
+     * @param numberOfHits an {@code int}, the number of invocations
+     *        of {@code stopMethod} before the concrete execution stops.
+     * @param classPath an {@link Iterable}{@code <}{@link Path}{@code >},
+     *        the classpath of the concrete execution.
+     * @return {@code null} if this snapshot was taken with the same
+     *         parameters, otherwise a {@link String} describing the
+     *         first parameter that differs.
+     */
+    String mismatch(Signature targetMethod, Signature stopMethod, int numberOfHits, Iterable<Path> classPath) {
+        if (!targetMethod.toString().equals(this.targetMethod)) {
+            return "target method " + this.targetMethod + " instead of " + targetMethod;
+        }
+        if (!stopMethod.toString().equals(this.stopMethod)) {
+            return "stop method " + this.stopMethod + " instead of " + stopMethod;
+        }
+        if (numberOfHits != this.numberOfHits) {
+            return "number of hits " + this.numberOfHits + " instead of " + numberOfHits;
+        }
+        final ArrayList<String> classPathStrings = new ArrayList<>();
+        for (Path p : classPath) {
+            classPathStrings.add(p.toString());
+        }
+        if (!Objects.equals(classPathStrings, this.classPath)) {
+            return "classpath " + this.classPath + " instead of " + classPathStrings;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the key of a nonstatic field.
+     *
+     * @param fieldClass a {@link String}, the binary name of
+     *        the class that declares the field.
+     * @param fieldName a {@link String}, the name of the field.
+     * @return a {@link String}.
+     */
+    static String fieldKey(String fieldClass, String fieldName) {
+        return fieldClass + ":" + fieldName;
+    }
+
+    void putRootLocal(String name, Object value) {
+        this.rootLocals.put(name, value);
+    }
+
+    boolean hasRootLocal(String name) {
+        return this.rootLocals.containsKey(name);
+    }
+
+    Object getRootLocal(String name) {
+        return this.rootLocals.get(name);
+    }
+
+    void putStaticField(String className, String fieldName, Object value) {
+        HashMap<String, Object> fields = this.staticFields.get(className);
+        if (fields == null) {
+            fields = new HashMap<>();
+            this.staticFields.put(className, fields);
+        }
+        fields.put(fieldName, value);
+    }
+
+    /**
+     * Returns the static fields of a class.
+     *
+     * @param className a {@link String}, the internal name of a class.
+     * @return a {@link HashMap}{@code <}{@link String}{@code , }{@link Object}{@code >}
+     *         mapping the names of the static fields of the class to their
+     *         values, or {@code null} if the class was not loaded.
+     */
+    HashMap<String, Object> getStaticFields(String className) {
+        return this.staticFields.get(className);
+    }
+
+    void putObject(ObjectId id, ObjectSnapshot object) {
+        this.objects.put(id, object);
+    }
+
+    ObjectSnapshot getObject(ObjectId id) {
+        return this.objects.get(id);
+    }
+
+    /**
+     * Saves this snapshot to a file.
+     *
+     * @param path the {@link Path} of the file. If the file
+     *        exists it is overwritten.
+     * @throws IOException if writing the file fails.
+     */
+    void save(Path path) throws IOException {
+        try (final OutputStream fileOut = Files.newOutputStream(path);
+             final ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(fileOut)))) {
+            out.writeObject(this);
+        }
+    }
+
+    /**
+     * Loads a snapshot from a file.
+     *
+     * @param path the {@link Path} of a file previously
+     *        written by {@link #save(Path)}.
+     * @return the loaded {@link ConcreteStateSnapshot}.
+     * @throws IOException if reading the file fails, or
+     *         the file does not contain a snapshot.
+     */
+    static ConcreteStateSnapshot load(Path path) throws IOException {
+        try (final InputStream fileIn = Files.newInputStream(path);
+             final ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(fileIn)))) {
+            return (ConcreteStateSnapshot) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException(e);
+        }
+    }
+}
@@ -58,6 +58,7 @@ import jbse.val.ReferenceSymbolic;
 import jbse.val.Simplex;
 import jbse.val.Symbolic;
 import jbse.val.Term;
+import jbse.val.Value;
 import jbse.val.WideningConversion;
 import jbse.val.exc.InvalidOperandException;
 import jbse.val.exc.InvalidTypeException;
@@ -102,6 +103,17 @@ public abstract class DecisionProcedureGuidance extends DecisionProcedureAlgorit
         stopFastAndImprecise();
     }
 
+    /**
+     * Checks whether this decision procedure
+     * is still guiding.
+     * 
+     * @return {@code true} iff {@link #endGuidance()}
+     *         was not invoked.
+     */
+    public final boolean isGuiding() {
+        return this.guiding;
+    }
+
     @Override
     public final void pushAssumption(Clause c) 
     throws InvalidInputException, DecisionException {
@@ -576,6 +588,21 @@ public abstract class DecisionProcedureGuidance extends DecisionProcedureAlgorit
 
             @Override
             public void visitPrimitiveSymbolicApply(PrimitiveSymbolicApply x) throws Exception {
+                if (PrimitiveSymbolicApply.ITE.equals(x.getOperator())) {
+                    //if-then-else terms are introduced by JBSE (e.g., by
+                    //path merging), and have no counterpart in the 
+                    //concrete state: evaluates the condition and then 
+                    //the selected branch
+                    final Value[] args = x.getArgs();
+                    ((Primitive) args[0]).accept(this);
+                    if (!(this.value instanceof Simplex)) {
+                        this.value = null;
+                        return;
+                    }
+                    final boolean condition = ((Boolean) ((Simplex) this.value).getActualValue()).booleanValue();
+                    ((Primitive) (condition ? args[1] : args[2])).accept(this);
+                    return;
+                }
                 final Object funValue = this.jvm.getValue(x);
                 if (funValue instanceof Primitive) {
                     this.value = (Primitive) funValue;
@@ -1,5 +1,7 @@
 package jbse.apps.run;
 
+import java.util.HashMap;
+
 import jbse.algo.exc.CannotManageStateException;
 import jbse.algo.exc.NotYetImplementedException;
 import jbse.bc.Signature;
@@ -103,6 +105,9 @@ public final class DecisionProcedureGuidanceJBSE extends DecisionProcedureGuidan
         private final Engine engine; //used only by constructor
         private Exception catastrophicFailure; //used only by constructor (to allow Actions to report errors)
         private boolean failedConcrete; //used only by constructor (to allow Actions to report errors)
+        
+        /** Caches the values returned by {@link #getValue(Symbolic)}, cleared at every step. */
+        private final HashMap<Symbolic, Object> values = new HashMap<>();
 
         public JVMJBSE(Calculator calc, RunnerParameters runnerParameters, Signature stopSignature, int numberOfHits) 
         throws GuidanceException {
@@ -240,6 +245,15 @@ public final class DecisionProcedureGuidanceJBSE extends DecisionProcedureGuidan
 
         @Override
         public Object getValue(Symbolic origin) throws GuidanceException {
+            if (this.values.containsKey(origin)) {
+                return this.values.get(origin);
+            }
+            final Object retVal = doGetValue(origin);
+            this.values.put(origin, retVal);
+            return retVal;
+        }
+        
+        private Object doGetValue(Symbolic origin) throws GuidanceException {
         	try {
         		if (origin instanceof SymbolicLocalVariable) {
         			final SymbolicLocalVariable al = (SymbolicLocalVariable) origin;
@@ -328,6 +342,7 @@ public final class DecisionProcedureGuidanceJBSE extends DecisionProcedureGuidan
         
         @Override
         protected void step(State state) throws GuidanceException {
+            this.values.clear();
         	//do nothing - sorry, not yet supported
         	//TODO update
         }
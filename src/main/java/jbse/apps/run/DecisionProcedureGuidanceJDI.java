@@ -52,8 +52,10 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -63,6 +65,8 @@ import com.sun.jdi.BooleanValue;
 import com.sun.jdi.Bootstrap;
 import com.sun.jdi.ByteValue;
 import com.sun.jdi.CharValue;
+import com.sun.jdi.ClassLoaderReference;
+import com.sun.jdi.ClassObjectReference;
 import com.sun.jdi.DoubleValue;
 import com.sun.jdi.Field;
 import com.sun.jdi.FloatValue;
@@ -177,9 +181,49 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
         super(component, new JVMJDI(calc, runnerParameters, stopSignature, numberOfHits));
     }
 
+    /**
+     * Runs the concrete execution up to the entry of a method, 
+     * and takes a snapshot of the reached concrete state.
+     *
+     * @param calc a {@link Calculator}.
+     * @param runnerParameters the {@link RunnerParameters} of the symbolic execution.
+     * @param stopSignature the {@link Signature} of a method. The concrete execution 
+     *        will stop at the entry of the {@code numberOfHits}-th invocation of the 
+     *        method whose signature is {@code stopSignature}.
+     * @param numberOfHits an {@code int} greater or equal to one.
+     * @return a {@link ConcreteStateSnapshot} of the concrete state at the entry
+     *         of the method.
+     * @throws GuidanceException if something fails during the concrete execution.
+     */
+    static ConcreteStateSnapshot takeSnapshot(Calculator calc, RunnerParameters runnerParameters, Signature stopSignature, int numberOfHits) 
+    throws GuidanceException {
+        final ConcreteStateSnapshot retVal;
+        try {
+            retVal = new ConcreteStateSnapshot(runnerParameters.getMethodSignature(), stopSignature, numberOfHits, runnerParameters.getClasspath().classPath());
+        } catch (IOException e) {
+            throw new GuidanceException(e);
+        }
+        final JVMJDI jvm = new JVMJDI(calc, runnerParameters, stopSignature, numberOfHits);
+        try {
+            jvm.snapshot(retVal);
+            return retVal;
+        } finally {
+            jvm.close();
+        }
+    }
+
     private static final class JVMJDI extends JVM {
         private static final String ERROR_BAD_PATH = "Failed accessing through a memory access path: ";
         private static final String[] EXCLUDES = {"java.*", "javax.*", "sun.*", "com.sun.*"};
+        
+        /** 
+         * The packages of the reflective metadata, whose objects
+         * are recorded in a snapshot without their fields.
+         */
+        private static final String[] REFLECTION_PACKAGES = {"java.lang.reflect.", "java.lang.invoke.", "sun.reflect.", "jdk.internal.reflect."};
+        
+        /** The maximum number of array elements fetched with one request. */
+        private static final int ARRAY_CHUNK_LENGTH = 4096;
 
         private final String startMethodClassName;
         private final String startMethodDescriptor;
@@ -198,6 +242,22 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
         private boolean jbseIsDoingClinit = false; //HACK
 
         private Map<ReferenceSymbolicApply, Object> unintFuncsNonPrimitiveRetValues = new HashMap<>();
+        
+        /** 
+         * Caches the values returned by {@link #getJDIValue(Symbolic)}
+         * in the current concrete state. It must be cleared whenever
+         * the concrete execution is resumed.
+         */
+        private final HashMap<Symbolic, Object> jdiValues = new HashMap<>();
+        
+        /** 
+         * Caches the values of all the fields of the objects 
+         * read in the current concrete state, fetched with one
+         * request per object. It must be cleared whenever the
+         * concrete execution is resumed.
+         */
+        private final HashMap<ObjectReference, Map<Field, com.sun.jdi.Value>> jdiFieldValues = new HashMap<>();
+
         private boolean lookAheadDone = false;
         private boolean lookAheadDecisionBoolean;
         private boolean lookAheadDecisionIsDefaultCase;
@@ -354,6 +414,123 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
             throw new Error("No launching connector");
         }
 
+        private void snapshot(ConcreteStateSnapshot snapshot) throws GuidanceException {
+            final HashSet<ObjectReference> visited = new HashSet<>();
+            final ArrayDeque<ObjectReference> toVisit = new ArrayDeque<>();
+            
+            //the root frame
+            try {
+                final StackFrame rootFrame = rootFrameConcrete();
+                final ObjectReference thisObject = rootFrame.thisObject();
+                if (thisObject != null) {
+                    snapshot.putRootLocal("this", snapshotValue(thisObject, visited, toVisit));
+                }
+                for (LocalVariable variable : rootFrame.visibleVariables()) {
+                    snapshot.putRootLocal(variable.name(), snapshotValue(rootFrame.getValue(variable), visited, toVisit));
+                }
+            } catch (IncompatibleThreadStateException | AbsentInformationException e) {
+                throw new GuidanceException(e);
+            }
+            
+            //the static fields, also of the JDK classes, since
+            //the symbolic execution may read them
+            for (ReferenceType type : this.vm.allClasses()) {
+                if (!type.isPrepared()) {
+                    continue;
+                }
+                final ArrayList<Field> staticFields = new ArrayList<>();
+                for (Field fld : type.visibleFields()) {
+                    if (fld.isStatic()) {
+                        staticFields.add(fld);
+                    }
+                }
+                final String className = internalClassName(type.name());
+                final Map<Field, com.sun.jdi.Value> values = type.getValues(staticFields);
+                for (Field fld : staticFields) {
+                    snapshot.putStaticField(className, fld.name(), snapshotValue(values.get(fld), visited, toVisit));
+                }
+            }
+            
+            //the reachable objects
+            while (!toVisit.isEmpty()) {
+                final ObjectReference o = toVisit.poll();
+                final ConcreteStateSnapshot.ObjectSnapshot oSnapshot;
+                if (isOpaque(o)) {
+                    oSnapshot = new ConcreteStateSnapshot.ObjectSnapshot(jbseClassName(o.referenceType()), o.hashCode(), new HashMap<>(), null);
+                } else if (o instanceof ArrayReference) {
+                    final List<com.sun.jdi.Value> values = getJDIArrayValues((ArrayReference) o);
+                    final Object[] elements = new Object[values.size()];
+                    for (int i = 0; i < elements.length; ++i) {
+                        elements[i] = snapshotValue(values.get(i), visited, toVisit);
+                    }
+                    oSnapshot = new ConcreteStateSnapshot.ObjectSnapshot(jbseClassName(o.referenceType()), o.hashCode(), null, elements);
+                } else {
+                    final HashMap<String, Object> fields = new HashMap<>();
+                    for (Map.Entry<Field, com.sun.jdi.Value> entry : getJDIFieldValues(o).entrySet()) {
+                        final Field fld = entry.getKey();
+                        if (!fld.isStatic()) {
+                            fields.put(ConcreteStateSnapshot.fieldKey(fld.declaringType().name(), fld.name()), snapshotValue(entry.getValue(), visited, toVisit));
+                        }
+                    }
+                    oSnapshot = new ConcreteStateSnapshot.ObjectSnapshot(jbseClassName(o.referenceType()), o.hashCode(), fields, null);
+                }
+                snapshot.putObject(new ConcreteStateSnapshot.ObjectId(o.uniqueID()), oSnapshot);
+            }
+        }
+        
+        /**
+         * Checks whether an object is recorded in a snapshot without 
+         * its fields. These are the {@code java.lang.Class} and 
+         * {@code java.lang.ClassLoader} objects and the reflective
+         * metadata: no symbolic value is read from their fields, and
+         * traversing them would add to the snapshot all the loaded 
+         * classes and their metadata.
+         * 
+         * @param o an {@link ObjectReference}.
+         * @return {@code true} iff the fields of {@code o} must not 
+         *         be recorded.
+         */
+        private static boolean isOpaque(ObjectReference o) {
+            if (o instanceof ClassObjectReference || o instanceof ClassLoaderReference) {
+                return true;
+            }
+            final String className = o.referenceType().name();
+            for (String reflectionPackage : REFLECTION_PACKAGES) {
+                if (className.startsWith(reflectionPackage)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        private static Object snapshotValue(com.sun.jdi.Value val, HashSet<ObjectReference> visited, ArrayDeque<ObjectReference> toVisit) {
+            if (val instanceof IntegerValue) {
+                return ((IntegerValue) val).intValue();
+            } else if (val instanceof BooleanValue) {
+                return ((BooleanValue) val).booleanValue();
+            } else if (val instanceof CharValue) {
+                return ((CharValue) val).charValue();
+            } else if (val instanceof ByteValue) {
+                return ((ByteValue) val).byteValue();
+            } else if (val instanceof DoubleValue) {
+                return ((DoubleValue) val).doubleValue();
+            } else if (val instanceof FloatValue) {
+                return ((FloatValue) val).floatValue();
+            } else if (val instanceof LongValue) {
+                return ((LongValue) val).longValue();
+            } else if (val instanceof ShortValue) {
+                return ((ShortValue) val).shortValue();
+            } else if (val instanceof ObjectReference) {
+                final ObjectReference o = (ObjectReference) val;
+                if (visited.add(o)) {
+                    toVisit.add(o);
+                }
+                return new ConcreteStateSnapshot.ObjectId(o.uniqueID());
+            } else { //val instanceof VoidValue || val == null
+                return null;
+            }
+        }
+
         private StackFrame rootFrameConcrete() throws IncompatibleThreadStateException {
             final int numFramesFromRoot = numFramesFromRootFrameConcrete();
             return this.methodEntryEvent.thread().frames().get(numFramesFromRoot - 1);
@@ -370,8 +547,12 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
             if (object == null) {
                 return null;
             }
+            return jbseClassName(object.referenceType());
+        }
+
+        private static String jbseClassName(ReferenceType type) {
             final StringBuilder buf = new StringBuilder();
-            String name = object.referenceType().name();
+            String name = type.name();
             boolean isArray = false;
             while (name.endsWith("[]")) {
                 isArray = true;
@@ -432,6 +613,15 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
          * @throws GuidanceException
          */
         private Object getJDIValue(Symbolic origin) throws GuidanceException {
+            if (this.jdiValues.containsKey(origin)) {
+                return this.jdiValues.get(origin);
+            }
+            final Object retVal = doGetJDIValue(origin);
+            this.jdiValues.put(origin, retVal);
+            return retVal;
+        }
+
+        private Object doGetJDIValue(Symbolic origin) throws GuidanceException {
             try {
                 if (origin instanceof SymbolicLocalVariable) {
                     return getJDIValueLocalVariable(((SymbolicLocalVariable) origin).getVariableName());
@@ -457,7 +647,7 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
                     try {
                         final Simplex index = (Simplex) eval(((SymbolicMemberArray) origin).getIndex());
                         return ((ArrayReference) o).getValue(((Integer) index.getActualValue()).intValue());
-                    } catch (ClassCastException e) {
+                    } catch (ClassCastException | IndexOutOfBoundsException e) {
                         throw new GuidanceException(e);
                     }
                 } else if (origin instanceof PrimitiveSymbolicHashCode) {
@@ -540,13 +730,52 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
                 if (fld == null) {
                     throw new GuidanceException(ERROR_BAD_PATH + origin.asOriginString() + " (missing field " + fieldName + ").");
                 }
-                try {
-                    return oReference.getValue(fld);
-                } catch (IllegalArgumentException e) {
-                    throw new GuidanceException(e);
-                }
+                return getJDIFieldValues(oReference).get(fld);
             }
         }
+        
+        /**
+         * Returns the values of all the fields of an object
+         * in the current concrete state, fetching them with
+         * a single request the first time the object is read.
+         * 
+         * @param oReference an {@link ObjectReference}.
+         * @return a {@link Map}{@code <}{@link Field}{@code , }{@link com.sun.jdi.Value}{@code >}
+         *         mapping all the (static and nonstatic) fields of {@code oReference}'s 
+         *         class to their values.
+         */
+        private Map<Field, com.sun.jdi.Value> getJDIFieldValues(ObjectReference oReference) {
+            Map<Field, com.sun.jdi.Value> retVal = this.jdiFieldValues.get(oReference);
+            if (retVal == null) {
+                retVal = oReference.getValues(oReference.referenceType().allFields());
+                this.jdiFieldValues.put(oReference, retVal);
+            }
+            return retVal;
+        }
+        
+        /**
+         * Returns all the elements of an array in the current 
+         * concrete state, fetching them in chunks of at most
+         * {@link #ARRAY_CHUNK_LENGTH} elements, so that a big
+         * array does not require a single huge reply.
+         * 
+         * @param aReference an {@link ArrayReference}.
+         * @return a {@link List}{@code <}{@link com.sun.jdi.Value}{@code >}
+         *         of all the elements of {@code aReference}.
+         */
+        private static List<com.sun.jdi.Value> getJDIArrayValues(ArrayReference aReference) {
+            final int length = aReference.length();
+            final ArrayList<com.sun.jdi.Value> retVal = new ArrayList<>(length);
+            for (int start = 0; start < length; start += ARRAY_CHUNK_LENGTH) {
+                retVal.addAll(aReference.getValues(start, Math.min(ARRAY_CHUNK_LENGTH, length - start)));
+            }
+            return retVal;
+        }
+        
+        private void invalidateCaches() {
+            this.jdiValues.clear();
+            this.jdiFieldValues.clear();
+        }
 
 
         @Override
@@ -718,6 +947,7 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
             } else {
                 this.previousCodeIndex = currentCodeIndex;
             }
+            invalidateCaches();
             this.vm.resume();
             final EventQueue queue = this.vm.eventQueue();
 
@@ -793,6 +1023,7 @@ public final class DecisionProcedureGuidanceJDI extends DecisionProcedureGuidanc
             mexr.setSuspendPolicy(EventRequest.SUSPEND_EVENT_THREAD);
             mexr.enable();
 
+            invalidateCaches();
             this.vm.resume();
             final EventQueue queue = this.vm.eventQueue();
 
@@ -0,0 +1,257 @@
+package jbse.apps.run;
+
+import static jbse.common.Type.binaryClassName;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Objects;
+
+import jbse.bc.Signature;
+import jbse.common.exc.InvalidInputException;
+import jbse.dec.DecisionProcedure;
+import jbse.jvm.RunnerParameters;
+import jbse.mem.State;
+import jbse.val.Calculator;
+import jbse.val.KlassPseudoReference;
+import jbse.val.PrimitiveSymbolicHashCode;
+import jbse.val.PrimitiveSymbolicMemberArrayLength;
+import jbse.val.ReferenceSymbolic;
+import jbse.val.Simplex;
+import jbse.val.Symbolic;
+import jbse.val.SymbolicLocalVariable;
+import jbse.val.SymbolicMemberArray;
+import jbse.val.SymbolicMemberField;
+
+/**
+ * {@link DecisionProcedureGuidance} that answers queries from a
+ * {@link ConcreteStateSnapshot} of the concrete state at the entry
+ * of the guiding method. The snapshot is taken by running the installed
+ * JVM via JDI once, and can be stored in a file and reused by many
+ * symbolic executions without launching the JVM again.
+ * Differently from {@link DecisionProcedureGuidanceJDI}, it cannot
+ * guide through the symbolic values that stand for the return
+ * values of (uninterpreted) functions.
+ */
+public final class DecisionProcedureGuidanceSnapshot extends DecisionProcedureGuidance {
+    /**
+     * Builds the {@link DecisionProcedureGuidanceSnapshot}.
+     *
+     * @param component the component {@link DecisionProcedure} it decorates.
+     * @param calc a {@link Calculator}.
+     * @param runnerParameters the {@link RunnerParameters} of the symbolic execution.
+     * @param stopSignature the {@link Signature} of a method. If the snapshot must
+     *        be taken, the concrete execution will stop at the entry of the first
+     *        invocation of the method whose signature is {@code stopSignature},
+     *        and the reached state will be used to answer queries.
+     * @param snapshotPath the {@link Path} of the snapshot file, or {@code null}.
+     *        If the file exists and contains a snapshot taken with the same
+     *        target method, stop method, number of hits and classpath, the 
+     *        snapshot is loaded from it, otherwise the snapshot is taken and 
+     *        saved to it, overwriting the file. If {@code null} the snapshot
+     *        is taken and not saved.
+     * @throws GuidanceException if something fails during creation (and the caller
+     *         is to blame).
+     * @throws InvalidInputException if {@code component == null}.
+     */
+    public DecisionProcedureGuidanceSnapshot(DecisionProcedure component, Calculator calc, RunnerParameters runnerParameters, Signature stopSignature, Path snapshotPath)
+    throws GuidanceException, InvalidInputException {
+        this(component, calc, runnerParameters, stopSignature, 1, snapshotPath);
+    }
+
+    /**
+     * Builds the {@link DecisionProcedureGuidanceSnapshot}.
+     *
+     * @param component the component {@link DecisionProcedure} it decorates.
+     * @param calc a {@link Calculator}.
+     * @param runnerParameters the {@link RunnerParameters} of the symbolic execution.
+     * @param stopSignature the {@link Signature} of a method. If the snapshot must
+     *        be taken, the concrete execution will stop at the entry of the
+     *        {@code numberOfHits}-th invocation of the method whose signature is
+     *        {@code stopSignature}, and the reached state will be used to answer
+     *        queries.
+     * @param numberOfHits an {@code int} greater or equal to one.
+     * @param snapshotPath the {@link Path} of the snapshot file, or {@code null}.
+     *        If the file exists and contains a snapshot taken with the same
+     *        target method, stop method, number of hits and classpath, the 
+     *        snapshot is loaded from it, otherwise the snapshot is taken and 
+     *        saved to it, overwriting the file. If {@code null} the snapshot
+     *        is taken and not saved.
+     * @throws GuidanceException if something fails during creation (and the caller
+     *         is to blame).
+     * @throws InvalidInputException if {@code component == null}.
+     */
+    public DecisionProcedureGuidanceSnapshot(DecisionProcedure component, Calculator calc, RunnerParameters runnerParameters, Signature stopSignature, int numberOfHits, Path snapshotPath)
+    throws GuidanceException, InvalidInputException {
+        super(component, new JVMSnapshot(calc, runnerParameters, stopSignature, numberOfHits, snapshotPath));
+    }
+
+    private static final class JVMSnapshot extends JVM {
+        private static final String ERROR_BAD_PATH = "Failed accessing through a memory access path: ";
+        private static final String ERROR_UNSUPPORTED = "Snapshot guidance does not support the symbolic value ";
+
+        private final Signature stopSignature;
+        private final ConcreteStateSnapshot snapshot;
+
+        public JVMSnapshot(Calculator calc, RunnerParameters runnerParameters, Signature stopSignature, int numberOfHits, Path snapshotPath)
+        throws GuidanceException {
+            super(calc, runnerParameters, stopSignature, numberOfHits);
+            this.stopSignature = stopSignature;
+            try {
+                //a snapshot in the file is used only if it was taken
+                //with the same parameters, otherwise it is taken again
+                ConcreteStateSnapshot snapshotLoaded = null;
+                if (snapshotPath != null && Files.exists(snapshotPath)) {
+                    snapshotLoaded = ConcreteStateSnapshot.load(snapshotPath);
+                    if (snapshotLoaded.mismatch(runnerParameters.getMethodSignature(), stopSignature, numberOfHits, runnerParameters.getClasspath().classPath()) != null) {
+                        snapshotLoaded = null;
+                    }
+                }
+                if (snapshotLoaded == null) {
+                    this.snapshot = DecisionProcedureGuidanceJDI.takeSnapshot(calc, runnerParameters, stopSignature, numberOfHits);
+                    if (snapshotPath != null) {
+                        this.snapshot.save(snapshotPath);
+                    }
+                } else {
+                    this.snapshot = snapshotLoaded;
+                }
+            } catch (IOException e) {
+                throw new GuidanceException(e);
+            }
+        }
+
+        @Override
+        public String typeOfObject(ReferenceSymbolic origin) throws GuidanceException {
+            final ConcreteStateSnapshot.ObjectSnapshot object = getObject(origin);
+            return (object == null ? null : object.type);
+        }
+
+        @Override
+        public boolean isNull(ReferenceSymbolic origin) throws GuidanceException {
+            return (getSnapshotValue(origin) == null);
+        }
+
+        @Override
+        public boolean areAlias(ReferenceSymbolic first, ReferenceSymbolic second) throws GuidanceException {
+            return Objects.equals(getSnapshotValue(first), getSnapshotValue(second));
+        }
+
+        @Override
+        public Object getValue(Symbolic origin) throws GuidanceException {
+            final Object val = getSnapshotValue(origin);
+            if (val instanceof Integer) {
+                return this.calc.valInt(((Integer) val).intValue());
+            } else if (val instanceof Boolean) {
+                return this.calc.valBoolean(((Boolean) val).booleanValue());
+            } else if (val instanceof Character) {
+                return this.calc.valChar(((Character) val).charValue());
+            } else if (val instanceof Byte) {
+                return this.calc.valByte(((Byte) val).byteValue());
+            } else if (val instanceof Double) {
+                return this.calc.valDouble(((Double) val).doubleValue());
+            } else if (val instanceof Float) {
+                return this.calc.valFloat(((Float) val).floatValue());
+            } else if (val instanceof Long) {
+                return this.calc.valLong(((Long) val).longValue());
+            } else if (val instanceof Short) {
+                return this.calc.valShort(((Short) val).shortValue());
+            } else { //val instanceof ConcreteStateSnapshot.ObjectId || val == null
+                return val;
+            }
+        }
+
+        /**
+         * Returns the value in the snapshot standing
+         * for a {@link Symbolic}.
+         *
+         * @param origin a {@link Symbolic}.
+         * @return either a boxed primitive value, or a {@link ConcreteStateSnapshot.ObjectId},
+         *         or {@code null}.
+         * @throws GuidanceException if the snapshot has no value for {@code origin}.
+         */
+        private Object getSnapshotValue(Symbolic origin) throws GuidanceException {
+            if (origin instanceof SymbolicLocalVariable) {
+                final String var = ((SymbolicLocalVariable) origin).getVariableName();
+                if (!this.snapshot.hasRootLocal(var)) {
+                    throw new GuidanceException(ERROR_BAD_PATH + "{ROOT}:" + var + ".");
+                }
+                return this.snapshot.getRootLocal(var);
+            } else if (origin instanceof SymbolicMemberField) {
+                final SymbolicMemberField af = (SymbolicMemberField) origin;
+                final Symbolic container = af.getContainer();
+                final HashMap<String, Object> fields;
+                final String fieldKey;
+                if (container instanceof KlassPseudoReference) {
+                    fields = this.snapshot.getStaticFields(((KlassPseudoReference) container).getClassFile().getClassName());
+                    fieldKey = af.getFieldName();
+                } else {
+                    final ConcreteStateSnapshot.ObjectSnapshot o = getObject(container);
+                    fields = (o == null ? null : o.fields);
+                    fieldKey = ConcreteStateSnapshot.fieldKey(binaryClassName(af.getFieldClass()), af.getFieldName());
+                }
+                if (fields == null || !fields.containsKey(fieldKey)) {
+                    throw new GuidanceException(ERROR_BAD_PATH + origin.asOriginString() + " (missing field " + af.getFieldName() + ").");
+                }
+                return fields.get(fieldKey);
+            } else if (origin instanceof PrimitiveSymbolicMemberArrayLength) {
+                final ConcreteStateSnapshot.ObjectSnapshot o = getObject(((PrimitiveSymbolicMemberArrayLength) origin).getContainer());
+                if (o == null || o.elements == null) {
+                    throw new GuidanceException(ERROR_BAD_PATH + origin.asOriginString());
+                }
+                return o.elements.length;
+            } else if (origin instanceof SymbolicMemberArray) {
+                final ConcreteStateSnapshot.ObjectSnapshot o = getObject(((SymbolicMemberArray) origin).getContainer());
+                if (o == null || o.elements == null) {
+                    throw new GuidanceException(ERROR_BAD_PATH + origin.asOriginString());
+                }
+                try {
+                    final Simplex index = (Simplex) eval(((SymbolicMemberArray) origin).getIndex());
+                    return o.elements[((Integer) index.getActualValue()).intValue()];
+                } catch (ClassCastException | ArrayIndexOutOfBoundsException e) {
+                    throw new GuidanceException(e);
+                }
+            } else if (origin instanceof PrimitiveSymbolicHashCode) {
+                final ConcreteStateSnapshot.ObjectSnapshot o = getObject(((PrimitiveSymbolicHashCode) origin).getContainer());
+                if (o == null) {
+                    throw new GuidanceException(ERROR_BAD_PATH + origin.asOriginString());
+                }
+                return o.hashCode;
+            } else {
+                //KlassPseudoReference (not as field container),
+                //ReferenceSymbolicApply, PrimitiveSymbolicApply
+                throw new GuidanceException(ERROR_UNSUPPORTED + origin.asOriginString() + ".");
+            }
+        }
+
+        private ConcreteStateSnapshot.ObjectSnapshot getObject(Symbolic origin) throws GuidanceException {
+            final Object val = getSnapshotValue(origin);
+            if (val == null) {
+                return null;
+            }
+            if (!(val instanceof ConcreteStateSnapshot.ObjectId)) {
+                throw new GuidanceException(ERROR_BAD_PATH + origin.asOriginString());
+            }
+            final ConcreteStateSnapshot.ObjectSnapshot retVal = this.snapshot.getObject((ConcreteStateSnapshot.ObjectId) val);
+            if (retVal == null) {
+                throw new GuidanceException(ERROR_BAD_PATH + origin.asOriginString());
+            }
+            return retVal;
+        }
+
+        @Override
+        protected void step(State state) throws GuidanceException {
+            //nothing to do, the snapshot is of the initial state
+        }
+
+        @Override
+        protected Signature getCurrentMethodSignature() {
+            return this.stopSignature;
+        }
+
+        @Override
+        protected int getCurrentProgramCounter() {
+            return 0;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package jbse.apps.run;
 
 import static java.lang.annotation.ElementType.METHOD;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import static jbse.common.Type.BOOLEAN;
 import static jbse.common.Type.splitParametersDescriptors;
@@ -9,9 +10,18 @@ import static jbse.common.Type.internalClassName;
 
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Target;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import jbse.algo.exc.CannotManageStateException;
@@ -35,18 +45,38 @@ import jbse.jvm.exc.EngineStuckException;
 import jbse.jvm.exc.FailureException;
 import jbse.jvm.exc.InitializationException;
 import jbse.jvm.exc.NonexistingObservedVariablesException;
+import jbse.mem.Array;
+import jbse.mem.Clause;
+import jbse.mem.ClauseAssume;
+import jbse.mem.ClauseAssumeAliases;
+import jbse.mem.ClauseAssumeExpands;
+import jbse.mem.ClauseAssumeReferenceSymbolic;
+import jbse.mem.Klass;
 import jbse.mem.Objekt;
 import jbse.mem.State;
+import jbse.mem.Variable;
 import jbse.mem.exc.CannotRefineException;
 import jbse.mem.exc.ContradictionException;
 import jbse.mem.exc.FrozenStateException;
 import jbse.mem.exc.InvalidProgramCounterException;
 import jbse.mem.exc.InvalidSlotException;
 import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.val.Any;
+import jbse.val.Expression;
+import jbse.val.NarrowingConversion;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.PrimitiveSymbolicAtomic;
+import jbse.val.PrimitiveVisitor;
 import jbse.val.Reference;
 import jbse.val.ReferenceConcrete;
+import jbse.val.ReferenceSymbolic;
+import jbse.val.ReferenceSymbolicMember;
 import jbse.val.Simplex;
+import jbse.val.Symbolic;
+import jbse.val.Term;
 import jbse.val.Value;
+import jbse.val.WideningConversion;
 import jbse.val.exc.InvalidTypeException;
 
 public final class InitialHeapChecker {
@@ -54,6 +84,26 @@ public final class InitialHeapChecker {
     private final CheckMethodTable checkMethodTable;
     private Supplier<State> initialStateSupplier = null;
     private Supplier<State> currentStateSupplier = null;
+    
+    /** The maximum number of verdicts in {@link #verdicts}. */
+    private static final int VERDICTS_MAX = 4096;
+    
+    /** 
+     * Caches the verdicts of the check methods, keyed by
+     * a hash of the signature of the check method and of
+     * the part of the initial state the check method may
+     * depend on (see {@link Fingerprinter#fingerprint(Signature, boolean, long)}).
+     * It holds at most {@link #VERDICTS_MAX} verdicts (the 
+     * least recently used are forgotten first).
+     */
+    private final LinkedHashMap<String, Boolean> verdicts = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > VERDICTS_MAX;
+        }
+    };
 
     public InitialHeapChecker(RunnerParameters runnerParameters, 
                               Class<? extends Annotation> methodAnnotationClass,
@@ -77,7 +127,9 @@ public final class InitialHeapChecker {
 
     public boolean checkHeap(State sIni, boolean scopeExhaustionMeansSuccess) {
         try {
-        	//runs the check methods on all the instances in the heap 
+        	//runs the check methods on all the instances in the heap, 
+        	//skipping those whose verdict is cached
+        	final Fingerprinter fingerprinter = new Fingerprinter(sIni);
         	for (long heapPos : sIni.getHeap().keySet()) {
         		final Reference objectRef = new ReferenceConcrete(heapPos);
         		final Objekt obj = sIni.getObject(objectRef);
@@ -86,9 +138,13 @@ public final class InitialHeapChecker {
         			if (methodSignature == null) {
         				//nothing to check
         			} else {
-        				final State sRun = sIni.clone();
-        				final boolean repOk = 
-        						runCheckMethod(sRun, objectRef, obj.getType(), methodSignature, this.runnerParameters, scopeExhaustionMeansSuccess);
+        				final String key = fingerprinter.fingerprint(methodSignature, scopeExhaustionMeansSuccess, heapPos);
+        				Boolean repOk = this.verdicts.get(key);
+        				if (repOk == null) {
+        					final State sRun = sIni.clone();
+        					repOk = runCheckMethod(sRun, objectRef, obj.getType(), methodSignature, this.runnerParameters, scopeExhaustionMeansSuccess);
+        					this.verdicts.put(key, repOk);
+        				}
         				if (!repOk) {
         					return false; 
         				}
@@ -109,6 +165,337 @@ public final class InitialHeapChecker {
         return true;
     }
 
+    /**
+     * Calculates the fingerprints of the objects in a state. 
+     * Two objects with the same fingerprint (modulo hash collisions) 
+     * have the same class and origin, and reach isomorphic subgraphs 
+     * of objects with same classes, origins and primitive field 
+     * values, and same unresolved symbolic references; moreover, the 
+     * classes of the objects in the subgraphs have the same static 
+     * fields (the objects they reach are part of the subgraphs), 
+     * the clauses of the path condition that constrain, directly or 
+     * through other clauses, the symbols in the subgraphs are the 
+     * same, and so are the clauses of the path condition that resolve 
+     * the symbolic references whose origins start from the objects 
+     * in the subgraphs. The description of each object, and the 
+     * symbols of each clause, are calculated once and shared by all 
+     * the fingerprints.
+     */
+    private static final class Fingerprinter {
+        /** 
+         * The description of an object (or of the static fields
+         * of a class), where the values of the references are left
+         * out and replaced by a {@code '#'}.
+         */
+        private static final class Description {
+            final String text;
+            
+            /** 
+             * The heap positions of the objects referred by 
+             * the left out references, in order. 
+             */
+            final ArrayList<Long> successors = new ArrayList<>();
+            
+            /** The symbols in the primitive values. */
+            final HashSet<Symbolic> symbols = new HashSet<>();
+            
+            /** 
+             * The class of the described object, or {@code null}
+             * if the description is of the static fields of a class.
+             */
+            final ClassFile classFile;
+            
+            /** 
+             * The origin of the described object, or {@code null}
+             * if the object is not symbolic.
+             */
+            final ReferenceSymbolic origin;
+
+            Description(State s, Objekt o, ClassFile classFile) {
+                this.classFile = classFile;
+                this.origin = (classFile != null && o.isSymbolic() ? o.getOrigin() : null);
+                final StringBuilder buf = new StringBuilder();
+                buf.append('{');
+                if (classFile != null) {
+                    buf.append(classFile.getClassName());
+                    buf.append(o.isSymbolic() ? o.getOrigin().asOriginString() : "");
+                }
+                final ArrayList<Map.Entry<Signature, Variable>> fields = new ArrayList<>(o.fields().entrySet());
+                fields.sort((e1, e2) -> e1.getKey().toString().compareTo(e2.getKey().toString()));
+                for (Map.Entry<Signature, Variable> e : fields) {
+                    buf.append(e.getKey().toString());
+                    buf.append('=');
+                    describeValue(s, e.getValue().getValue(), buf);
+                    buf.append(',');
+                }
+                if (o instanceof Array) {
+                    final Array a = (Array) o;
+                    describeValue(s, a.getLength(), buf);
+                    for (Array.AccessOutcomeIn entry : a.values()) {
+                        describeValue(s, entry.getAccessCondition(), buf);
+                        buf.append('=');
+                        if (entry instanceof Array.AccessOutcomeInInitialArray) {
+                            describeValue(s, ((Array.AccessOutcomeInInitialArray) entry).getInitialArray(), buf);
+                            buf.append('+');
+                            describeValue(s, ((Array.AccessOutcomeInInitialArray) entry).getOffset(), buf);
+                        } else { //(entry instanceof Array.AccessOutcomeInValue) 
+                            describeValue(s, ((Array.AccessOutcomeInValue) entry).getValue(), buf);
+                        }
+                        buf.append(',');
+                    }
+                }
+                buf.append('}');
+                this.text = buf.toString();
+            }
+
+            private void describeValue(State s, Value v, StringBuilder buf) {
+                if (v instanceof Reference) {
+                    final Reference ref = (Reference) v;
+                    if (s.isNull(ref)) {
+                        buf.append("null");
+                    } else if (ref instanceof ReferenceConcrete) {
+                        buf.append('#');
+                        this.successors.add(((ReferenceConcrete) ref).getHeapPosition());
+                    } else if (ref instanceof ReferenceSymbolic && s.resolved((ReferenceSymbolic) ref)) {
+                        buf.append('#');
+                        this.successors.add(s.getResolution((ReferenceSymbolic) ref));
+                    } else {
+                        //unresolved, or immaterial
+                        buf.append(ref instanceof ReferenceSymbolic ? ((ReferenceSymbolic) ref).asOriginString() : ref.toString());
+                    }
+                } else if (v instanceof Primitive) {
+                    buf.append(v.toString());
+                    symbols((Primitive) v, this.symbols);
+                } else {
+                    buf.append(v == null ? "" : v.toString());
+                }
+            }
+        }
+
+        private final State s;
+        
+        /** Caches the {@link Description}s of the objects, by heap position. */
+        private final HashMap<Long, Description> descriptionsObjects = new HashMap<>();
+        
+        /** Caches the {@link Description}s of the static fields of the classes. */
+        private final HashMap<ClassFile, Description> descriptionsKlasses = new HashMap<>();
+        
+        /** The primitive clauses of the path condition of {@link #s}. */
+        private final ArrayList<ClauseAssume> clauses = new ArrayList<>();
+        
+        /** The symbols in each clause in {@link #clauses}. */
+        private final ArrayList<HashSet<Symbolic>> clausesSymbols = new ArrayList<>();
+        
+        /** The reference clauses of the path condition of {@link #s}. */
+        private final ArrayList<ClauseAssumeReferenceSymbolic> clausesReference = new ArrayList<>();
+        
+        /** 
+         * The reference of each clause in {@link #clausesReference}, 
+         * and the references it is a member of, transitively.
+         */
+        private final ArrayList<ArrayList<ReferenceSymbolic>> clausesReferenceContainers = new ArrayList<>();
+
+        Fingerprinter(State s) {
+            this.s = s;
+            for (Clause c : s.getPathCondition()) {
+                if (c instanceof ClauseAssume) {
+                    final HashSet<Symbolic> clauseSymbols = new HashSet<>();
+                    symbols(((ClauseAssume) c).getCondition(), clauseSymbols);
+                    this.clauses.add((ClauseAssume) c);
+                    this.clausesSymbols.add(clauseSymbols);
+                } else if (c instanceof ClauseAssumeReferenceSymbolic) {
+                    final ArrayList<ReferenceSymbolic> containers = new ArrayList<>();
+                    ReferenceSymbolic r = ((ClauseAssumeReferenceSymbolic) c).getReference();
+                    while (r != null) {
+                        containers.add(r);
+                        r = (r instanceof ReferenceSymbolicMember ? ((ReferenceSymbolicMember) r).getContainer() : null);
+                    }
+                    this.clausesReference.add((ClauseAssumeReferenceSymbolic) c);
+                    this.clausesReferenceContainers.add(containers);
+                }
+            }
+        }
+
+        /**
+         * Returns the fingerprint of an object for a check method.
+         * 
+         * @param methodSignature the {@link Signature} of the check method.
+         * @param scopeExhaustionMeansSuccess whether the check method
+         *        succeeds upon scope exhaustion.
+         * @param heapPos a {@code long}, the heap position of
+         *        the object.
+         * @return a {@link String}.
+         * @throws FrozenStateException if the state is frozen.
+         */
+        String fingerprint(Signature methodSignature, boolean scopeExhaustionMeansSuccess, long heapPos) 
+        throws FrozenStateException {
+            final MessageDigest md;
+            try {
+                md = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                //every Java platform implements SHA-256
+                throw new UnexpectedInternalException(e);
+            }
+            md.update((methodSignature.toString() + (scopeExhaustionMeansSuccess ? "+" : "-")).getBytes(UTF_8));
+            
+            //the reachable subgraph, with the static fields 
+            //of the classes of its objects
+            final HashSet<Symbolic> symbols = new HashSet<>();
+            final HashSet<ReferenceSymbolic> origins = new HashSet<>();
+            final HashSet<ClassFile> classes = new HashSet<>();
+            final HashMap<Long, Integer> visited = new HashMap<>();
+            final ArrayDeque<Description> toVisit = new ArrayDeque<>();
+            visited.put(heapPos, 0);
+            toVisit.add(describeObject(heapPos));
+            while (!toVisit.isEmpty()) {
+                final Description d = toVisit.poll();
+                md.update(d.text.getBytes(UTF_8));
+                for (long succ : d.successors) {
+                    Integer index = visited.get(succ);
+                    if (index == null) {
+                        index = visited.size();
+                        visited.put(succ, index);
+                        toVisit.add(describeObject(succ));
+                    }
+                    md.update(("#" + index).getBytes(UTF_8));
+                }
+                symbols.addAll(d.symbols);
+                if (d.origin != null) {
+                    origins.add(d.origin);
+                }
+                if (d.classFile != null && classes.add(d.classFile)) {
+                    final Description dKlass = describeKlass(d.classFile);
+                    if (dKlass != null) {
+                        toVisit.add(dKlass);
+                    }
+                }
+            }
+            
+            //the clauses that constrain the symbols
+            //in the subgraph, directly or indirectly
+            final boolean[] relevant = new boolean[this.clauses.size()];
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int i = 0; i < relevant.length; ++i) {
+                    if (!relevant[i] && !Collections.disjoint(this.clausesSymbols.get(i), symbols)) {
+                        relevant[i] = true;
+                        symbols.addAll(this.clausesSymbols.get(i));
+                        changed = true;
+                    }
+                }
+            }
+            for (int i = 0; i < relevant.length; ++i) {
+                if (relevant[i]) {
+                    md.update((this.clauses.get(i).getCondition().toString() + ";").getBytes(UTF_8));
+                }
+            }
+            
+            //the clauses that resolve the symbolic references
+            //whose origins start from the objects in the subgraph; 
+            //the resolutions are rendered as the visit indices 
+            //of the objects, not as their heap positions
+            for (int i = 0; i < this.clausesReference.size(); ++i) {
+                if (Collections.disjoint(this.clausesReferenceContainers.get(i), origins)) {
+                    continue;
+                }
+                final ClauseAssumeReferenceSymbolic c = this.clausesReference.get(i);
+                final String resolution;
+                if (c instanceof ClauseAssumeExpands || c instanceof ClauseAssumeAliases) {
+                    final long resolutionPos = (c instanceof ClauseAssumeExpands ? ((ClauseAssumeExpands) c).getHeapPosition() : ((ClauseAssumeAliases) c).getHeapPosition());
+                    final Integer index = visited.get(resolutionPos);
+                    resolution = (c instanceof ClauseAssumeExpands ? "expands#" : "aliases#") + (index == null ? "?" : index.toString());
+                } else { //(c instanceof ClauseAssumeNull)
+                    resolution = "null";
+                }
+                md.update((c.getReference().asOriginString() + "=" + resolution + ";").getBytes(UTF_8));
+            }
+            
+            return Base64.getEncoder().encodeToString(md.digest());
+        }
+
+        private Description describeObject(long heapPos) throws FrozenStateException {
+            Description retVal = this.descriptionsObjects.get(heapPos);
+            if (retVal == null) {
+                final Objekt o = this.s.getObject(new ReferenceConcrete(heapPos));
+                retVal = new Description(this.s, o, o.getType());
+                this.descriptionsObjects.put(heapPos, retVal);
+            }
+            return retVal;
+        }
+
+        private Description describeKlass(ClassFile classFile) throws FrozenStateException {
+            if (this.descriptionsKlasses.containsKey(classFile)) {
+                return this.descriptionsKlasses.get(classFile);
+            }
+            final Klass k = this.s.getKlass(classFile);
+            final Description retVal = (k == null ? null : new Description(this.s, k, null));
+            this.descriptionsKlasses.put(classFile, retVal);
+            return retVal;
+        }
+
+        /**
+         * Collects the symbols in a {@link Primitive}.
+         * 
+         * @param p a {@link Primitive}.
+         * @param symbols the {@link Set} where the 
+         *        symbols are added.
+         */
+        private static void symbols(Primitive p, Set<Symbolic> symbols) {
+            try {
+                p.accept(new PrimitiveVisitor() {
+                    @Override
+                    public void visitAny(Any x) { }
+
+                    @Override
+                    public void visitExpression(Expression e) throws Exception {
+                        if (e.isUnary()) {
+                            e.getOperand().accept(this);
+                        } else {
+                            e.getFirstOperand().accept(this);
+                            e.getSecondOperand().accept(this);
+                        }
+                    }
+
+                    @Override
+                    public void visitPrimitiveSymbolicApply(PrimitiveSymbolicApply x) throws Exception {
+                        for (Value arg : x.getArgs()) {
+                            if (arg instanceof Primitive) {
+                                ((Primitive) arg).accept(this);
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void visitPrimitiveSymbolicAtomic(PrimitiveSymbolicAtomic x) {
+                        symbols.add(x);
+                    }
+
+                    @Override
+                    public void visitSimplex(Simplex x) { }
+
+                    @Override
+                    public void visitTerm(Term x) {
+                        symbols.add(x);
+                    }
+
+                    @Override
+                    public void visitNarrowingConversion(NarrowingConversion x) throws Exception {
+                        x.getArg().accept(this);
+                    }
+
+                    @Override
+                    public void visitWideningConversion(WideningConversion x) throws Exception {
+                        x.getArg().accept(this);
+                    }
+                });
+            } catch (Exception e) {
+                //this should never happen
+                throw new UnexpectedInternalException(e);
+            }
+        }
+    }
+
     public State makeInitialState() {
     	final State sIni;
     	//takes a copy of the initial state and refines it
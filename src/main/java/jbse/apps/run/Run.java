@@ -330,6 +330,13 @@ public final class Run {
             return super.atScopeExhaustionCount();
         }
 
+        @Override
+        public boolean atStateSubsumed() {
+            this.pathKind = PathTypes.SUBSUMED;
+            this.endOfPathMessage = WARNING_STATE_SUBSUMED;
+            return super.atStateSubsumed();
+        }
+
         @Override
         public boolean atCannotManageStateException(CannotManageStateException e)
                 throws CannotManageStateException {
@@ -833,7 +840,7 @@ public final class Run {
         } else if (type == StateFormatMode.PATH) {
             this.formatter = new StateFormatterPath();
         } else if (type == StateFormatMode.JUNIT_TEST) {
-            this.formatter = new StateFormatterJUnitTestSuite(this::getInitialState, this::getModel);
+            this.formatter = new StateFormatterJUnitTestSuite(this::getInitialState, this::getModel, this.parameters.getTestSuitesDirectory(), this.parameters.getTestSuiteSize());
         } else {
             throw new CannotBuildFormatterException(ERROR_UNDEF_STATE_FORMAT);
         }
@@ -990,6 +997,8 @@ public final class Run {
                         this.guidance = new DecisionProcedureGuidanceJBSE(core, calc, guidanceDriverParameters, this.parameters.getMethodSignature());
                     } else if (this.parameters.getGuidanceType() == GuidanceType.JDI) {
                         this.guidance = new DecisionProcedureGuidanceJDI(core, calc, guidanceDriverParameters, this.parameters.getMethodSignature());
+                    } else if (this.parameters.getGuidanceType() == GuidanceType.SNAPSHOT) {
+                        this.guidance = new DecisionProcedureGuidanceSnapshot(core, calc, guidanceDriverParameters, this.parameters.getMethodSignature(), this.parameters.getGuidanceSnapshotPath());
                     } else {
                         throw new UnexpectedInternalException(ERROR_DECISION_PROCEDURE_GUIDANCE_UNRECOGNIZED + this.parameters.getGuidanceType().toString());
                     }
@@ -1004,6 +1013,10 @@ public final class Run {
             this.decisionProcedure = ((core instanceof DecisionProcedureAlgorithms) ?
                     (DecisionProcedureAlgorithms) core :
                     new DecisionProcedureAlgorithms(core));
+            if (this.parameters.getUseArrayTheory() && 
+                (type == DecisionProcedureType.Z3 || type == DecisionProcedureType.CVC4)) {
+                this.decisionProcedure.setUseArrayTheory(true);
+            }
         } catch (InvalidInputException e) {
             //this should never happen
             throw new UnexpectedInternalException(e);
@@ -1142,6 +1155,11 @@ public final class Run {
             retVal = 2;
         }
 
+        // closes the formatter
+        if (this.formatter != null) {
+            this.formatter.close();
+        }
+
         // closes all the output streams with the exception of
         // stdout/err
         for (PrintStream p : this.out) {
@@ -1179,6 +1197,9 @@ public final class Run {
     /** Warning: exhausted count scope. */
     private static final String WARNING_SCOPE_EXHAUSTED_COUNT = " path exhausted count scope.";
 
+    /** Warning: subsumed state. */
+    private static final String WARNING_STATE_SUBSUMED = " path reached a state subsumed by an already explored one.";
+
     /** Warning: cannot manage a native method invocation. */
     private static final String WARNING_CANNOT_INVOKE_NATIVE = " performed an unmanageable native method invocation: ";
 
@@ -108,7 +108,13 @@ public final class RunParameters implements Cloneable {
         JBSE,
         
         /** Use the platform JVM through JDI for the concrete execution. */
-        JDI
+        JDI,
+        
+        /** 
+         * Use a snapshot of the concrete state at the entry of the 
+         * method, taken once with the platform JVM through JDI.
+         */
+        SNAPSHOT
     }
 
     /**
@@ -196,6 +202,13 @@ public final class RunParameters implements Cloneable {
          */
         OUT_OF_SCOPE,
 
+        /**
+         * A leaf that is subsumed by a state 
+         * explored on another path, whose path is pruned
+         * (see {@link RunParameters#setPruneSubsumedStates(boolean)}).
+         */
+        SUBSUMED,
+
         /**
          * An unmanageable leaf, i.e., the final 
          * state of a path that cannot be executed
@@ -314,6 +327,13 @@ public final class RunParameters implements Cloneable {
     /** The decision procedure for guidance. */
     private GuidanceType guidanceType = GuidanceType.JBSE;
     
+    /** 
+     * The {@link Path} of the file where the snapshot for
+     * {@link GuidanceType#SNAPSHOT} guidance is stored, 
+     * or {@code null} if the snapshot must not be stored.
+     */
+    private Path guidanceSnapshotPath = null;
+    
     /** The {@link Path} where the executable of the external decision procedure is. */
     private Path externalDecisionProcedurePath = null;
 
@@ -333,6 +353,12 @@ public final class RunParameters implements Cloneable {
      */
     private boolean useLICS = true;
 
+    /** 
+     * Whether the engine should resolve the nonconcrete loads
+     * of primitive values from arrays by a single alternative.
+     */
+    private boolean useArrayTheory = false;
+
     /** The {@link LICSRuleRepo}, containing all the LICS rules. */
     private LICSRulesRepo repoLICS = new LICSRulesRepo();
 
@@ -387,6 +413,17 @@ public final class RunParameters implements Cloneable {
     /** The format mode. */
     private StateFormatMode stateFormatMode = StateFormatMode.FULLTEXT;
 
+    /** 
+     * The directory where the JUnit test suites are written
+     * when the format mode is {@link StateFormatMode#JUNIT_TEST}, 
+     * or {@code null} if the test suite must be emitted on 
+     * the output (default).
+     */
+    private Path testSuitesDirectory = null;
+
+    /** The maximum number of tests in each JUnit test suite file. */
+    private int testSuiteSize = 0;
+
     /** 
      * Maximum stack depth to which we show code;
      * if 0 we show at any depth (default).
@@ -1161,6 +1198,196 @@ public final class RunParameters implements Cloneable {
     	return this.runnerParameters.getMakePreInitClassesSymbolic();
     }
     
+    /**
+     * Sets whether the frequent bytecode idioms 
+     * (aload, getfield; iload, iload, iadd; 
+     * iconst_*, if_icmp*; iload, aload, arraylength, 
+     * if_icmp*) shall be executed as superinstructions, 
+     * i.e., in a single step, when their operands are 
+     * concrete. This makes symbolic execution faster, 
+     * but the intermediate states of the fused bytecodes 
+     * are not observable.
+     * 
+     * @param fuseSuperinstructions a {@code boolean}.
+     */
+    public void setFuseSuperinstructions(boolean fuseSuperinstructions) {
+    	this.runnerParameters.setFuseSuperinstructions(fuseSuperinstructions);
+    }
+    
+    /**
+     * Returns whether the frequent bytecode idioms 
+     * shall be executed as superinstructions.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getFuseSuperinstructions() {
+    	return this.runnerParameters.getFuseSuperinstructions();
+    }
+    
+    /**
+     * Sets whether the paths through the short diamonds 
+     * (if-then and if-then-else regions that only compute 
+     * on primitive local variables and operands) that follow 
+     * a branch on a symbolic condition shall be merged into 
+     * a single path, whose values are if-then-else terms. 
+     * This avoids forking the state, at the price of more
+     * complex path conditions.
+     * 
+     * @param mergePaths a {@code boolean}.
+     */
+    public void setMergePaths(boolean mergePaths) {
+    	this.runnerParameters.setMergePaths(mergePaths);
+    }
+    
+    /**
+     * Returns whether the paths through the short diamonds 
+     * that follow a branch on a symbolic condition shall be
+     * merged.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getMergePaths() {
+    	return this.runnerParameters.getMergePaths();
+    }
+    
+    /**
+     * Sets whether the loops whose body only updates some
+     * {@code int} local variables by constant (or loop-invariant) 
+     * amounts, and whose exit condition compares one of them 
+     * with a loop-invariant bound, shall be summarized when
+     * the condition is symbolic. A summarized loop is 
+     * executed in a single step, that assigns the local 
+     * variables their value after a symbolic number of
+     * iterations and constrains that number in the path
+     * condition, rather than unrolling the loop one
+     * branch at a time. Note that the constraint on the
+     * number of iterations assumes that the loop terminates:
+     * When the increments of the compared variables are 
+     * symbolic, the executions where the loop does not 
+     * terminate are silently dropped rather than explored.
+     * The loops are not summarized while the symbolic 
+     * execution is guided, since the guiding concrete 
+     * execution cannot evaluate their number of iterations.
+     * 
+     * @param summarizeLoops a {@code boolean}.
+     */
+    public void setSummarizeLoops(boolean summarizeLoops) {
+    	this.runnerParameters.setSummarizeLoops(summarizeLoops);
+    }
+    
+    /**
+     * Returns whether the loops on induction variables 
+     * shall be summarized.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getSummarizeLoops() {
+    	return this.runnerParameters.getSummarizeLoops();
+    }
+    
+    /**
+     * Sets whether the closed forms of the summarized loops
+     * may be nonlinear in the number of iterations, as when
+     * a variable is incremented by another induction variable,
+     * or by a symbolic amount. It must be set to {@code false} 
+     * when the decision procedure does not support nonlinear 
+     * integer arithmetic, so that these loops are unrolled. 
+     * By default it is {@code true}, since the SMT solvers
+     * are used with the AUFNIRA logic.
+     * 
+     * @param summarizeLoopsNonlinear a {@code boolean}.
+     */
+    public void setSummarizeLoopsNonlinear(boolean summarizeLoopsNonlinear) {
+    	this.runnerParameters.setSummarizeLoopsNonlinear(summarizeLoopsNonlinear);
+    }
+    
+    /**
+     * Returns whether the closed forms of the summarized 
+     * loops may be nonlinear.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getSummarizeLoopsNonlinear() {
+    	return this.runnerParameters.getSummarizeLoopsNonlinear();
+    }
+    
+    /**
+     * Sets whether the invocations of the methods that only 
+     * compute on their primitive parameters, without accessing
+     * the heap, invoking methods or raising exceptions, shall 
+     * be replaced by their summaries. The summary of a method 
+     * is calculated once, at its first invocation, by exploring 
+     * all its paths, and then it is instantiated at all the 
+     * invocations, so the method's code is not stepped.
+     * 
+     * @param summarizeMethods a {@code boolean}.
+     */
+    public void setSummarizeMethods(boolean summarizeMethods) {
+    	this.runnerParameters.setSummarizeMethods(summarizeMethods);
+    }
+    
+    /**
+     * Returns whether the invocations of the methods that only 
+     * compute on their primitive parameters shall be replaced 
+     * by their summaries.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getSummarizeMethods() {
+    	return this.runnerParameters.getSummarizeMethods();
+    }
+    
+    /**
+     * Sets the file where the summaries of the methods 
+     * (see {@link #setSummarizeMethods(boolean)}) are 
+     * persisted, so that other runs against the same 
+     * classes can reuse them. A summary is reused only if 
+     * the classfile of its method did not change since it 
+     * was calculated.
+     * 
+     * @param methodSummaryStore a {@link Path}, or {@code null}
+     *        if the summaries must not be persisted.
+     */
+    public void setMethodSummaryStore(Path methodSummaryStore) {
+    	this.runnerParameters.setMethodSummaryStore(methodSummaryStore);
+    }
+    
+    /**
+     * Returns the file where the summaries of the methods 
+     * are persisted.
+     * 
+     * @return a {@link Path}, or {@code null} if the summaries
+     *         are not persisted.
+     */
+    public Path getMethodSummaryStore() {
+    	return this.runnerParameters.getMethodSummaryStore();
+    }
+    
+    /**
+     * Sets the number of young heap objects that triggers
+     * a young collection. After every step of the post-initial
+     * phase, if the current state has at least that number of
+     * objects created since the last branch or the last young 
+     * collection, the unreachable ones are disposed. By default
+     * the young collection is never triggered.
+     * 
+     * @param youngCollectionThreshold an {@code int}, {@code <= 0}
+     *        means never.
+     */
+    public void setYoungCollectionThreshold(int youngCollectionThreshold) {
+    	this.runnerParameters.setYoungCollectionThreshold(youngCollectionThreshold);
+    }
+    
+    /**
+     * Returns the number of young heap objects that triggers
+     * a young collection.
+     * 
+     * @return an {@code int}, {@code <= 0} means never.
+     */
+    public int getYoungCollectionThreshold() {
+    	return this.runnerParameters.getYoungCollectionThreshold();
+    }
+    
     /**
      * Sets whether, instead of the JDK implementation of 
      * {@code java.util.HashMap}, a model class must be used
@@ -1356,6 +1583,31 @@ public final class RunParameters implements Cloneable {
         return this.runnerParameters.getCountScope();
     }
 
+    /**
+     * Sets whether the paths that reach a state already explored 
+     * must be pruned. If set, at every method entry and loop header 
+     * the current state is compared with the states met there on 
+     * the other paths, and if one has the same thread stack, an 
+     * isomorphic heap, the same static fields and a path condition 
+     * entailed by the current one, the exploration of the branch 
+     * is interrupted. By default no path is pruned.
+     * 
+     * @param pruneSubsumedStates a {@code boolean}.
+     */
+    public void setPruneSubsumedStates(boolean pruneSubsumedStates) {
+        this.runnerParameters.setPruneSubsumedStates(pruneSubsumedStates);
+    }
+
+    /**
+     * Gets whether the paths that reach a state already 
+     * explored must be pruned.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getPruneSubsumedStates() {
+        return this.runnerParameters.getPruneSubsumedStates();
+    }
+
     //no setActions(Actions), setActionsNothing(), getActions()
 
     /**
@@ -1731,6 +1983,34 @@ public final class RunParameters implements Cloneable {
         return this.useLICS;
     }
 
+    /**
+     * Sets whether the engine should resolve the loads of
+     * primitive values from arrays by a symbolic index with
+     * a single alternative, whose value selects the accessed 
+     * array entry by means of if-then-else terms, rather than 
+     * by branching once for each entry possibly accessed. 
+     * It is effective only with the Z3 and CVC4 decision 
+     * procedures. By default it is {@code false}.
+     * 
+     * @param useArrayTheory {@code true} iff the engine must 
+     * resolve array loads with a single alternative.
+     */
+    public void setUseArrayTheory(boolean useArrayTheory) {
+        this.useArrayTheory = useArrayTheory;
+    }
+
+    /**
+     * Gets whether the engine should resolve the loads of
+     * primitive values from arrays by a symbolic index with
+     * a single alternative.
+     * 
+     * @return {@code true} iff the engine must 
+     * resolve array loads with a single alternative.
+     */
+    public boolean getUseArrayTheory() {
+        return this.useArrayTheory;
+    }
+
     /**
      * Returns the {@link LICSRulesRepo} 
      * containing all the LICS rules that
@@ -2161,6 +2441,23 @@ public final class RunParameters implements Cloneable {
         }
     }
 
+    /**
+     * Relevant only when {@link #setStepShowMode(StepShowMode)}
+     * is set to {@link StepShowMode#LEAVES} or 
+     * {@link StepShowMode#SUMMARIES} to further filter
+     * which leaves/summaries must be shown.
+     * 
+     * @param show {@code true} iff the leaves/summaries 
+     *        of paths pruned because subsumed must be shown.
+     */
+    public void setShowSubsumed(boolean show) {
+        if (show) {
+            this.pathsToShow.add(PathTypes.SUBSUMED);
+        } else {
+            this.pathsToShow.remove(PathTypes.SUBSUMED);
+        }
+    }
+
     /**
      * Returns the paths types to be shown.
      * 
@@ -2272,6 +2569,67 @@ public final class RunParameters implements Cloneable {
         return this.stateFormatMode;
     }
     
+    /**
+     * Sets the directory where the JUnit test suites are 
+     * written when the state output format mode is 
+     * {@link StateFormatMode#JUNIT_TEST}. The tests are 
+     * written as soon as their paths end, and they are split 
+     * among many test suite files, each with at most 
+     * {@code testSuiteSize} tests, so the generated sources 
+     * are not kept in memory and can be compiled in parallel.
+     * 
+     * @param testSuitesDirectory a {@link String}, the pathname 
+     *        of the directory.
+     * @param testSuiteSize a positive {@code int}, the maximum
+     *        number of tests in a test suite file.
+     * @throws NullPointerException if {@code testSuitesDirectory == null}.
+     * @throws InvalidPathException if {@code testSuitesDirectory} is 
+     *         not a valid pathname.
+     * @throws IllegalArgumentException if {@code testSuiteSize <= 0}.
+     */
+    public void setTestSuitesDirectory(String testSuitesDirectory, int testSuiteSize) { 
+        if (testSuitesDirectory == null) {
+            throw new NullPointerException();
+        }
+        if (testSuiteSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.testSuitesDirectory = Paths.get(testSuitesDirectory); 
+        this.testSuiteSize = testSuiteSize;
+    }
+    
+    /**
+     * Instructs to emit the JUnit test suite on the output,
+     * as a single test suite, cancelling any previous 
+     * invocation of {@link #setTestSuitesDirectory(String, int)}.
+     * This is the default behaviour.
+     */
+    public void setTestSuitesDirectoryNone() {
+        this.testSuitesDirectory = null;
+        this.testSuiteSize = 0;
+    }
+
+    /**
+     * Gets the directory where the JUnit test suites are written.
+     * 
+     * @return A {@link Path}, or {@code null} if the test 
+     *         suite is emitted on the output.
+     */
+    public Path getTestSuitesDirectory() {
+        return this.testSuitesDirectory;
+    }
+
+    /**
+     * Gets the maximum number of tests in a JUnit test 
+     * suite file.
+     * 
+     * @return an {@code int}, meaningful only if 
+     *         {@link #getTestSuitesDirectory()}{@code  != null}.
+     */
+    public int getTestSuiteSize() {
+        return this.testSuiteSize;
+    }
+    
     /**
      * Sets the path of the source files.
      * 
@@ -2422,6 +2780,33 @@ public final class RunParameters implements Cloneable {
         this.guidanceType = guidanceType;
     }
 
+    /**
+     * Sets the file where the snapshot of the concrete state 
+     * is stored, when the guidance type is {@link GuidanceType#SNAPSHOT}.
+     * If the file exists the snapshot is read from it, otherwise 
+     * the snapshot is taken and written to it.
+     * 
+     * @param guidanceSnapshotPath a {@link Path}.
+     * @throws NullPointerException if {@code guidanceSnapshotPath == null}.
+     */
+    public void setGuidanceSnapshotPath(Path guidanceSnapshotPath) {
+        if (guidanceSnapshotPath == null) {
+            throw new NullPointerException();
+        }
+        this.guidanceSnapshotPath = guidanceSnapshotPath;
+    }
+
+    /**
+     * Returns the file where the snapshot of the concrete state
+     * is stored.
+     * 
+     * @return a {@link Path}, or {@code null} if the snapshot 
+     *         is not stored.
+     */
+    public Path getGuidanceSnapshotPath() {
+        return this.guidanceSnapshotPath;
+    }
+
     /**
      * Sets ordinary symbolic execution, not guided by a concrete one.
      * This is the default behaviour.
@@ -26,6 +26,10 @@ implements Map<K,V>, Cloneable, Serializable {
 		KK key;
 		VV value;
 		Node next;
+		NodePair<KK, VV> prev;
+		boolean indexed;
+		int hash;
+		NodePair<KK, VV> nextInBucket;
 
 		public int pairHashCode() {
 			return (this.key == null ? 0 : this.key.hashCode()) ^
@@ -84,6 +88,21 @@ implements Map<K,V>, Cloneable, Serializable {
 	 */
 	private int numNodes;
 
+	/**
+	 * Index of the nodes in root.(next)* whose keys are 
+	 * indexable (see {@link #isIndexable(Object)}), 
+	 * by the hash code of their keys. Each entry is the
+	 * head of a chain of nodes linked by 
+	 * {@code NodePair.nextInBucket}. It is {@code null} 
+	 * until the first indexable key is added.
+	 */
+	private Node[] table;
+
+	/**
+	 * The number of indexed nodes in root.(next)*.
+	 */
+	private int numIndexed;
+
 	// Constructors
 
 	private static final int MAXIMUM_CAPACITY = 1 << 30;
@@ -108,6 +127,8 @@ implements Map<K,V>, Cloneable, Serializable {
 		this.size = 0;
 		this.root = new NodeEmpty();
 		this.numNodes = 0;
+		this.table = null;
+		this.numIndexed = 0;
 	}
 
 	public JAVA_MAP(int initialCapacity) {
@@ -144,20 +165,8 @@ implements Map<K,V>, Cloneable, Serializable {
 		}
 
 		//if not absent, checks in the nodes
-		if (key == null) {
-			for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (np.key == null) {
-					return true;
-				}
-			}
-		} else {
-			for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (key.equals(np.key)) {
-					return true;
-				}
-			}
+		if (findNode(key) != null) {
+			return true;
 		}
 
 		//if not in the nodes, there are three cases 
@@ -224,20 +233,9 @@ implements Map<K,V>, Cloneable, Serializable {
 		}
 
 		//if not absent, checks in the nodes
-		if (key == null) {
-			for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (np.key == null) {
-					return np.value;
-				}
-			}
-		} else {
-			for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (key.equals(np.key)) {
-					return np.value;
-				}
-			}
+		final NodePair<K, V> np = findNode(key);
+		if (np != null) {
+			return np.value;
 		}
 
 		//if not in the nodes there are three cases: 
@@ -257,41 +255,180 @@ implements Map<K,V>, Cloneable, Serializable {
 
 	private void addNode(K key, V value) {
 		this.absentKeys.remove(key);
+		linkNode(key, value);
+	}
+
+	/**
+	 * Adds a new node at the head of this.root.(next)*, 
+	 * and indexes it if its key is indexable.
+	 * 
+	 * @param key the key.
+	 * @param value the value.
+	 */
+	@SuppressWarnings("unchecked")
+	private void linkNode(K key, V value) {
 		final NodePair<K, V> np = new NodePair<>();
 		np.key = key;
 		np.value = value;
 		np.next = this.root;
+		np.prev = null;
+		if (this.root instanceof JAVA_MAP.NodePair) {
+			((JAVA_MAP.NodePair<K, V>) this.root).prev = np;
+		}
 		this.root = np;
 		++this.numNodes;
+		if (isIndexable(key)) {
+			if (this.table == null) {
+				this.table = new Node[DEFAULT_INITIAL_CAPACITY];
+			} else if (this.numIndexed >= this.table.length * DEFAULT_LOAD_FACTOR && this.table.length < MAXIMUM_CAPACITY) {
+				resizeTable(); //before np is marked as indexed, so it is not redistributed
+			}
+			np.indexed = true;
+			np.hash = key.hashCode();
+			final int bucket = bucket(np.hash, this.table.length);
+			np.nextInBucket = (JAVA_MAP.NodePair<K, V>) this.table[bucket];
+			this.table[bucket] = np;
+			++this.numIndexed;
+		}
 	}
 
+	/**
+	 * Removes a node from this.root.(next)* and from 
+	 * the index.
+	 * 
+	 * @param np the {@link NodePair} to remove. It must
+	 *        be in this.root.(next)*.
+	 */
 	@SuppressWarnings("unchecked")
-	@Override
-	public V put(K key, V value) {
-		if (this.isInitial) {
-			//initial maps are immutable
-			metaThrowUnexpectedInternalException("Tried to put a value in an initial map.");
+	private void unlinkNode(NodePair<K, V> np) {
+		if (np.prev == null) {
+			this.root = np.next;
+		} else {
+			np.prev.next = np.next;
+		}
+		if (np.next instanceof JAVA_MAP.NodePair) {
+			((JAVA_MAP.NodePair<K, V>) np.next).prev = np.prev;
+		}
+		--this.numNodes;
+		if (np.indexed) {
+			final int bucket = bucket(np.hash, this.table.length);
+			NodePair<K, V> prevInBucket = null;
+			for (NodePair<K, V> npBucket = (JAVA_MAP.NodePair<K, V>) this.table[bucket]; npBucket != null; prevInBucket = npBucket, npBucket = npBucket.nextInBucket) {
+				if (npBucket == np) {
+					if (prevInBucket == null) {
+						this.table[bucket] = np.nextInBucket;
+					} else {
+						prevInBucket.nextInBucket = np.nextInBucket;
+					}
+					break;
+				}
+			}
+			--this.numIndexed;
 		}
+	}
 
-		//looks for a matching NodePair in this.root.(next)*
-		NodePair<K, V> matchingPair = null;
+	/**
+	 * Doubles the size of the index and redistributes
+	 * the indexed nodes.
+	 */
+	@SuppressWarnings("unchecked")
+	private void resizeTable() {
+		final Node[] newTable = new Node[this.table.length * 2];
+		for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
+			final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
+			if (np.indexed) {
+				final int bucket = bucket(np.hash, newTable.length);
+				np.nextInBucket = (JAVA_MAP.NodePair<K, V>) newTable[bucket];
+				newTable[bucket] = np;
+			}
+		}
+		this.table = newTable;
+	}
+
+	/**
+	 * Finds the node in this.root.(next)* that matches a key. 
+	 * If the key is indexable the indexed nodes are looked up 
+	 * through the index, and only the nodes that are not indexed
+	 * are scanned: An indexed node whose key equals the key must
+	 * have the same hash code, thus it is in the bucket of the key. 
+	 * Otherwise, all the nodes are scanned.
+	 * 
+	 * @param key the key.
+	 * @return the matching {@link NodePair}, or {@code null} if 
+	 *         there is no node with key {@code key}.
+	 */
+	@SuppressWarnings("unchecked")
+	private NodePair<K, V> findNode(Object key) {
 		if (key == null) {
 			for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
 				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
 				if (np.key == null) {
-					matchingPair = np;
-					break;
+					return np;
 				}
 			}
-		} else {
-			for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (key.equals(np.key)) {
-					matchingPair = np;
-					break;
+			return null;
+		}
+		final boolean indexable = isIndexable(key);
+		if (indexable && this.table != null) {
+			final int hash = key.hashCode();
+			for (NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) this.table[bucket(hash, this.table.length)]; np != null; np = np.nextInBucket) {
+				if (np.hash == hash && key.equals(np.key)) {
+					return np;
 				}
 			}
 		}
+		if (indexable && this.numIndexed == this.numNodes) {
+			//all the nodes are indexed
+			return null;
+		}
+		for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
+			final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
+			if (indexable && np.indexed) {
+				continue; //already checked through the index
+			}
+			if (key.equals(np.key)) {
+				return np;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether a key can be indexed, i.e., whether it is
+	 * a concrete, nonnull object with a concrete hash code. 
+	 * Only concrete keys are indexed, since looking up a symbolic
+	 * key requires to compare it with all the other keys, possibly
+	 * causing symbolic execution to branch.
+	 * 
+	 * @param key the key.
+	 * @return {@code true} iff {@code key} can be indexed.
+	 */
+	private static boolean isIndexable(Object key) {
+		return key != null && !isSymbolic(key) && !isSymbolic(key.hashCode());
+	}
+
+	/**
+	 * Calculates the bucket of a hash code.
+	 * 
+	 * @param hash the hash code.
+	 * @param length the length of the index; it must 
+	 *        be a power of two.
+	 * @return the index of the bucket.
+	 */
+	private static int bucket(int hash, int length) {
+		return (hash ^ (hash >>> 16)) & (length - 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V put(K key, V value) {
+		if (this.isInitial) {
+			//initial maps are immutable
+			metaThrowUnexpectedInternalException("Tried to put a value in an initial map.");
+		}
+
+		//looks for a matching NodePair in this.root.(next)*
+		final NodePair<K, V> matchingPair = findNode(key);
 
 		//no matching NodePair
 		if (matchingPair == null) {
@@ -317,22 +454,10 @@ implements Map<K,V>, Cloneable, Serializable {
 
 				//if the key surely is in the initial map, add the new mapping and 
 				//return the value it had in the initial map
-				if (key == null) {
-					for (Node nInitial = this.initialMap.root; nInitial instanceof JAVA_MAP.NodePair; nInitial = ((JAVA_MAP.NodePair<K, V>) nInitial).next) {
-						final NodePair<K, V> npInitial = (JAVA_MAP.NodePair<K, V>) nInitial;
-						if (npInitial.key == null) {
-							addNode(key, value);
-							return npInitial.value;
-						}
-					}
-				} else {
-					for (Node nInitial = this.initialMap.root; nInitial instanceof JAVA_MAP.NodePair; nInitial = ((JAVA_MAP.NodePair<K, V>) nInitial).next) {
-						final NodePair<K, V> npInitial = (JAVA_MAP.NodePair<K, V>) nInitial;
-						if (key.equals(npInitial.key)) {
-							addNode(key, value);
-							return npInitial.value;
-						}
-					}
+				final NodePair<K, V> npInitial = this.initialMap.findNode(key);
+				if (npInitial != null) {
+					addNode(key, value);
+					return npInitial.value;
 				}
 
 				//else, branch and repeat put operation
@@ -362,26 +487,7 @@ implements Map<K,V>, Cloneable, Serializable {
 		}
 
 		//looks for a matching NodePair in this.root.(next)*
-		NodePair<K, V> matchingPairPrev = null, matchingPair = null;
-		if (key == null) {
-			for (Node nPrev = null, n = this.root; n instanceof JAVA_MAP.NodePair; nPrev = n, n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (np.key == null) {
-					matchingPairPrev = (JAVA_MAP.NodePair<K, V>) nPrev;
-					matchingPair = np;
-					break;
-				}
-			}
-		} else {
-			for (Node nPrev = null, n = this.root; n instanceof JAVA_MAP.NodePair; nPrev = n, n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (key.equals(np.key)) {
-					matchingPairPrev = (JAVA_MAP.NodePair<K, V>) nPrev;
-					matchingPair = np;
-					break;
-				}
-			}
-		}
+		final NodePair<K, V> matchingPair = findNode(key);
 
 		//no matching NodePair
 		if (matchingPair == null) {
@@ -401,24 +507,11 @@ implements Map<K,V>, Cloneable, Serializable {
 
 				//if the key surely is in the initial map, adjust size and
 				//return the associated value
-				if (key == null) {
-					for (Node nInitial = this.initialMap.root; nInitial instanceof JAVA_MAP.NodePair; nInitial = ((JAVA_MAP.NodePair<K, V>) nInitial).next) {
-						final NodePair<K, V> npInitial = (JAVA_MAP.NodePair<K, V>) nInitial;
-						if (npInitial.key == null) {
-							this.absentKeys.add((K) key);						
-							--this.size;
-							return npInitial.value;
-						}
-					}
-				} else {
-					for (Node nInitial = this.initialMap.root; nInitial instanceof JAVA_MAP.NodePair; nInitial = ((JAVA_MAP.NodePair<K, V>) nInitial).next) {
-						final NodePair<K, V> npInitial = (JAVA_MAP.NodePair<K, V>) nInitial;
-						if (key.equals(npInitial.key)) {
-							this.absentKeys.add((K) key);						
-							--this.size;
-							return npInitial.value;
-						}
-					}
+				final NodePair<K, V> npInitial = this.initialMap.findNode(key);
+				if (npInitial != null) {
+					this.absentKeys.add((K) key);						
+					--this.size;
+					return npInitial.value;
 				}
 
 				//else, branch and repeat remove operation
@@ -427,14 +520,13 @@ implements Map<K,V>, Cloneable, Serializable {
 			}
 		} else {
 			//matching NodePair found: remove it, adjust
-			//size and return the value
-			this.absentKeys.add((K) key);						
-			if (matchingPairPrev == null) {
-				this.root = matchingPair.next;
-			} else {
-				matchingPairPrev.next = matchingPair.next;
+			//size and return the value; the key must be
+			//recorded as absent only if it could still be
+			//found in the initial map
+			if (this.initialMap != null) {
+				this.absentKeys.add((K) key);
 			}
-			--this.numNodes;
+			unlinkNode(matchingPair);
 			--this.size;
 			return matchingPair.value;
 		}
@@ -464,6 +556,8 @@ implements Map<K,V>, Cloneable, Serializable {
 		this.size = 0;
 		this.root = new NodeEmpty();
 		this.numNodes = 0;
+		this.table = null;
+		this.numIndexed = 0;
 		this.initialMap = null; //my, that's rough! But it works.
 	}
 
@@ -855,23 +949,9 @@ implements Map<K,V>, Cloneable, Serializable {
 						scanForNotAlreadyEmitted:
 							while (this.current instanceof JAVA_MAP.NodePair) {
 								final NodePair<K, V> npCurrent = (JAVA_MAP.NodePair<K, V>) this.current;
-								final K keyCurrent = npCurrent.key;
-								if (keyCurrent == null) {
-									for (Node n = JAVA_MAP.this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-										final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-										if (np.key == null) {
-											this.current = npCurrent.next;
-											continue scanForNotAlreadyEmitted;
-										}
-									}
-								} else {
-									for (Node n = JAVA_MAP.this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-										final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-										if (keyCurrent.equals(np.key)) {
-											this.current = npCurrent.next;
-											continue scanForNotAlreadyEmitted;
-										}
-									}
+								if (JAVA_MAP.this.findNode(npCurrent.key) != null) {
+									this.current = npCurrent.next;
+									continue scanForNotAlreadyEmitted;
 								}
 								break;
 							}
@@ -1057,20 +1137,8 @@ implements Map<K,V>, Cloneable, Serializable {
 				if (this.initialMap.absentKeys.contains(np.key)) {
 					continue findNotRefinedNodes;
 				}
-				if (np.key == null) {
-					for (Node nRefinement = this.initialMap.root; nRefinement instanceof JAVA_MAP.NodePair; nRefinement = ((JAVA_MAP.NodePair<K, V>) nRefinement).next) {
-						final NodePair<K, V> npRefinement = (JAVA_MAP.NodePair<K, V>) nRefinement;
-						if (npRefinement.key == null) {
-							continue findNotRefinedNodes;
-						}
-					}
-				} else {
-					for (Node nRefinement = this.initialMap.root; nRefinement instanceof JAVA_MAP.NodePair; nRefinement = ((JAVA_MAP.NodePair<K, V>) nRefinement).next) {
-						final NodePair<K, V> npRefinement = (JAVA_MAP.NodePair<K, V>) nRefinement;
-						if (np.key.equals(npRefinement.key)) {
-							continue findNotRefinedNodes;
-						}
-					}
+				if (this.initialMap.findNode(np.key) != null) {
+					continue findNotRefinedNodes;
 				}
 				notRefined.add(np.key);
 			}
@@ -1136,6 +1204,8 @@ implements Map<K,V>, Cloneable, Serializable {
 		tthis.size = tthis.initialMap.size;
 		tthis.root = new NodeEmpty();
 		tthis.numNodes = 0;
+		tthis.table = null;
+		tthis.numIndexed = 0;
 
 		tthis.initialMap.makeInitial();
 		tthis.initialMap.isInitial = true;
@@ -1147,6 +1217,8 @@ implements Map<K,V>, Cloneable, Serializable {
 		assume(tthis.initialMap.size >= 0);
 		tthis.initialMap.root = new NodeEmpty();
 		tthis.initialMap.numNodes = 0;
+		tthis.initialMap.table = null;
+		tthis.initialMap.numIndexed = 0;
 	}
 
 	/**
@@ -1201,12 +1273,7 @@ implements Map<K,V>, Cloneable, Serializable {
 			ignore(); //contradiction found
 		}
 
-		final NodePair<K, V> p = new NodePair<K, V>();
-		p.key = key;
-		p.value = value;
-		p.next = this.root;
-		this.root = p;
-		++this.numNodes;
+		linkNode(key, value);
 		assume(this.size >= this.numNodes);
 	}
 
@@ -1218,25 +1285,12 @@ implements Map<K,V>, Cloneable, Serializable {
 	 * 
 	 * @param key the key.
 	 */
-	@SuppressWarnings("unchecked")
 	private void refineOutKey(K key) {
 		if (!this.isInitial) {
 			metaThrowUnexpectedInternalException("Tried to refine a JAVA_MAP that is not initial.");
 		}
-		if (key == null) {
-			for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (np.key == null) {
-					ignore(); //contradiction found
-				}
-			}
-		} else {
-			for (Node n = this.root; n instanceof JAVA_MAP.NodePair; n = ((JAVA_MAP.NodePair<K, V>) n).next) {
-				final NodePair<K, V> np = (JAVA_MAP.NodePair<K, V>) n;
-				if (key.equals(np.key)) {
-					ignore(); //contradiction found
-				}
-			}
+		if (findNode(key) != null) {
+			ignore(); //contradiction found
 		}
 
 		this.absentKeys.add(key);
@@ -10,11 +10,13 @@ import static jbse.common.Type.splitParametersDescriptors;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import jbse.bc.exc.AttributeNotFoundException;
@@ -44,6 +46,13 @@ public abstract class ClassFile implements Comparable<ClassFile> {
     
     protected static final String JAR_FILE_EXTENSION = ".jar";
     
+    /** 
+     * Caches, by their type and by method signature, the objects 
+     * derived from the code of the methods of this class (see 
+     * {@link #getMethodCodeDerived(Signature, Class, Function)}).
+     */
+    private final HashMap<Class<?>, HashMap<Signature, Object>> methodCodeDerived = new HashMap<>();
+    
     /**
      * Returns the content of the binary file for this class.
      * 
@@ -708,6 +717,44 @@ public abstract class ClassFile implements Comparable<ClassFile> {
     public abstract byte[] getMethodCodeBySignature(Signature methodSignature) 
     throws MethodNotFoundException, MethodCodeNotFoundException;
 
+    /**
+     * Given the signature of a method, returns an object derived
+     * from its bytecode (e.g., its decoding), deriving it upon the
+     * first request. The derived objects are owned by this 
+     * {@link ClassFile}, thus they are not shared with other 
+     * classfiles with same name, and they are discarded when
+     * this class is renamed.
+     * 
+     * @param <T> the type of the derived object.
+     * @param methodSignature the {@link Signature} of a method.
+     * @param type the {@link Class}{@code <T>} of the derived object.
+     * @param derivation a {@link Function}{@code <byte[], T>} that 
+     *        derives the object from the bytecode of the method. 
+     *        For a given {@code type} it must always be the same.
+     * @return the derived object.
+     * @throws MethodNotFoundException iff {@link #hasMethodDeclaration}{@code (methodSignature) == false}.
+     * @throws MethodCodeNotFoundException iff the method has not the Code attribute.
+     */
+    public final synchronized <T> T getMethodCodeDerived(Signature methodSignature, Class<T> type, Function<byte[], T> derivation) 
+    throws MethodNotFoundException, MethodCodeNotFoundException {
+        final HashMap<Signature, Object> derivedOfType = this.methodCodeDerived.computeIfAbsent(type, k -> new HashMap<>());
+        T retVal = type.cast(derivedOfType.get(methodSignature));
+        if (retVal == null) {
+            retVal = derivation.apply(getMethodCodeBySignature(methodSignature));
+            derivedOfType.put(methodSignature, retVal);
+        }
+        return retVal;
+    }
+
+    /**
+     * Discards all the objects derived from the bytecode
+     * of the methods of this class. Must be invoked by the 
+     * subclasses whenever the bytecode may change.
+     */
+    protected final synchronized void clearMethodCodeDerived() {
+        this.methodCodeDerived.clear();
+    }
+
     /**
      * Checks whether the class declares a field.
      * 
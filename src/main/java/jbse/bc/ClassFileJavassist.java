@@ -84,6 +84,8 @@ public class ClassFileJavassist extends ClassFile {
     private ArrayList<Signature> fieldsObject; //lazily initialized, but actually final
     private ArrayList<Signature> methods; //lazily initialized, but actually final
     private ArrayList<Signature> constructors; //lazily initialized, but actually final
+    private String[] cpClassSignatures; //lazily initialized, reset upon renaming
+    private Signature[] cpMemberSignatures; //lazily initialized, reset upon renaming
 
     /**
      * Constructor for nonanonymous classes.
@@ -414,6 +416,9 @@ public class ClassFileJavassist extends ClassFile {
 			throw new UnexpectedInternalException(e);
 		}
         this.bytecode = baos.toByteArray();
+        this.cpClassSignatures = null;
+        this.cpMemberSignatures = null;
+        clearMethodCodeDerived(); //compacting rewrites the constant pool indices in the bytecode
     }
     
     @Override
@@ -429,7 +434,15 @@ public class ClassFileJavassist extends ClassFile {
         if (this.cp.getTag(classIndex) != ConstPool.CONST_Class) {
             throw new InvalidIndexException(entryInvalidMessage(classIndex));
         }
-        return internalClassName(this.cp.getClassInfo(classIndex));
+        if (this.cpClassSignatures == null) {
+            this.cpClassSignatures = new String[this.cp.getSize() + 1];
+        }
+        String retVal = this.cpClassSignatures[classIndex];
+        if (retVal == null) {
+            retVal = internalClassName(this.cp.getClassInfo(classIndex));
+            this.cpClassSignatures[classIndex] = retVal;
+        }
+        return retVal;
     }
     
     @Override
@@ -586,10 +599,33 @@ public class ClassFileJavassist extends ClassFile {
         if (this.cp.getTag(fieldIndex) != ConstPool.CONST_Fieldref) {
             throw new InvalidIndexException(entryInvalidMessage(fieldIndex));
         }
-        final String containerClass = internalClassName(this.cp.getFieldrefClassName(fieldIndex));
-        final String descriptor = this.cp.getFieldrefType(fieldIndex);
-        final String name = this.cp.getFieldrefName(fieldIndex);
-        return new Signature(containerClass, descriptor, name);
+        Signature retVal = cachedMemberSignature(fieldIndex);
+        if (retVal == null) {
+            final String containerClass = internalClassName(this.cp.getFieldrefClassName(fieldIndex));
+            final String descriptor = this.cp.getFieldrefType(fieldIndex);
+            final String name = this.cp.getFieldrefName(fieldIndex);
+            retVal = new Signature(containerClass, descriptor, name);
+            this.cpMemberSignatures[fieldIndex] = retVal;
+        }
+        return retVal;
+    }
+    
+    /**
+     * Returns the cached {@link Signature} of a CONSTANT_Fieldref, 
+     * CONSTANT_Methodref or CONSTANT_InterfaceMethodref. 
+     * The caller must check that {@code index} is valid and 
+     * points to an entry with the expected tag.
+     * 
+     * @param index an {@code int}, a constant pool index.
+     * @return the {@link Signature} previously resolved for 
+     *         {@code index}, or {@code null} if it was not yet 
+     *         resolved.
+     */
+    private Signature cachedMemberSignature(int index) {
+        if (this.cpMemberSignatures == null) {
+            this.cpMemberSignatures = new Signature[this.cp.getSize() + 1];
+        }
+        return this.cpMemberSignatures[index];
     }
 
     private ArrayList<Signature> getDeclaredFields(boolean areStatic) {
@@ -642,10 +678,15 @@ public class ClassFileJavassist extends ClassFile {
         if (this.cp.getTag(methodIndex) != ConstPool.CONST_InterfaceMethodref) {
             throw new InvalidIndexException(entryInvalidMessage(methodIndex));
         }
-        final String containerClass = internalClassName(this.cp.getInterfaceMethodrefClassName(methodIndex));
-        final String descriptor = this.cp.getInterfaceMethodrefType(methodIndex);
-        final String name = this.cp.getInterfaceMethodrefName(methodIndex);
-        return new Signature(containerClass, descriptor, name); 
+        Signature retVal = cachedMemberSignature(methodIndex);
+        if (retVal == null) {
+            final String containerClass = internalClassName(this.cp.getInterfaceMethodrefClassName(methodIndex));
+            final String descriptor = this.cp.getInterfaceMethodrefType(methodIndex);
+            final String name = this.cp.getInterfaceMethodrefName(methodIndex);
+            retVal = new Signature(containerClass, descriptor, name);
+            this.cpMemberSignatures[methodIndex] = retVal;
+        }
+        return retVal;
     }
 
     /**
@@ -766,10 +807,15 @@ public class ClassFileJavassist extends ClassFile {
         if (this.cp.getTag(methodIndex) != ConstPool.CONST_Methodref) {
             throw new InvalidIndexException(entryInvalidMessage(methodIndex));
         }
-        final String containerClass = internalClassName(this.cp.getMethodrefClassName(methodIndex));
-        final String descriptor = this.cp.getMethodrefType(methodIndex);
-        final String name = this.cp.getMethodrefName(methodIndex);
-        return new Signature(containerClass, descriptor, name); 
+        Signature retVal = cachedMemberSignature(methodIndex);
+        if (retVal == null) {
+            final String containerClass = internalClassName(this.cp.getMethodrefClassName(methodIndex));
+            final String descriptor = this.cp.getMethodrefType(methodIndex);
+            final String name = this.cp.getMethodrefName(methodIndex);
+            retVal = new Signature(containerClass, descriptor, name);
+            this.cpMemberSignatures[methodIndex] = retVal;
+        }
+        return retVal;
     }
 
     @Override
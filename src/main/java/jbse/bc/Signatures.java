@@ -22,12 +22,14 @@ import static jbse.common.Type.VOID;
  */
 public final class Signatures {
     //classes and interfaces
+    public static final String JAVA_ABSTRACTSTRINGBUILDER    = "java/lang/AbstractStringBuilder";
     public static final String JAVA_ACCESSCONTROLCONTEXT     = "java/security/AccessControlContext";
     public static final String JAVA_ACCESSCONTROLLER         = "java/security/AccessController";
     public static final String JAVA_ACCESSIBLEOBJECT         = "java/lang/reflect/AccessibleObject";
     public static final String JAVA_ANNOTATEDELEMENT         = "java/lang/reflect/AnnotatedElement";
     public static final String JAVA_ARRAYDEQUE               = "java/util/ArrayDeque";
     public static final String JAVA_ARRAYLIST                = "java/util/ArrayList";
+    public static final String JAVA_ARRAYS                   = "java/util/Arrays";
     public static final String JAVA_ATOMICLONG               = "java/util/concurrent/atomic/AtomicLong";
     public static final String JAVA_ATTRIBUTES_NAME          = "java/util/jar/Attributes$Name";
     public static final String JAVA_BITS                     = "java/nio/Bits";
@@ -217,6 +219,38 @@ public final class Signatures {
             new Signature(JAVA_ACCESSCONTROLLER, "(" + REFERENCE + JAVA_PRIVILEGEDACTION + TYPEEND + REFERENCE + JAVA_ACCESSCONTROLCONTEXT + TYPEEND + ")" + REFERENCE + JAVA_OBJECT + TYPEEND, "doPrivileged");
     public static final Signature JAVA_ACCESSCONTROLLER_GETSTACKACCESSCONTROLCONTEXT =
         new Signature(JAVA_ACCESSCONTROLLER, "()" + REFERENCE + JAVA_ACCESSCONTROLCONTEXT + TYPEEND, "getStackAccessControlContext");
+    public static final Signature JAVA_ARRAYS_FILL_BOOLEAN =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + BOOLEAN + BOOLEAN + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_BOOLEAN_RANGE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + BOOLEAN + INT + INT + BOOLEAN + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_BYTE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + BYTE + BYTE + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_BYTE_RANGE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + BYTE + INT + INT + BYTE + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_CHAR =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + CHAR + CHAR + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_CHAR_RANGE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + CHAR + INT + INT + CHAR + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_DOUBLE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + DOUBLE + DOUBLE + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_DOUBLE_RANGE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + DOUBLE + INT + INT + DOUBLE + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_FLOAT =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + FLOAT + FLOAT + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_FLOAT_RANGE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + FLOAT + INT + INT + FLOAT + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_INT =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + INT + INT + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_INT_RANGE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + INT + INT + INT + INT + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_LONG =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + LONG + LONG + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_LONG_RANGE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + LONG + INT + INT + LONG + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_SHORT =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + SHORT + SHORT + ")" + VOID, "fill");
+    public static final Signature JAVA_ARRAYS_FILL_SHORT_RANGE =
+        new Signature(JAVA_ARRAYS, "(" + ARRAYOF + SHORT + INT + INT + SHORT + ")" + VOID, "fill");
     public static final Signature JAVA_ATOMICLONG_VMSUPPORTSCS8 =
         new Signature(JAVA_ATOMICLONG, "()" + BOOLEAN, "VMSupportsCS8");
     public static final Signature JAVA_CLASS_DESIREDASSERTIONSTATUS0 =
@@ -440,12 +474,30 @@ public final class Signatures {
         new Signature(JAVA_STRICTMATH, "(" + DOUBLE + ")" + DOUBLE, "tan");
     public static final Signature JAVA_STRICTMATH_TANH = 
         new Signature(JAVA_STRICTMATH, "(" + DOUBLE + ")" + DOUBLE, "tanh");
+    public static final Signature JAVA_STRING_CHARAT = 
+        new Signature(JAVA_STRING, "(" + INT + ")" + CHAR, "charAt");
+    public static final Signature JAVA_STRING_COMPARETO = 
+        new Signature(JAVA_STRING, "(" + REFERENCE + JAVA_STRING + TYPEEND + ")" + INT, "compareTo");
+    public static final Signature JAVA_STRING_CONCAT = 
+        new Signature(JAVA_STRING, "(" + REFERENCE + JAVA_STRING + TYPEEND + ")" + REFERENCE + JAVA_STRING + TYPEEND, "concat");
     public static final Signature JAVA_STRING_EQUALS = 
         new Signature(JAVA_STRING, "(" + REFERENCE + JAVA_OBJECT + TYPEEND + ")" + BOOLEAN, "equals");
     public static final Signature JAVA_STRING_HASHCODE = 
         new Signature(JAVA_STRING, "()" + INT, "hashCode");
+    public static final Signature JAVA_STRING_INDEXOF_CHAR = 
+        new Signature(JAVA_STRING, "(" + INT + ")" + INT, "indexOf");
+    public static final Signature JAVA_STRING_INDEXOF_CHAR_FROM = 
+        new Signature(JAVA_STRING, "(" + INT + INT + ")" + INT, "indexOf");
+    public static final Signature JAVA_STRING_INDEXOF_STRING = 
+        new Signature(JAVA_STRING, "(" + REFERENCE + JAVA_STRING + TYPEEND + ")" + INT, "indexOf");
+    public static final Signature JAVA_STRING_INDEXOF_STRING_FROM = 
+        new Signature(JAVA_STRING, "(" + REFERENCE + JAVA_STRING + TYPEEND + INT + ")" + INT, "indexOf");
     public static final Signature JAVA_STRING_INTERN =
         new Signature(JAVA_STRING, "()" + REFERENCE + JAVA_STRING + TYPEEND, "intern");
+    public static final Signature JAVA_STRING_SUBSTRING_BEGIN = 
+        new Signature(JAVA_STRING, "(" + INT + ")" + REFERENCE + JAVA_STRING + TYPEEND, "substring");
+    public static final Signature JAVA_STRING_SUBSTRING_BEGIN_END = 
+        new Signature(JAVA_STRING, "(" + INT + INT + ")" + REFERENCE + JAVA_STRING + TYPEEND, "substring");
     public static final Signature JAVA_STRINGBUILDER_APPEND_BOOLEAN =
         new Signature(JAVA_STRINGBUILDER, "(" + BOOLEAN + ")" + REFERENCE + JAVA_STRINGBUILDER + TYPEEND, "append");
     public static final Signature JAVA_STRINGBUILDER_APPEND_CHAR =
@@ -460,6 +512,8 @@ public final class Signatures {
         new Signature(JAVA_STRINGBUILDER, "(" + LONG + ")" + REFERENCE + JAVA_STRINGBUILDER + TYPEEND, "append");
     public static final Signature JAVA_STRINGBUILDER_APPEND_STRING =
         new Signature(JAVA_STRINGBUILDER, "(" + REFERENCE + JAVA_STRING + TYPEEND + ")" + REFERENCE + JAVA_STRINGBUILDER + TYPEEND, "append");
+    public static final Signature JAVA_STRINGBUILDER_TOSTRING =
+        new Signature(JAVA_STRINGBUILDER, "()" + REFERENCE + JAVA_STRING + TYPEEND, "toString");
     public static final Signature JAVA_SYSTEM_ARRAYCOPY =
         new Signature(JAVA_SYSTEM, 
                       "(" + REFERENCE + JAVA_OBJECT + TYPEEND + INT + REFERENCE + JAVA_OBJECT + TYPEEND + INT + INT + ")" + VOID, 
@@ -747,6 +801,10 @@ public final class Signatures {
     public static final String ASSERTIONDISABLED_NAME = "$assertionsDisabled";
     
     //fields
+    public static final Signature JAVA_ABSTRACTSTRINGBUILDER_COUNT = 
+        new Signature(JAVA_ABSTRACTSTRINGBUILDER, "" + INT, "count");
+    public static final Signature JAVA_ABSTRACTSTRINGBUILDER_VALUE = 
+        new Signature(JAVA_ABSTRACTSTRINGBUILDER, "" + ARRAYOF + CHAR, "value");
     public static final Signature JAVA_ACCESSIBLEOBJECT_OVERRIDE = 
         new Signature(JAVA_ACCESSIBLEOBJECT, "" + BOOLEAN, "override");
     public static final Signature JAVA_BOOLEAN_VALUE = 
@@ -69,6 +69,7 @@ import jbse.val.Expression;
 import jbse.val.HistoryPoint;
 import jbse.val.Operator;
 import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
 import jbse.val.Reference;
 import jbse.val.ReferenceSymbolic;
 import jbse.val.ReferenceSymbolicApply;
@@ -245,12 +246,37 @@ public class DecisionProcedureAlgorithms extends DecisionProcedureDecorator {
     }
     
     protected final Calculator calc;
+    
+    /** 
+     * Whether the nonconcrete loads of primitive values 
+     * from arrays must be resolved by a single alternative.
+     */
+    private boolean useArrayTheory = false;
 
     public DecisionProcedureAlgorithms(DecisionProcedure component) 
     throws InvalidInputException {
         super(component);
         this.calc = getCalculator();
     }
+    
+    /**
+     * Sets whether the loads of primitive values from
+     * arrays by a symbolic index must be resolved by
+     * a single alternative, rather than by one alternative
+     * for each array entry possibly accessed. In the 
+     * first case the loaded value is the selection, by 
+     * means of a chain of {@link PrimitiveSymbolicApply#ITE if-then-else}, 
+     * of the value of the accessed entry, and the array 
+     * content is thus encoded in the value rather than 
+     * in the path condition. This requires a decision 
+     * procedure that supports if-then-else terms, as 
+     * the SMTLIB2 ones. By default it is {@code false}.
+     * 
+     * @param useArrayTheory a {@code boolean}.
+     */
+    public void setUseArrayTheory(boolean useArrayTheory) {
+        this.useArrayTheory = useArrayTheory;
+    }
 
     /**
      * Decides a condition for "branch if integer comparison" bytecodes.
@@ -881,7 +907,28 @@ public class DecisionProcedureAlgorithms extends DecisionProcedureDecorator {
         boolean someReferenceNotExpanded = false;
         boolean shouldRefine = false;
         boolean branchingDecision = false;
+        
+        //in array theory mode, the nonconcrete accesses yielding
+        //primitive values are merged in a single alternative
+        final ArrayList<ArrayAccessInfo> arrayAccessInfosToMerge = new ArrayList<>();
+        if (this.useArrayTheory) {
+            for (ArrayAccessInfo arrayAccessInfo : arrayAccessInfos) {
+                if (isMergeable(arrayAccessInfo)) {
+                    arrayAccessInfosToMerge.add(arrayAccessInfo);
+                }
+            }
+        }
+        final boolean merge = (arrayAccessInfosToMerge.size() > 1);
+        if (merge) {
+            final Outcome o = resolve_XALOAD_Merged(state, arrayAccessInfosToMerge, result);
+            shouldRefine = o.shouldRefine();
+            branchingDecision = o.branchingDecision();
+        }
+        
         for (ArrayAccessInfo arrayAccessInfo : arrayAccessInfos) {
+            if (merge && isMergeable(arrayAccessInfo)) {
+                continue; //already resolved
+            }
             final boolean accessConcrete = (arrayAccessInfo.accessExpression == null);
             final boolean accessOutOfBounds = (arrayAccessInfo.readValue == null);
             final boolean valToLoadResolved = accessOutOfBounds || Util.isResolved(state, arrayAccessInfo.readValue);
@@ -919,6 +966,89 @@ public class DecisionProcedureAlgorithms extends DecisionProcedureDecorator {
         return Outcome.val(shouldRefine, someReferenceNotExpanded, branchingDecision);
     }
 
+    /**
+     * Checks whether an array access can be merged with others
+     * in array theory mode.
+     * 
+     * @param arrayAccessInfo an {@link ArrayAccessInfo}.
+     * @return {@code true} iff the access is nonconcrete, inbound, 
+     *         and yields a primitive value that was not assumed 
+     *         during the access (fresh values must be written back
+     *         to the array, thus they need their own alternative).
+     */
+    private static boolean isMergeable(ArrayAccessInfo arrayAccessInfo) {
+        return (arrayAccessInfo.accessExpression != null && 
+                arrayAccessInfo.readValue instanceof Primitive && 
+                !arrayAccessInfo.fresh);
+    }
+    
+    /**
+     * Resolves loading a value from an array to the operand stack
+     * in array theory mode, by merging many nonconcrete accesses
+     * yielding primitive values into a single alternative. 
+     * 
+     * @param state a {@link State}.
+     * @param arrayAccessInfos a {@link List}{@code <}{@link ArrayAccessInfo}{@code >}, 
+     *        all {@link #isMergeable(ArrayAccessInfo) mergeable} and
+     *        resulting from the same array access.
+     * @param result a {@link SortedSet}{@code <}{@link DecisionAlternative_XALOAD}{@code >}, 
+     *        where the method will put the {@link DecisionAlternative_XALOAD_Resolved}
+     *        resulting from the merge, if the merged access is satisfiable.
+     * @return an {@link Outcome}.
+     * @throws DecisionException upon failure.
+     * @see {@link #resolve_XALOAD(State, List, SortedSet) resolve_XALOAD}.
+     */
+    private Outcome resolve_XALOAD_Merged(State state, List<ArrayAccessInfo> arrayAccessInfos, SortedSet<DecisionAlternative_XALOAD> result) 
+    throws DecisionException {
+        try {
+            //collects the satisfiable entries and the disjunction 
+            //of their access expressions
+            final ArrayList<Primitive> conditions = new ArrayList<>();
+            final ArrayList<Primitive> values = new ArrayList<>();
+            Primitive accessExpression = null;
+            Primitive accessExpressionSpecialized = null;
+            for (ArrayAccessInfo arrayAccessInfo : arrayAccessInfos) {
+                final Primitive condition = this.calc.push(arrayAccessInfo.accessExpression).replace(arrayAccessInfo.indexFormal, arrayAccessInfo.indexActual).pop();
+                if (condition.surelyFalse()) {
+                    continue;
+                }
+                conditions.add(condition);
+                values.add((Primitive) arrayAccessInfo.readValue);
+                accessExpression = (accessExpression == null ? arrayAccessInfo.accessExpression : this.calc.push(accessExpression).or(arrayAccessInfo.accessExpression).pop());
+                accessExpressionSpecialized = (accessExpressionSpecialized == null ? condition : this.calc.push(accessExpressionSpecialized).or(condition).pop());
+            }
+            if (conditions.isEmpty()) {
+                return Outcome.val(false, false, true);
+            }
+            final boolean accessIsSat;
+            if (accessExpressionSpecialized instanceof Simplex) {
+                accessIsSat = accessExpressionSpecialized.surelyTrue();
+            } else {
+                accessIsSat = isSat((Expression) accessExpressionSpecialized);
+            }
+            if (!accessIsSat) {
+                return Outcome.val(false, false, true);
+            }
+            
+            //selects the value by an if-then-else chain 
+            //(the entries' access expressions are mutually 
+            //exclusive, thus the last one needs no test)
+            Primitive valueToLoad = values.get(values.size() - 1);
+            for (int i = values.size() - 2; i >= 0; --i) {
+                valueToLoad = this.calc.applyFunctionPrimitiveAndPop(valueToLoad.getType(), state.getHistoryPoint(), PrimitiveSymbolicApply.ITE, conditions.get(i), values.get(i), valueToLoad);
+            }
+            
+            final ArrayAccessInfo first = arrayAccessInfos.get(0);
+            final int branchNumber = result.size() + 1;
+            final Expression accessExpressionSimplified = (accessExpressionSpecialized instanceof Simplex ? null : (Expression) accessExpressionSpecialized);
+            result.add(new DecisionAlternative_XALOAD_Resolved((accessExpression instanceof Expression ? (Expression) accessExpression : null), first.indexFormal, first.indexActual, accessExpressionSimplified, valueToLoad, false, first.sourceArrayReference, branchNumber));
+            return Outcome.val(false, false, true);
+        } catch (InvalidInputException | InvalidTypeException | InvalidOperandException | ClassCastException e) {
+            //this should never happen as arguments have been checked by the caller
+            throw new UnexpectedInternalException(e);
+        }
+    }
+
     /**
      * Resolves loading a value from an array to the operand stack, 
      * in the case the value to load is resolved (i.e., either 
@@ -1610,6 +1740,31 @@ public class DecisionProcedureAlgorithms extends DecisionProcedureDecorator {
         if (srcPos.getType() != Type.INT || destPos.getType() != Type.INT || length.getType() != Type.INT) {
             throw new InvalidInputException("completeArraycopy invoked with a nonint srcPos, destPos or length parameter.");
         }
+        removeUnsatEntries(entries);
+        //TODO coalesce entries that have same value (after investigating the impact on guided execution)
+    }
+
+    /**
+     * Completes a {@code java.util.Arrays.fill} by 
+     * removing the affected entries that become 
+     * unsatisfiable.
+     * 
+     * @param entries an {@link Iterator}{@code <? extends }{@link AccessOutcomeIn}{@code >},
+     *        as returned by {@link Array#fill(jbse.val.Calculator, Primitive, Primitive, jbse.val.Value) Array.fill}. 
+     *        The method will delete the entries that are unsatisfiable.
+     * @throws InvalidInputException when {@code entries == null}.
+     * @throws DecisionException upon failure.
+     */
+    public void completeFill(Iterator<? extends Array.AccessOutcomeIn> entries) 
+    throws InvalidInputException, DecisionException {
+        if (entries == null) {
+            throw new InvalidInputException("completeFill invoked with a null parameter.");
+        }
+        removeUnsatEntries(entries);
+    }
+
+    private void removeUnsatEntries(Iterator<? extends Array.AccessOutcomeIn> entries) 
+    throws InvalidInputException, DecisionException {
         while (entries.hasNext()) {
             final Array.AccessOutcomeIn e = entries.next();
             final Expression accessCondition = e.getAccessCondition();
@@ -1619,7 +1774,6 @@ public class DecisionProcedureAlgorithms extends DecisionProcedureDecorator {
                 entries.remove();
             }
         }
-        //TODO coalesce entries that have same value (after investigating the impact on guided execution)
     }
 
     /**
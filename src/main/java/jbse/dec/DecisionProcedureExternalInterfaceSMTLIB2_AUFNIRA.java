@@ -92,13 +92,23 @@ final class DecisionProcedureExternalInterfaceSMTLIB2_AUFNIRA extends DecisionPr
      *        command line to launch the external process for the decision procedure.
      */
     public DecisionProcedureExternalInterfaceSMTLIB2_AUFNIRA(Calculator calc, List<String> solverCommandLine) 
+    throws ExternalProtocolInterfaceException, IOException {
+        this(calc, startSolver(solverCommandLine));
+    }
+    
+    /** 
+     * Costructor.
+     * 
+     * @param calc a {@link Calculator}.
+     * @param solver the {@link Process} of the decision procedure, 
+     *        already started.
+     */
+    DecisionProcedureExternalInterfaceSMTLIB2_AUFNIRA(Calculator calc, Process solver) 
     throws ExternalProtocolInterfaceException, IOException {
         this.calc = calc;
         this.m = new ExpressionMangler("X", "", calc);
         this.working = true;
-        final ProcessBuilder pb = new ProcessBuilder(solverCommandLine);
-        pb.redirectErrorStream(true);
-        this.solver = pb.start();
+        this.solver = solver;
         this.solverIn = new BufferedReader(new InputStreamReader(this.solver.getInputStream()));
         this.solverOut = new BufferedWriter(new OutputStreamWriter(this.solver.getOutputStream()));
         
@@ -107,6 +117,12 @@ final class DecisionProcedureExternalInterfaceSMTLIB2_AUFNIRA extends DecisionPr
         clear();
     }
 
+    private static Process startSolver(List<String> solverCommandLine) throws IOException {
+        final ProcessBuilder pb = new ProcessBuilder(solverCommandLine);
+        pb.redirectErrorStream(true);
+        return pb.start();
+    }
+
     @Override
     public boolean isWorking() {
         return this.working;
@@ -733,6 +749,18 @@ final class DecisionProcedureExternalInterfaceSMTLIB2_AUFNIRA extends DecisionPr
             } else if (x.getType() != Type.BOOLEAN && this.isBooleanExpression) {
                 throw new UnexpectedInternalException("error while parsing expression (expected a numeric expression but it is not): " + x.toString());
             }
+            if (PrimitiveSymbolicApply.ITE.equals(x.getOperator())) {
+            	//if-then-else is built in
+            	final Value[] args = x.getArgs();
+            	((Primitive) args[0]).accept(new SMTLIB2ExpressionVisitor(this, true));
+            	final String condition = this.clauseStack.pop();
+            	((Primitive) args[1]).accept(new SMTLIB2ExpressionVisitor(this, this.isBooleanExpression));
+            	final String valueThen = this.clauseStack.pop();
+            	((Primitive) args[2]).accept(new SMTLIB2ExpressionVisitor(this, this.isBooleanExpression));
+            	final String valueElse = this.clauseStack.pop();
+            	this.clauseStack.push("(ite " + condition + " " + valueThen + " " + valueElse + ")");
+            	return;
+            }
             boolean allArgsPrimitive = true;
             for (Value v : x.getArgs()) {
                 if (!(v instanceof Primitive)) {
@@ -67,6 +67,12 @@ public class Engine implements AutoCloseable {
 
     /** The {@link VariableObserverManager}. */
     private final VariableObserverManager vom;
+    
+    /** 
+     * The number of young heap objects that triggers
+     * a young collection ({@code <= 0} means never).
+     */
+    private final int youngCollectionThreshold;
 
     //State of the execution
 
@@ -117,10 +123,15 @@ public class Engine implements AutoCloseable {
      * Constructor. Used by the builder.
      * 
      * @param ctx an {@link ExecutionContext}.
+     * @param vom a {@link VariableObserverManager}.
+     * @param youngCollectionThreshold an {@code int}, the number 
+     *        of young heap objects that triggers a young collection
+     *        ({@code <= 0} means never).
      */
-    Engine(ExecutionContext ctx, VariableObserverManager vom) {
+    Engine(ExecutionContext ctx, VariableObserverManager vom, int youngCollectionThreshold) {
         this.ctx = ctx;
         this.vom = vom;
+        this.youngCollectionThreshold = youngCollectionThreshold;
     }
 
     /**
@@ -348,6 +359,12 @@ public class Engine implements AutoCloseable {
         		this.currentState.incCount();
         	}
 
+        	//possibly disposes the unreachable young objects
+        	if (this.youngCollectionThreshold > 0 && this.currentState.phase() == Phase.POST_INITIAL &&
+        	    this.currentState.getYoungObjectsCount() >= this.youngCollectionThreshold) {
+        		this.currentState.gcYoung();
+        	}
+
         	//synchronizes the decision procedure with the current path condition
         	if (this.currentState.areThereNewPathConditionClauses()) {
         		this.ctx.decisionProcedure.addAssumptions(this.currentState.getLastPathConditionPushedClauses());
@@ -591,12 +608,15 @@ public class Engine implements AutoCloseable {
     }
 
     /**
-     * Cleans up the decision procedure after the usage of the engine.
+     * Cleans up the decision procedure after the usage of the engine, 
+     * and saves the summaries of the methods calculated during the
+     * execution.
      * 
      * @throws DecisionException when clean-up of decision procedure fails.
      */
     @Override
     public void close() throws DecisionException {
+        this.ctx.saveMethodSummaries();
         this.ctx.decisionProcedure.close();
     }
 }
\ No newline at end of file
@@ -81,6 +81,12 @@ public class EngineBuilder {
 	                               parameters.getMaxSimpleArrayLength(),
 	                               parameters.getMaxHeapSize(),
 	                               parameters.getMakePreInitClassesSymbolic(),
+	                               parameters.getFuseSuperinstructions(),
+	                               parameters.getMergePaths(),
+	                               parameters.getSummarizeLoops(),
+	                               parameters.getSummarizeLoopsNonlinear(),
+	                               parameters.getSummarizeMethods(),
+	                               parameters.getMethodSummaryStore(),
 	                               parameters.getClasspath(),
 	                               ClassFileFactoryJavassist.class,          //default
 	                               parameters.getExpansionBackdoor(), 
@@ -101,7 +107,7 @@ public class EngineBuilder {
 	        //sets the observers
 	        setObservers(vom, parameters);
 	
-	        return new Engine(ctx, vom);
+	        return new Engine(ctx, vom, parameters.getYoungCollectionThreshold());
     	} catch (IOException e) {
     		throw new CannotBuildEngineException(e);
     	}
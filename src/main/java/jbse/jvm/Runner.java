@@ -3,21 +3,28 @@ package jbse.jvm;
 import static jbse.val.HistoryPoint.BRANCH_IDENTIFIER_SEPARATOR_COMPACT;
 import static jbse.val.HistoryPoint.BRANCH_IDENTIFIER_SEPARATOR_LONG;
 
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import jbse.algo.exc.CannotManageStateException;
 import jbse.common.exc.ClasspathException;
+import jbse.common.exc.UnexpectedInternalException;
 import jbse.dec.exc.DecisionBacktrackException;
 import jbse.dec.exc.DecisionException;
 import jbse.jvm.exc.CannotBacktrackException;
 import jbse.jvm.exc.EngineStuckException;
 import jbse.jvm.exc.FailureException;
 import jbse.jvm.exc.NonexistingObservedVariablesException;
+import jbse.mem.CanonicalStateHasher;
+import jbse.mem.CanonicalStateHasher.CanonicalState;
 import jbse.mem.State;
 import jbse.mem.State.Phase;
+import jbse.mem.exc.FrozenStateException;
 import jbse.mem.exc.ContradictionException;
 import jbse.mem.exc.ThreadStackEmptyException;
 import jbse.tree.StateTree.BranchPoint;
+import jbse.val.HistoryPoint;
 
 /**
  * Class implementing an algorithm for fully running a Java method by suitably 
@@ -132,6 +139,16 @@ public class Runner {
          */
         public boolean atScopeExhaustionCount() { return false; }
 
+        /**
+         * Invoked by a {@link Runner}'s {@link Runner#run run} method 
+         * whenever after a step the current state is subsumed by an 
+         * already explored state, and the current path is pruned.
+         * 
+         * @return {@code true} iff the {@link Runner} must stop
+         *         {@link Runner#run run}ning.
+         */
+        public boolean atStateSubsumed() { return false; }
+
         /**
          * Invoked by a {@link Runner}'s {@link Runner#run run} method 
          * whenever execution times out.
@@ -402,6 +419,49 @@ public class Runner {
     /** The count scope. */
     private final int countScope;
 
+    /** The maximum number of program points in {@link #statesExplored}. */
+    private static final int PROGRAM_POINTS_MAX = 1024;
+
+    /** The maximum number of states recorded for a program point in {@link #statesExplored}. */
+    private static final int STATES_PER_PROGRAM_POINT_MAX = 64;
+
+    /** Whether the paths reaching a subsumed state must be pruned. */
+    private final boolean pruneSubsumedStates;
+
+    /** Calculates the canonical forms of the states. */
+    private final CanonicalStateHasher hasher = new CanonicalStateHasher();
+
+    /** 
+     * A state met at a loop header or at a method entry.
+     */
+    private static final class StateExplored {
+        final HistoryPoint historyPoint;
+        final CanonicalState canonical;
+
+        StateExplored(HistoryPoint historyPoint, CanonicalState canonical) {
+            this.historyPoint = historyPoint;
+            this.canonical = canonical;
+        }
+    }
+
+    /** 
+     * Maps each program point (method, program counter and 
+     * stack depth) to the states met there on all the paths
+     * explored so far, most recent first. At most
+     * {@link #PROGRAM_POINTS_MAX} program points (the least 
+     * recently met are forgotten first) and 
+     * {@link #STATES_PER_PROGRAM_POINT_MAX} states per 
+     * program point are recorded.
+     */
+    private final Map<String, ArrayDeque<StateExplored>> statesExplored = new LinkedHashMap<String, ArrayDeque<StateExplored>>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ArrayDeque<StateExplored>> eldest) {
+            return size() > PROGRAM_POINTS_MAX;
+        }
+    };
+
     /** The timeout. */
     private long timeout;
 
@@ -411,6 +471,9 @@ public class Runner {
     /** Counter for the number of analyzed paths stopped because of scope exhaustion. */
     private long pathsOutOfScope;
 
+    /** Counter for the number of analyzed paths pruned because they reached a subsumed state. */
+    private long pathsSubsumed;
+
     /** Stores the start time. */
     private long startTime;
 
@@ -434,6 +497,8 @@ public class Runner {
      *        mapping class names with their respective scopes ({@code <= 0} means unlimited).
      * @param depthScope the depth scope, an {@code int} ({@code <= 0} means unlimited).
      * @param countScope the count scope, an  {@code int}({@code <= 0} means unlimited).
+     * @param pruneSubsumedStates a {@code boolean}, whether the paths reaching
+     *        a state subsumed by an already explored one must be pruned.
      */
     Runner(Engine engine, 
            Actions actions, 
@@ -441,7 +506,8 @@ public class Runner {
            long timeout, 
            Map<String, Integer> heapScope, 
            int depthScope, 
-           int countScope) {
+           int countScope, 
+           boolean pruneSubsumedStates) {
         this.engine = engine;
         this.actions = actions;
         this.actions.engine = engine;
@@ -450,7 +516,9 @@ public class Runner {
         this.heapScope = heapScope;
         this.depthScope = depthScope;
         this.countScope = countScope;
+        this.pruneSubsumedStates = pruneSubsumedStates;
         this.pathsOutOfScope = 0;
+        this.pathsSubsumed = 0;
         this.pathsTot = 0;
     }
     
@@ -496,6 +564,69 @@ public class Runner {
         return retVal;
     }
 
+    /**
+     * Checks whether the current state is subsumed by an
+     * already explored state. Only the states at loop headers
+     * (i.e., after a backward jump in the same frame) and at 
+     * method entries are checked. A state is subsumed by a 
+     * state met on another path at the same program point if 
+     * their canonical hashes are equal and the path condition 
+     * of the current state entails the one of the other state,
+     * i.e., the clauses that constrain the other state are all
+     * clauses of the current state (see {@link CanonicalStateHasher}):
+     * Then, all the paths from the current state are also paths
+     * from the other state. The states met before on the current 
+     * path never subsume the current state: If the current state
+     * repeats one of them the path does not terminate, and it is 
+     * left to the scopes and to the timeout. All the checked states 
+     * that are not subsumed are recorded as explored.
+     * 
+     * @param stackSizePre the size of the thread stack 
+     *        before the last step.
+     * @param programCounterPre the program counter 
+     *        before the last step.
+     * @return {@code true} iff the current state is subsumed.
+     * @throws ThreadStackEmptyException if the current state
+     *         has an empty thread stack.
+     */
+    private boolean subsumed(int stackSizePre, int programCounterPre) throws ThreadStackEmptyException {
+        if (!this.pruneSubsumedStates || !this.engine.canStep()) {
+            return false;
+        }
+        final State currentState = this.engine.getCurrentState();
+        if (currentState.phase() != Phase.POST_INITIAL) {
+            return false;
+        }
+        final int stackSize = currentState.getStackSize();
+        final int programCounter = currentState.getCurrentProgramCounter();
+        final boolean atLoopHeader = (stackSize == stackSizePre && programCounter < programCounterPre);
+        final boolean atMethodEntry = (stackSize > stackSizePre && programCounter == 0);
+        if (!atLoopHeader && !atMethodEntry) {
+            return false;
+        }
+        final CanonicalState canonical;
+        try {
+            canonical = this.hasher.canonicalize(currentState);
+        } catch (FrozenStateException e) {
+            //the current state is never frozen
+            throw new UnexpectedInternalException(e);
+        }
+        final String programPoint = currentState.getCurrentMethodSignature() + "@" + programCounter + "@" + stackSize;
+        final ArrayDeque<StateExplored> explored = this.statesExplored.computeIfAbsent(programPoint, k -> new ArrayDeque<>());
+        for (StateExplored other : explored) {
+            if (other.canonical.hash.equals(canonical.hash) && 
+                !other.historyPoint.weaklyBefore(currentState.getHistoryPoint()) && 
+                canonical.pathCondition.containsAll(other.canonical.pathCondition)) {
+                return true;
+            }
+        }
+        explored.addFirst(new StateExplored(currentState.getHistoryPoint(), canonical));
+        if (explored.size() > STATES_PER_PROGRAM_POINT_MAX) {
+            explored.removeLast();
+        }
+        return false;
+    }
+
     /**
      * Runs the method.
      * 
@@ -545,6 +676,8 @@ public class Runner {
                     if (this.actions.atSourceRowPre()) { return; }
                 }
                 if (this.actions.atStepPre()) { return; }
+                final int stackSizePre = this.engine.getCurrentState().getStackSize();
+                final int programCounterPre = (this.pruneSubsumedStates && stackSizePre > 0 ? this.engine.getCurrentState().getCurrentProgramCounter() : 0);
                 BranchPoint bp = null;
                 try {
                     bp = this.engine.step();
@@ -588,6 +721,12 @@ public class Runner {
                     }
                 }
 
+                if (subsumed(stackSizePre, programCounterPre)) {
+                    ++this.pathsSubsumed;
+                    this.engine.stopCurrentPath();
+                    if (this.actions.atStateSubsumed()) { return; }
+                }
+
                 if (this.timeout > 0) {
                     if (System.currentTimeMillis() - this.startTime > this.timeout) {
                         this.actions.atTimeout();
@@ -684,5 +823,15 @@ public class Runner {
     public long getPathsOutOfScope() {
         return this.pathsOutOfScope;
     }
+
+    /**
+     * Returns the total number of paths pruned because 
+     * they reached a subsumed state until its invocation.
+     * 
+     * @return a {@code long}.
+     */
+    public long getPathsSubsumed() {
+        return this.pathsSubsumed;
+    }
 }
 
@@ -54,6 +54,9 @@ public final class RunnerParameters implements Cloneable {
     /** The count scope. */
     private int countScope = 0;
 
+    /** Whether the paths reaching a state subsumed by an already explored one must be pruned. */
+    private boolean pruneSubsumedStates = false;
+
     /** The {@link Actions}. */
     private Actions actions = new Actions();
 
@@ -797,6 +800,193 @@ public final class RunnerParameters implements Cloneable {
     	return this.engineParameters.getMakePreInitClassesSymbolic();
     }
     
+    /**
+     * Sets whether the frequent bytecode idioms 
+     * (aload, getfield; iload, iload, iadd; 
+     * iconst_*, if_icmp*; iload, aload, arraylength, 
+     * if_icmp*) shall be executed as superinstructions, 
+     * i.e., in a single step, when their operands are 
+     * concrete. This makes symbolic execution faster, 
+     * but the intermediate states of the fused bytecodes 
+     * are not observable.
+     * 
+     * @param fuseSuperinstructions a {@code boolean}.
+     */
+    public void setFuseSuperinstructions(boolean fuseSuperinstructions) {
+    	this.engineParameters.setFuseSuperinstructions(fuseSuperinstructions);
+    }
+    
+    /**
+     * Returns whether the frequent bytecode idioms 
+     * shall be executed as superinstructions.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getFuseSuperinstructions() {
+    	return this.engineParameters.getFuseSuperinstructions();
+    }
+    
+    /**
+     * Sets whether the paths through the short diamonds 
+     * (if-then and if-then-else regions that only compute 
+     * on primitive local variables and operands) that follow 
+     * a branch on a symbolic condition shall be merged into 
+     * a single path, whose values are if-then-else terms. 
+     * This avoids forking the state, at the price of more
+     * complex path conditions.
+     * 
+     * @param mergePaths a {@code boolean}.
+     */
+    public void setMergePaths(boolean mergePaths) {
+    	this.engineParameters.setMergePaths(mergePaths);
+    }
+    
+    /**
+     * Returns whether the paths through the short diamonds 
+     * that follow a branch on a symbolic condition shall be
+     * merged.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getMergePaths() {
+    	return this.engineParameters.getMergePaths();
+    }
+    
+    /**
+     * Sets whether the loops whose body only updates some
+     * {@code int} local variables by constant (or loop-invariant) 
+     * amounts, and whose exit condition compares one of them 
+     * with a loop-invariant bound, shall be summarized when
+     * the condition is symbolic. A summarized loop is 
+     * executed in a single step, that assigns the local 
+     * variables their value after a symbolic number of
+     * iterations and constrains that number in the path
+     * condition, rather than unrolling the loop one
+     * branch at a time. Note that the constraint on the
+     * number of iterations assumes that the loop terminates:
+     * When the increments of the compared variables are 
+     * symbolic, the executions where the loop does not 
+     * terminate are silently dropped rather than explored.
+     * 
+     * @param summarizeLoops a {@code boolean}.
+     */
+    public void setSummarizeLoops(boolean summarizeLoops) {
+    	this.engineParameters.setSummarizeLoops(summarizeLoops);
+    }
+    
+    /**
+     * Returns whether the loops on induction variables 
+     * shall be summarized.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getSummarizeLoops() {
+    	return this.engineParameters.getSummarizeLoops();
+    }
+    
+    /**
+     * Sets whether the closed forms of the summarized loops
+     * may be nonlinear in the number of iterations, as when
+     * a variable is incremented by another induction variable,
+     * or by a symbolic amount. It must be set to {@code false} 
+     * when the decision procedure does not support nonlinear 
+     * integer arithmetic, so that these loops are unrolled. 
+     * By default it is {@code true}, since the SMT solvers
+     * are used with the AUFNIRA logic.
+     * 
+     * @param summarizeLoopsNonlinear a {@code boolean}.
+     */
+    public void setSummarizeLoopsNonlinear(boolean summarizeLoopsNonlinear) {
+    	this.engineParameters.setSummarizeLoopsNonlinear(summarizeLoopsNonlinear);
+    }
+    
+    /**
+     * Returns whether the closed forms of the summarized 
+     * loops may be nonlinear.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getSummarizeLoopsNonlinear() {
+    	return this.engineParameters.getSummarizeLoopsNonlinear();
+    }
+    
+    /**
+     * Sets whether the invocations of the methods that only 
+     * compute on their primitive parameters, without accessing
+     * the heap, invoking methods or raising exceptions, shall 
+     * be replaced by their summaries. The summary of a method 
+     * is calculated once, at its first invocation, by exploring 
+     * all its paths, and then it is instantiated at all the 
+     * invocations, so the method's code is not stepped.
+     * 
+     * @param summarizeMethods a {@code boolean}.
+     */
+    public void setSummarizeMethods(boolean summarizeMethods) {
+    	this.engineParameters.setSummarizeMethods(summarizeMethods);
+    }
+    
+    /**
+     * Returns whether the invocations of the methods that only 
+     * compute on their primitive parameters shall be replaced 
+     * by their summaries.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getSummarizeMethods() {
+    	return this.engineParameters.getSummarizeMethods();
+    }
+    
+    /**
+     * Sets the file where the summaries of the methods 
+     * (see {@link #setSummarizeMethods(boolean)}) are 
+     * persisted, so that other runs against the same 
+     * classes can reuse them. A summary is reused only if 
+     * the classfile of its method did not change since it 
+     * was calculated.
+     * 
+     * @param methodSummaryStore a {@link Path}, or {@code null}
+     *        if the summaries must not be persisted.
+     */
+    public void setMethodSummaryStore(Path methodSummaryStore) {
+    	this.engineParameters.setMethodSummaryStore(methodSummaryStore);
+    }
+    
+    /**
+     * Returns the file where the summaries of the methods 
+     * are persisted.
+     * 
+     * @return a {@link Path}, or {@code null} if the summaries
+     *         are not persisted.
+     */
+    public Path getMethodSummaryStore() {
+    	return this.engineParameters.getMethodSummaryStore();
+    }
+    
+    /**
+     * Sets the number of young heap objects that triggers
+     * a young collection. After every step of the post-initial
+     * phase, if the current state has at least that number of
+     * objects created since the last branch or the last young 
+     * collection, the unreachable ones are disposed. By default
+     * the young collection is never triggered.
+     * 
+     * @param youngCollectionThreshold an {@code int}, {@code <= 0}
+     *        means never.
+     */
+    public void setYoungCollectionThreshold(int youngCollectionThreshold) {
+    	this.engineParameters.setYoungCollectionThreshold(youngCollectionThreshold);
+    }
+    
+    /**
+     * Returns the number of young heap objects that triggers
+     * a young collection.
+     * 
+     * @return an {@code int}, {@code <= 0} means never.
+     */
+    public int getYoungCollectionThreshold() {
+    	return this.engineParameters.getYoungCollectionThreshold();
+    }
+    
     /**
      * Sets whether, instead of the JDK implementation of 
      * {@code java.util.HashMap}, a model class must be used
@@ -1005,6 +1195,33 @@ public final class RunnerParameters implements Cloneable {
         return this.countScope;
     }
 
+    /**
+     * Sets whether the paths that reach a state already explored 
+     * must be pruned. If set, at every method entry and loop header
+     * the current state is canonicalized (see 
+     * {@link jbse.mem.CanonicalStateHasher}), and if a state with 
+     * the same hash was met on another path, i.e., a state at the 
+     * same program point with an isomorphic heap, and the path 
+     * condition of the current state entails its path condition, 
+     * the exploration of the branch is interrupted. By default
+     * no path is pruned.
+     * 
+     * @param pruneSubsumedStates a {@code boolean}.
+     */
+    public void setPruneSubsumedStates(boolean pruneSubsumedStates) {
+        this.pruneSubsumedStates = pruneSubsumedStates;
+    }
+
+    /**
+     * Gets whether the paths that reach a state already 
+     * explored must be pruned.
+     * 
+     * @return a {@code boolean}.
+     */
+    public boolean getPruneSubsumedStates() {
+        return this.pruneSubsumedStates;
+    }
+
     /**
      * Sets the actions to be performed while running.
      * 
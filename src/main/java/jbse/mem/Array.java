@@ -398,6 +398,33 @@ public interface Array extends HeapObjekt {
     Iterator<? extends AccessOutcomeIn> arraycopy(Calculator calc, Array src, Primitive srcPos, Primitive destPos, Primitive length, Consumer<Reference> checkOk) 
     throws InvalidInputException, InvalidTypeException;
 
+    /**
+     * Implements {@code java.util.Arrays.fill}, i.e., sets all the 
+     * elements of this array with index in a range to a same value. 
+     * It <em>assumes</em> that the range is within the bounds of the 
+     * array. Differently from a sequence of {@link #set(Calculator, Primitive, Value) set}s, 
+     * when this array has not a simple representation the filled range 
+     * is described by one entry, whatever its size.
+     * 
+     * @param calc a {@link Calculator}. It must not be {@code null}.
+     * @param fromIndex a {@link Primitive}, the first index (inclusive) 
+     *        of the range.
+     * @param toIndex a {@link Primitive}, the last index (exclusive) 
+     *        of the range.
+     * @param value the {@link Value} to be stored in the range.
+     * @return an {@link Iterator}{@code <? extends }{@link AccessOutcomeIn}{@code >}
+     *         to the entries of this {@link Array} that are possibly 
+     *         modified by the update; the caller must decide whether 
+     *         constrain and possibly delete them.
+     * @throws InvalidInputException if {@code calc} or {@code fromIndex} 
+     *         or {@code toIndex} is {@code null}.
+     * @throws InvalidTypeException if {@code fromIndex} or {@code toIndex}
+     *         is not an {@code int}, or {@code value} has not the 
+     *         member type of this array.
+     */
+    Iterator<? extends AccessOutcomeIn> fill(Calculator calc, Primitive fromIndex, Primitive toIndex, Value value) 
+    throws InvalidInputException, InvalidTypeException;
+
     /**
      * Returns a {@link Primitive} denoting the fact that an index 
      * is in the {@link Array}'s definition range.
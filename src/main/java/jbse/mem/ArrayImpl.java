@@ -10,6 +10,8 @@ import static jbse.common.Type.toPrimitiveOrVoidInternalName;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -73,6 +75,16 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
      */ 
     private boolean simpleRep;
 
+    /**
+     * Indexes by their concrete index the entries whose access
+     * condition is a point equality {@code indexFormal == k}. 
+     * It is {@code null} as long as the array has simple 
+     * representation, since in that case {@link #entries} is
+     * itself ordered by index. Its values may be stale, thus
+     * they must be accessed via {@link #entryAtIndex(int)}.
+     */
+    private HashMap<Integer, AccessOutcomeInImpl> entriesByIndex;
+
     public abstract class AccessOutcomeImpl implements AccessOutcome {
         /** 
          * An {@link Expression} denoting the condition over 
@@ -82,6 +94,14 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
          */
         protected Expression accessCondition;
 
+        /**
+         * The concrete index {@code k} if {@link #accessCondition}
+         * is the point equality {@code indexFormal == k} (possibly
+         * conjoined with the array range condition), {@code null}
+         * otherwise.
+         */
+        Integer pointIndex;
+
         /**
          * Constructor (outcome returned by a concrete get).
          */
@@ -121,6 +141,7 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
         	if (calc == null || condition == null) {
         		throw new InvalidInputException("Attempted array access with null calc or condition.");
         	}
+        	this.pointIndex = null;
             if (this.accessCondition == null) {
                 this.accessCondition = condition;
             } else {
@@ -139,6 +160,9 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
         	if (calc == null || val == null) {
         		throw new InvalidInputException("Attempted array access with null calc or val.");
         	}
+        	if (this.pointIndex != null && val instanceof Simplex && !this.pointIndex.equals(((Simplex) val).getActualValue())) {
+        		return; //the access condition is a point equality with another index, thus it already excludes val
+        	}
             try {
             	final Expression indexIsDifferentFromVal = (Expression) calc.push(ArrayImpl.this.indexFormal).eq(val).not().pop();
                 strengthenAccessCondition(calc, indexIsDifferentFromVal);
@@ -306,6 +330,7 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
         @Override
         public void setValue(Value newValue) throws InvalidTypeException {
         	ArrayImpl.this.checkSetValue(newValue);
+        	ArrayImpl.this.storeBarrier();
         	this.returnedValue = newValue;
         }
 
@@ -441,6 +466,7 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
         }
         this.entries = new ArrayList<>();
         this.entries.add(new AccessOutcomeInInitialArrayImpl(calc, this.indexInRange, referenceToOtherArray));
+        this.entriesByIndex = new HashMap<>();
     }
 
     private void setEntriesInit(Calculator calc, boolean initSymbolic, Value initValue, int maxSimpleArrayLength) {
@@ -467,8 +493,10 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
                 this.simpleRep = true;
                 for (int i = 0; i < ln; ++i) {
                     try {
-                        this.entries.add(new AccessOutcomeInValueImpl((Expression) calc.push(this.indexFormal).eq(calc.valInt(i)).pop(),
-                                                                  entryValue));
+                        final AccessOutcomeInValueImpl entry = new AccessOutcomeInValueImpl((Expression) calc.push(this.indexFormal).eq(calc.valInt(i)).pop(),
+                                                                                            entryValue);
+                        entry.pointIndex = i;
+                        this.entries.add(entry);
                     } catch (InvalidOperandException | InvalidTypeException e) {
                         //this should never happen
                         throw new UnexpectedInternalException(e);
@@ -480,6 +508,51 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
         //otherwise, do not use simple representation
         this.simpleRep = false;
         this.entries.add(new AccessOutcomeInValueImpl(this.indexInRange, entryValue));
+        this.entriesByIndex = new HashMap<>();
+    }
+    
+    /**
+     * Drops the simple representation of this array, and
+     * indexes its entries by concrete index.
+     */
+    private void dropSimpleRep() {
+        if (this.simpleRep) {
+            this.simpleRep = false;
+            indexEntries();
+        }
+    }
+    
+    /**
+     * Rebuilds {@link #entriesByIndex} from {@link #entries}.
+     */
+    private void indexEntries() {
+        this.entriesByIndex = new HashMap<>();
+        for (AccessOutcomeInImpl e : this.entries) {
+            if (e.pointIndex != null) {
+                this.entriesByIndex.put(e.pointIndex, e);
+            }
+        }
+    }
+    
+    /**
+     * Returns the entry whose access condition is a point
+     * equality with a given concrete index.
+     * 
+     * @param index an {@code int}, the concrete index.
+     * @return the {@link AccessOutcomeInImpl} in {@link #entries}
+     *         whose access condition is {@code indexFormal == index},
+     *         or {@code null} if there is no such entry or the array 
+     *         has simple representation.
+     */
+    private AccessOutcomeInImpl entryAtIndex(int index) {
+        if (this.entriesByIndex == null) {
+            return null;
+        }
+        final AccessOutcomeInImpl e = this.entriesByIndex.get(index);
+        if (e == null || e.pointIndex == null || e.pointIndex.intValue() != index) {
+            return null; //no entry, or stale (its access condition was strengthened)
+        }
+        return e;
     }
     
     @Override
@@ -562,9 +635,14 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
                 retVal.add(new AccessOutcomeOutImpl()); 
             }
         } else {
-            //scans the entries and adds all the (possibly) satisfiable 
-            //inbound cases
-            for (AccessOutcomeIn e : this.entries) {
+            //the entries have mutually exclusive access conditions, thus
+            //if some entry was written at a concrete index equal to index, 
+            //it is the only one that can be satisfiable; otherwise scans 
+            //the entries and adds all the (possibly) satisfiable inbound 
+            //cases
+            final AccessOutcomeInImpl entryAtIndex = (index instanceof Simplex ? entryAtIndex(((Integer) ((Simplex) index).getActualValue()).intValue()) : null);
+            final List<AccessOutcomeInImpl> entriesToScan = (entryAtIndex == null ? this.entries : Collections.singletonList(entryAtIndex));
+            for (AccessOutcomeIn e : entriesToScan) {
                 final Primitive inRangeEntry = e.inRange(calc, index);
                 if (inRangeEntry.surelyTrue()) { //this may only happen when index is Simplex
                     if (e instanceof AccessOutcomeInValue) {
@@ -638,6 +716,7 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
             throw new FastArrayAccessNotAllowedException();
         }
         checkSetValue(newValue);
+        storeBarrier();
         final int actualIndex = (Integer) index.getActualValue();
         final int actualLength = (Integer) ((Simplex) this.getLength()).getActualValue();
         if (actualIndex >= 0 && actualIndex < actualLength) {
@@ -646,6 +725,7 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
                 ((AccessOutcomeInValueImpl) e).returnedValue = newValue;
             } else {
                 final AccessOutcomeInValueImpl eNew = new AccessOutcomeInValueImpl(e.getAccessCondition(), newValue);
+                eNew.pointIndex = ((AccessOutcomeInImpl) e).pointIndex;
                 this.entries.set(actualIndex, eNew);
             }
         } 	//TODO else throw an exception???
@@ -661,11 +741,32 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
             throw new InvalidTypeException("Attempted array access with an index with type " + index.getType() + ".");
         }
         checkSetValue(newValue);
-        this.simpleRep = false;
+        storeBarrier();
+        dropSimpleRep();
+        
+        //if the index is concrete and some entry was already written
+        //at it, the new entry subsumes it, thus it replaces it 
+        final Integer pointIndex = (index instanceof Simplex ? (Integer) ((Simplex) index).getActualValue() : null);
+        final AccessOutcomeInImpl entryAtIndex = (pointIndex == null ? null : entryAtIndex(pointIndex.intValue()));
+        if (entryAtIndex instanceof AccessOutcomeInValueImpl) {
+            ((AccessOutcomeInValueImpl) entryAtIndex).returnedValue = newValue;
+            return;
+        }
 		try {
 	        final Expression formalIndexIsActualIndex = (Expression) calc.push(this.indexFormal).eq(index).pop();
 	        final Expression accessExpression = (Expression) calc.push(this.indexInRange).and(formalIndexIsActualIndex).pop();
-	        this.entries.add(new AccessOutcomeInValueImpl(accessExpression, newValue));
+	        final AccessOutcomeInValueImpl entry = new AccessOutcomeInValueImpl(accessExpression, newValue);
+	        if (pointIndex == null) {
+	            this.entries.add(entry);
+	        } else {
+	            entry.pointIndex = pointIndex;
+	            if (entryAtIndex == null) {
+	                this.entries.add(entry);
+	            } else { //entryAtIndex instanceof AccessOutcomeInInitialArrayImpl
+	                this.entries.set(this.entries.indexOf(entryAtIndex), entry);
+	            }
+	            this.entriesByIndex.put(pointIndex, entry);
+	        }
 		} catch (InvalidOperandException e) {
 			//this should never happen
 			throw new UnexpectedInternalException(e);
@@ -683,11 +784,12 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
         if (calc == null || index == null) {
             throw new InvalidInputException("Attempted array access with null calc or index.");
         }
+        final boolean indexConcrete = (index instanceof Simplex);
         return new Iterator<AccessOutcomeIn>() {
             //this iterator filters the relevant members in Array.this.values
             //by wrapping the default iterator to it
             private final Iterator<AccessOutcomeInImpl> it = ArrayImpl.this.entries.iterator();
-            private ArrayImpl.AccessOutcomeIn next = null;
+            private AccessOutcomeInImpl next = null;
             private boolean emitted = true;
             private boolean canRemove = false;
 
@@ -695,7 +797,14 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
                 this.next = null;
                 //looks for the next entry possibly affected by the set operation
                 while (this.it.hasNext()) {
-                    final AccessOutcomeIn e = this.it.next();
+                    final AccessOutcomeInImpl e = this.it.next();
+                    
+                    //entries at other concrete indices are surely not affected
+                    //by a set at a concrete index, and the entry at the same
+                    //index will be replaced by the set operation
+                    if (indexConcrete && e.pointIndex != null) {
+                        continue;
+                    }
 
                     //determines whether the entry is possibly affected by the set
                     //operation
@@ -751,6 +860,9 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
             public void remove() {
                 if (this.canRemove) { 
                     it.remove();
+                    if (this.next.pointIndex != null && ArrayImpl.this.entriesByIndex != null) {
+                        ArrayImpl.this.entriesByIndex.remove(this.next.pointIndex, this.next);
+                    }
                 } else {
                     throw new IllegalStateException();
                 }
@@ -763,6 +875,7 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
     	if (src == null || calc == null) {
     		throw new InvalidInputException("Attempted to invoke " + getClass().getName() + ".cloneEntries with null Array src or Calculator calc parameter.");
     	}
+    	storeBarrier();
     	final ArrayImpl otherImpl;
     	if (src instanceof ArrayImpl) {
     		otherImpl = (ArrayImpl) src;
@@ -784,6 +897,9 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
     		}
     		this.entries.add(entry.clone());
     	}
+    	if (this.entriesByIndex != null) {
+    		indexEntries();
+    	}
     }
 
     /** An iterator that terminates instantaneously. */
@@ -794,12 +910,72 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
         @Override public void remove() { throw new UnsupportedOperationException(); }
     };
 
+    /**
+     * Returns an iterator to the entries whose access
+     * condition is not a point equality.
+     * 
+     * @return an {@link Iterator}{@code <}{@link AccessOutcomeIn}{@code >}
+     *         that filters {@link #entries} and supports removal.
+     */
+    private Iterator<AccessOutcomeIn> entriesNonPoint() {
+        return new Iterator<AccessOutcomeIn>() {
+            private final Iterator<AccessOutcomeInImpl> it = ArrayImpl.this.entries.iterator();
+            private AccessOutcomeInImpl next = null;
+            private boolean emitted = true;
+            private boolean canRemove = false;
+
+            private void findNext() {
+                this.next = null;
+                while (this.it.hasNext()) {
+                    final AccessOutcomeInImpl e = this.it.next();
+                    if (e.pointIndex == null) {
+                        this.next = e;
+                        return;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (this.emitted) {
+                    findNext();
+                }
+                this.emitted = false;
+                this.canRemove = false;
+                return (this.next != null);
+            }
+
+            @Override
+            public AccessOutcomeIn next() {
+                if (this.emitted) {
+                    findNext();
+                }
+                if (this.next == null) {
+                    throw new NoSuchElementException();
+                }
+                this.emitted = true;
+                this.canRemove = true;
+                return this.next;
+            }
+
+            @Override
+            public void remove() {
+                if (this.canRemove) { 
+                    this.it.remove();
+                } else {
+                    throw new IllegalStateException();
+                }
+            }
+        };
+    }
+
     @Override
     public Iterator<? extends AccessOutcomeIn> arraycopy(Calculator calc, Array src, Primitive srcPos, Primitive destPos, Primitive length, Consumer<Reference> checkOk) 
     throws InvalidInputException, InvalidTypeException {
     	if (calc == null || src == null || srcPos == null || destPos == null || length == null) {
     		throw new InvalidInputException("Attempted arraycopy with null parameter.");
     	}
+    	storeBarrier();
     	final ArrayImpl srcImpl;
     	if (src instanceof ArrayImpl) {
     		srcImpl = (ArrayImpl) src;
@@ -809,56 +985,70 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
     	final String srcTypeComponent = getArrayMemberType(src.getType().getClassName());
     	final String destTypeComponent = getArrayMemberType(getType().getClassName());
     	try {
+    		final boolean checkReferences = (!isPrimitive(srcTypeComponent) && !isPrimitive(destTypeComponent) && checkOk != null);
     		if (this.simpleRep && srcImpl.simpleRep && 
     				srcPos instanceof Simplex && destPos instanceof Simplex && 
     				length instanceof Simplex) {
-    			//fast operation
-    			int srcPosInt = ((Integer) ((Simplex) srcPos).getActualValue()).intValue();
-    			int destPosInt = ((Integer) ((Simplex) destPos).getActualValue()).intValue();
-    			int lengthInt = ((Integer) ((Simplex) length).getActualValue()).intValue();
-    			final ArrayList<Integer> destPosEntries = new ArrayList<>(); //buffer to avoid concurrent modification when this == srcImpl
-    			final ArrayList<AccessOutcomeInImpl> destEntries = new ArrayList<>(); //buffer to avoid concurrent modification when this == srcImpl
+    			//fast operation: the destination entries already have the
+    			//right access conditions, thus only the values are copied,
+    			//without building any new entry or expression (the copy
+    			//is still linear in the number of copied elements, but 
+    			//it is one symbolic execution step, also when it is done
+    			//on behalf of java.util.Arrays.copyOf/copyOfRange)
+    			final int srcPosInt = ((Integer) ((Simplex) srcPos).getActualValue()).intValue();
+    			final int destPosInt = ((Integer) ((Simplex) destPos).getActualValue()).intValue();
+    			final int lengthInt = ((Integer) ((Simplex) length).getActualValue()).intValue();
+    			
+    			//reads all the source entries before writing, for the case this == srcImpl
+    			final Value[] srcValues = new Value[lengthInt];
+    			final AccessOutcomeInInitialArrayImpl[] srcEntriesInitialArray = new AccessOutcomeInInitialArrayImpl[lengthInt];
     			for (int ofst = 0; ofst < lengthInt; ++ofst) {
-    				final AccessOutcomeIn srcEntry = srcImpl.entries.get(srcPosInt + ofst);
-    				final AccessOutcomeInImpl destEntry;
-    				if (srcEntry instanceof AccessOutcomeInValue) {
-    					final Value srcValue = ((AccessOutcomeInValue) srcEntry).getValue();
-    					if (!isPrimitive(srcTypeComponent) && !isPrimitive(destTypeComponent) && checkOk != null) { 
+    				final AccessOutcomeInImpl srcEntry = srcImpl.entries.get(srcPosInt + ofst);
+    				if (srcEntry instanceof AccessOutcomeInValueImpl) {
+    					final Value srcValue = ((AccessOutcomeInValueImpl) srcEntry).returnedValue;
+    					if (checkReferences) { 
     						checkOk.accept((Reference) srcValue);
     					}
-    					destEntry = new AccessOutcomeInValueImpl((Expression) calc.push(this.indexFormal).eq(calc.valInt(destPosInt + ofst)).pop(), srcValue);
-    				} else { //srcEntry instanceof AccessOutcomeInInitialArray
-    					final Reference initialArray = ((AccessOutcomeInInitialArray) srcEntry).getInitialArray();
-    					final Primitive offset = ((AccessOutcomeInInitialArray) srcEntry).getOffset();
+    					srcValues[ofst] = srcValue;
+    				} else { //srcEntry instanceof AccessOutcomeInInitialArrayImpl
     					//TODO find a way to perform assignment compatibility check
-    					destEntry = new AccessOutcomeInInitialArrayImpl((Expression) calc.push(this.indexFormal).eq(calc.valInt(destPosInt + ofst)).pop(), initialArray, calc.push(offset).sub(destPos).add(srcPos).pop());
+    					srcEntriesInitialArray[ofst] = (AccessOutcomeInInitialArrayImpl) srcEntry;
     				}
-    				destPosEntries.add(destPosInt + ofst);
-    				destEntries.add(destEntry);
     			}
-    			for (int i = 0; i < destPosEntries.size(); ++i) {
-    				this.entries.set(destPosEntries.get(i), destEntries.get(i));
+    			
+    			//writes the destination entries, in place when possible
+    			for (int ofst = 0; ofst < lengthInt; ++ofst) {
+    				final int destIndex = destPosInt + ofst;
+    				final AccessOutcomeInImpl destEntry = this.entries.get(destIndex);
+    				final AccessOutcomeInImpl destEntryNew;
+    				if (srcEntriesInitialArray[ofst] == null) {
+    					if (destEntry instanceof AccessOutcomeInValueImpl) {
+    						((AccessOutcomeInValueImpl) destEntry).returnedValue = srcValues[ofst];
+    						continue;
+    					}
+    					destEntryNew = new AccessOutcomeInValueImpl(destEntry.accessCondition, srcValues[ofst]);
+    				} else {
+    					final AccessOutcomeInInitialArrayImpl srcEntry = srcEntriesInitialArray[ofst];
+    					destEntryNew = new AccessOutcomeInInitialArrayImpl(destEntry.accessCondition, srcEntry.initialArray, calc.push(srcEntry.offset).sub(destPos).add(srcPos).pop());
+    				}
+    				destEntryNew.pointIndex = destIndex;
+    				this.entries.set(destIndex, destEntryNew);
     			}
     			return EMPTY_ITERATOR;
     		} else {
-    			this.simpleRep = false;
     			final Expression indexInDestRange = (Expression) calc.push(this.indexFormal).ge(destPos).and(calc.push(this.indexFormal).lt(calc.push(destPos).add(length).pop()).pop()).pop();
     			final Expression indexNotInDestRange = (Expression) calc.push(indexInDestRange).not().pop();
 
-    			//constrains the entries of the destination array
-    			for (AccessOutcomeInImpl destEntry : this.entries) {
-    				destEntry.strengthenAccessCondition(calc, indexNotInDestRange);
-    			}
-
-    			//adds new entries corresponding to the source array entries
+    			//calculates the new entries corresponding to the source array entries
+    			//(before constraining the destination entries, for the case this == srcImpl)
     			final Primitive srcIndex = calc.push(this.indexFormal).sub(destPos).add(srcPos).pop();
-    			final ArrayList<AccessOutcomeInImpl> destEntries = new ArrayList<>(); //buffer to avoid concurrent modification when this == srcImpl
+    			final ArrayList<AccessOutcomeInImpl> destEntries = new ArrayList<>();
     			for (AccessOutcomeIn srcEntry : srcImpl.entries) {
     				final Expression accessCondition = (Expression) calc.push(this.indexInRange).and(srcEntry.inRange(calc, srcIndex)).and(indexInDestRange).pop();
     				final AccessOutcomeInImpl destEntry;
     				if (srcEntry instanceof AccessOutcomeInValue) {
     					final Value srcValue = ((AccessOutcomeInValue) srcEntry).getValue();
-    					if (!isPrimitive(srcTypeComponent) && !isPrimitive(destTypeComponent) && checkOk != null) { 
+    					if (checkReferences) { 
     						checkOk.accept((Reference) srcValue);
     					}
     					destEntry = new AccessOutcomeInValueImpl(accessCondition, srcValue);
@@ -870,12 +1060,32 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
     				}
     				destEntries.add(destEntry);
     			}
-    			for (AccessOutcomeInImpl destEntry : destEntries) {
-    				this.entries.add(destEntry);
+
+    			//constrains the entries of the destination array; if the copy 
+    			//range is concrete, the point entries are either surely outside
+    			//it, and thus left untouched, or surely overwritten, and thus
+    			//deleted
+    			final boolean destRangeConcrete = (destPos instanceof Simplex && length instanceof Simplex);
+    			final int destPosInt = (destRangeConcrete ? ((Integer) ((Simplex) destPos).getActualValue()).intValue() : 0);
+    			final int lengthInt = (destRangeConcrete ? ((Integer) ((Simplex) length).getActualValue()).intValue() : 0);
+    			for (Iterator<AccessOutcomeInImpl> it = this.entries.iterator(); it.hasNext(); ) {
+    				final AccessOutcomeInImpl destEntry = it.next();
+    				if (destRangeConcrete && destEntry.pointIndex != null) {
+    					final int pointIndex = destEntry.pointIndex.intValue();
+    					if (pointIndex >= destPosInt && pointIndex < destPosInt + lengthInt) {
+    						it.remove();
+    					}
+    				} else {
+    					destEntry.strengthenAccessCondition(calc, indexNotInDestRange);
+    				}
     			}
+    			this.entries.addAll(destEntries);
+    			this.simpleRep = false;
+    			indexEntries();
 
-    			//returns the iterator
-    			return ArrayImpl.this.entries.iterator(); //for sake of simplicity all the entries are considered potentially affected
+    			//returns the iterator to the entries whose access condition changed, 
+    			//i.e., all but the point entries
+    			return entriesNonPoint();
     		}
     	} catch (InvalidOperandException e) {
 			//this should never happen
@@ -883,6 +1093,76 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
     	}
     }
 
+    @Override
+    public Iterator<? extends AccessOutcomeIn> fill(Calculator calc, Primitive fromIndex, Primitive toIndex, Value value) 
+    throws InvalidInputException, InvalidTypeException {
+        if (calc == null || fromIndex == null || toIndex == null) {
+            throw new InvalidInputException("Attempted fill with null parameter.");
+        }
+        if (fromIndex.getType() != INT || toIndex.getType() != INT) {
+            throw new InvalidTypeException("Attempted fill with a range with type " + fromIndex.getType() + ", " + toIndex.getType() + ".");
+        }
+        checkSetValue(value);
+        storeBarrier();
+        final boolean rangeConcrete = (fromIndex instanceof Simplex && toIndex instanceof Simplex);
+        final int fromIndexInt = (rangeConcrete ? ((Integer) ((Simplex) fromIndex).getActualValue()).intValue() : 0);
+        final int toIndexInt = (rangeConcrete ? ((Integer) ((Simplex) toIndex).getActualValue()).intValue() : 0);
+        if (this.simpleRep && rangeConcrete) {
+            //fast operation: the entries in the range already have the
+            //right access conditions, thus only the values are set
+            for (int index = fromIndexInt; index < toIndexInt; ++index) {
+                final AccessOutcomeInImpl e = this.entries.get(index);
+                if (e instanceof AccessOutcomeInValueImpl) {
+                    ((AccessOutcomeInValueImpl) e).returnedValue = value;
+                } else {
+                    final AccessOutcomeInValueImpl eNew = new AccessOutcomeInValueImpl(e.accessCondition, value);
+                    eNew.pointIndex = e.pointIndex;
+                    this.entries.set(index, eNew);
+                }
+            }
+            return EMPTY_ITERATOR;
+        }
+        
+        try {
+            //if the range is the whole array the new entry 
+            //subsumes all the others
+            final boolean wholeArray = (fromIndex instanceof Simplex && ((Simplex) fromIndex).isZeroOne(true) && toIndex.equals(getLength()));
+            if (wholeArray) {
+                this.entries.clear();
+                this.entries.add(new AccessOutcomeInValueImpl(this.indexInRange, value));
+                this.simpleRep = false;
+                indexEntries();
+                return EMPTY_ITERATOR;
+            }
+            
+            //otherwise, constrains the current entries as arraycopy does
+            //and adds one entry for the whole range
+            final Expression indexInFillRange = (Expression) calc.push(this.indexFormal).ge(fromIndex).and(calc.push(this.indexFormal).lt(toIndex).pop()).pop();
+            final Expression indexNotInFillRange = (Expression) calc.push(indexInFillRange).not().pop();
+            for (Iterator<AccessOutcomeInImpl> it = this.entries.iterator(); it.hasNext(); ) {
+                final AccessOutcomeInImpl e = it.next();
+                if (rangeConcrete && e.pointIndex != null) {
+                    final int pointIndex = e.pointIndex.intValue();
+                    if (pointIndex >= fromIndexInt && pointIndex < toIndexInt) {
+                        it.remove();
+                    }
+                } else {
+                    e.strengthenAccessCondition(calc, indexNotInFillRange);
+                }
+            }
+            this.entries.add(new AccessOutcomeInValueImpl((Expression) calc.push(this.indexInRange).and(indexInFillRange).pop(), value));
+            this.simpleRep = false;
+            indexEntries();
+
+            //returns the iterator to the entries whose access condition changed, 
+            //i.e., all but the point entries
+            return entriesNonPoint();
+        } catch (InvalidOperandException e) {
+            //this should never happen
+            throw new UnexpectedInternalException(e);
+        }
+    }
+
     @Override
     public Primitive inRange(Calculator calc, Primitive index) 
     throws InvalidInputException, InvalidTypeException {
@@ -963,6 +1243,9 @@ public final class ArrayImpl extends HeapObjektImpl implements Array {
     	for (AccessOutcomeInImpl e : this.entries) {
     		o.entries.add(e.clone());
     	}
+    	if (this.entriesByIndex != null) {
+    		o.indexEntries();
+    	}
 
     	return o;
     }
@@ -120,6 +120,13 @@ final class ArrayWrapper extends HeapObjektWrapper<ArrayImpl> implements Array {
         return getDelegate().arraycopy(calc, src, srcPos, destPos, length, checkOk);
     }
 
+    @Override
+    public Iterator<? extends AccessOutcomeIn> fill(Calculator calc, Primitive fromIndex, Primitive toIndex, Value value) 
+    throws InvalidInputException, InvalidTypeException {
+        possiblyCloneDelegate();
+        return getDelegate().fill(calc, fromIndex, toIndex, value);
+    }
+
     @Override
     public Primitive inRange(Calculator calc, Primitive index) 
     throws InvalidInputException, InvalidTypeException {
@@ -0,0 +1,407 @@
+package jbse.mem;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import jbse.bc.ClassFile;
+import jbse.bc.Signature;
+import jbse.common.exc.UnexpectedInternalException;
+import jbse.mem.exc.FrozenStateException;
+import jbse.mem.exc.ThreadStackEmptyException;
+import jbse.val.Expression;
+import jbse.val.NarrowingConversion;
+import jbse.val.Primitive;
+import jbse.val.Reference;
+import jbse.val.ReferenceArrayImmaterial;
+import jbse.val.ReferenceConcrete;
+import jbse.val.ReferenceSymbolic;
+import jbse.val.Symbolic;
+import jbse.val.SymbolicApply;
+import jbse.val.Value;
+import jbse.val.WideningConversion;
+
+/**
+ * Calculates a canonical form of a {@link State}, made of a hash and
+ * of a set of path condition clauses. Two states have the same hash 
+ * iff (modulo hash collisions) they are at the same program point 
+ * with the same thread stack, and their heaps, restricted to the objects 
+ * that are reachable according to {@link ReachableObjectsCollector}, 
+ * are isomorphic up to a renaming of the heap positions. The heap 
+ * positions are renamed by numbering the reachable objects in the order 
+ * they are met by a breadth-first visit from the roots, and the symbols 
+ * are rendered by their origins, so the canonical forms of states on 
+ * different paths can be compared. The static fields of all the classes 
+ * in the static method area are part of the hash. The clauses are those 
+ * of the path condition that constrain the state, i.e., all the clauses
+ * on references and on classes, and the clauses on primitives that mention, 
+ * directly or through other such clauses, a symbol that is in the state. 
+ * The other clauses only constrain symbols the rest of the execution
+ * cannot see, and since the path condition is satisfiable they can
+ * be dropped. Thus, if two states have the same hash and the clauses 
+ * of the first include those of the second, every concrete state 
+ * represented by the first is represented by the second.
+ */
+public final class CanonicalStateHasher {
+    /**
+     * The canonical form of a {@link State}.
+     */
+    public static final class CanonicalState {
+        /** The hash of the program point, thread stack, statics and heap. */
+        public final String hash;
+
+        /** The clauses of the path condition that constrain the state. */
+        public final Set<String> pathCondition;
+
+        private CanonicalState(String hash, Set<String> pathCondition) {
+            this.hash = hash;
+            this.pathCondition = pathCondition;
+        }
+    }
+
+    private final ReachableObjectsCollector collector = new ReachableObjectsCollector();
+
+    /**
+     * Calculates the canonical form of a {@link State}.
+     *
+     * @param s a {@link State}. It must not be {@code null}
+     *        and its thread stack must not be empty.
+     * @return the {@link CanonicalState} of {@code s}.
+     * @throws FrozenStateException if {@code s} is frozen.
+     * @throws ThreadStackEmptyException if the thread stack of
+     *         {@code s} is empty.
+     */
+    public CanonicalState canonicalize(State s) throws FrozenStateException, ThreadStackEmptyException {
+        final Set<Long> reachable = this.collector.reachable(s, true);
+        final TreeMap<String, Klass> klasses = sortedKlasses(s);
+        final HashMap<Long, Integer> canonical = number(s, reachable, klasses);
+        final HashSet<String> symbols = new HashSet<>();
+        final StringBuilder buf = new StringBuilder();
+
+        //the thread stack
+        for (Frame f : s.getStack()) {
+            buf.append("F:").append(f.getMethodSignature()).append('@').append(f.getProgramCounter()).append('@').append(f.getReturnProgramCounter()).append('\n');
+            for (Map.Entry<Integer, Variable> var : f.localVariables().entrySet()) {
+                buf.append("L").append(var.getKey()).append('=');
+                appendValue(buf, s, canonical, symbols, var.getValue().getValue());
+                buf.append('\n');
+            }
+            for (Value v : f.operands()) {
+                buf.append("O=");
+                appendValue(buf, s, canonical, symbols, v);
+                buf.append('\n');
+            }
+        }
+
+        //the static fields of all the classes
+        for (Map.Entry<String, Klass> e : klasses.entrySet()) {
+            buf.append("K:").append(e.getKey()).append('\n');
+            appendFields(buf, s, canonical, symbols, e.getValue());
+        }
+
+        //the heap
+        final TreeMap<Integer, Long> positions = new TreeMap<>();
+        for (Map.Entry<Long, Integer> e : canonical.entrySet()) {
+            positions.put(e.getValue(), e.getKey());
+        }
+        for (Map.Entry<Integer, Long> e : positions.entrySet()) {
+            final HeapObjekt o = s.getObject(new ReferenceConcrete(e.getValue()));
+            buf.append("H").append(e.getKey()).append(':').append(o.getType().getClassName());
+            if (o.isSymbolic()) {
+                buf.append('<').append(o.getOrigin().asOriginString()).append('>');
+                symbols.add(o.getOrigin().asOriginString());
+            }
+            buf.append('\n');
+            appendFields(buf, s, canonical, symbols, o);
+            if (o instanceof Array) {
+                for (Array.AccessOutcomeIn entry : ((Array) o).values()) {
+                    buf.append("E:");
+                    appendValue(buf, s, canonical, symbols, entry.getAccessCondition());
+                    buf.append("->");
+                    if (entry instanceof Array.AccessOutcomeInInitialArray) {
+                        final Array.AccessOutcomeInInitialArray entryCast = (Array.AccessOutcomeInInitialArray) entry;
+                        appendValue(buf, s, canonical, symbols, entryCast.getInitialArray());
+                        buf.append('+');
+                        appendValue(buf, s, canonical, symbols, entryCast.getOffset());
+                    } else { //(entry instanceof Array.AccessOutcomeInValue)
+                        appendValue(buf, s, canonical, symbols, ((Array.AccessOutcomeInValue) entry).getValue());
+                    }
+                    buf.append('\n');
+                }
+            }
+        }
+
+        //the path condition
+        final HashSet<String> pathCondition = new HashSet<>();
+        final ArrayList<ClauseAssume> clausesPrimitive = new ArrayList<>();
+        for (Clause c : s.getPathCondition()) {
+            if (c instanceof ClauseAssume) {
+                clausesPrimitive.add((ClauseAssume) c);
+            } else if (c instanceof ClauseAssumeNull) {
+                pathCondition.add("N:" + ((ClauseAssumeNull) c).getReference().asOriginString());
+            } else if (c instanceof ClauseAssumeExpands) {
+                final ClauseAssumeExpands cExp = (ClauseAssumeExpands) c;
+                final StringBuilder bufClause = new StringBuilder("X:").append(cExp.getReference().asOriginString()).append("->");
+                appendPosition(bufClause, canonical, cExp.getHeapPosition());
+                pathCondition.add(bufClause.toString());
+            } else if (c instanceof ClauseAssumeAliases) {
+                final ClauseAssumeAliases cAli = (ClauseAssumeAliases) c;
+                final StringBuilder bufClause = new StringBuilder("Y:").append(cAli.getReference().asOriginString()).append("->");
+                appendPosition(bufClause, canonical, cAli.getHeapPosition());
+                pathCondition.add(bufClause.toString());
+            } else if (c instanceof ClauseAssumeClassInitialized) {
+                pathCondition.add("I:" + ((ClauseAssumeClassInitialized) c).getClassFile().getClassName());
+            } else { //(c instanceof ClauseAssumeClassNotInitialized)
+                pathCondition.add("U:" + ((ClauseAssumeClassNotInitialized) c).getClassFile().getClassName());
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Iterator<ClauseAssume> it = clausesPrimitive.iterator(); it.hasNext(); ) {
+                final Primitive condition = it.next().getCondition();
+                final HashSet<String> symbolsClause = new HashSet<>();
+                addSymbols(condition, symbolsClause);
+                if (!Collections.disjoint(symbols, symbolsClause)) {
+                    pathCondition.add("A:" + origin(condition));
+                    symbols.addAll(symbolsClause);
+                    it.remove();
+                    changed = true;
+                }
+            }
+        }
+
+        return new CanonicalState(digest(buf), pathCondition);
+    }
+
+    /**
+     * Numbers the reachable objects in breadth-first order
+     * from the roots.
+     *
+     * @param s a {@link State}.
+     * @param reachable the heap positions of the objects
+     *        reachable in {@code s}.
+     * @param klasses the {@link Klass}es of {@code s}, 
+     *        as returned by {@link #sortedKlasses(State)}.
+     * @return a {@link HashMap} mapping each heap position
+     *         in {@code reachable} to its canonical number.
+     * @throws FrozenStateException if {@code s} is frozen.
+     * @throws ThreadStackEmptyException if the thread stack of
+     *         {@code s} is empty.
+     */
+    private static HashMap<Long, Integer> number(State s, Set<Long> reachable, TreeMap<String, Klass> klasses)
+    throws FrozenStateException, ThreadStackEmptyException {
+        final HashMap<Long, Integer> retVal = new HashMap<>();
+        final ArrayDeque<Long> toVisit = new ArrayDeque<>();
+
+        //the roots, in a deterministic order
+        for (Frame f : s.getStack()) {
+            for (Variable var : f.localVariables().values()) {
+                mark(s, reachable, retVal, toVisit, var.getValue());
+            }
+            for (Value v : f.operands()) {
+                mark(s, reachable, retVal, toVisit, v);
+            }
+        }
+        for (Klass k : klasses.values()) {
+            for (Value v : sortedFields(k).values()) {
+                mark(s, reachable, retVal, toVisit, v);
+            }
+        }
+        for (Clause c : s.getPathCondition()) {
+            if (c instanceof ClauseAssumeReferenceSymbolic) {
+                mark(s, reachable, retVal, toVisit, ((ClauseAssumeReferenceSymbolic) c).getReference());
+            }
+        }
+
+        //the breadth-first visit
+        while (!toVisit.isEmpty()) {
+            final HeapObjekt o = s.getObject(new ReferenceConcrete(toVisit.poll()));
+            for (Value v : sortedFields(o).values()) {
+                mark(s, reachable, retVal, toVisit, v);
+            }
+            if (o instanceof Array) {
+                for (Array.AccessOutcomeIn entry : ((Array) o).values()) {
+                    if (entry instanceof Array.AccessOutcomeInInitialArray) {
+                        mark(s, reachable, retVal, toVisit, ((Array.AccessOutcomeInInitialArray) entry).getInitialArray());
+                    } else { //(entry instanceof Array.AccessOutcomeInValue)
+                        mark(s, reachable, retVal, toVisit, ((Array.AccessOutcomeInValue) entry).getValue());
+                    }
+                }
+            }
+        }
+
+        //the reachable objects not met by the visit (should be none)
+        for (long pos : new TreeSet<>(reachable)) {
+            if (!retVal.containsKey(pos)) {
+                retVal.put(pos, retVal.size());
+            }
+        }
+
+        return retVal;
+    }
+
+    private static void mark(State s, Set<Long> reachable, HashMap<Long, Integer> numbering, ArrayDeque<Long> toVisit, Value v) {
+        final long pos = position(s, v);
+        if (pos >= 0 && reachable.contains(pos) && !numbering.containsKey(pos)) {
+            numbering.put(pos, numbering.size());
+            toVisit.add(pos);
+        }
+    }
+
+    /**
+     * Returns the heap position a {@link Value} refers to.
+     *
+     * @param s a {@link State}.
+     * @param v a {@link Value}.
+     * @return the heap position of the object {@code v}
+     *         refers to, or {@code -1} if {@code v} is not
+     *         a {@link Reference}, or it is null, or it is
+     *         an unresolved symbolic reference.
+     */
+    private static long position(State s, Value v) {
+        if (!(v instanceof Reference) || v instanceof ReferenceArrayImmaterial) {
+            return -1;
+        }
+        final Reference ref = (Reference) v;
+        if (s.isNull(ref)) {
+            return -1;
+        }
+        if (ref instanceof ReferenceConcrete) {
+            return ((ReferenceConcrete) ref).getHeapPosition();
+        }
+        final ReferenceSymbolic refSymbolic = (ReferenceSymbolic) ref;
+        return (s.resolved(refSymbolic) ? s.getResolution(refSymbolic) : -1);
+    }
+
+    /**
+     * Returns the {@link Klass}es in the static method area
+     * of a {@link State}, sorted by the name and the defining
+     * classloader of their classes.
+     *
+     * @param s a {@link State}.
+     * @return a {@link TreeMap} mapping a key identifying 
+     *         each class to its {@link Klass}.
+     * @throws FrozenStateException if {@code s} is frozen.
+     */
+    private static TreeMap<String, Klass> sortedKlasses(State s) throws FrozenStateException {
+        final TreeMap<String, Klass> retVal = new TreeMap<>();
+        for (Map.Entry<ClassFile, Klass> e : s.getStaticMethodArea().entrySet()) {
+            retVal.put(e.getKey().getClassName() + "@" + e.getKey().getDefiningClassLoader(), e.getValue());
+        }
+        return retVal;
+    }
+
+    private static TreeMap<String, Value> sortedFields(Objekt o) {
+        final TreeMap<String, Value> retVal = new TreeMap<>();
+        for (Map.Entry<Signature, Variable> e : o.fields().entrySet()) {
+            retVal.put(e.getKey().toString(), e.getValue().getValue());
+        }
+        return retVal;
+    }
+
+    private static void appendFields(StringBuilder buf, State s, HashMap<Long, Integer> canonical, Set<String> symbols, Objekt o) {
+        for (Map.Entry<String, Value> e : sortedFields(o).entrySet()) {
+            buf.append("S:").append(e.getKey()).append('=');
+            appendValue(buf, s, canonical, symbols, e.getValue());
+            buf.append('\n');
+        }
+    }
+
+    private static void appendValue(StringBuilder buf, State s, HashMap<Long, Integer> canonical, Set<String> symbols, Value v) {
+        if (v == null) {
+            buf.append("_");
+            return;
+        }
+        if (v instanceof Reference && !(v instanceof ReferenceArrayImmaterial)) {
+            if (s.isNull((Reference) v)) {
+                buf.append("null");
+                return;
+            }
+            final long pos = position(s, v);
+            if (pos >= 0) {
+                appendPosition(buf, canonical, pos);
+                return;
+            }
+            //else, unresolved symbolic reference
+            buf.append('<').append(((ReferenceSymbolic) v).asOriginString()).append('>');
+            symbols.add(((ReferenceSymbolic) v).asOriginString());
+            return;
+        }
+        addSymbols(v, symbols);
+        buf.append(origin(v));
+    }
+
+    /**
+     * Returns the string representation of a {@link Value}
+     * where the symbols are rendered by their origins, 
+     * that do not depend on the path.
+     * 
+     * @param v a {@link Value}.
+     * @return a {@link String}.
+     */
+    private static String origin(Value v) {
+        return (v instanceof Symbolic ? ((Symbolic) v).asOriginString() : v.toString());
+    }
+
+    /**
+     * Adds to a set the origins of the atomic 
+     * symbols that occur in a {@link Value}.
+     * 
+     * @param v a {@link Value}.
+     * @param symbols a {@link Set}{@code <}{@link String}{@code >}.
+     */
+    private static void addSymbols(Value v, Set<String> symbols) {
+        if (v instanceof Expression) {
+            final Expression e = (Expression) v;
+            if (e.isUnary()) {
+                addSymbols(e.getOperand(), symbols);
+            } else {
+                addSymbols(e.getFirstOperand(), symbols);
+                addSymbols(e.getSecondOperand(), symbols);
+            }
+        } else if (v instanceof SymbolicApply) {
+            for (Value arg : ((SymbolicApply) v).getArgs()) {
+                addSymbols(arg, symbols);
+            }
+        } else if (v instanceof WideningConversion) {
+            addSymbols(((WideningConversion) v).getArg(), symbols);
+        } else if (v instanceof NarrowingConversion) {
+            addSymbols(((NarrowingConversion) v).getArg(), symbols);
+        } else if (v instanceof Symbolic) {
+            symbols.add(((Symbolic) v).asOriginString());
+        }
+    }
+
+    private static void appendPosition(StringBuilder buf, HashMap<Long, Integer> canonical, long pos) {
+        final Integer number = canonical.get(pos);
+        if (number == null) {
+            //not reachable: falls back to the heap position
+            buf.append("#P").append(pos);
+        } else {
+            buf.append('#').append(number.intValue());
+        }
+    }
+
+    private static String digest(StringBuilder buf) {
+        try {
+            final MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(buf.toString().getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            //every Java platform implements SHA-256
+            throw new UnexpectedInternalException(e);
+        }
+    }
+}
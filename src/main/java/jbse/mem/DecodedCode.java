@@ -0,0 +1,359 @@
+package jbse.mem;
+
+import static jbse.bc.Opcodes.*;
+import static jbse.common.Util.asUnsignedByte;
+import static jbse.common.Util.byteCat;
+
+import java.util.Arrays;
+
+import jbse.bc.ClassFile;
+import jbse.bc.Signature;
+import jbse.bc.exc.MethodCodeNotFoundException;
+import jbse.bc.exc.MethodNotFoundException;
+import jbse.mem.exc.InvalidProgramCounterException;
+
+/**
+ * The bytecode of a {@link Frame}'s method, pre-decoded
+ * once so that reading the word and double word immediates 
+ * of a bytecode costs a single bound check and a single array
+ * access, independently of the width of the immediate. Only the 
+ * immediates of the instructions are decoded, by scanning the
+ * code from one instruction boundary to the next.
+ * A {@link DecodedCode} is immutable, and thus it is shared
+ * among a {@link Frame} and all its clones, and among all 
+ * the {@link MethodFrame}s of a same method of a same
+ * {@link ClassFile}.
+ */
+final class DecodedCode {
+    /** The bytecode. */
+    private final byte[] code;
+
+    /**
+     * For each position of {@link #code}, {@code 1 +} the index
+     * in {@link #immediates} of the immediate that starts there, 
+     * or {@code 0} if no immediate was decoded at the position
+     * (the code of a method is shorter than 65536 bytes, thus 
+     * a {@code char} suffices).
+     */
+    private final char[] slots;
+
+    /** The decoded immediates. */
+    private final int[] immediates;
+
+    /** 
+     * The widths (2 for words, 4 for double words) 
+     * of the decoded {@link #immediates}.
+     */
+    private final byte[] widths;
+
+    /**
+     * Constructor.
+     *
+     * @param code a {@code byte[]}, the bytecode
+     *        of a method. It will be copied,
+     *        therefore it can be later modified
+     *        by the caller.
+     */
+    DecodedCode(byte[] code) {
+        this.code = code.clone();
+        final int length = this.code.length;
+        this.slots = new char[length];
+        final int[] immediates = new int[length];
+        final byte[] widths = new byte[length];
+        int n = 0;
+        boolean wide = false;
+        int pc = 0;
+        scan:
+        while (pc < length) {
+            final byte opcode = this.code[pc];
+            int nextPc = pc + 1;
+            switch (opcode) {
+            case OP_BIPUSH:
+            case OP_LDC:
+            case OP_NEWARRAY:
+                nextPc = pc + 2;
+                break;
+            case OP_ILOAD:
+            case OP_LLOAD:
+            case OP_FLOAD:
+            case OP_DLOAD:
+            case OP_ALOAD:
+            case OP_ISTORE:
+            case OP_LSTORE:
+            case OP_FSTORE:
+            case OP_DSTORE:
+            case OP_ASTORE:
+            case OP_RET:
+                if (wide) {
+                    n = decode(pc + 1, 2, immediates, widths, n);
+                    nextPc = pc + 3;
+                } else {
+                    nextPc = pc + 2;
+                }
+                break;
+            case OP_IINC:
+                if (wide) {
+                    n = decode(pc + 1, 2, immediates, widths, n);
+                    n = decode(pc + 3, 2, immediates, widths, n);
+                    nextPc = pc + 5;
+                } else {
+                    nextPc = pc + 3;
+                }
+                break;
+            case OP_SIPUSH:
+            case OP_LDC_W:
+            case OP_LDC2_W:
+            case OP_IFEQ:
+            case OP_IFNE:
+            case OP_IFLT:
+            case OP_IFGE:
+            case OP_IFGT:
+            case OP_IFLE:
+            case OP_IF_ICMPEQ:
+            case OP_IF_ICMPNE:
+            case OP_IF_ICMPLT:
+            case OP_IF_ICMPGE:
+            case OP_IF_ICMPGT:
+            case OP_IF_ICMPLE:
+            case OP_IF_ACMPEQ:
+            case OP_IF_ACMPNE:
+            case OP_GOTO:
+            case OP_JSR:
+            case OP_GETSTATIC:
+            case OP_PUTSTATIC:
+            case OP_GETFIELD:
+            case OP_PUTFIELD:
+            case OP_INVOKEVIRTUAL:
+            case OP_INVOKESPECIAL:
+            case OP_INVOKESTATIC:
+            case OP_NEW:
+            case OP_ANEWARRAY:
+            case OP_CHECKCAST:
+            case OP_INSTANCEOF:
+            case OP_IFNULL:
+            case OP_IFNONNULL:
+                n = decode(pc + 1, 2, immediates, widths, n);
+                nextPc = pc + 3;
+                break;
+            case OP_MULTIANEWARRAY:
+                n = decode(pc + 1, 2, immediates, widths, n);
+                nextPc = pc + 4;
+                break;
+            case OP_INVOKEINTERFACE:
+            case OP_INVOKEDYNAMIC:
+                n = decode(pc + 1, 2, immediates, widths, n);
+                nextPc = pc + 5;
+                break;
+            case OP_GOTO_W:
+            case OP_JSR_W:
+                n = decode(pc + 1, 4, immediates, widths, n);
+                nextPc = pc + 5;
+                break;
+            case OP_TABLESWITCH:
+            case OP_LOOKUPSWITCH: {
+                final int tableStart = pc + 4 - (pc % 4); //skips the padding
+                if (tableStart + 12 > length) {
+                    break scan; //malformed
+                }
+                final int numDwords;
+                if (opcode == OP_TABLESWITCH) {
+                    final int low = byteCat(this.code[tableStart + 4], this.code[tableStart + 5], this.code[tableStart + 6], this.code[tableStart + 7]);
+                    final int high = byteCat(this.code[tableStart + 8], this.code[tableStart + 9], this.code[tableStart + 10], this.code[tableStart + 11]);
+                    numDwords = 3 + (high - low + 1);
+                } else {
+                    final int npairs = byteCat(this.code[tableStart + 4], this.code[tableStart + 5], this.code[tableStart + 6], this.code[tableStart + 7]);
+                    numDwords = 2 + 2 * npairs;
+                }
+                if (numDwords < 2 || numDwords > (length - tableStart) / 4) {
+                    break scan; //malformed
+                }
+                for (int i = 0; i < numDwords; ++i) {
+                    n = decode(tableStart + 4 * i, 4, immediates, widths, n);
+                }
+                nextPc = tableStart + 4 * numDwords;
+                break;
+            }
+            default:
+                if (asUnsignedByte(opcode) > asUnsignedByte(OP_JSR_W)) {
+                    break scan; //not a standard opcode: the rest is read undecoded
+                }
+                //all the other standard opcodes have no immediates
+            }
+            wide = (opcode == OP_WIDE);
+            pc = nextPc;
+        }
+        this.immediates = Arrays.copyOf(immediates, n);
+        this.widths = Arrays.copyOf(widths, n);
+    }
+
+    private int decode(int position, int width, int[] immediates, byte[] widths, int n) {
+        if (position + width > this.code.length) {
+            return n; //malformed, read undecoded
+        }
+        immediates[n] = (width == 2 ? 
+                         (short) byteCat(this.code[position], this.code[position + 1]) :
+                         byteCat(this.code[position], this.code[position + 1], this.code[position + 2], this.code[position + 3]));
+        widths[n] = (byte) width;
+        this.slots[position] = (char) (n + 1);
+        return n + 1;
+    }
+
+    /**
+     * Returns the {@link DecodedCode} of a method, decoding
+     * it upon the first request. The {@link DecodedCode} is
+     * owned by {@code classFile}, that discards it when it is 
+     * renamed.
+     * 
+     * @param classFile the {@link ClassFile} where the 
+     *        method implementation resides.
+     * @param methodSignature the {@link Signature} of the method.
+     * @return a {@link DecodedCode}.
+     * @throws MethodNotFoundException when {@code classFile} does
+     *         not contain the method {@code methodSignature}.
+     * @throws MethodCodeNotFoundException when {@code classFile}
+     *         contains the method {@code methodSignature} but it is
+     *         abstract.
+     */
+    static DecodedCode of(ClassFile classFile, Signature methodSignature) 
+    throws MethodNotFoundException, MethodCodeNotFoundException {
+        return classFile.getMethodCodeDerived(methodSignature, DecodedCode.class, DecodedCode::new);
+    }
+
+    private DecodedCode(DecodedCode original, int position, byte bytecode) {
+        this.code = original.code.clone();
+        this.code[position] = bytecode;
+        this.slots = original.slots; //patching affects opcodes, not immediates
+        this.immediates = original.immediates;
+        this.widths = original.widths;
+    }
+
+    /**
+     * Returns a patched copy of this {@link DecodedCode}.
+     *
+     * @param position an {@code int}, the position to patch.
+     * @param bytecode a {@code byte}, the new opcode at {@code position}.
+     * @return a {@link DecodedCode} equal to this, but with
+     *         {@code bytecode} at {@code position}.
+     */
+    DecodedCode patch(int position, byte bytecode) {
+        return new DecodedCode(this, position, bytecode);
+    }
+
+    /**
+     * Returns the length of the code.
+     *
+     * @return an {@code int}.
+     */
+    int length() {
+        return this.code.length;
+    }
+
+    /**
+     * Returns a copy of the code.
+     *
+     * @return a {@code byte[]}.
+     */
+    byte[] code() {
+        return this.code.clone();
+    }
+
+    /**
+     * Returns an opcode in the code, without 
+     * checking bounds.
+     *
+     * @param position an {@code int}, the position
+     *        of the opcode. It must be in the code bounds
+     *        (e.g., a valid program counter).
+     * @return the {@code byte} at {@code position}.
+     */
+    byte opcode(int position) {
+        return this.code[position];
+    }
+
+    /**
+     * Returns a byte in the code.
+     *
+     * @param position an {@code int}, the position
+     *        of the byte.
+     * @return the {@code byte} at {@code position}.
+     * @throws InvalidProgramCounterException if {@code position}
+     *         is out of the code bounds.
+     */
+    byte signedByte(int position) throws InvalidProgramCounterException {
+        boundCheck(position, 1);
+        return this.code[position];
+    }
+
+    /**
+     * Returns an unsigned byte in the code.
+     *
+     * @param position an {@code int}, the position
+     *        of the byte.
+     * @return the unsigned byte at {@code position}, as a
+     *         {@code short}.
+     * @throws InvalidProgramCounterException if {@code position}
+     *         is out of the code bounds.
+     */
+    short unsignedByte(int position) throws InvalidProgramCounterException {
+        boundCheck(position, 1);
+        return asUnsignedByte(this.code[position]);
+    }
+
+    /**
+     * Returns a signed word (2 bytes) in the code.
+     *
+     * @param position an {@code int}, the position
+     *        of the word.
+     * @return the signed word at {@code position}, as a
+     *         {@code short}.
+     * @throws InvalidProgramCounterException if the
+     *         word is not in the code bounds.
+     */
+    short signedWord(int position) throws InvalidProgramCounterException {
+        boundCheck(position, 2);
+        final int slot = this.slots[position];
+        if (slot != 0 && this.widths[slot - 1] == 2) {
+            return (short) this.immediates[slot - 1];
+        }
+        return (short) byteCat(this.code[position], this.code[position + 1]);
+    }
+
+    /**
+     * Returns an unsigned word (2 bytes) in the code.
+     *
+     * @param position an {@code int}, the position
+     *        of the word.
+     * @return the unsigned word at {@code position}, as an
+     *         {@code int}.
+     * @throws InvalidProgramCounterException if the
+     *         word is not in the code bounds.
+     */
+    int unsignedWord(int position) throws InvalidProgramCounterException {
+        return signedWord(position) & 0xFFFF;
+    }
+
+    /**
+     * Returns a signed double word (4 bytes) in the code.
+     *
+     * @param position an {@code int}, the position
+     *        of the double word.
+     * @return the signed double word at {@code position}, as an
+     *         {@code int}.
+     * @throws InvalidProgramCounterException if the
+     *         double word is not in the code bounds.
+     */
+    int signedDword(int position) throws InvalidProgramCounterException {
+        boundCheck(position, 4);
+        final int slot = this.slots[position];
+        if (slot != 0 && this.widths[slot - 1] == 4) {
+            return this.immediates[slot - 1];
+        }
+        return byteCat(this.code[position], this.code[position + 1], this.code[position + 2], this.code[position + 3]);
+    }
+
+    private void boundCheck(int position, int size) throws InvalidProgramCounterException {
+        if (position < 0 || position + size > this.code.length) {
+            throw new InvalidProgramCounterException();
+        }
+    }
+}
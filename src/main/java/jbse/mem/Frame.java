@@ -30,8 +30,8 @@ public abstract class Frame implements Cloneable {
     /** The {@link ClassFile} for the method class. */
     private ClassFile methodClass;
     
-    /** The bytecode of the frame's method. */
-    private byte[] bytecode; //not final to implement clone method (bytecode may be patched)
+    /** The (pre-decoded) bytecode of the frame's method. */
+    private DecodedCode code; //not final because bytecode may be patched (copy-on-write, shared with clones)
 
     /** The program counter for the frame's method. */
     private int programCounter;
@@ -46,8 +46,18 @@ public abstract class Frame implements Cloneable {
      * @param bytecode a {@code byte[]}, the bytecode to be executed.
      */
     public Frame(ClassFile methodClass, byte[] bytecode) {
+        this(methodClass, new DecodedCode(bytecode));
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param methodClass the {@link ClassFile} for the method class.
+     * @param code the {@link DecodedCode} to be executed.
+     */
+    Frame(ClassFile methodClass, DecodedCode code) {
         this.methodClass = methodClass;
-        this.bytecode = bytecode.clone();
+        this.code = code;
         this.programCounter = 0;
         this.returnProgramCounter = UNKNOWN_PC;
     }
@@ -98,7 +108,7 @@ public abstract class Frame implements Cloneable {
     }
 
     private void boundCheckPCValue(int newPC) throws InvalidProgramCounterException {
-        if (newPC < 0 || newPC >= this.bytecode.length) {
+        if (newPC < 0 || newPC >= this.code.length()) {
             throw new InvalidProgramCounterException();
         }
     }
@@ -112,7 +122,7 @@ public abstract class Frame implements Cloneable {
      *         frame's bytecode.
      */
     public final byte[] getCode() {
-        return this.bytecode.clone();
+        return this.code.code();
     }
     
     /**
@@ -121,10 +131,11 @@ public abstract class Frame implements Cloneable {
      * @param bytecode a {@code byte}. The frame's code
      *        will be modified at the frame's program counter
      *        by replacing the pointed bytecode with {@code bytecode}.
-     *        Note that the action is destructive.
+     *        Note that the action is destructive, but it
+     *        does not affect the clones of this frame.
      */
     public final void patchCode(byte bytecode) {
-        this.bytecode[this.programCounter] = bytecode;
+        this.code = this.code.patch(this.programCounter, bytecode);
     }
 
     /**
@@ -135,7 +146,7 @@ public abstract class Frame implements Cloneable {
      *         bytecode pointed by the frame's program counter.
      */
     public final byte getInstruction() {
-        return this.bytecode[this.programCounter];
+        return this.code.opcode(this.programCounter);
     }
 
     /**
@@ -151,8 +162,64 @@ public abstract class Frame implements Cloneable {
      *         a bytecode.
      */
     public final byte getInstruction(int displ) throws InvalidProgramCounterException {
-        boundCheckPCValue(this.programCounter + displ);
-        return this.bytecode[this.programCounter + displ];
+        return this.code.signedByte(this.programCounter + displ);
+    }
+
+    /**
+     * Returns the unsigned byte immediate at the program counter 
+     * plus a displacement.
+     * 
+     * @param displ an {@code int}, a displacement.
+     * @return the unsigned byte at the frame's program counter
+     *         plus {@code displ}, as a {@code short}.
+     * @throws InvalidProgramCounterException iff the frame's program
+     *         counter plus {@code displ} does not point to 
+     *         a bytecode.
+     */
+    public final short getImmediateUnsignedByte(int displ) throws InvalidProgramCounterException {
+        return this.code.unsignedByte(this.programCounter + displ);
+    }
+
+    /**
+     * Returns the signed word (2 bytes) immediate at the program 
+     * counter plus a displacement.
+     * 
+     * @param displ an {@code int}, a displacement.
+     * @return the signed word at the frame's program counter
+     *         plus {@code displ}, as a {@code short}.
+     * @throws InvalidProgramCounterException iff the word does 
+     *         not fall within the frame's bytecode.
+     */
+    public final short getImmediateSignedWord(int displ) throws InvalidProgramCounterException {
+        return this.code.signedWord(this.programCounter + displ);
+    }
+
+    /**
+     * Returns the unsigned word (2 bytes) immediate at the program 
+     * counter plus a displacement.
+     * 
+     * @param displ an {@code int}, a displacement.
+     * @return the unsigned word at the frame's program counter
+     *         plus {@code displ}, as an {@code int}.
+     * @throws InvalidProgramCounterException iff the word does 
+     *         not fall within the frame's bytecode.
+     */
+    public final int getImmediateUnsignedWord(int displ) throws InvalidProgramCounterException {
+        return this.code.unsignedWord(this.programCounter + displ);
+    }
+
+    /**
+     * Returns the signed double word (4 bytes) immediate at the 
+     * program counter plus a displacement.
+     * 
+     * @param displ an {@code int}, a displacement.
+     * @return the signed double word at the frame's program counter
+     *         plus {@code displ}, as an {@code int}.
+     * @throws InvalidProgramCounterException iff the double word does 
+     *         not fall within the frame's bytecode.
+     */
+    public final int getImmediateSignedDword(int displ) throws InvalidProgramCounterException {
+        return this.code.signedDword(this.programCounter + displ);
     }
 
     /**
@@ -336,7 +403,7 @@ public abstract class Frame implements Cloneable {
         } catch (CloneNotSupportedException e) {
             throw new InternalError(e);
         }
-        o.bytecode = o.bytecode.clone();
+        //no need to clone o.code, since it is immutable
         return o;
     }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package jbse.mem;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -16,6 +20,8 @@ final class Heap implements Cloneable {
     private final long maxHeapSize;
 	private Heap delegate; //nonfinal to allow cloning
     private TreeMap<Long, HeapObjekt> objects; //nonfinal to allow cloning
+    private HashSet<Long> young; //nonfinal to allow cloning
+    private HashSet<Long> remembered; //nonfinal to allow cloning
     private long nextIndex;
     
     /**
@@ -28,6 +34,8 @@ final class Heap implements Cloneable {
     	this.delegate = null;
         this.maxHeapSize = maxHeapSize;
         this.objects = new TreeMap<>();
+        this.young = new HashSet<>();
+        this.remembered = new HashSet<>();
         this.nextIndex = Util.POS_ROOT;
     }
 
@@ -60,6 +68,8 @@ final class Heap implements Cloneable {
      */
     long addNewSurely(HeapObjektImpl item) {
         this.objects.put(this.nextIndex, item);
+        this.young.add(this.nextIndex);
+        item.setHeap(this, this.nextIndex);
         long retVal = this.nextIndex;
         while (existsAt(this.nextIndex)) {
             if (this.nextIndex == Long.MAX_VALUE) {
@@ -92,7 +102,33 @@ final class Heap implements Cloneable {
      * @param item the {@link Instance} to stored at {@code pos}.
      */
     void set(long pos, HeapObjekt item) {
+        if (existsAt(pos)) {
+            remember(pos);
+        } else {
+            this.young.add(pos);
+        }
         this.objects.put(pos, item);
+        if (item instanceof HeapObjektImpl) {
+            ((HeapObjektImpl) item).setHeap(this, pos);
+        }
+    }
+
+    /**
+     * Adds an object to the remembered set, unless it
+     * is young. The remembered set holds the old objects 
+     * that were modified since this heap was lazily
+     * cloned or since the last young collection, and 
+     * thus the only old objects that may refer to young
+     * objects. The objects invoke it when modified 
+     * (see {@link HeapObjektImpl#storeBarrier()}).
+     * 
+     * @param pos a {@code long}, the position of 
+     *        the modified object.
+     */
+    void remember(long pos) {
+        if (!this.young.contains(pos)) {
+            this.remembered.add(pos);
+        }
     }
 
     /**
@@ -109,7 +145,7 @@ final class Heap implements Cloneable {
     		if (localObjekt == null) {
     			final HeapObjektImpl trueObjekt = getTheRealThing(pos);
     			final HeapObjektWrapper<?> delegateObjekt = trueObjekt.makeWrapper(this, pos);
-    			set(pos, delegateObjekt);
+    			this.objects.put(pos, delegateObjekt);
     			return delegateObjekt;
     		} else {
     			return localObjekt;
@@ -200,7 +236,70 @@ final class Heap implements Cloneable {
                 continue;
             }
             this.objects.put(pos, null);
+            this.young.remove(pos);
+            this.remembered.remove(pos);
+        }
+    }
+
+    /**
+     * Returns the positions of the young objects, i.e., of
+     * the objects that were created in this heap since it was 
+     * lazily cloned or since the last young collection. 
+     * 
+     * @return a {@link Set}{@code <}{@link Long}{@code >}.
+     */
+    Set<Long> youngPositions() {
+        return new HashSet<>(this.young);
+    }
+
+    /**
+     * Returns the number of young objects.
+     * 
+     * @return a nonnegative {@code int}.
+     */
+    int getYoungSize() {
+        return this.young.size();
+    }
+
+    /**
+     * Returns the objects in the remembered set (see 
+     * {@link #remember(long)}).
+     * 
+     * @return a {@link List}{@code <}{@link HeapObjekt}{@code >}.
+     */
+    List<HeapObjekt> rememberedObjects() {
+        final ArrayList<HeapObjekt> retVal = new ArrayList<>();
+        for (long pos : this.remembered) {
+            final HeapObjekt o = this.objects.get(pos);
+            if (o != null) {
+                retVal.add(o);
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * Deletes young objects from this heap, makes 
+     * old all the young objects that are not deleted,
+     * and empties the remembered set.
+     * 
+     * @param exceptPos a {@link Set}{@code <}{@link Long}{@code >}.
+     *        The young objects at positions in {@code except}
+     *        will not be deleted, all the remaining young 
+     *        objects will.
+     */
+    void disposeYoungExcept(Set<Long> exceptPos) {
+        final Iterator<Long> it = this.young.iterator();
+        while (it.hasNext()) {
+            final long pos = it.next();
+            if (!exceptPos.contains(pos)) {
+                //no need to mask the delegate, that has
+                //no object at pos
+                this.objects.remove(pos);
+            }
+            it.remove();
         }
+        this.remembered.clear();
     }
 
     Heap lazyClone() {
@@ -213,6 +312,8 @@ final class Heap implements Cloneable {
 
         h.delegate = this;
         h.objects = new TreeMap<>();
+        h.young = new HashSet<>();
+        h.remembered = new HashSet<>();
         
         return h;
     }
@@ -248,9 +349,13 @@ final class Heap implements Cloneable {
         h.delegate = null;
         final TreeMap<Long, HeapObjekt> objectsClone = new TreeMap<>();
         for (long pos : filledPositions()) {
-            objectsClone.put(pos, getTheRealThing(pos).clone());
+            final HeapObjektImpl oClone = getTheRealThing(pos).clone();
+            oClone.setHeap(h, pos);
+            objectsClone.put(pos, oClone);
         }
         h.objects = objectsClone;
+        h.young = new HashSet<>(this.young);
+        h.remembered = new HashSet<>(this.remembered);
         
         return h;
     }
@@ -10,6 +10,15 @@ import jbse.val.ReferenceSymbolic;
  * Base class for all classes that implement {@link HeapObjekt}s.
  */
 public abstract class HeapObjektImpl extends ObjektImpl implements HeapObjekt {
+    /** 
+     * The {@link Heap} that stores this object in its
+     * local layer, or {@code null} if there is none.
+     */
+    private Heap heap = null;
+    
+    /** The position of this object in {@link #heap}. */
+    private long heapPosition;
+    
     /**
      * Constructor.
      * 
@@ -35,10 +44,37 @@ public abstract class HeapObjektImpl extends ObjektImpl implements HeapObjekt {
     }
     
     abstract HeapObjektWrapper<? extends HeapObjektImpl> makeWrapper(Heap destinationHeap, long destinationPosition);
+    
+    /**
+     * Sets the {@link Heap} that stores this object.
+     * 
+     * @param heap a {@link Heap}.
+     * @param heapPosition a {@code long}, the position
+     *        of this object in {@code heap}.
+     */
+    final void setHeap(Heap heap, long heapPosition) {
+        this.heap = heap;
+        this.heapPosition = heapPosition;
+    }
+    
+    /**
+     * The write barrier: notifies the {@link Heap} that 
+     * stores this object that this object is being modified,
+     * so the heap can add it to its remembered set 
+     * (see {@link Heap#remember(long)}).
+     */
+    @Override
+    protected final void storeBarrier() {
+        if (this.heap != null) {
+            this.heap.remember(this.heapPosition);
+        }
+    }
 
     @Override
     public HeapObjektImpl clone() {
-    	return (HeapObjektImpl) super.clone();
+    	final HeapObjektImpl o = (HeapObjektImpl) super.clone();
+    	o.heap = null; //the heap that will store the clone will set it
+    	return o;
         //note that we do not clone this.fields because
         //it is immutable for arrays and mutable for instances
         //so the two subclasses may either deep-copy it or share;
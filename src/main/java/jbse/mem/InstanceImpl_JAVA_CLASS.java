@@ -47,6 +47,7 @@ public final class InstanceImpl_JAVA_CLASS extends InstanceImpl implements Insta
             throw new InvalidInputException("It is not possible to set the signers of a class to null.");
         }
         //TODO check that signers points to an array of objects
+        storeBarrier();
         this.signers = signers;
     }
     
@@ -44,7 +44,7 @@ public final class MethodFrame extends Frame implements Cloneable {
      */
     public MethodFrame(Signature methodSignature, ClassFile classMethodImpl) 
     throws MethodNotFoundException, MethodCodeNotFoundException {
-        super(classMethodImpl, classMethodImpl.getMethodCodeBySignature(methodSignature));
+        super(classMethodImpl, DecodedCode.of(classMethodImpl, methodSignature));
         this.methodSignature = methodSignature;
         this.lnt = classMethodImpl.getLineNumberTable(methodSignature);
         this.localVariables = new LocalVariablesArea(classMethodImpl.getLocalVariableTable(methodSignature));
@@ -204,9 +204,18 @@ public abstract class ObjektImpl implements Objekt {
 
     @Override
     public final void setFieldValue(Signature field, Value item) {
+        storeBarrier();
         this.fields.get(field).setValue(item);
     }
 
+    /**
+     * Invoked before a value is stored in this object.
+     * It does nothing.
+     */
+    protected void storeBarrier() {
+        //nothing
+    }
+
     @Override
     public final void setFieldValue(int ofst, Value item) {
         setFieldValue(this.fieldSignatures.get(ofstToPos(ofst)), item);
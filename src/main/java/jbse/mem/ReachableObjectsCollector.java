@@ -1,5 +1,7 @@
 package jbse.mem;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -200,8 +202,8 @@ public final class ReachableObjectsCollector {
         
         //possibly adds the main thread and thread group
         if (precise) {
-        	reachable.add(s.getMainThread().getHeapPosition());
-        	reachable.add(s.getMainThreadGroup().getHeapPosition());
+        	addIfReference(reachable, s, s.getMainThread());
+        	addIfReference(reachable, s, s.getMainThreadGroup());
         }
 
         //closes reachable
@@ -238,6 +240,136 @@ public final class ReachableObjectsCollector {
         return reachable;
     }
     
+    /**
+     * Returns the heap positions of the young objects that are
+     * reachable from the roots of a {@link State} (the same as
+     * {@link #reachable(State, boolean) reachable(s, true)}), 
+     * by tracing only the young objects. The old objects that
+     * may refer young objects (the remembered set) are used as
+     * further roots, and all the other old objects are not visited.
+     * 
+     * @param s a {@link State}. It must not be {@code null}.
+     * @param young a {@link Set}{@code <}{@link Long}{@code >}, 
+     *        the heap positions of the young objects.
+     * @param remembered a {@link Collection}{@code <}{@link Objekt}{@code >}, 
+     *        containing (at least) all the old objects and {@link Klass}es
+     *        that may refer young objects.
+     * @param otherRoots a {@link Collection}{@code <}{@link Value}{@code >}
+     *        of further roots for collection.
+     * @return a {@link Set}{@code <}{@link Long}{@code >}
+     *         containing all the heap positions in {@code young} of 
+     *         the objects reachable from the collection roots.
+     * @throws FrozenStateException if {@code s} is frozen.
+     */
+    Set<Long> reachableYoung(State s, Set<Long> young, Collection<? extends Objekt> remembered, Collection<? extends Value> otherRoots) 
+    throws FrozenStateException {
+        final HashSet<Long> reachable = new HashSet<>();
+        final ArrayDeque<Long> toVisit = new ArrayDeque<>();
+        
+        //the stuck return value and thrown exception
+        if (s.isStuck()) {
+            addIfYoung(reachable, toVisit, young, s, s.getStuckException());
+            addIfYoung(reachable, toVisit, young, s, s.getStuckReturn());
+        }
+        
+        //the root object
+        if (!s.getStack().isEmpty()) {
+            try {
+                addIfYoung(reachable, toVisit, young, s, s.getRootObjectReference());
+            } catch (ThreadStackEmptyException e) {
+                throw new UnexpectedInternalException(e);
+            }
+        }
+        
+        //the path condition
+        for (Clause c : s.getPathCondition()) {
+            if (c instanceof ClauseAssumeReferenceSymbolic) {
+                addIfYoung(reachable, toVisit, young, s, ((ClauseAssumeReferenceSymbolic) c).getReference());
+            }
+        }
+        
+        //the stack
+        for (Frame f : s.getStack()) {
+            for (Variable var : f.localVariables().values()) {
+                addIfYoung(reachable, toVisit, young, s, var.getValue());
+            }
+            for (Value v : f.operands()) {
+                addIfYoung(reachable, toVisit, young, s, v);
+            }
+        }
+        
+        //the remembered set
+        for (Objekt o : remembered) {
+            addFieldsIfYoung(reachable, toVisit, young, s, o);
+        }
+        
+        //the string literals, classes, classloaders, method 
+        //types, main thread and thread group, and other roots
+        for (Value v : s.getStringLiterals()) {
+            addIfYoung(reachable, toVisit, young, s, v);
+        }
+        for (Value v : s.getClasses()) {
+            addIfYoung(reachable, toVisit, young, s, v);
+        }
+        for (Value v : s.getClassesPrimitive()) {
+            addIfYoung(reachable, toVisit, young, s, v);
+        }
+        for (Value v : s.getClassLoaders()) {
+            addIfYoung(reachable, toVisit, young, s, v);
+        }
+        for (Value v : s.getMethodTypes()) {
+            addIfYoung(reachable, toVisit, young, s, v);
+        }
+        addIfYoung(reachable, toVisit, young, s, s.getMainThread());
+        addIfYoung(reachable, toVisit, young, s, s.getMainThreadGroup());
+        for (Value v : otherRoots) {
+            addIfYoung(reachable, toVisit, young, s, v);
+        }
+        
+        //closes reachable, visiting only the young objects
+        while (!toVisit.isEmpty()) {
+            final Objekt o = s.getObject(new ReferenceConcrete(toVisit.poll()));
+            addFieldsIfYoung(reachable, toVisit, young, s, o);
+        }
+        
+        return reachable;
+    }
+    
+    private void addFieldsIfYoung(Set<Long> reachable, ArrayDeque<Long> toVisit, Set<Long> young, State s, Objekt o) {
+        for (Variable var : o.fields().values()) {
+            addIfYoung(reachable, toVisit, young, s, var.getValue());
+        }
+        if (o instanceof Array) {
+            for (Array.AccessOutcomeIn entry : ((Array) o).values()) {
+                if (entry instanceof Array.AccessOutcomeInInitialArray) {
+                    addIfYoung(reachable, toVisit, young, s, ((Array.AccessOutcomeInInitialArray) entry).getInitialArray());
+                } else { //(entry instanceof Array.AccessOutcomeInValue) 
+                    addIfYoung(reachable, toVisit, young, s, ((Array.AccessOutcomeInValue) entry).getValue());
+                }
+            }
+        }
+    }
+    
+    private void addIfYoung(Set<Long> reachable, ArrayDeque<Long> toVisit, Set<Long> young, State s, Value v) {
+        if (v instanceof Reference && !(v instanceof ReferenceArrayImmaterial)) {
+            final Reference ref = (Reference) v;
+            if (s.isNull(ref)) {
+                return;
+            }
+            final long heapPosition;
+            if (ref instanceof ReferenceConcrete) {
+                heapPosition = ((ReferenceConcrete) ref).getHeapPosition();
+            } else if (s.resolved((ReferenceSymbolic) ref)) {
+                heapPosition = s.getResolution((ReferenceSymbolic) ref);
+            } else {
+                return;
+            }
+            if (young.contains(heapPosition) && reachable.add(heapPosition)) {
+                toVisit.add(heapPosition);
+            }
+        }
+    }
+    
     private void addIfReference(Set<Long> set, State s, Value v) {
         if (v instanceof Reference) {
             final Reference ref = (Reference) v;
@@ -2081,18 +2081,53 @@ public final class State implements Cloneable {
             return;
         }
 
+        final ReferenceConcrete retVal = createStringInstance(calc, stringLit);
+        this.stringLiterals.put(stringLit, retVal);
+    }
+
+    /**
+     * Creates an {@link Instance} of class {@code java.lang.String} 
+     * in this state's heap with some text, sidestepping the 
+     * constructors of {@code java.lang.String}. Differently from
+     * {@link #ensureStringLiteral(Calculator, String)} the created
+     * {@link Instance} is always a new one and is not interned, 
+     * so it can be used as the return value of the 
+     * {@code java.lang.String} methods that create a new 
+     * string. Does not manage the creation of the {@link Klass} 
+     * for {@code java.lang.String}.
+     * 
+     * @param calc a Calculator. It must not be {@code null}.
+     * @param value a {@link String}, the text of the created string.
+     * @return a {@link ReferenceConcrete} to the created {@link Instance}.
+     * @throws InvalidInputException if {@code calc == null || value == null}.
+     * @throws HeapMemoryExhaustedException if the heap is full.
+     * @throws FrozenStateException if the state is frozen.
+     */
+    public ReferenceConcrete createString(Calculator calc, String value) 
+    throws InvalidInputException, HeapMemoryExhaustedException, FrozenStateException {
+    	if (this.frozen) {
+    		throw new FrozenStateException();
+    	}
+        if (calc == null || value == null) {
+            throw new InvalidInputException("Invoked method " + getClass().getName() + ".createString with null Calculator calc or String value parameter.");
+        }
+        return createStringInstance(calc, value);
+    }
+
+    private ReferenceConcrete createStringInstance(Calculator calc, String value) 
+    throws HeapMemoryExhaustedException, FrozenStateException {
         try {
-            final ReferenceConcrete value = createArrayOfChars(calc, stringLit);
-            final Simplex hash = calc.valInt(stringLit.hashCode());
+            final ReferenceConcrete valueArray = createArrayOfChars(calc, value);
+            final Simplex hash = calc.valInt(value.hashCode());
             final ClassFile cf_JAVA_STRING = this.classHierarchy.getClassFileClassArray(CLASSLOADER_BOOT, JAVA_STRING);
             if (cf_JAVA_STRING == null) {
                 throw new UnexpectedInternalException("Could not find classfile for type java.lang.String.");
             }
             final ReferenceConcrete retVal = createInstance(calc, cf_JAVA_STRING);
             final Instance i = (Instance) getObject(retVal);
-            i.setFieldValue(JAVA_STRING_VALUE,  value);
+            i.setFieldValue(JAVA_STRING_VALUE,  valueArray);
             i.setFieldValue(JAVA_STRING_HASH,   hash);
-            this.stringLiterals.put(stringLit, retVal);
+            return retVal;
         } catch (InvalidInputException e) {
             //this should never happen
             throw new UnexpectedInternalException(e);
@@ -3950,6 +3985,47 @@ public final class State implements Cloneable {
         this.heap.disposeExcept(doNotDispose);
     }
     
+    /**
+     * Collects and disposes the unreachable young heap objects,
+     * i.e., the unreachable objects created since the last time
+     * this state was lazily cloned or young-collected. Differently
+     * from {@link #gc()} it does not trace the whole heap, but only
+     * the young objects, starting from the roots and from the old 
+     * objects that were modified since the last lazy cloning or
+     * young collection (the remembered set). The surviving young 
+     * objects become old. Unlike {@link #gc()} it does not dispose
+     * the young objects that are referred only by unreachable old
+     * objects.
+     * 
+     * @throws FrozenStateException if the state is frozen.
+     */
+    public void gcYoung() throws FrozenStateException {
+    	if (this.frozen) {
+    		throw new FrozenStateException();
+    	}
+        final Set<Long> young = this.heap.youngPositions();
+        if (young.isEmpty()) {
+            return;
+        }
+        final ArrayList<Objekt> remembered = new ArrayList<>(this.heap.rememberedObjects());
+        remembered.addAll(this.staticMethodArea.rememberedKlasses());
+        final ArrayList<Value> otherRoots = new ArrayList<>(this.linkInvokers.values());
+        otherRoots.addAll(this.linkAppendices.values());
+        final Set<Long> doNotDispose = new ReachableObjectsCollector().reachableYoung(this, young, remembered, otherRoots);
+        this.heap.disposeYoungExcept(doNotDispose);
+    }
+    
+    /**
+     * Returns the number of young heap objects, i.e., 
+     * of the objects created since the last time
+     * this state was lazily cloned or young-collected.
+     * 
+     * @return an {@code int}.
+     */
+    public int getYoungObjectsCount() {
+        return this.heap.getYoungSize();
+    }
+    
     /**
      * Getter for garbage collection.
      * 
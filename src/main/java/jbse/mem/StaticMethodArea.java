@@ -1,5 +1,6 @@
 package jbse.mem;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -82,6 +83,19 @@ final class StaticMethodArea implements Cloneable {
         return this.objects;
     }
     
+    /**
+     * Returns the {@link Klass}es that are stored in this
+     * static method area, but not in its delegate. Since 
+     * the delegate cannot change after the lazy cloning, 
+     * their static fields are the only ones that may refer
+     * to objects created after the lazy cloning.
+     * 
+     * @return a {@link Collection}{@code <}{@link Klass}{@code >}.
+     */
+    Collection<Klass> rememberedKlasses() {
+        return this.objects.values();
+    }
+
     StaticMethodArea lazyClone() {
     	final StaticMethodArea a;
     	try {
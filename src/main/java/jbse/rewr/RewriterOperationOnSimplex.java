@@ -29,6 +29,17 @@ public class RewriterOperationOnSimplex extends RewriterCalculatorRewriting {
     @Override
     protected void rewritePrimitiveSymbolicApply(PrimitiveSymbolicApply x) 
     throws NoResultException {
+        //if-then-else only needs the condition to be a Simplex
+        if (x.getOperator().equals(ITE)) {
+            final Value[] iteArgs = x.getArgs();
+            if (iteArgs[0] instanceof Simplex) {
+                setResult((Primitive) (((Simplex) iteArgs[0]).surelyTrue() ? iteArgs[1] : iteArgs[2]));
+            } else {
+                setResult(x);
+            }
+            return;
+        }
+        
         final int nargs = x.getArgs().length;
         final Object[] args = new Object[nargs];
         final char[] argsType = new char[nargs];
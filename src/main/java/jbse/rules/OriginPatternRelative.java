@@ -0,0 +1,252 @@
+package jbse.rules;
+
+import static jbse.rules.Util.ANY;
+import static jbse.rules.Util.REF;
+import static jbse.rules.Util.REFANY;
+import static jbse.rules.Util.REGEX_ALLCHARS;
+import static jbse.rules.Util.UP;
+import static jbse.rules.Util.findAny;
+import static jbse.rules.Util.makeOriginPatternAbsolute;
+import static jbse.rules.Util.makeOriginPatternRelative;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import jbse.val.OriginPath;
+import jbse.val.ReferenceSymbolic;
+
+/**
+ * A relative origin expression in a rule, compiled once
+ * so that it can be matched against many origins.
+ * Most relative expressions start with {$REF} or {$R_ANY},
+ * followed by some {UP}s and by an expression that does
+ * not depend on the origin (e.g., {$REF}.{UP}.{UP}.value).
+ * These are split into a prefix, that is calculated at
+ * every query by dropping the last access path steps of
+ * the origin (for {$REF}, by walking up its {@link OriginPath}), 
+ * and a suffix, that is compiled to a {@link Pattern} once. 
+ * All the other relative expressions are compiled as by 
+ * {@link Util#makeOriginPatternRelative(String, ReferenceSymbolic, Pattern)},
+ * and the compiled {@link Pattern}s are cached by origin.
+ */
+final class OriginPatternRelative {
+	/** The maximum number of compiled {@link Pattern}s in {@link #cache}. */
+	private static final int CACHE_SIZE = 1024;
+
+	/** The characters that are special in the translation of an origin to a pattern. */
+	private static final String SPECIAL_CHARS = "()*+?|^\\";
+
+	/** The relative origin expression. */
+	private final String originExpRelative;
+
+	/**
+	 * The placeholder the expression starts with ({@link Util#REF} or
+	 * {@link Util#REFANY}), or {@code null} if the expression does
+	 * not depend on the origin, or cannot be split.
+	 */
+	private final String placeholder;
+
+	/** The number of access path steps the prefix drops from the placeholder value. */
+	private final int ups;
+
+	/**
+	 * The pattern for the suffix, or for the whole expression if
+	 * it does not depend on the origin; {@code null} if the expression
+	 * cannot be split.
+	 */
+	private final Pattern suffixPattern;
+
+	/** 
+	 * Caches the patterns for the expressions that cannot be split.
+	 * Since the pattern that detects the {$R_ANY} is always the one
+	 * of the rule, the compiled pattern only depends on the origin.
+	 */
+	private final ConcurrentHashMap<OriginPath, Pattern> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 *
+	 * @param originExpRelative a {@link String}, the relative origin
+	 *        expression. It must not be {@code null}.
+	 */
+	OriginPatternRelative(String originExpRelative) {
+		this.originExpRelative = originExpRelative;
+
+		final String rest;
+		if (originExpRelative.startsWith(REF)) {
+			rest = originExpRelative.substring(REF.length());
+		} else if (originExpRelative.startsWith(REFANY)) {
+			rest = originExpRelative.substring(REFANY.length());
+		} else {
+			rest = null;
+		}
+
+		if (rest == null) {
+			if (originExpRelative.contains(REF) || originExpRelative.contains(REFANY) || originExpRelative.contains(UP)) {
+				this.placeholder = null;
+				this.ups = 0;
+				this.suffixPattern = null;
+			} else {
+				this.placeholder = null;
+				this.ups = 0;
+				this.suffixPattern = makeOriginPatternAbsolute(originExpRelative);
+			}
+			return;
+		}
+
+		//eats the {UP}s in rest, counting those
+		//that eat the value of the placeholder
+		final ArrayDeque<String> steps = new ArrayDeque<>();
+		int ups = 0;
+		boolean splittable = !rest.contains(REF) && !rest.contains(REFANY) && (rest.isEmpty() || rest.startsWith("."));
+		if (splittable && !rest.isEmpty()) {
+			for (String step : rest.substring(1).split("\\.", -1)) {
+				if (step.isEmpty()) {
+					splittable = false;
+					break;
+				} else if (UP.equals(step)) {
+					if (steps.isEmpty()) {
+						++ups;
+					} else {
+						steps.removeLast();
+					}
+				} else {
+					steps.addLast(step);
+				}
+			}
+		}
+		if (splittable) {
+			final StringBuilder suffix = new StringBuilder();
+			for (String step : steps) {
+				suffix.append('.').append(step);
+			}
+			this.placeholder = (originExpRelative.startsWith(REF) ? REF : REFANY);
+			this.ups = ups;
+			this.suffixPattern = makeOriginPatternAbsolute(suffix.toString());
+		} else {
+			this.placeholder = null;
+			this.ups = 0;
+			this.suffixPattern = null;
+		}
+	}
+
+	/**
+	 * Checks whether an origin matches this expression.
+	 *
+	 * @param origin a {@link ReferenceSymbolic}, the origin that
+	 *        all the occurrences of {$R_ANY} and {$REF} in
+	 *        the expression refer to.
+	 * @param originPattern a {@link Pattern} that is used to detect
+	 *        the {$R_ANY} in the expression, as in
+	 *        {@link Util#makeOriginPatternRelative(String, ReferenceSymbolic, Pattern)}.
+	 * @param candidate a {@link String}, the origin to be matched.
+	 * @return {@code true} iff {@code candidate} matches the
+	 *         expression.
+	 */
+	boolean matches(ReferenceSymbolic origin, Pattern originPattern, String candidate) {
+		if (this.suffixPattern != null && this.placeholder == null) {
+			//does not depend on origin
+			return this.suffixPattern.matcher(candidate).matches();
+		}
+
+		if (this.suffixPattern != null) {
+			final String prefix;
+			if (REF.equals(this.placeholder)) {
+				final OriginPath prefixPath = dropSteps(origin.asOriginPath(), this.ups);
+				prefix = (prefixPath == null ? null : literal(prefixPath.toString()));
+			} else {
+				final String value = findAny(originPattern, origin);
+				prefix = (value == null ? null : dropSteps(value, this.ups));
+			}
+			if (prefix != null) {
+				return candidate.startsWith(prefix) &&
+				       this.suffixPattern.matcher(candidate).region(prefix.length(), candidate.length()).matches();
+			}
+		}
+
+		//cannot split: compiles and caches
+		final OriginPath key = origin.asOriginPath();
+		Pattern p = this.cache.get(key);
+		if (p == null) {
+			p = makeOriginPatternRelative(this.originExpRelative, origin, originPattern);
+			if (this.cache.size() >= CACHE_SIZE) {
+				this.cache.clear();
+			}
+			this.cache.put(key, p);
+		}
+		return p.matcher(candidate).matches();
+	}
+
+	/**
+	 * Drops the last access path steps from an origin.
+	 *
+	 * @param value a {@link String}, an origin.
+	 * @param ups an {@code int}, the number of steps to drop.
+	 * @return {@code value} without its last {@code ups} steps, or
+	 *         {@code null} if {@code value} has not enough steps, or
+	 *         has empty steps, or has characters that make its
+	 *         translation to a {@link Pattern} not literal (in which
+	 *         cases the caller must fall back to compilation).
+	 */
+	private static String dropSteps(String value, int ups) {
+		int end = value.length();
+		for (int i = 0; i < ups; ++i) {
+			final int dot = value.lastIndexOf('.', end - 1);
+			if (dot < 0 || dot == end - 1) {
+				return null;
+			}
+			end = dot;
+		}
+		return literal(value.substring(0, end));
+	}
+
+	/**
+	 * Drops the last access path steps from an origin. Every
+	 * step dropped is a field step (one starting with {@code '.'}),
+	 * together with the array and map steps that follow it, 
+	 * as {@link #dropSteps(String, int)} does on origin strings.
+	 *
+	 * @param path an {@link OriginPath}.
+	 * @param ups an {@code int}, the number of steps to drop.
+	 * @return the ancestor of {@code path} without its last 
+	 *         {@code ups} steps, or {@code null} if {@code path} 
+	 *         has not enough steps.
+	 */
+	private static OriginPath dropSteps(OriginPath path, int ups) {
+		OriginPath retVal = path;
+		for (int i = 0; i < ups; ++i) {
+			boolean droppedField = false;
+			while (!droppedField) {
+				if (retVal.getParent() == null) {
+					return null;
+				}
+				droppedField = retVal.getStep().startsWith(".");
+				retVal = retVal.getParent();
+			}
+		}
+		return retVal;
+	}
+
+	/**
+	 * Checks that the translation of a prefix to a {@link Pattern} 
+	 * is literal.
+	 *
+	 * @param prefix a {@link String}.
+	 * @return {@code prefix}, or {@code null} if it has characters 
+	 *         that make its translation to a {@link Pattern} not 
+	 *         literal (in which case the caller must fall back to 
+	 *         compilation).
+	 */
+	private static String literal(String prefix) {
+		for (int i = 0; i < prefix.length(); ++i) {
+			if (SPECIAL_CHARS.indexOf(prefix.charAt(i)) >= 0) {
+				return null;
+			}
+		}
+		if (prefix.contains(ANY) || prefix.contains(REGEX_ALLCHARS)) {
+			return null;
+		}
+		return prefix;
+	}
+}
@@ -12,6 +12,9 @@ import jbse.mem.Klass;
 public final class KlassPseudoReference extends ReferenceSymbolic {
     private final ClassFile classFile;
     
+    /** The origin access path. */
+    private final OriginPath originPath;
+    
     /**
      * Constructor.
      * 
@@ -26,6 +29,7 @@ public final class KlassPseudoReference extends ReferenceSymbolic {
             throw new InvalidInputException("Attempted to build a KlassPseudoReference with null classFile.");
     	}
     	this.classFile = classFile;
+    	this.originPath = OriginPath.root("[" + classFile.getClassName() + "]");
     }
     
     public ClassFile getClassFile() {
@@ -34,7 +38,12 @@ public final class KlassPseudoReference extends ReferenceSymbolic {
     
     @Override
     public String asOriginString() {
-        return "[" + this.classFile.getClassName() + "]";
+        return this.originPath.toString();
+    }
+
+    @Override
+    public OriginPath asOriginPath() {
+        return this.originPath;
     }
 
     @Override
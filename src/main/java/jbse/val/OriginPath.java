@@ -0,0 +1,201 @@
+package jbse.val;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+
+/**
+ * The origin of a {@link Symbolic} as an access path, i.e.,
+ * a root followed by a sequence of steps (fields, array
+ * elements, array lengths, hash codes...). Access paths
+ * are interned: Two access paths are equal iff they are
+ * the same object, so they can be compared, hashed and
+ * tested for prefixes without building or comparing
+ * {@link String}s. The {@link #toString()} of an access path
+ * is the {@link Symbolic#asOriginString() origin string}
+ * of the symbols with that origin. Access paths are interned
+ * weakly: An access path is forgotten as soon as neither a
+ * symbol nor a longer access path refers to it.
+ */
+public final class OriginPath {
+    /**
+     * A table of weakly interned access paths. 
+     */
+    private static final class InternTable {
+        private static final class Entry extends WeakReference<OriginPath> {
+            private final String key;
+
+            Entry(String key, OriginPath path, ReferenceQueue<OriginPath> queue) {
+                super(path, queue);
+                this.key = key;
+            }
+        }
+
+        private final HashMap<String, Entry> entries = new HashMap<>();
+        private final ReferenceQueue<OriginPath> queue = new ReferenceQueue<>();
+
+        synchronized OriginPath intern(OriginPath parent, String step) {
+            expunge();
+            final Entry entry = this.entries.get(step);
+            OriginPath retVal = (entry == null ? null : entry.get());
+            if (retVal == null) {
+                retVal = new OriginPath(parent, step);
+                this.entries.put(step, new Entry(step, retVal, this.queue));
+            }
+            return retVal;
+        }
+
+        private void expunge() {
+            for (Reference<? extends OriginPath> r = this.queue.poll(); r != null; r = this.queue.poll()) {
+                final Entry entry = (Entry) r;
+                if (this.entries.get(entry.key) == entry) {
+                    this.entries.remove(entry.key);
+                }
+            }
+        }
+    }
+
+    /** The interned roots. */
+    private static final InternTable ROOTS = new InternTable();
+
+    /** The parent access path, {@code null} for roots. */
+    private final OriginPath parent;
+
+    /**
+     * The text of the last step (for roots, of the root),
+     * as it appears in the origin string.
+     */
+    private final String step;
+
+    /** The number of steps from the root. */
+    private final int depth;
+
+    /** The hash code of this object. */
+    private final int hashCode;
+
+    /** The interned children of this access path, lazily created. */
+    private InternTable children;
+
+    /** The origin string, lazily calculated. */
+    private String toString;
+
+    private OriginPath(OriginPath parent, String step) {
+        this.parent = parent;
+        this.step = step;
+        this.depth = (parent == null ? 0 : parent.depth + 1);
+        this.hashCode = (parent == null ? 0 : 31 * parent.hashCode) + step.hashCode();
+        this.toString = (parent == null ? step : null);
+    }
+
+    /**
+     * Returns the access path of a root.
+     *
+     * @param root a {@link String}, the origin string of
+     *        the root. It must not be {@code null}.
+     * @return the (interned) {@link OriginPath} for {@code root}.
+     */
+    public static OriginPath root(String root) {
+        return ROOTS.intern(null, root);
+    }
+
+    /**
+     * Returns the access path obtained by appending
+     * a step to this access path.
+     *
+     * @param step a {@link String}, the text of the step
+     *        as it appears in the origin string (e.g.,
+     *        {@code ".length"}). It must not be {@code null}.
+     * @return the (interned) {@link OriginPath} for {@code step}.
+     */
+    public OriginPath step(String step) {
+        InternTable children;
+        synchronized (this) {
+            if (this.children == null) {
+                this.children = new InternTable();
+            }
+            children = this.children;
+        }
+        return children.intern(this, step);
+    }
+
+    /**
+     * Returns the parent of this access path.
+     *
+     * @return an {@link OriginPath}, or {@code null}
+     *         if this access path is a root.
+     */
+    public OriginPath getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Returns the text of the last step of this
+     * access path.
+     *
+     * @return a {@link String}; if this access path is
+     *         a root, it is its origin string.
+     */
+    public String getStep() {
+        return this.step;
+    }
+
+    /**
+     * Returns the number of steps of this access path.
+     *
+     * @return an {@code int}, {@code 0} for roots.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Returns the root of this access path.
+     *
+     * @return an {@link OriginPath}.
+     */
+    public OriginPath getRoot() {
+        OriginPath retVal = this;
+        while (retVal.parent != null) {
+            retVal = retVal.parent;
+        }
+        return retVal;
+    }
+
+    /**
+     * Checks whether an access path is a prefix of
+     * this access path.
+     *
+     * @param prefix an {@link OriginPath}. It must
+     *        not be {@code null}.
+     * @return {@code true} iff {@code prefix} is this
+     *         access path or one of its ancestors.
+     */
+    public boolean hasPrefix(OriginPath prefix) {
+        if (prefix.depth > this.depth) {
+            return false;
+        }
+        OriginPath current = this;
+        for (int i = this.depth; i > prefix.depth; --i) {
+            current = current.parent;
+        }
+        return (current == prefix);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+
+    //equals is identity, since access paths are interned
+
+    @Override
+    public String toString() {
+        String retVal = this.toString;
+        if (retVal == null) {
+            retVal = this.parent.toString() + this.step;
+            this.toString = retVal;
+        }
+        return retVal;
+    }
+}
@@ -102,6 +102,15 @@ public final class PrimitiveSymbolicApply extends PrimitiveSymbolicComputed impl
     /** Maximum (long) */
     public static final String MAX_LONG = JAVA_STRICTMATH_MAX_LONG.toString();
     
+    //pure functions implemented by JBSE
+    
+    /** 
+     * If-then-else: its first argument is a boolean condition, 
+     * its second and third arguments are the values when the 
+     * condition is respectively true and false. 
+     */
+    public static final String ITE = "ite";
+    
     /** The function name. */
 	private final String operator;
 	
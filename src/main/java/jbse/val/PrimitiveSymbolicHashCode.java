@@ -19,6 +19,9 @@ public final class PrimitiveSymbolicHashCode extends PrimitiveSymbolicAtomic {
      */
     private final ReferenceSymbolic container;
     
+    /** The origin access path, lazily calculated. */
+    private OriginPath originPath;
+    
 	/** The hash code of this object. */
     private final int hashCode;
 
@@ -68,7 +71,16 @@ public final class PrimitiveSymbolicHashCode extends PrimitiveSymbolicAtomic {
 
     @Override
     public String asOriginString() {
-        return (this.container == null ? historyPoint().toString() : this.container.asOriginString()) + ".<identityHashCode>";
+        return asOriginPath().toString();
+    }
+
+    @Override
+    public OriginPath asOriginPath() {
+    	//benign race: access paths are interned
+    	if (this.originPath == null) {
+    		this.originPath = (this.container == null ? OriginPath.root(historyPoint().toString()) : this.container.asOriginPath()).step(".<identityHashCode>");
+    	}
+    	return this.originPath;
     }
 
 	@Override
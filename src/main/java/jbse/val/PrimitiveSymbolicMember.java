@@ -9,6 +9,9 @@ import jbse.val.exc.InvalidTypeException;
  */
 public abstract class PrimitiveSymbolicMember extends PrimitiveSymbolicAtomic implements SymbolicMember {
     private final ReferenceSymbolic container;
+    
+    /** The origin access path, lazily calculated. */
+    private OriginPath originPath;
 
     /**
      * Constructor.
@@ -32,4 +35,13 @@ public abstract class PrimitiveSymbolicMember extends PrimitiveSymbolicAtomic im
     public final ReferenceSymbolic getContainer() {
         return this.container;
     }
+    
+    @Override
+    public final OriginPath asOriginPath() {
+    	//benign race: access paths are interned
+    	if (this.originPath == null) {
+    		this.originPath = SymbolicMember.super.asOriginPath();
+    	}
+    	return this.originPath;
+    }
 }
\ No newline at end of file
@@ -33,7 +33,7 @@ public final class PrimitiveSymbolicMemberArray extends PrimitiveSymbolicMember
     	}
     	
     	this.index = index;
-    	this.originString = getContainer().asOriginString() + "[" + (this.index.isSymbolic() ? ((Symbolic) this.index).asOriginString() : this.index.toString()) + "]";
+    	this.originString = getContainer().asOriginString() + asOriginStep();
 
     	//calculates hashCode
 		final int prime = 2003;
@@ -53,6 +53,11 @@ public final class PrimitiveSymbolicMemberArray extends PrimitiveSymbolicMember
         return this.originString;
     }
 
+    @Override
+    public String asOriginStep() {
+        return "[" + (this.index.isSymbolic() ? ((Symbolic) this.index).asOriginString() : this.index.toString()) + "]";
+    }
+
 	@Override
 	public int hashCode() {
 		return this.hashCode;
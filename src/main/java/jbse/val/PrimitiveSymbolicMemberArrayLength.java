@@ -30,7 +30,7 @@ public final class PrimitiveSymbolicMemberArrayLength extends PrimitiveSymbolicM
     PrimitiveSymbolicMemberArrayLength(ReferenceSymbolic container, int id) 
     throws InvalidTypeException, InvalidInputException {
     	super(container, id, INT);
-    	this.originString = getContainer().asOriginString() + ".length";
+    	this.originString = getContainer().asOriginString() + asOriginStep();
 
     	//calculates hashCode
 		final int prime = 2357;
@@ -43,6 +43,11 @@ public final class PrimitiveSymbolicMemberArrayLength extends PrimitiveSymbolicM
     public String asOriginString() {
         return this.originString;
     }
+
+    @Override
+    public String asOriginStep() {
+        return ".length";
+    }
     
     @Override
     public int hashCode() {
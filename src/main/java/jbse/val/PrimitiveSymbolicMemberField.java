@@ -38,7 +38,7 @@ public final class PrimitiveSymbolicMemberField extends PrimitiveSymbolicMember
         }
         this.fieldName = fieldName;
         this.fieldClass = fieldClass;
-        this.asOriginString = getContainer().asOriginString() + "." + this.fieldClass + ":" + this.fieldName;
+        this.asOriginString = getContainer().asOriginString() + asOriginStep();
 
         //calculates hashCode
         final int prime = 7211;
@@ -64,6 +64,11 @@ public final class PrimitiveSymbolicMemberField extends PrimitiveSymbolicMember
         return this.asOriginString;
     }
 
+    @Override
+    public String asOriginStep() {
+        return "." + this.fieldClass + ":" + this.fieldName;
+    }
+
     @Override
     public int hashCode() {
         return this.hashCode;
@@ -13,6 +13,9 @@ public abstract class ReferenceSymbolicMember extends ReferenceSymbolicAtomic im
 	 * this symbol originates from. 
 	 */
     private final ReferenceSymbolic container;
+    
+    /** The origin access path, lazily calculated. */
+    private OriginPath originPath;
 
     /**
      * Constructor.
@@ -42,6 +45,15 @@ public abstract class ReferenceSymbolicMember extends ReferenceSymbolicAtomic im
         return this.container;
     }
     
+    @Override
+    public final OriginPath asOriginPath() {
+    	//benign race: access paths are interned
+    	if (this.originPath == null) {
+    		this.originPath = SymbolicMember.super.asOriginPath();
+    	}
+    	return this.originPath;
+    }
+    
     //these disambiguate the excessively complex hierarchy 
     
     @Override
@@ -44,7 +44,7 @@ public final class ReferenceSymbolicMemberArray extends ReferenceSymbolicMember
     	}
     	
     	this.index = index;
-    	this.asOriginString = getContainer().asOriginString() + "[" + (this.index.isSymbolic() ? ((Symbolic) this.index).asOriginString() : this.index.toString()) + "]";
+    	this.asOriginString = getContainer().asOriginString() + asOriginStep();
 
     	//calculates hashCode
 		final int prime = 677;
@@ -64,6 +64,11 @@ public final class ReferenceSymbolicMemberArray extends ReferenceSymbolicMember
         return this.asOriginString;
     }
 
+    @Override
+    public String asOriginStep() {
+        return "[" + (this.index.isSymbolic() ? ((Symbolic) this.index).asOriginString() : this.index.toString()) + "]";
+    }
+
 	@Override
 	public int hashCode() {
 		return this.hashCode;
@@ -56,7 +56,7 @@ public final class ReferenceSymbolicMemberField extends ReferenceSymbolicMember
         }
         this.fieldName = fieldName;
         this.fieldClass = fieldClass;
-        this.asOriginString = getContainer().asOriginString() + "." + this.fieldClass + ":" + this.fieldName;
+        this.asOriginString = getContainer().asOriginString() + asOriginStep();
 
         //calculates hashCode
         final int prime = 3671;
@@ -82,6 +82,11 @@ public final class ReferenceSymbolicMemberField extends ReferenceSymbolicMember
         return this.asOriginString;
     }
 
+    @Override
+    public String asOriginStep() {
+        return "." + this.fieldClass + ":" + this.fieldName;
+    }
+
     @Override
     public int hashCode() {
         return this.hashCode;
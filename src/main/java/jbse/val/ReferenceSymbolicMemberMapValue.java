@@ -47,7 +47,7 @@ public final class ReferenceSymbolicMemberMapValue extends ReferenceSymbolicMemb
     	
     	this.key = key;
     	this.historyPoint = historyPoint;
-    	this.asOriginString = getContainer().asOriginString() + "::GET(" + (this.key.isSymbolic() ? ((Symbolic) this.key).asOriginString() : this.key.toString()) + "@" + historyPoint.toString() + ")";
+    	this.asOriginString = getContainer().asOriginString() + asOriginStep();
 
     	//calculates hashCode
 		final int prime = 131071;
@@ -80,6 +80,11 @@ public final class ReferenceSymbolicMemberMapValue extends ReferenceSymbolicMemb
     public String asOriginString() {
         return this.asOriginString;
     }
+
+    @Override
+    public String asOriginStep() {
+        return "::GET(" + (this.key.isSymbolic() ? ((Symbolic) this.key).asOriginString() : this.key.toString()) + "@" + this.historyPoint.toString() + ")";
+    }
     
     @Override
     public int hashCode() {
@@ -26,6 +26,19 @@ public interface Symbolic {
      */
     String asOriginString();
     
+    /**
+     * Returns the origin of this symbol
+     * as an access path.
+     * 
+     * @return an {@link OriginPath} whose 
+     *         {@link OriginPath#toString() toString()}
+     *         is {@link #asOriginString()}. By default
+     *         it is a root.
+     */
+    default OriginPath asOriginPath() {
+    	return OriginPath.root(asOriginString());
+    }
+    
     /**
      * Returns the {@link HistoryPoint} of
      * creation of this symbol.
@@ -18,6 +18,21 @@ public interface SymbolicMember extends SymbolicAtomic {
      *         this symbol was originally a member. 
      */
     ReferenceSymbolic getContainer();
+    
+    /**
+     * Returns the text this symbol appends to the 
+     * origin of its container in its origin string.
+     * 
+     * @return a {@link String} such that 
+     *         {@link #asOriginString()}{@code .equals(}{@link #getContainer()}{@code .}{@link #asOriginString()}{@code  + }{@link #asOriginStep()}{@code )}
+     *         (e.g., {@code ".length"}). 
+     */
+    String asOriginStep();
+
+    @Override
+    default OriginPath asOriginPath() {
+    	return getContainer().asOriginPath().step(asOriginStep());
+    }
 
     @Override
     default ReferenceSymbolic root() {
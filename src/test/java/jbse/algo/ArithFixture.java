@@ -0,0 +1,63 @@
+package jbse.algo;
+
+import static jbse.bc.ClassLoaders.CLASSLOADER_APP;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import jbse.bc.ClassFile;
+import jbse.bc.ClassFileFactoryJavassist;
+import jbse.bc.Classpath;
+import jbse.bc.Signature;
+import jbse.mem.State;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.tree.StateTree;
+import jbse.tree.StateTree.BreadthMode;
+import jbse.tree.StateTree.StateIdentificationMode;
+import jbse.val.HistoryPoint;
+import jbse.val.SymbolFactory;
+import jbse.val.Value;
+
+/**
+ * The fixture of the tests whose methods under analysis are
+ * in {@code arith/Arith} (see {@code src/test/resources/jbse/algo/testdata}):
+ * A post-initial {@link State} where {@code arith/Arith} is loaded,
+ * and a {@link CalculatorRewriting} that simplifies the operations
+ * on concrete values.
+ */
+final class ArithFixture {
+    /** The name of the class with the methods under analysis. */
+    static final String ARITH = "arith/Arith";
+
+    final CalculatorRewriting calc;
+    final HistoryPoint historyPoint;
+    final State state;
+    final ClassFile cf;
+
+    ArithFixture() throws Exception {
+        this.calc = new CalculatorRewriting();
+        this.calc.addRewriter(new RewriterOperationOnSimplex());
+        final StateTree tree = new StateTree(StateIdentificationMode.COMPACT, BreadthMode.MORE_THAN_ONE);
+        this.historyPoint = tree.getPreInitialHistoryPoint().startingInitial();
+        this.state = new State(true, this.historyPoint, 100, 100, new Classpath(Paths.get("."), Paths.get("."), Collections.emptyList(), Collections.emptyList()), ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap(), new SymbolFactory());
+        this.state.setPhasePostInitial();
+        final byte[] bytecode = Files.readAllBytes(Paths.get("src/test/resources/jbse/algo/testdata/arith/Arith.class"));
+        this.cf = this.state.getClassHierarchy().createClassFileClassDummy(CLASSLOADER_APP, ARITH, bytecode);
+    }
+
+    /**
+     * Pushes a frame for a static method of {@code arith/Arith}.
+     *
+     * @param name the name of the method.
+     * @param descriptor the descriptor of the method.
+     * @param pc the program counter the frame must be set to.
+     * @param args the actual parameters of the method.
+     * @throws Exception if something goes wrong.
+     */
+    void enter(String name, String descriptor, int pc, Value... args) throws Exception {
+        this.state.pushFrame(this.calc, this.cf, new Signature(ARITH, descriptor, name), true, 0, args);
+        this.state.setProgramCounter(pc);
+    }
+}
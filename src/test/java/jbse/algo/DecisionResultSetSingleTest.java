@@ -0,0 +1,55 @@
+package jbse.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SortedSet;
+
+import org.junit.Test;
+
+import jbse.tree.DecisionAlternative_NONE;
+
+/**
+ * Tests for {@link DecisionResultSetSingle}.
+ */
+public class DecisionResultSetSingleTest {
+    private static final DecisionAlternative_NONE ALT = DecisionAlternative_NONE.instance();
+
+    private static DecisionResultSetSingle<DecisionAlternative_NONE> newSet() {
+        return new DecisionResultSetSingle<>((a, b) -> 0);
+    }
+
+    @Test
+    public void testAddAndReuse() {
+        final DecisionResultSetSingle<DecisionAlternative_NONE> set = newSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(ALT));
+        assertFalse(set.add(ALT));
+        assertEquals(1, set.size());
+        assertSame(ALT, set.first());
+        assertSame(ALT, set.last());
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(ALT));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddDifferentAlternative() {
+        final DecisionResultSetSingle<DecisionAlternative_NONE> set = new DecisionResultSetSingle<>((a, b) -> 1);
+        set.add(ALT);
+        set.add(ALT);
+    }
+
+    @Test
+    public void testRanges() {
+        final DecisionResultSetSingle<DecisionAlternative_NONE> set = newSet();
+        set.add(ALT);
+        assertTrue(set.subSet(ALT, ALT).isEmpty());
+        assertTrue(set.headSet(ALT).isEmpty());
+        final SortedSet<DecisionAlternative_NONE> tail = set.tailSet(ALT);
+        assertEquals(1, tail.size());
+        assertTrue(tail.contains(ALT));
+    }
+}
@@ -0,0 +1,214 @@
+package jbse.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jbse.dec.DecisionProcedureAlwSat;
+import jbse.mem.State;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterPolynomials;
+import jbse.val.Expression;
+import jbse.val.Operator;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.Rewriter;
+import jbse.val.Term;
+import jbse.val.Value;
+import jbse.val.exc.InvalidOperandException;
+import jbse.val.exc.InvalidOperatorException;
+import jbse.val.exc.InvalidTypeException;
+import jbse.val.exc.NoResultException;
+
+/**
+ * Tests for {@link LoopSummarizer}. The methods under analysis are
+ * in {@code arith/Arith} (see {@code src/test/resources/jbse/algo/testdata}).
+ * The closed forms are checked by replacing the symbols, and the
+ * number of iterations, with concrete values.
+ */
+public class LoopSummarizerTest {
+    /**
+     * A {@link Rewriter} that replaces the terms and the
+     * number of iterations with concrete values, and 
+     * evaluates the resulting expressions.
+     */
+    private final class Evaluation extends Rewriter {
+        private final HashMap<Term, Primitive> binding;
+        private final Primitive iterations;
+
+        Evaluation(HashMap<Term, Primitive> binding, Primitive iterations) {
+            this.binding = binding;
+            this.iterations = iterations;
+        }
+
+        @Override
+        protected void rewriteTerm(Term x) throws NoResultException {
+            final Primitive value = this.binding.get(x);
+            setResult(value == null ? x : value);
+        }
+
+        @Override
+        protected void rewritePrimitiveSymbolicApply(PrimitiveSymbolicApply x) throws NoResultException {
+            if (x.getOperator().contains("loopCount_")) {
+                setResult(this.iterations);
+            } else {
+                super.rewritePrimitiveSymbolicApply(x);
+            }
+        }
+
+        @Override
+        protected void rewriteExpression(Expression x) throws NoResultException {
+            try {
+                if (x.isUnary()) {
+                    setResult(LoopSummarizerTest.this.calc.push(rewrite(x.getOperand())).applyUnary(x.getOperator()).pop());
+                } else {
+                    setResult(LoopSummarizerTest.this.calc.push(rewrite(x.getFirstOperand())).applyBinary(x.getOperator(), rewrite(x.getSecondOperand())).pop());
+                }
+            } catch (InvalidOperandException | InvalidTypeException | InvalidOperatorException e) {
+                throw new NoResultException(e);
+            }
+        }
+    }
+
+    private ArithFixture fixture;
+    private CalculatorRewriting calc;
+    private CalculatorRewriting calcPoly;
+    private State state;
+    private final HashMap<Term, Primitive> binding = new HashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        this.fixture = new ArithFixture();
+        this.calc = this.fixture.calc;
+        this.calcPoly = new CalculatorRewriting(this.calc);
+        this.calcPoly.addRewriter(new RewriterPolynomials());
+        this.state = this.fixture.state;
+    }
+
+    private void enter(String name, String descriptor, int pc, Value... args) throws Exception {
+        this.fixture.enter(name, descriptor, pc, args);
+    }
+
+    private Term term(String name, int value) throws InvalidTypeException {
+        final Term retVal = this.calc.valTerm('I', name);
+        this.binding.put(retVal, this.calc.valInt(value));
+        return retVal;
+    }
+
+    private LoopSummarizer.Summary summarize(Operator operator, Primitive first, Primitive second, int jumpOffset) throws Exception {
+        return summarize(operator, first, second, jumpOffset, true);
+    }
+
+    private LoopSummarizer.Summary summarize(Operator operator, Primitive first, Primitive second, int jumpOffset, boolean nonlinear) throws Exception {
+        return LoopSummarizer.summarize(this.state, this.calc, this.calcPoly, new DecisionProcedureAlwSat(this.calc),
+                                        operator, new Primitive[] { first, second }, 2, jumpOffset, nonlinear);
+    }
+
+    private Primitive eval(Primitive p, int iterations) throws NoResultException {
+        return Rewriter.applyRewriters(p, new Evaluation(this.binding, this.calc.valInt(iterations)));
+    }
+
+    private void assertIterations(LoopSummarizer.Summary summary, int iterations) throws NoResultException {
+        assertEquals(this.calc.valBoolean(true), eval(summary.assumption, iterations));
+        assertEquals(this.calc.valBoolean(false), eval(summary.assumption, iterations - 1));
+        assertEquals(this.calc.valBoolean(false), eval(summary.assumption, iterations + 1));
+    }
+
+    @Test
+    public void testTopTested() throws Exception {
+        //4: iload_2; iload_0; 6: if_icmpge 18; 9: iinc 1 2; iinc 2 1; 15: goto 4; 18: iload_1; ireturn
+        final Term n = term("n", 4);
+        final Term s = term("s", 5);
+        final Term i = term("i", 1);
+        enter("loop", "(I)I", 6, n);
+        this.state.setLocalVariable(1, s);
+        this.state.setLocalVariable(2, i);
+        final LoopSummarizer.Summary summary = summarize(Operator.GE, i, n, 12);
+        assertNotNull(summary);
+        assertEquals(12, summary.offset);
+        assertIterations(summary, 3);
+        assertEquals(this.calc.valInt(11), eval(summary.locals.get(1), 3));
+        assertEquals(this.calc.valInt(4), eval(summary.locals.get(2), 3));
+    }
+
+    @Test
+    public void testBottomTested() throws Exception {
+        //4: iinc 2 3; iinc 1 1; iload_1; iload_0; 12: if_icmplt 4
+        //(the first iteration has already been executed)
+        final Term n = term("n", 4);
+        final Term i = term("i", 1);
+        final Term s = term("s", 3);
+        enter("doWhile", "(I)I", 12, n);
+        this.state.setLocalVariable(1, i);
+        this.state.setLocalVariable(2, s);
+        final LoopSummarizer.Summary summary = summarize(Operator.LT, i, n, -8);
+        assertNotNull(summary);
+        assertIterations(summary, 3);
+        assertEquals(this.calc.valInt(4), eval(summary.locals.get(1), 3));
+        assertEquals(this.calc.valInt(12), eval(summary.locals.get(2), 3));
+    }
+
+    @Test
+    public void testDerivedInductionVariable() throws Exception {
+        //s += i; ++i: s is a derived induction variable, whose
+        //closed form is quadratic in the number of iterations
+        final Term n = term("n", 5);
+        final Term s = term("s", 10);
+        final Term i = term("i", 1);
+        enter("triangular", "(I)I", 6, n);
+        this.state.setLocalVariable(1, s);
+        this.state.setLocalVariable(2, i);
+        final LoopSummarizer.Summary summary = summarize(Operator.GE, i, n, 13);
+        assertNotNull(summary);
+        assertIterations(summary, 4);
+        assertEquals(this.calc.valInt(20), eval(summary.locals.get(1), 4)); //10 + 1 + 2 + 3 + 4
+        assertEquals(this.calc.valInt(5), eval(summary.locals.get(2), 4));
+    }
+
+    @Test
+    public void testWithoutNonlinearArithmetic() throws Exception {
+        //the closed forms of loop are linear, those of
+        //triangular have a quadratic term
+        final Term n = term("n", 5);
+        final Term s = term("s", 10);
+        final Term i = term("i", 1);
+        enter("loop", "(I)I", 6, n);
+        this.state.setLocalVariable(1, s);
+        this.state.setLocalVariable(2, i);
+        assertNotNull(summarize(Operator.GE, i, n, 12, false));
+        enter("triangular", "(I)I", 6, n);
+        this.state.setLocalVariable(1, s);
+        this.state.setLocalVariable(2, i);
+        assertNull(summarize(Operator.GE, i, n, 13, false));
+    }
+
+    @Test
+    public void testNonlinearUpdateIsNotSummarized() throws Exception {
+        //s = s * 2: not an induction variable
+        final Term n = term("n", 4);
+        final Term s = term("s", 1);
+        final Term i = term("i", 0);
+        enter("geometric", "(I)I", 6, n);
+        this.state.setLocalVariable(1, s);
+        this.state.setLocalVariable(2, i);
+        assertNull(summarize(Operator.GE, i, n, 13));
+    }
+
+    @Test
+    public void testNonterminatingIsNotSummarized() throws Exception {
+        //i < n with i incremented: the loop terminates if it
+        //continues while i >= n, that is never
+        final Term n = term("n", 4);
+        final Term s = term("s", 0);
+        final Term i = term("i", 0);
+        enter("loop", "(I)I", 6, n);
+        this.state.setLocalVariable(1, s);
+        this.state.setLocalVariable(2, i);
+        assertNull(summarize(Operator.LT, i, n, 12));
+    }
+}
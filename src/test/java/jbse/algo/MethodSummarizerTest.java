@@ -0,0 +1,219 @@
+package jbse.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jbse.bc.ClassFile;
+import jbse.bc.Signature;
+import jbse.dec.DecisionProcedureAlwSat;
+import jbse.rewr.CalculatorRewriting;
+import jbse.val.Calculator;
+import jbse.val.Expression;
+import jbse.val.HistoryPoint;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.Rewriter;
+import jbse.val.Term;
+import jbse.val.Value;
+import jbse.val.exc.NoResultException;
+
+/**
+ * Tests for {@link MethodSummarizer}. The methods under analysis are
+ * in {@code arith/Arith} (see {@code src/test/resources/jbse/algo/testdata}).
+ */
+public class MethodSummarizerTest {
+    private static final String ARITH = ArithFixture.ARITH;
+
+    /**
+     * A {@link DecisionProcedureAlwSat} for which some
+     * expressions are unsatisfiable.
+     */
+    private static final class DecisionProcedureUnsat extends DecisionProcedureAlwSat {
+        final HashSet<Expression> unsat = new HashSet<>();
+        int queries = 0;
+
+        DecisionProcedureUnsat(Calculator calc) {
+            super(calc);
+        }
+
+        @Override
+        public boolean isSat(Expression expression) {
+            ++this.queries;
+            return !this.unsat.contains(expression);
+        }
+    }
+
+    /**
+     * A {@link Rewriter} that replaces the placeholders
+     * of a summary with values.
+     */
+    private static final class Binding extends Rewriter {
+        private final HashMap<Term, Primitive> binding = new HashMap<>();
+
+        Binding(MethodSummarizer.Summary summary, Primitive... args) {
+            for (int i = 0; i < args.length; ++i) {
+                this.binding.put(summary.params[i], args[i]);
+            }
+        }
+
+        @Override
+        protected void rewriteTerm(Term x) throws NoResultException {
+            final Primitive value = this.binding.get(x);
+            setResult(value == null ? x : value);
+        }
+    }
+
+    private CalculatorRewriting calc;
+    private DecisionProcedureUnsat dec;
+    private HistoryPoint historyPoint;
+    private ClassFile cf;
+
+    @Before
+    public void setUp() throws Exception {
+        final ArithFixture fixture = new ArithFixture();
+        this.calc = fixture.calc;
+        this.dec = new DecisionProcedureUnsat(this.calc);
+        this.historyPoint = fixture.historyPoint;
+        this.cf = fixture.cf;
+    }
+
+    private MethodSummarizer.Summary summarize(String name, String descriptor) {
+        return MethodSummarizer.summarize(this.calc, this.cf, new Signature(ARITH, descriptor, name));
+    }
+
+    private Primitive instantiate(MethodSummarizer.Summary summary, Value... args) throws Exception {
+        return summary.instantiate(this.calc, this.dec, this.historyPoint, args, new MethodSummarizer.CallSite());
+    }
+
+    private Primitive bind(MethodSummarizer.Summary summary, Primitive p, Primitive... args) throws Exception {
+        return this.calc.simplify(Rewriter.applyRewriters(p, new Binding(summary, args)));
+    }
+
+    private static boolean isIte(Value value) {
+        return (value instanceof PrimitiveSymbolicApply && PrimitiveSymbolicApply.ITE.equals(((PrimitiveSymbolicApply) value).getOperator()));
+    }
+
+    @Test
+    public void testAbsConcrete() throws Exception {
+        //0: iload_0; 1: ifge 9; 4: iload_0; ineg; 6: goto 10; 9: iload_0; 10: ireturn
+        final MethodSummarizer.Summary summary = summarize("abs", "(I)I");
+        assertNotNull(summary);
+        assertEquals(2, summary.conditions.size());
+        assertEquals(this.calc.valInt(5), instantiate(summary, this.calc.valInt(-5)));
+        assertEquals(this.calc.valInt(7), instantiate(summary, this.calc.valInt(7)));
+    }
+
+    @Test
+    public void testAbsSymbolic() throws Exception {
+        final MethodSummarizer.Summary summary = summarize("abs", "(I)I");
+        final Term x = this.calc.valTerm('I', "x");
+        final Primitive result = instantiate(summary, x);
+        assertTrue(isIte(result));
+        final Value[] args = ((PrimitiveSymbolicApply) result).getArgs();
+        assertTrue(args[1].equals(x) || args[2].equals(x));
+        assertTrue(args[1].equals(this.calc.push(x).neg().pop()) || args[2].equals(this.calc.push(x).neg().pop()));
+    }
+
+    @Test
+    public void testClampConcrete() throws Exception {
+        //0: iload_0; iload_1; 2: if_icmpge 7; 5: iload_1; ireturn;
+        //7: iload_0; iload_2; 9: if_icmple 14; 12: iload_2; ireturn; 14: iload_0; ireturn
+        final MethodSummarizer.Summary summary = summarize("clamp", "(III)I");
+        assertNotNull(summary);
+        assertEquals(3, summary.conditions.size());
+        assertEquals(this.calc.valInt(0), instantiate(summary, this.calc.valInt(-3), this.calc.valInt(0), this.calc.valInt(10)));
+        assertEquals(this.calc.valInt(4), instantiate(summary, this.calc.valInt(4), this.calc.valInt(0), this.calc.valInt(10)));
+        assertEquals(this.calc.valInt(10), instantiate(summary, this.calc.valInt(12), this.calc.valInt(0), this.calc.valInt(10)));
+    }
+
+    @Test
+    public void testClampSymbolic() throws Exception {
+        final MethodSummarizer.Summary summary = summarize("clamp", "(III)I");
+        final Term x = this.calc.valTerm('I', "x");
+        final Term lo = this.calc.valTerm('I', "lo");
+        final Term hi = this.calc.valTerm('I', "hi");
+        final Primitive result = instantiate(summary, x, lo, hi);
+        assertTrue(isIte(result));
+        final Value[] args = ((PrimitiveSymbolicApply) result).getArgs();
+        assertTrue(isIte(args[1]) || isIte(args[2]));
+    }
+
+    @Test
+    public void testClampInfeasibleBranchesArePruned() throws Exception {
+        //under the current assumptions all the paths but the
+        //last one are infeasible: no if-then-else is built
+        final MethodSummarizer.Summary summary = summarize("clamp", "(III)I");
+        final Term x = this.calc.valTerm('I', "x");
+        final Term lo = this.calc.valTerm('I', "lo");
+        final Term hi = this.calc.valTerm('I', "hi");
+        for (Primitive condition : summary.conditions) {
+            final Primitive instance = bind(summary, condition, x, lo, hi);
+            if (instance instanceof Expression) {
+                this.dec.unsat.add((Expression) instance);
+            }
+        }
+        final int last = summary.conditions.size() - 1;
+        this.dec.unsat.remove(bind(summary, summary.conditions.get(last), x, lo, hi));
+        assertEquals(bind(summary, summary.returnValues.get(last), x, lo, hi), instantiate(summary, x, lo, hi));
+    }
+
+    @Test
+    public void testCallSiteStopsQueryingWhenNothingIsPruned() throws Exception {
+        //every instantiation of clamp on symbolic parameters makes 
+        //two queries for each of its first two paths: after 
+        //MAX_INSTANTIATIONS_UNPRUNED instantiations that prune 
+        //nothing the call site stops querying, and the result
+        //does not change
+        final MethodSummarizer.Summary summary = summarize("clamp", "(III)I");
+        final Term x = this.calc.valTerm('I', "x");
+        final Term lo = this.calc.valTerm('I', "lo");
+        final Term hi = this.calc.valTerm('I', "hi");
+        final MethodSummarizer.CallSite callSite = summary.getCallSite(new Signature(ARITH, "(I)I", "loop"), 0);
+        final Primitive expected = instantiate(summary, x, lo, hi);
+        this.dec.queries = 0;
+        for (int i = 0; i < 3 * MethodSummarizer.MAX_INSTANTIATIONS_UNPRUNED; ++i) {
+            assertEquals(expected, summary.instantiate(this.calc, this.dec, this.historyPoint, new Value[] { x, lo, hi }, callSite));
+        }
+        assertEquals(4 * MethodSummarizer.MAX_INSTANTIATIONS_UNPRUNED, this.dec.queries);
+        assertFalse(callSite.shouldQuery());
+        assertSame(callSite, summary.getCallSite(new Signature(ARITH, "(I)I", "loop"), 0));
+    }
+
+    @Test
+    public void testCallSiteKeepsQueryingWhenSomethingIsPruned() throws Exception {
+        final MethodSummarizer.Summary summary = summarize("clamp", "(III)I");
+        final Term x = this.calc.valTerm('I', "x");
+        final Term lo = this.calc.valTerm('I', "lo");
+        final Term hi = this.calc.valTerm('I', "hi");
+        this.dec.unsat.add((Expression) bind(summary, summary.conditions.get(0), x, lo, hi));
+        final MethodSummarizer.CallSite callSite = new MethodSummarizer.CallSite();
+        for (int i = 0; i < 3 * MethodSummarizer.MAX_INSTANTIATIONS_UNPRUNED; ++i) {
+            summary.instantiate(this.calc, this.dec, this.historyPoint, new Value[] { x, lo, hi }, callSite);
+        }
+        assertTrue(callSite.pruned);
+        assertTrue(callSite.shouldQuery());
+    }
+
+    @Test
+    public void testCallSiteNotApplicable() throws Exception {
+        final MethodSummarizer.Summary summary = summarize("abs", "(I)I");
+        final MethodSummarizer.CallSite callSite = new MethodSummarizer.CallSite();
+        assertNull(summary.instantiate(this.calc, this.dec, this.historyPoint, new Value[] { this.calc.valLong(1L) }, callSite));
+        assertTrue(callSite.notApplicable);
+    }
+
+    @Test
+    public void testCallsOutIsNotSummarized() throws Exception {
+        assertNull(summarize("callsOut", "(I)I"));
+    }
+}
@@ -0,0 +1,52 @@
+package jbse.algo;
+
+import static jbse.bc.ClassLoaders.CLASSLOADER_APP;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import jbse.bc.ClassFile;
+import jbse.bc.ClassFileFactoryJavassist;
+import jbse.bc.ClassHierarchy;
+import jbse.bc.Classpath;
+import jbse.bc.Signature;
+import jbse.rewr.CalculatorRewriting;
+
+/**
+ * Tests that a {@link MethodSummaryStore} records the methods
+ * that cannot be summarized, so they are not analyzed again.
+ */
+public class MethodSummaryStoreTest {
+    private static final String ARITH = "arith/Arith";
+    private static final Signature LOOP = new Signature(ARITH, "(I)I", "loop");
+
+    @Test
+    public void testUnsummarizableIsRecorded() throws Exception {
+        final Classpath env = new Classpath(Paths.get("."), Paths.get("."), Collections.emptyList(), Collections.emptyList());
+        final ClassHierarchy hier = new ClassHierarchy(env, ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap());
+        final byte[] bytecode = Files.readAllBytes(Paths.get("src/test/resources/jbse/algo/testdata/arith/Arith.class"));
+        final ClassFile cf = hier.createClassFileClassDummy(CLASSLOADER_APP, ARITH, bytecode);
+        final Path dir = Files.createTempDirectory("summaries");
+        final Path file = dir.resolve("store.bin");
+        try {
+            final MethodSummaryStore store = new MethodSummaryStore(file, new CalculatorRewriting());
+            assertNull(store.get(cf, LOOP));
+            store.put(cf, LOOP, null);
+            store.save();
+
+            //another run
+            final MethodSummaryStore storeOther = new MethodSummaryStore(file, new CalculatorRewriting());
+            assertSame(MethodSummaryStore.UNSUMMARIZABLE, storeOther.get(cf, LOOP));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir.resolve("store.bin.lock"));
+            Files.delete(dir);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package jbse.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jbse.mem.State;
+import jbse.rewr.CalculatorRewriting;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.Term;
+import jbse.val.Value;
+
+/**
+ * Tests for {@link PathMerger}. The methods under analysis are
+ * in {@code arith/Arith} (see {@code src/test/resources/jbse/algo/testdata}).
+ */
+public class PathMergerTest {
+    private ArithFixture fixture;
+    private CalculatorRewriting calc;
+    private State state;
+
+    @Before
+    public void setUp() throws Exception {
+        this.fixture = new ArithFixture();
+        this.calc = this.fixture.calc;
+        this.state = this.fixture.state;
+    }
+
+    private void enter(String name, String descriptor, int pc, Value... args) throws Exception {
+        this.fixture.enter(name, descriptor, pc, args);
+    }
+
+    private static boolean isIte(Value value) {
+        return (value instanceof PrimitiveSymbolicApply && PrimitiveSymbolicApply.ITE.equals(((PrimitiveSymbolicApply) value).getOperator()));
+    }
+
+    @Test
+    public void testDiamond() throws Exception {
+        //0: iload_0; 1: ifle 11; 4: iload_1; iconst_1; iadd; istore_2; 8: goto 15;
+        //11: iload_1; iconst_1; isub; istore_2; 15: iload_2; ireturn
+        final Term x = this.calc.valTerm('I', "x");
+        final Term y = this.calc.valTerm('I', "y");
+        enter("diamond", "(II)I", 1, x, y);
+        final Primitive condition = this.calc.push(x).le(this.calc.valInt(0)).pop();
+        final PathMerger.Merge merge = PathMerger.merge(this.state, this.calc, condition, 10);
+        assertNotNull(merge);
+        assertEquals(14, merge.offset);
+        assertTrue(merge.operands.isEmpty());
+        assertEquals(Collections.singleton(2), merge.locals.keySet());
+        final Value z = merge.locals.get(2);
+        assertTrue(isIte(z));
+        final Value[] args = ((PrimitiveSymbolicApply) z).getArgs();
+        assertEquals(condition, args[0]);
+        assertEquals(this.calc.push(y).sub(this.calc.valInt(1)).pop(), args[1]);
+        assertEquals(this.calc.push(y).add(this.calc.valInt(1)).pop(), args[2]);
+    }
+
+    @Test
+    public void testIfThen() throws Exception {
+        //0: iload_0; 1: ifle 8; 4: iload_1; iconst_2; imul; istore_1; 8: iload_1; ireturn
+        final Term x = this.calc.valTerm('I', "x");
+        final Term y = this.calc.valTerm('I', "y");
+        enter("ifThen", "(II)I", 1, x, y);
+        final Primitive condition = this.calc.push(x).le(this.calc.valInt(0)).pop();
+        final PathMerger.Merge merge = PathMerger.merge(this.state, this.calc, condition, 7);
+        assertNotNull(merge);
+        assertEquals(7, merge.offset);
+        final Value yMerged = merge.locals.get(1);
+        assertTrue(isIte(yMerged));
+        final Value[] args = ((PrimitiveSymbolicApply) yMerged).getArgs();
+        assertEquals(y, args[1]);
+        assertEquals(this.calc.push(y).mul(this.calc.valInt(2)).pop(), args[2]);
+    }
+
+    @Test
+    public void testTopTestedLoopIsNotMerged() throws Exception {
+        //4: iload_2; iload_0; 6: if_icmpge 18; 9: iinc 1 2; iinc 2 1; 15: goto 4; 18: ...
+        //the fallthrough region ends with a backward goto: it is the
+        //body of a loop, and merging it would execute it at most once
+        final Term n = this.calc.valTerm('I', "n");
+        final Term i = this.calc.valTerm('I', "i");
+        enter("loop", "(I)I", 6, n);
+        this.state.setLocalVariable(1, this.calc.valInt(0));
+        this.state.setLocalVariable(2, i);
+        final Primitive condition = this.calc.push(i).ge(n).pop();
+        assertNull(PathMerger.merge(this.state, this.calc, condition, 12));
+    }
+
+    @Test
+    public void testBottomTestedLoopIsNotMerged() throws Exception {
+        //4: iinc 2 3; iinc 1 1; iload_1; iload_0; 12: if_icmplt 4
+        final Term n = this.calc.valTerm('I', "n");
+        final Term i = this.calc.valTerm('I', "i");
+        enter("doWhile", "(I)I", 12, n);
+        this.state.setLocalVariable(1, i);
+        this.state.setLocalVariable(2, this.calc.valInt(0));
+        final Primitive condition = this.calc.push(i).lt(n).pop();
+        assertNull(PathMerger.merge(this.state, this.calc, condition, -8));
+    }
+}
@@ -0,0 +1,253 @@
+package jbse.algo.meta;
+
+import static jbse.algo.Util.valueString;
+import static jbse.bc.ClassLoaders.CLASSLOADER_APP;
+import static jbse.bc.ClassLoaders.CLASSLOADER_BOOT;
+import static jbse.bc.Signatures.JAVA_ABSTRACTSTRINGBUILDER_COUNT;
+import static jbse.bc.Signatures.JAVA_ABSTRACTSTRINGBUILDER_VALUE;
+import static jbse.bc.Signatures.JAVA_CLONEABLE;
+import static jbse.bc.Signatures.JAVA_SERIALIZABLE;
+import static jbse.bc.Signatures.JAVA_STRING;
+import static jbse.bc.Signatures.JAVA_STRINGBUILDER;
+import static jbse.bc.Signatures.JAVA_STRINGBUILDER_TOSTRING;
+import static jbse.bc.Signatures.JAVA_STRING_CHARAT;
+import static jbse.bc.Signatures.JAVA_STRING_COMPARETO;
+import static jbse.bc.Signatures.JAVA_STRING_CONCAT;
+import static jbse.bc.Signatures.JAVA_STRING_EQUALS;
+import static jbse.bc.Signatures.JAVA_STRING_INDEXOF_CHAR_FROM;
+import static jbse.bc.Signatures.JAVA_STRING_INDEXOF_STRING;
+import static jbse.bc.Signatures.JAVA_STRING_SUBSTRING_BEGIN_END;
+import static jbse.bc.Signatures.JAVA_STRING_VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jbse.algo.ExecutionContext;
+import jbse.algo.InterruptException;
+import jbse.bc.ClassFile;
+import jbse.bc.ClassFileFactoryJavassist;
+import jbse.bc.Classpath;
+import jbse.bc.Signature;
+import jbse.dec.DecisionProcedureAlgorithms;
+import jbse.dec.DecisionProcedureAlwSat;
+import jbse.dec.DecisionProcedureClassInit;
+import jbse.mem.Instance;
+import jbse.mem.State;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.rules.ClassInitRulesRepo;
+import jbse.rules.TriggerRulesRepo;
+import jbse.tree.DecisionAlternativeComparators;
+import jbse.tree.StateTree.BreadthMode;
+import jbse.tree.StateTree.StateIdentificationMode;
+import jbse.val.Null;
+import jbse.val.Reference;
+import jbse.val.ReferenceConcrete;
+import jbse.val.Value;
+
+/**
+ * Tests for {@link Algo_JAVA_STRING_CONCRETEX} and its subclasses.
+ * The methods are invoked by the methods of {@code strings/Strings}
+ * (see {@code src/test/resources/jbse/algo/testdata}), whose only
+ * statements are the invocations, after the (one byte) loads of
+ * their parameters.
+ */
+public class Algo_JAVA_STRING_CONCRETEXTest {
+    private static final String STRINGS = "strings/Strings";
+
+    private CalculatorRewriting calc;
+    private ExecutionContext ctx;
+    private State state;
+    private ClassFile cf;
+
+    @Before
+    public void setUp() throws Exception {
+        final ArrayList<Path> userPaths = new ArrayList<>();
+        userPaths.add(Paths.get("src/test/resources/jbse/algo/testdata"));
+        final Classpath cp = new Classpath(Paths.get("build/classes/java/main"), Paths.get(System.getProperty("java.home", "")), Collections.emptyList(), userPaths);
+        this.calc = new CalculatorRewriting();
+        this.calc.addRewriter(new RewriterOperationOnSimplex());
+        final DecisionProcedureAlgorithms dec = new DecisionProcedureAlgorithms(new DecisionProcedureClassInit(new DecisionProcedureAlwSat(this.calc), new ClassInitRulesRepo()));
+        this.ctx = new ExecutionContext(null, true, 20, 20, true, false, false, false, false, false, null, cp, ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap(), this.calc, new DecisionAlternativeComparators(), new Signature(STRINGS, "()V", "m"), dec, StateIdentificationMode.COMPACT, BreadthMode.MORE_THAN_ONE, new TriggerRulesRepo());
+        this.state = this.ctx.createStateVirginPreInitial();
+        this.state.getClassHierarchy().loadCreateClass(CLASSLOADER_BOOT, JAVA_CLONEABLE, true); //necessary when creating strings
+        this.state.getClassHierarchy().loadCreateClass(CLASSLOADER_BOOT, JAVA_SERIALIZABLE, true); //necessary when creating strings
+        this.state.getClassHierarchy().loadCreateClass(CLASSLOADER_BOOT, JAVA_STRING, true); //necessary when creating strings
+        this.state.setPhasePostInitial();
+        this.cf = this.state.getClassHierarchy().loadCreateClass(CLASSLOADER_APP, STRINGS, true);
+    }
+
+    private void enter(String name, String descriptor, Value... args) throws Exception {
+        this.state.pushFrame(this.calc, this.cf, new Signature(STRINGS, descriptor, name), true, 0, args);
+        this.state.setProgramCounter(args.length);
+        for (Value arg : args) {
+            this.state.pushOperand(arg);
+        }
+    }
+
+    private Value invoke(Algo_JAVA_STRING_CONCRETEX algo, Signature method) throws Exception {
+        algo.setFeatures(false, false, false, false, method);
+        algo.exec(this.state, this.ctx);
+        return this.state.popOperand();
+    }
+
+    private void assertBaseLevel(Algo_JAVA_STRING_CONCRETEX algo, Signature method) throws Exception {
+        algo.setFeatures(false, false, false, false, method);
+        try {
+            algo.exec(this.state, this.ctx);
+            fail();
+        } catch (InterruptException e) {
+            //the continuation executes the base-level implementation
+            assertTrue(e.hasContinuation());
+        }
+    }
+
+    private ReferenceConcrete string(String value) throws Exception {
+        return this.state.createString(this.calc, value);
+    }
+
+    private String text(Value value) throws Exception {
+        return valueString(this.state, (Reference) value);
+    }
+
+    private Value symbol(String type, String name) throws Exception {
+        return (Value) this.state.createSymbolLocalVariable(type, type, name);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        enter("equals", "(Ljava/lang/String;Ljava/lang/Object;)Z", string("foo"), string("foo"));
+        assertEquals(this.calc.valInt(1), invoke(new Algo_JAVA_STRING_EQUALS(), JAVA_STRING_EQUALS));
+        enter("equals", "(Ljava/lang/String;Ljava/lang/Object;)Z", string("foo"), string("bar"));
+        assertEquals(this.calc.valInt(0), invoke(new Algo_JAVA_STRING_EQUALS(), JAVA_STRING_EQUALS));
+        enter("equals", "(Ljava/lang/String;Ljava/lang/Object;)Z", string("foo"), Null.getInstance());
+        assertEquals(this.calc.valInt(0), invoke(new Algo_JAVA_STRING_EQUALS(), JAVA_STRING_EQUALS));
+    }
+
+    @Test
+    public void testEqualsSymbolic() throws Exception {
+        enter("equals", "(Ljava/lang/String;Ljava/lang/Object;)Z", string("foo"), string("foo"));
+        this.state.popOperands(1);
+        this.state.pushOperand(symbol("Ljava/lang/Object;", "o"));
+        assertBaseLevel(new Algo_JAVA_STRING_EQUALS(), JAVA_STRING_EQUALS);
+    }
+
+    @Test
+    public void testCompareTo() throws Exception {
+        enter("compareTo", "(Ljava/lang/String;Ljava/lang/String;)I", string("abc"), string("abd"));
+        assertEquals(this.calc.valInt("abc".compareTo("abd")), invoke(new Algo_JAVA_STRING_COMPARETO(), JAVA_STRING_COMPARETO));
+    }
+
+    @Test
+    public void testCompareToSymbolic() throws Exception {
+        enter("compareTo", "(Ljava/lang/String;Ljava/lang/String;)I", string("abc"), string("abd"));
+        this.state.popOperands(2);
+        this.state.pushOperand(symbol("Ljava/lang/String;", "s"));
+        this.state.pushOperand(string("abd"));
+        assertBaseLevel(new Algo_JAVA_STRING_COMPARETO(), JAVA_STRING_COMPARETO);
+    }
+
+    @Test
+    public void testCharAt() throws Exception {
+        enter("charAt", "(Ljava/lang/String;I)C", string("abc"), this.calc.valInt(1));
+        assertEquals(this.calc.valChar('b'), invoke(new Algo_JAVA_STRING_CHARAT(), JAVA_STRING_CHARAT));
+    }
+
+    @Test
+    public void testCharAtSymbolicOrOutOfBounds() throws Exception {
+        enter("charAt", "(Ljava/lang/String;I)C", string("abc"), this.calc.valInt(1));
+        this.state.popOperands(1);
+        this.state.pushOperand(symbol("I", "i"));
+        assertBaseLevel(new Algo_JAVA_STRING_CHARAT(), JAVA_STRING_CHARAT);
+
+        //the base-level implementation throws the exception
+        enter("charAt", "(Ljava/lang/String;I)C", string("abc"), this.calc.valInt(3));
+        assertBaseLevel(new Algo_JAVA_STRING_CHARAT(), JAVA_STRING_CHARAT);
+    }
+
+    @Test
+    public void testIndexOf() throws Exception {
+        enter("indexOf", "(Ljava/lang/String;Ljava/lang/String;)I", string("abcbc"), string("bc"));
+        assertEquals(this.calc.valInt(1), invoke(new Algo_JAVA_STRING_INDEXOF(), JAVA_STRING_INDEXOF_STRING));
+        enter("indexOf", "(Ljava/lang/String;II)I", string("abcbc"), this.calc.valInt('c'), this.calc.valInt(3));
+        assertEquals(this.calc.valInt(4), invoke(new Algo_JAVA_STRING_INDEXOF(), JAVA_STRING_INDEXOF_CHAR_FROM));
+    }
+
+    @Test
+    public void testIndexOfSymbolic() throws Exception {
+        enter("indexOf", "(Ljava/lang/String;II)I", string("abcbc"), this.calc.valInt('c'), this.calc.valInt(3));
+        this.state.popOperands(1);
+        this.state.pushOperand(symbol("I", "from"));
+        assertBaseLevel(new Algo_JAVA_STRING_INDEXOF(), JAVA_STRING_INDEXOF_CHAR_FROM);
+    }
+
+    @Test
+    public void testSubstring() throws Exception {
+        enter("substring", "(Ljava/lang/String;II)Ljava/lang/String;", string("abcde"), this.calc.valInt(1), this.calc.valInt(3));
+        assertEquals("bc", text(invoke(new Algo_JAVA_STRING_SUBSTRING(), JAVA_STRING_SUBSTRING_BEGIN_END)));
+
+        //the whole string is the string itself
+        final ReferenceConcrete s = string("abcde");
+        enter("substring", "(Ljava/lang/String;II)Ljava/lang/String;", s, this.calc.valInt(0), this.calc.valInt(5));
+        assertSame(s, invoke(new Algo_JAVA_STRING_SUBSTRING(), JAVA_STRING_SUBSTRING_BEGIN_END));
+    }
+
+    @Test
+    public void testSubstringSymbolicOrOutOfBounds() throws Exception {
+        enter("substring", "(Ljava/lang/String;II)Ljava/lang/String;", string("abcde"), this.calc.valInt(1), this.calc.valInt(3));
+        this.state.popOperands(1);
+        this.state.pushOperand(symbol("I", "end"));
+        assertBaseLevel(new Algo_JAVA_STRING_SUBSTRING(), JAVA_STRING_SUBSTRING_BEGIN_END);
+
+        //the base-level implementation throws the exception
+        enter("substring", "(Ljava/lang/String;II)Ljava/lang/String;", string("abcde"), this.calc.valInt(3), this.calc.valInt(1));
+        assertBaseLevel(new Algo_JAVA_STRING_SUBSTRING(), JAVA_STRING_SUBSTRING_BEGIN_END);
+    }
+
+    @Test
+    public void testConcat() throws Exception {
+        enter("concat", "(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/String;", string("foo"), string("bar"));
+        assertEquals("foobar", text(invoke(new Algo_JAVA_STRING_CONCAT(), JAVA_STRING_CONCAT)));
+
+        //concatenating the empty string yields the string itself
+        final ReferenceConcrete s = string("foo");
+        enter("concat", "(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/String;", s, string(""));
+        assertSame(s, invoke(new Algo_JAVA_STRING_CONCAT(), JAVA_STRING_CONCAT));
+    }
+
+    @Test
+    public void testConcatSymbolic() throws Exception {
+        enter("concat", "(Ljava/lang/String;Ljava/lang/String;)Ljava/lang/String;", string("foo"), string("bar"));
+        this.state.popOperands(1);
+        this.state.pushOperand(symbol("Ljava/lang/String;", "t"));
+        assertBaseLevel(new Algo_JAVA_STRING_CONCAT(), JAVA_STRING_CONCAT);
+    }
+
+    @Test
+    public void testStringBuilderToString() throws Exception {
+        final ClassFile cf_JAVA_STRINGBUILDER = this.state.getClassHierarchy().loadCreateClass(CLASSLOADER_BOOT, JAVA_STRINGBUILDER, true);
+        final ReferenceConcrete sb = this.state.createInstance(this.calc, cf_JAVA_STRINGBUILDER);
+        final Instance sbObject = (Instance) this.state.getObject(sb);
+
+        //the buffer is longer than the content
+        final Value buffer = ((Instance) this.state.getObject(string("hello!!"))).getFieldValue(JAVA_STRING_VALUE);
+        sbObject.setFieldValue(JAVA_ABSTRACTSTRINGBUILDER_VALUE, buffer);
+        sbObject.setFieldValue(JAVA_ABSTRACTSTRINGBUILDER_COUNT, this.calc.valInt(5));
+        enter("toString", "(Ljava/lang/StringBuilder;)Ljava/lang/String;", sb);
+        assertEquals("hello", text(invoke(new Algo_JAVA_STRINGBUILDER_TOSTRING(), JAVA_STRINGBUILDER_TOSTRING)));
+
+        //symbolic count
+        sbObject.setFieldValue(JAVA_ABSTRACTSTRINGBUILDER_COUNT, symbol("I", "count"));
+        enter("toString", "(Ljava/lang/StringBuilder;)Ljava/lang/String;", sb);
+        assertBaseLevel(new Algo_JAVA_STRINGBUILDER_TOSTRING(), JAVA_STRINGBUILDER_TOSTRING);
+    }
+}
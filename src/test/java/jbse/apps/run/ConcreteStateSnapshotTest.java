@@ -0,0 +1,50 @@
+package jbse.apps.run;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import jbse.bc.Signature;
+
+/**
+ * Tests that a {@link ConcreteStateSnapshot} saved to a file
+ * records the parameters of the concrete execution that took
+ * it, so that a stale snapshot file can be detected.
+ */
+public class ConcreteStateSnapshotTest {
+    private static final Signature TARGET = new Signature("smalldemos/ifx/IfExample", "(I)V", "m");
+    private static final Signature STOP = new Signature("smalldemos/ifx/IfExample", "()V", "entry");
+    private static final List<Path> CLASSPATH = Arrays.asList(Paths.get("bin"), Paths.get("lib/a.jar"));
+
+    @Test
+    public void testSavedSnapshotMatches() throws Exception {
+        final ConcreteStateSnapshot snapshot = new ConcreteStateSnapshot(TARGET, STOP, 2, CLASSPATH);
+        snapshot.putRootLocal("x", 42);
+        final Path file = Files.createTempFile("snapshot", ".bin");
+        try {
+            snapshot.save(file);
+            final ConcreteStateSnapshot loaded = ConcreteStateSnapshot.load(file);
+            assertNull(loaded.mismatch(TARGET, STOP, 2, CLASSPATH));
+            assertEquals(42, loaded.getRootLocal("x"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMismatches() throws Exception {
+        final ConcreteStateSnapshot snapshot = new ConcreteStateSnapshot(TARGET, STOP, 2, CLASSPATH);
+        assertNotNull(snapshot.mismatch(STOP, STOP, 2, CLASSPATH));
+        assertNotNull(snapshot.mismatch(TARGET, TARGET, 2, CLASSPATH));
+        assertNotNull(snapshot.mismatch(TARGET, STOP, 1, CLASSPATH));
+        assertNotNull(snapshot.mismatch(TARGET, STOP, 2, Arrays.asList(Paths.get("bin"))));
+    }
+}
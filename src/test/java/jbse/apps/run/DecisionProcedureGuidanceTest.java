@@ -0,0 +1,131 @@
+package jbse.apps.run;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jbse.bc.Signature;
+import jbse.mem.State;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.tree.DecisionAlternative_IFX;
+import jbse.val.HistoryPoint;
+import jbse.val.Primitive;
+import jbse.val.PrimitiveSymbolicApply;
+import jbse.val.ReferenceSymbolic;
+import jbse.val.SymbolFactory;
+import jbse.val.Symbolic;
+
+/**
+ * Tests for the evaluation of symbolic values in the
+ * concrete state by {@link DecisionProcedureGuidance.JVM}.
+ */
+public class DecisionProcedureGuidanceTest {
+    /**
+     * A {@link DecisionProcedureGuidance.JVM} whose concrete
+     * state is a map from symbols to values.
+     */
+    private static final class JVMMap extends DecisionProcedureGuidance.JVM {
+        final HashMap<Symbolic, Object> values = new HashMap<>();
+
+        JVMMap(CalculatorRewriting calc) throws GuidanceException {
+            super(calc, null, null, 1);
+        }
+
+        @Override
+        public String typeOfObject(ReferenceSymbolic origin) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isNull(ReferenceSymbolic origin) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean areAlias(ReferenceSymbolic first, ReferenceSymbolic second) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object getValue(Symbolic origin) {
+            return this.values.get(origin);
+        }
+
+        @Override
+        protected void step(State state) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected Signature getCurrentMethodSignature() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected int getCurrentProgramCounter() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private CalculatorRewriting calc;
+    private JVMMap jvm;
+    private Primitive x, y;
+
+    @Before
+    public void setUp() throws Exception {
+        this.calc = new CalculatorRewriting();
+        this.calc.addRewriter(new RewriterOperationOnSimplex());
+        this.jvm = new JVMMap(this.calc);
+        final SymbolFactory symbolFactory = new SymbolFactory();
+        final HistoryPoint historyPoint = HistoryPoint.startingPreInitial(true).startingInitial();
+        this.x = symbolFactory.createSymbolLocalVariablePrimitive(historyPoint, "I", "x");
+        this.y = symbolFactory.createSymbolLocalVariablePrimitive(historyPoint, "I", "y");
+    }
+
+    /**
+     * Builds the value of {@code z} after the merged paths of
+     * {@code if (x <= 0) z = y - 1; else z = y + 1;}.
+     */
+    private Primitive mergedDiamond() throws Exception {
+        final Primitive condition = this.calc.push(this.x).le(this.calc.valInt(0)).pop();
+        final Primitive valueThen = this.calc.push(this.y).sub(this.calc.valInt(1)).pop();
+        final Primitive valueElse = this.calc.push(this.y).add(this.calc.valInt(1)).pop();
+        return this.calc.applyFunctionPrimitiveAndPop('I', HistoryPoint.unknown(), PrimitiveSymbolicApply.ITE, condition, valueThen, valueElse);
+    }
+
+    @Test
+    public void testIteThenBranch() throws Exception {
+        this.jvm.values.put((Symbolic) this.x, this.calc.valInt(-3));
+        this.jvm.values.put((Symbolic) this.y, this.calc.valInt(10));
+        final Primitive z = mergedDiamond();
+        final Primitive condition = this.calc.push(z).eq(this.calc.valInt(9)).pop();
+        assertEquals(this.calc.valBoolean(true), this.jvm.eval_IFX(DecisionAlternative_IFX.toNonconcrete(true), condition));
+    }
+
+    @Test
+    public void testIteElseBranch() throws Exception {
+        this.jvm.values.put((Symbolic) this.x, this.calc.valInt(5));
+        this.jvm.values.put((Symbolic) this.y, this.calc.valInt(10));
+        final Primitive z = mergedDiamond();
+        final Primitive condition = this.calc.push(z).eq(this.calc.valInt(11)).pop();
+        assertEquals(this.calc.valBoolean(true), this.jvm.eval_IFX(DecisionAlternative_IFX.toNonconcrete(true), condition));
+        assertEquals(this.calc.valBoolean(false), this.jvm.eval_IFX(DecisionAlternative_IFX.toNonconcrete(false), condition));
+    }
+
+    @Test
+    public void testIteNestedInIte() throws Exception {
+        //a chain of if-then-else, as built when the paths of
+        //a summarized method are joined
+        this.jvm.values.put((Symbolic) this.x, this.calc.valInt(0));
+        this.jvm.values.put((Symbolic) this.y, this.calc.valInt(7));
+        final Primitive inner = mergedDiamond();
+        final Primitive outer = this.calc.applyFunctionPrimitiveAndPop('I', HistoryPoint.unknown(), PrimitiveSymbolicApply.ITE,
+                                                                       this.calc.push(this.y).gt(this.calc.valInt(100)).pop(), this.calc.valInt(0), inner);
+        final Primitive condition = this.calc.push(outer).eq(this.calc.valInt(6)).pop();
+        assertEquals(this.calc.valBoolean(true), this.jvm.eval_IFX(DecisionAlternative_IFX.toNonconcrete(true), condition));
+    }
+}
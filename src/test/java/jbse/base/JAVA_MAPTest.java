@@ -0,0 +1,272 @@
+package jbse.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for the index of the concrete keys of a {@link JAVA_MAP}
+ * by hash code. After each operation every node in the chain
+ * of the map with an indexable key must be linked in the bucket
+ * of its hash code, and the lookups must give the same results
+ * as a {@link HashMap}. Only concrete maps, and initial maps
+ * refined without branching, are tested, since the other
+ * operations need the meta-level implementation of the
+ * native methods.
+ */
+public class JAVA_MAPTest {
+    /**
+     * A key with a fixed hash code, so that
+     * many keys end up in the same bucket.
+     */
+    private static final class Colliding {
+        private final int id;
+
+        Colliding(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return (obj instanceof Colliding && ((Colliding) obj).id == this.id);
+        }
+    }
+
+    private static Object get(Object o, String name) throws Exception {
+        Class<?> c = o.getClass();
+        while (true) {
+            try {
+                final Field f = c.getDeclaredField(name);
+                f.setAccessible(true);
+                return f.get(o);
+            } catch (NoSuchFieldException e) {
+                c = c.getSuperclass();
+                if (c == null) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void set(Object o, String name, Object value) throws Exception {
+        final Field f = JAVA_MAP.class.getDeclaredField(name);
+        f.setAccessible(true);
+        f.set(o, value);
+    }
+
+    private static void invoke(JAVA_MAP<?, ?> map, String name, Object... args) throws Exception {
+        for (Method m : JAVA_MAP.class.getDeclaredMethods()) {
+            if (m.getName().equals(name)) {
+                m.setAccessible(true);
+                m.invoke(map, args);
+                return;
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    private static List<Object> chain(JAVA_MAP<?, ?> map) throws Exception {
+        final ArrayList<Object> retVal = new ArrayList<>();
+        for (Object n = get(map, "root"); n.getClass().getSimpleName().equals("NodePair"); n = get(n, "next")) {
+            retVal.add(n);
+        }
+        return retVal;
+    }
+
+    /**
+     * Checks that the back links, the node count and the index
+     * are consistent with the chain: all the nodes with a nonnull
+     * key are indexed, each one in the bucket of its hash code,
+     * and the buckets contain only nodes in the chain.
+     */
+    private static void assertIndexConsistent(JAVA_MAP<?, ?> map) throws Exception {
+        final List<Object> chain = chain(map);
+        assertEquals(chain.size(), get(map, "numNodes"));
+        final IdentityHashMap<Object, Object> inChain = new IdentityHashMap<>();
+        Object prev = null;
+        int numIndexed = 0;
+        for (Object np : chain) {
+            assertSame(prev, get(np, "prev"));
+            prev = np;
+            inChain.put(np, np);
+            final Object key = get(np, "key");
+            assertEquals(key != null, get(np, "indexed"));
+            if (key != null) {
+                ++numIndexed;
+                assertEquals(key.hashCode(), get(np, "hash"));
+            }
+        }
+        assertEquals(numIndexed, get(map, "numIndexed"));
+        final Object[] table = (Object[]) get(map, "table");
+        if (table == null) {
+            assertEquals(0, numIndexed);
+            return;
+        }
+        assertEquals(0, table.length & (table.length - 1)); //power of two
+        int numInBuckets = 0;
+        for (int bucket = 0; bucket < table.length; ++bucket) {
+            for (Object np = table[bucket]; np != null; np = get(np, "nextInBucket")) {
+                ++numInBuckets;
+                assertTrue("node in a bucket but not in the chain", inChain.containsKey(np));
+                final int hash = (Integer) get(np, "hash");
+                assertEquals(bucket, (hash ^ (hash >>> 16)) & (table.length - 1));
+            }
+        }
+        assertEquals(numIndexed, numInBuckets);
+    }
+
+    private static <K, V> void assertSameContent(Map<K, V> expected, JAVA_MAP<K, V> map) throws Exception {
+        assertIndexConsistent(map);
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<K, V> e : expected.entrySet()) {
+            assertTrue(map.containsKey(e.getKey()));
+            assertEquals(e.getValue(), map.get(e.getKey()));
+        }
+        assertEquals(expected.entrySet(), map.entrySet());
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+
+    @Test
+    public void testManyKeysResizeTheIndex() throws Exception {
+        final JAVA_MAP<Integer, String> map = new JAVA_MAP<>();
+        final HashMap<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < 100; ++i) {
+            assertNull(map.put(i * 31, "v" + i));
+            expected.put(i * 31, "v" + i);
+        }
+        assertSameContent(expected, map);
+        assertTrue(((Object[]) get(map, "table")).length >= 128);
+        for (int i = 0; i < 100; ++i) {
+            assertFalse(map.containsKey(i * 31 + 1));
+            assertNull(map.get(i * 31 + 1));
+        }
+    }
+
+    @Test
+    public void testPutOverwritesAndKeepsOrder() throws Exception {
+        final JAVA_MAP<String, Integer> map = new JAVA_MAP<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        assertEquals(Integer.valueOf(2), map.put(new String("b"), 20)); //equal, but not the same, key
+        final HashMap<String, Integer> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put("b", 20);
+        expected.put("c", 3);
+        assertSameContent(expected, map);
+        assertEquals(3, chain(map).size());
+        final ArrayList<String> keys = new ArrayList<>(map.keySet());
+        assertEquals(3, keys.size());
+        assertEquals("c", keys.get(0)); //nodes are added at the head of the chain
+        assertEquals("b", keys.get(1));
+        assertEquals("a", keys.get(2));
+    }
+
+    @Test
+    public void testCollidingKeys() throws Exception {
+        final JAVA_MAP<Colliding, Integer> map = new JAVA_MAP<>();
+        final HashMap<Colliding, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20; ++i) {
+            map.put(new Colliding(i), i);
+            expected.put(new Colliding(i), i);
+        }
+        assertSameContent(expected, map);
+
+        //removes from the head, the middle and the tail of the bucket
+        for (int i : new int[] { 19, 10, 0 }) {
+            assertEquals(Integer.valueOf(i), map.remove(new Colliding(i)));
+            expected.remove(new Colliding(i));
+            assertSameContent(expected, map);
+            assertFalse(map.containsKey(new Colliding(i)));
+        }
+        assertNull(map.remove(new Colliding(10)));
+    }
+
+    @Test
+    public void testNullKeyIsNotIndexed() throws Exception {
+        final JAVA_MAP<String, Integer> map = new JAVA_MAP<>();
+        map.put("a", 1);
+        map.put(null, 0);
+        map.put("b", 2);
+        final HashMap<String, Integer> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put(null, 0);
+        expected.put("b", 2);
+        assertSameContent(expected, map);
+        assertEquals(2, get(map, "numIndexed"));
+
+        //not all the nodes are indexed: the lookup of an
+        //absent key also scans the nodes that are not
+        assertNull(map.get("c"));
+        assertEquals(Integer.valueOf(0), map.remove(null));
+        expected.remove(null);
+        assertSameContent(expected, map);
+        assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    public void testRemoveAndClear() throws Exception {
+        final JAVA_MAP<Integer, Integer> map = new JAVA_MAP<>();
+        final HashMap<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 30; ++i) {
+            map.put(i, i);
+            expected.put(i, i);
+        }
+        for (int i = 0; i < 30; i += 3) {
+            assertEquals(Integer.valueOf(i), map.remove(i));
+            expected.remove(i);
+        }
+        assertSameContent(expected, map);
+        assertTrue(((List<?>) get(map, "absentKeys")).isEmpty()); //concrete maps do not record removed keys
+
+        //removed keys can be added again
+        map.put(3, 33);
+        expected.put(3, 33);
+        assertSameContent(expected, map);
+
+        map.clear();
+        assertSameContent(new HashMap<>(), map);
+        map.put(7, 7);
+        expected.clear();
+        expected.put(7, 7);
+        assertSameContent(expected, map);
+    }
+
+    @Test
+    public void testRefinedInitialMapIsIndexed() throws Exception {
+        //makes an initial map by hand, and refines it as the
+        //meta-level implementation of refineOnKeyAndBranch does
+        final JAVA_MAP<Integer, String> map = new JAVA_MAP<>();
+        set(map, "isInitial", true);
+        set(map, "absentValues", new ArrayList<>());
+        set(map, "size", 25);
+        for (int i = 0; i < 20; ++i) {
+            invoke(map, "refineIn", i, "v" + i);
+        }
+        invoke(map, "refineOutKey", 100);
+        assertIndexConsistent(map);
+        for (int i = 0; i < 20; ++i) {
+            assertTrue(map.containsKey(i));
+            assertEquals("v" + i, map.get(i));
+        }
+        assertFalse(map.containsKey(100));
+        assertNull(map.get(100));
+    }
+}
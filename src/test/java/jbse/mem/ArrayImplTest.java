@@ -0,0 +1,319 @@
+package jbse.mem;
+
+import static jbse.bc.ClassLoaders.CLASSLOADER_BOOT;
+import static jbse.bc.Signatures.JAVA_CLONEABLE;
+import static jbse.bc.Signatures.JAVA_OBJECT;
+import static jbse.bc.Signatures.JAVA_SERIALIZABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jbse.bc.ClassFile;
+import jbse.bc.ClassFileFactoryJavassist;
+import jbse.bc.ClassHierarchy;
+import jbse.bc.Classpath;
+import jbse.dec.DecisionProcedureAlgorithms;
+import jbse.dec.DecisionProcedureAlwSat;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.tree.StateTree;
+import jbse.tree.StateTree.BreadthMode;
+import jbse.tree.StateTree.StateIdentificationMode;
+import jbse.val.HistoryPoint;
+import jbse.val.Primitive;
+import jbse.val.Simplex;
+import jbse.val.SymbolFactory;
+import jbse.val.Term;
+import jbse.val.Value;
+
+/**
+ * Tests for the index of the entries of an {@link ArrayImpl} by
+ * concrete index. After each operation every entry whose access
+ * condition is a point equality must be indexed, and reading at
+ * a concrete index through the index must give the same values
+ * as scanning all the entries. Also tests that {@link ArrayImpl#fill}
+ * describes the filled range with one entry.
+ */
+public class ArrayImplTest {
+    private static final int LENGTH = 8;
+
+    private CalculatorRewriting calc;
+    private DecisionProcedureAlgorithms dec;
+    private HistoryPoint historyPoint;
+    private ClassHierarchy hier;
+    private ClassFile cfIntArray;
+
+    @Before
+    public void setUp() throws Exception {
+        this.calc = new CalculatorRewriting();
+        this.calc.addRewriter(new RewriterOperationOnSimplex());
+        this.dec = new DecisionProcedureAlgorithms(new DecisionProcedureAlwSat(this.calc));
+        final StateTree tree = new StateTree(StateIdentificationMode.COMPACT, BreadthMode.MORE_THAN_ONE);
+        this.historyPoint = tree.getPreInitialHistoryPoint().startingInitial();
+        final State state = new State(true, this.historyPoint, 100, 100, new Classpath(Paths.get("."), Paths.get("."), Collections.emptyList(), Collections.emptyList()), ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap(), new SymbolFactory());
+        this.hier = state.getClassHierarchy();
+
+        //an array classfile refers java.lang.Object, Cloneable and
+        //Serializable, that are taken from the running JVM
+        for (String className : new String[] { JAVA_OBJECT, JAVA_CLONEABLE, JAVA_SERIALIZABLE }) {
+            final ClassFile cfDummy = this.hier.createClassFileClassDummy(CLASSLOADER_BOOT, className, bytecode(className));
+            this.hier.addClassFileClassArray(CLASSLOADER_BOOT, this.hier.createClassFileClass(cfDummy, null, new ClassFile[0]));
+        }
+        this.cfIntArray = this.hier.createClassFileArray("[I", this.hier.getClassFilePrimitiveOrVoid("int"));
+    }
+
+    private static byte[] bytecode(String className) throws IOException {
+        try (final InputStream in = Object.class.getResourceAsStream("/" + className + ".class")) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[4096];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private ArrayImpl newArray(int maxSimpleArrayLength) throws Exception {
+        return new ArrayImpl(this.calc, false, false, null, this.calc.valInt(LENGTH), this.cfIntArray, null, this.historyPoint, false, maxSimpleArrayLength);
+    }
+
+    /**
+     * Stores a value in an array as {@code *astore} does
+     * (see {@link jbse.algo.Util#storeInArray}).
+     */
+    private void store(ArrayImpl a, Primitive index, Value value) throws Exception {
+        if (a.hasSimpleRep() && index instanceof Simplex) {
+            a.setFast((Simplex) index, value);
+        } else {
+            this.dec.constrainArrayForSet(this.hier, a.entriesPossiblyAffectedByAccess(this.calc, index, value), index);
+            a.set(this.calc, index, value);
+        }
+    }
+
+    private void store(ArrayImpl a, int index, int value) throws Exception {
+        store(a, this.calc.valInt(index), this.calc.valInt(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T field(ArrayImpl a, String name) throws Exception {
+        final Field f = ArrayImpl.class.getDeclaredField(name);
+        f.setAccessible(true);
+        return (T) f.get(a);
+    }
+
+    /**
+     * Checks that all the entries with a point index are indexed,
+     * that no two entries have the same point index, and that
+     * the nonstale indexed entries are entries of the array.
+     */
+    private static void assertIndexConsistent(ArrayImpl a) throws Exception {
+        final List<ArrayImpl.AccessOutcomeInImpl> entries = field(a, "entries");
+        final HashMap<Integer, ArrayImpl.AccessOutcomeInImpl> entriesByIndex = field(a, "entriesByIndex");
+        if (a.hasSimpleRep()) {
+            return;
+        }
+        final HashMap<Integer, ArrayImpl.AccessOutcomeInImpl> seen = new HashMap<>();
+        for (ArrayImpl.AccessOutcomeInImpl e : entries) {
+            if (e.pointIndex != null) {
+                assertFalse("two entries at index " + e.pointIndex, seen.containsKey(e.pointIndex));
+                seen.put(e.pointIndex, e);
+                assertSame("entry at index " + e.pointIndex, e, entriesByIndex.get(e.pointIndex));
+            }
+        }
+        for (Map.Entry<Integer, ArrayImpl.AccessOutcomeInImpl> ie : entriesByIndex.entrySet()) {
+            final ArrayImpl.AccessOutcomeInImpl e = ie.getValue();
+            if (ie.getKey().equals(e.pointIndex)) {
+                assertTrue("indexed entry at " + ie.getKey() + " not in the array", entries.stream().anyMatch(x -> x == e));
+            }
+        }
+    }
+
+    /**
+     * Returns the values that a read at a concrete index
+     * may yield, by scanning all the entries.
+     */
+    private List<Value> scan(ArrayImpl a, int index) throws Exception {
+        final ArrayList<Value> retVal = new ArrayList<>();
+        final Iterator<? extends Array.AccessOutcomeIn> it = a.entries();
+        while (it.hasNext()) {
+            final Array.AccessOutcomeIn e = it.next();
+            if (!e.inRange(this.calc, this.calc.valInt(index)).surelyFalse()) {
+                retVal.add(((Array.AccessOutcomeInValue) e).getValue());
+            }
+        }
+        return retVal;
+    }
+
+    private List<Value> get(ArrayImpl a, int index) throws Exception {
+        final ArrayList<Value> retVal = new ArrayList<>();
+        final Collection<Array.AccessOutcome> outcomes = a.get(this.calc, this.calc.valInt(index));
+        for (Array.AccessOutcome o : outcomes) {
+            retVal.add(((Array.AccessOutcomeInValue) o).getValue());
+        }
+        return retVal;
+    }
+
+    private void assertReads(ArrayImpl a, int... expected) throws Exception {
+        assertIndexConsistent(a);
+        for (int i = 0; i < LENGTH; ++i) {
+            assertEquals("index " + i, Collections.singletonList(this.calc.valInt(expected[i])), get(a, i));
+            if (!a.hasSimpleRep()) {
+                assertEquals("index " + i, scan(a, i), get(a, i));
+            }
+        }
+    }
+
+    @Test
+    public void testConcreteStores() throws Exception {
+        final ArrayImpl a = newArray(0);
+        assertFalse(a.hasSimpleRep());
+        store(a, 3, 7);
+        store(a, 5, 9);
+        store(a, 3, 8);
+        assertReads(a, 0, 0, 0, 8, 0, 9, 0, 0);
+        assertEquals(3, a.values().size()); //the initial entry and one per written index
+    }
+
+    @Test
+    public void testSymbolicStoreMakesPointEntriesStale() throws Exception {
+        final ArrayImpl a = newArray(0);
+        store(a, 2, 4);
+        final Term i = this.calc.valTerm('I', "i");
+        store(a, i, this.calc.valInt(6));
+        assertIndexConsistent(a);
+        //the entry at 2 now also requires i != 2: reads at 2
+        //must scan all the entries
+        assertEquals(scan(a, 2), get(a, 2));
+        assertEquals(2, get(a, 2).size());
+        store(a, 2, 5);
+        assertIndexConsistent(a);
+        assertEquals(scan(a, 2), get(a, 2));
+        assertEquals(Collections.singletonList(this.calc.valInt(5)), get(a, 2));
+    }
+
+    @Test
+    public void testDropSimpleRepIndexesEntries() throws Exception {
+        final ArrayImpl a = newArray(LENGTH);
+        assertTrue(a.hasSimpleRep());
+        store(a, 1, 3);
+        store(a, 6, 2);
+        final Term i = this.calc.valTerm('I', "i");
+        store(a, i, this.calc.valInt(1));
+        assertFalse(a.hasSimpleRep());
+        assertIndexConsistent(a);
+        store(a, 6, 4);
+        assertIndexConsistent(a);
+        assertEquals(scan(a, 6), get(a, 6));
+        assertEquals(Collections.singletonList(this.calc.valInt(4)), get(a, 6));
+    }
+
+    @Test
+    public void testCloneHasItsOwnIndex() throws Exception {
+        final ArrayImpl a = newArray(0);
+        store(a, 4, 1);
+        final ArrayImpl b = a.clone();
+        store(b, 4, 2);
+        store(b, 0, 3);
+        assertReads(a, 0, 0, 0, 0, 1, 0, 0, 0);
+        assertReads(b, 3, 0, 0, 0, 2, 0, 0, 0);
+    }
+
+    @Test
+    public void testCloneEntriesReindexes() throws Exception {
+        final ArrayImpl a = newArray(0);
+        store(a, 7, 5);
+        final ArrayImpl b = newArray(0);
+        store(b, 2, 6);
+        b.cloneEntries(a, this.calc);
+        assertReads(b, 0, 0, 0, 0, 0, 0, 0, 5);
+        store(b, 7, 1);
+        assertReads(b, 0, 0, 0, 0, 0, 0, 0, 1);
+        assertReads(a, 0, 0, 0, 0, 0, 0, 0, 5);
+    }
+
+    @Test
+    public void testArraycopy() throws Exception {
+        final ArrayImpl src = newArray(0);
+        for (int i = 0; i < LENGTH; ++i) {
+            store(src, i, 10 + i);
+        }
+        final ArrayImpl dest = newArray(0);
+        store(dest, 0, 1);
+        store(dest, 3, 2);
+        final Iterator<? extends Array.AccessOutcomeIn> it = dest.arraycopy(this.calc, src, this.calc.valInt(1), this.calc.valInt(2), this.calc.valInt(3), null);
+        this.dec.completeArraycopy(it, this.calc.valInt(1), this.calc.valInt(2), this.calc.valInt(3));
+        assertReads(dest, 1, 0, 11, 12, 13, 0, 0, 0);
+    }
+
+    private void fill(ArrayImpl a, Primitive fromIndex, Primitive toIndex, int value) throws Exception {
+        this.dec.completeFill(a.fill(this.calc, fromIndex, toIndex, this.calc.valInt(value)));
+    }
+
+    private void fill(ArrayImpl a, int fromIndex, int toIndex, int value) throws Exception {
+        fill(a, this.calc.valInt(fromIndex), this.calc.valInt(toIndex), value);
+    }
+
+    @Test
+    public void testFillSimpleRep() throws Exception {
+        final ArrayImpl a = newArray(LENGTH);
+        store(a, 3, 1);
+        fill(a, 2, 5, 7);
+        assertTrue(a.hasSimpleRep());
+        assertReads(a, 0, 0, 7, 7, 7, 0, 0, 0);
+    }
+
+    @Test
+    public void testFillMakesOneRangeEntry() throws Exception {
+        final ArrayImpl a = newArray(0);
+        store(a, 1, 3);
+        store(a, 4, 5);
+        fill(a, 2, 6, 9);
+        assertReads(a, 0, 3, 9, 9, 9, 9, 0, 0);
+        assertEquals(3, a.values().size()); //the initial entry, the entry at 1 and the range entry
+
+        //stores inside the range take precedence over the fill
+        store(a, 3, 1);
+        assertReads(a, 0, 3, 9, 1, 9, 9, 0, 0);
+        assertEquals(4, a.values().size());
+    }
+
+    @Test
+    public void testFillWholeArray() throws Exception {
+        final ArrayImpl a = newArray(0);
+        store(a, 1, 3);
+        store(a, this.calc.valTerm('I', "i"), this.calc.valInt(2));
+        fill(a, 0, LENGTH, 6);
+        assertReads(a, 6, 6, 6, 6, 6, 6, 6, 6);
+        assertEquals(1, a.values().size());
+    }
+
+    @Test
+    public void testFillSymbolicRange() throws Exception {
+        final ArrayImpl a = newArray(LENGTH);
+        store(a, 5, 4);
+        fill(a, this.calc.valTerm('I', "from"), this.calc.valTerm('I', "to"), 8);
+        assertFalse(a.hasSimpleRep());
+        assertIndexConsistent(a);
+        assertEquals(LENGTH + 1, a.values().size()); //the point entries, strengthened, and the range entry
+        assertEquals(scan(a, 5), get(a, 5));
+        assertEquals(2, get(a, 5).size()); //either filled or not
+    }
+}
@@ -0,0 +1,147 @@
+package jbse.mem;
+
+import static jbse.bc.ClassLoaders.CLASSLOADER_APP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jbse.bc.ClassFile;
+import jbse.bc.ClassFileFactoryJavassist;
+import jbse.bc.Classpath;
+import jbse.bc.Signature;
+import jbse.mem.CanonicalStateHasher.CanonicalState;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.tree.StateTree;
+import jbse.tree.StateTree.BreadthMode;
+import jbse.tree.StateTree.StateIdentificationMode;
+import jbse.val.HistoryPoint;
+import jbse.val.Primitive;
+import jbse.val.ReferenceConcrete;
+import jbse.val.Symbolic;
+import jbse.val.SymbolFactory;
+
+/**
+ * Tests for {@link CanonicalStateHasher}. The objects are instances
+ * of {@code arith/Arith} (see {@code src/test/resources/jbse/algo/testdata})
+ * with a reference field {@code next}, and the states are in its
+ * method {@code loop}.
+ */
+public class CanonicalStateHasherTest {
+    private static final String ARITH = "arith/Arith";
+    private static final Signature NEXT = new Signature(ARITH, "Ljava/lang/Object;", "next");
+
+    private CalculatorRewriting calc;
+    private HistoryPoint historyPoint;
+    private byte[] bytecode;
+    private final CanonicalStateHasher hasher = new CanonicalStateHasher();
+
+    @Before
+    public void setUp() throws Exception {
+        this.calc = new CalculatorRewriting();
+        this.calc.addRewriter(new RewriterOperationOnSimplex());
+        final StateTree tree = new StateTree(StateIdentificationMode.COMPACT, BreadthMode.MORE_THAN_ONE);
+        this.historyPoint = tree.getPreInitialHistoryPoint().startingInitial();
+        this.bytecode = Files.readAllBytes(Paths.get("src/test/resources/jbse/algo/testdata/arith/Arith.class"));
+    }
+
+    private State newState() throws Exception {
+        final State s = new State(true, this.historyPoint, 100, 100, new Classpath(Paths.get("."), Paths.get("."), Collections.emptyList(), Collections.emptyList()), ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap(), new SymbolFactory());
+        s.setPhasePostInitial();
+        final ClassFile cf = s.getClassHierarchy().createClassFileClassDummy(CLASSLOADER_APP, ARITH, this.bytecode);
+        s.ensureKlass(this.calc, cf);
+        s.pushFrame(this.calc, cf, new Signature(ARITH, "(I)I", "loop"), true, 0, this.calc.valInt(0));
+        return s;
+    }
+
+    private long newObject(State s) throws Exception {
+        final Field f = State.class.getDeclaredField("heap");
+        f.setAccessible(true);
+        final ClassFile cf = s.getCurrentClass();
+        return ((Heap) f.get(s)).addNew(new InstanceImpl_DEFAULT(this.calc, false, cf, null, this.historyPoint, 0, NEXT));
+    }
+
+    private static void link(State s, long from, long to) throws Exception {
+        s.getObject(new ReferenceConcrete(from)).setFieldValue(NEXT, new ReferenceConcrete(to));
+    }
+
+    private static Primitive symbol(State s, String name) throws Exception {
+        return (Primitive) s.createSymbolLocalVariable("I", "I", name);
+    }
+
+    private static String clause(Primitive condition) {
+        return "A:" + ((Symbolic) condition).asOriginString();
+    }
+
+    @Test
+    public void testIsomorphicHeapsHaveSameHash() throws Exception {
+        final State s1 = newState();
+        final long a1 = newObject(s1);
+        final long b1 = newObject(s1);
+        link(s1, a1, b1);
+        s1.setLocalVariable(1, new ReferenceConcrete(a1));
+
+        //same shape, at different heap positions
+        final State s2 = newState();
+        newObject(s2); //garbage
+        final long b2 = newObject(s2);
+        final long a2 = newObject(s2);
+        link(s2, a2, b2);
+        s2.setLocalVariable(1, new ReferenceConcrete(a2));
+
+        assertEquals(this.hasher.canonicalize(s1).hash, this.hasher.canonicalize(s2).hash);
+
+        //different shape
+        link(s2, b2, a2);
+        assertNotEquals(this.hasher.canonicalize(s1).hash, this.hasher.canonicalize(s2).hash);
+    }
+
+    @Test
+    public void testSymbolsAreRenderedByOrigin() throws Exception {
+        //the same symbols, created in a different order
+        final State s1 = newState();
+        final Primitive x1 = symbol(s1, "x");
+        symbol(s1, "y");
+        s1.setLocalVariable(1, x1);
+        s1.assume(this.calc.push(x1).gt(this.calc.valInt(0)).pop());
+
+        final State s2 = newState();
+        symbol(s2, "y");
+        final Primitive x2 = symbol(s2, "x");
+        s2.setLocalVariable(1, x2);
+        s2.assume(this.calc.push(x2).gt(this.calc.valInt(0)).pop());
+
+        final CanonicalState c1 = this.hasher.canonicalize(s1);
+        final CanonicalState c2 = this.hasher.canonicalize(s2);
+        assertEquals(c1.hash, c2.hash);
+        assertEquals(c1.pathCondition, c2.pathCondition);
+    }
+
+    @Test
+    public void testClausesOnSymbolsNotInTheStateAreDropped() throws Exception {
+        final State s = newState();
+        final Primitive x = symbol(s, "x");
+        final Primitive y = symbol(s, "y");
+        final Primitive z = symbol(s, "z");
+        s.setLocalVariable(1, x);
+        final Primitive xGtY = this.calc.push(x).gt(y).pop();
+        final Primitive yGt0 = this.calc.push(y).gt(this.calc.valInt(0)).pop();
+        final Primitive zGt0 = this.calc.push(z).gt(this.calc.valInt(0)).pop();
+        s.assume(yGt0); //constrains x through x > y
+        s.assume(zGt0);
+        s.assume(xGtY);
+
+        final CanonicalState c = this.hasher.canonicalize(s);
+        assertEquals(2, c.pathCondition.size());
+        assertTrue(c.pathCondition.contains(clause(xGtY)));
+        assertTrue(c.pathCondition.contains(clause(yGt0)));
+    }
+}
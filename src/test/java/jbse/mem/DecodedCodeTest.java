@@ -0,0 +1,107 @@
+package jbse.mem;
+
+import static jbse.bc.ClassLoaders.CLASSLOADER_APP;
+import static jbse.bc.Opcodes.OP_GOTO_W;
+import static jbse.bc.Opcodes.OP_ILOAD;
+import static jbse.bc.Opcodes.OP_LOOKUPSWITCH;
+import static jbse.bc.Opcodes.OP_NOP;
+import static jbse.bc.Opcodes.OP_RETURN;
+import static jbse.bc.Opcodes.OP_SIPUSH;
+import static jbse.bc.Opcodes.OP_TABLESWITCH;
+import static jbse.bc.Opcodes.OP_WIDE;
+import static jbse.common.Util.byteCat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import jbse.bc.ClassFile;
+import jbse.bc.ClassFileFactoryJavassist;
+import jbse.bc.ClassHierarchy;
+import jbse.bc.Classpath;
+import jbse.bc.Signature;
+
+/**
+ * Tests for {@link DecodedCode}: the immediates read through
+ * the decoded code must be the same as those read byte by byte,
+ * and the decoded code must be owned by its {@link ClassFile}.
+ */
+public class DecodedCodeTest {
+    private static final String CLASS_NAME = "arith/Arith";
+
+    private static ClassFile load() throws Exception {
+        final Classpath env = new Classpath(Paths.get("."), Paths.get("."), Collections.emptyList(), Collections.emptyList());
+        final ClassHierarchy hier = new ClassHierarchy(env, ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap());
+        final byte[] bytecode = Files.readAllBytes(Paths.get("src/test/resources/jbse/algo/testdata/arith/Arith.class"));
+        return hier.createClassFileClassDummy(CLASSLOADER_APP, CLASS_NAME, bytecode);
+    }
+
+    @Test
+    public void testImmediatesAsRead() throws Exception {
+        final ClassFile cf = load();
+        for (Signature sig : cf.getDeclaredMethods()) {
+            if (cf.isMethodAbstract(sig) || cf.isMethodNative(sig)) {
+                continue;
+            }
+            final byte[] code = cf.getMethodCodeBySignature(sig);
+            final DecodedCode decoded = DecodedCode.of(cf, sig);
+            for (int i = 0; i + 1 < code.length; ++i) {
+                assertEquals(sig + "@" + i, (short) byteCat(code[i], code[i + 1]), decoded.signedWord(i));
+                assertEquals(sig + "@" + i, byteCat(code[i], code[i + 1]) & 0xFFFF, decoded.unsignedWord(i));
+                if (i + 3 < code.length) {
+                    assertEquals(sig + "@" + i, byteCat(code[i], code[i + 1], code[i + 2], code[i + 3]), decoded.signedDword(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDecodesAtInstructionBoundaries() throws Exception {
+        final byte[] code = {
+            OP_NOP,
+            OP_TABLESWITCH, 0, 0,        //padding
+            0, 0, 0, 100,                //default
+            0, 0, 0, 1, 0, 0, 0, 2,      //low, high
+            0, 0, 0, -56, 0, 0, 1, 44,   //jump offsets
+            OP_SIPUSH, -1, -2,
+            OP_WIDE, OP_ILOAD, 1, 0,
+            OP_GOTO_W, -1, -1, -1, -3,
+            OP_LOOKUPSWITCH, 0, 0, 0,    //padding
+            0, 0, 0, 5, 0, 0, 0, 1,      //default, npairs
+            0, 0, 0, 7, 0, 0, 0, 9,      //match-offset pair
+            OP_RETURN
+        };
+        final DecodedCode decoded = new DecodedCode(code);
+        final Field f = DecodedCode.class.getDeclaredField("immediates");
+        f.setAccessible(true);
+        assertEquals(12, ((int[]) f.get(decoded)).length);
+        assertEquals(100, decoded.signedDword(4));
+        assertEquals(300, decoded.signedDword(20));
+        assertEquals((short) 0xFFFE, decoded.signedWord(25));
+        assertEquals(256, decoded.unsignedWord(29));
+        assertEquals(-3, decoded.signedDword(32));
+        assertEquals(9, decoded.signedDword(52));
+
+        //an immediate read with another width is read byte by byte
+        assertEquals(0, decoded.signedWord(4));
+        assertEquals((short) 0xFFFF, decoded.signedWord(32));
+    }
+
+    @Test
+    public void testOwnedByTheClassFile() throws Exception {
+        final ClassFile cf = load();
+        final Signature sig = new Signature(CLASS_NAME, "(I)I", "loop");
+        assertSame(DecodedCode.of(cf, sig), DecodedCode.of(cf, sig));
+
+        //a classfile with same name and loader, but another instance
+        final ClassFile cfOther = load();
+        assertEquals(cf, cfOther);
+        assertNotSame(DecodedCode.of(cf, sig), DecodedCode.of(cfOther, sig));
+    }
+}
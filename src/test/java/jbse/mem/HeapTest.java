@@ -0,0 +1,199 @@
+package jbse.mem;
+
+import static jbse.bc.ClassLoaders.CLASSLOADER_APP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import jbse.bc.ClassFile;
+import jbse.bc.ClassFileFactoryJavassist;
+import jbse.bc.Classpath;
+import jbse.bc.Signature;
+import jbse.rewr.CalculatorRewriting;
+import jbse.rewr.RewriterOperationOnSimplex;
+import jbse.tree.StateTree;
+import jbse.tree.StateTree.BreadthMode;
+import jbse.tree.StateTree.StateIdentificationMode;
+import jbse.val.HistoryPoint;
+import jbse.val.ReferenceConcrete;
+import jbse.val.SymbolFactory;
+
+/**
+ * Tests for the remembered set of {@link Heap} and for the young
+ * collection ({@link State#gcYoung()}), whose outcome is compared
+ * with that of the full collection ({@link State#gc()}). The objects
+ * are instances of {@code arith/Arith} (see {@code src/test/resources/jbse/algo/testdata})
+ * with a reference field {@code next}.
+ */
+public class HeapTest {
+    private static final String ARITH = "arith/Arith";
+    private static final Signature NEXT = new Signature(ARITH, "Ljava/lang/Object;", "next");
+
+    private CalculatorRewriting calc;
+    private HistoryPoint historyPoint;
+    private State state;
+    private ClassFile cf;
+
+    @Before
+    public void setUp() throws Exception {
+        this.calc = new CalculatorRewriting();
+        this.calc.addRewriter(new RewriterOperationOnSimplex());
+        final StateTree tree = new StateTree(StateIdentificationMode.COMPACT, BreadthMode.MORE_THAN_ONE);
+        this.historyPoint = tree.getPreInitialHistoryPoint().startingInitial();
+        this.state = new State(true, this.historyPoint, 100, 100, new Classpath(Paths.get("."), Paths.get("."), Collections.emptyList(), Collections.emptyList()), ClassFileFactoryJavassist.class, Collections.emptyMap(), Collections.emptyMap(), new SymbolFactory());
+        this.state.setPhasePostInitial();
+        final byte[] bytecode = Files.readAllBytes(Paths.get("src/test/resources/jbse/algo/testdata/arith/Arith.class"));
+        this.cf = this.state.getClassHierarchy().createClassFileClassDummy(CLASSLOADER_APP, ARITH, bytecode);
+        this.state.ensureKlass(this.calc, this.cf);
+        this.state.pushFrame(this.calc, this.cf, new Signature(ARITH, "(I)I", "loop"), true, 0, this.calc.valInt(0));
+    }
+
+    private static Heap heap(State s) throws Exception {
+        final Field f = State.class.getDeclaredField("heap");
+        f.setAccessible(true);
+        return (Heap) f.get(s);
+    }
+
+    private long newObject(State s) throws Exception {
+        return heap(s).addNew(new InstanceImpl_DEFAULT(this.calc, false, this.cf, null, this.historyPoint, 0, NEXT));
+    }
+
+    private static void link(State s, long from, long to) throws Exception {
+        s.getObject(new ReferenceConcrete(from)).setFieldValue(NEXT, new ReferenceConcrete(to));
+    }
+
+    private static void makeOld(State s) throws Exception {
+        heap(s).disposeYoungExcept(heap(s).youngPositions());
+    }
+
+    private static boolean alive(State s, long pos) throws Exception {
+        return s.getHeap().get(pos) != null;
+    }
+
+    /**
+     * Young-collects {@code s}, full-collects a clone of it,
+     * and checks that they dispose the same objects among
+     * {@code positions}.
+     */
+    private static void assertSameCollection(State s, long... positions) throws Exception {
+        final State sFull = s.clone();
+        sFull.gc();
+        s.gcYoung();
+        for (long pos : positions) {
+            assertEquals("object at " + pos, alive(sFull, pos), alive(s, pos));
+        }
+    }
+
+    @Test
+    public void testStoreIntoOldObjectIsRemembered() throws Exception {
+        final long a = newObject(this.state);
+        makeOld(this.state);
+        assertTrue(heap(this.state).rememberedObjects().isEmpty());
+        final long b = newObject(this.state);
+        link(this.state, a, b);
+        assertEquals(1, heap(this.state).rememberedObjects().size());
+        assertSame(this.state.getObject(new ReferenceConcrete(a)), heap(this.state).rememberedObjects().get(0));
+    }
+
+    @Test
+    public void testStoreIntoYoungObjectIsNotRemembered() throws Exception {
+        final long a = newObject(this.state);
+        final long b = newObject(this.state);
+        link(this.state, a, b);
+        assertTrue(heap(this.state).rememberedObjects().isEmpty());
+    }
+
+    @Test
+    public void testReadOfOldObjectIsNotRemembered() throws Exception {
+        final long a = newObject(this.state);
+        makeOld(this.state);
+        final State s = this.state.lazyClone();
+        s.getObject(new ReferenceConcrete(a)).getFieldValue(NEXT);
+        assertTrue(heap(s).rememberedObjects().isEmpty());
+    }
+
+    @Test
+    public void testStoreAfterLazyCloneIsRemembered() throws Exception {
+        final long a = newObject(this.state);
+        makeOld(this.state);
+        final State s = this.state.lazyClone();
+        final long b = newObject(s);
+        link(s, a, b);
+        assertEquals(1, heap(s).rememberedObjects().size());
+        assertTrue(heap(this.state).rememberedObjects().isEmpty());
+    }
+
+    @Test
+    public void testYoungCollectionEmptiesRememberedSet() throws Exception {
+        final long a = newObject(this.state);
+        this.state.setLocalVariable(1, new ReferenceConcrete(a));
+        makeOld(this.state);
+        final long b = newObject(this.state);
+        link(this.state, a, b);
+        this.state.gcYoung();
+        assertTrue(heap(this.state).rememberedObjects().isEmpty());
+        assertEquals(0, this.state.getYoungObjectsCount());
+        assertTrue(alive(this.state, b));
+    }
+
+    @Test
+    public void testYoungCollectionAgreesWithFullCollection() throws Exception {
+        //a is a root, g is old garbage
+        final long a = newObject(this.state);
+        final long g = newObject(this.state);
+        this.state.setLocalVariable(1, new ReferenceConcrete(a));
+        makeOld(this.state);
+
+        //a -> c -> d, and e is young garbage; a is modified
+        //after the lazy cloning, through its wrapper
+        final State s = this.state.lazyClone();
+        final long c = newObject(s);
+        final long d = newObject(s);
+        final long e = newObject(s);
+        link(s, a, c);
+        link(s, c, d);
+        link(s, e, d);
+        assertSameCollection(s, a, c, d, e);
+        assertTrue(alive(s, c));
+        assertTrue(alive(s, d));
+        assertFalse(alive(s, e));
+        assertTrue(alive(s, g));
+
+        //a second round, where the modified old object (d)
+        //was young in the previous one
+        final long f = newObject(s);
+        final long h = newObject(s);
+        link(s, d, f);
+        link(s, h, f);
+        assertEquals(new HashSet<>(Arrays.asList(f, h)), heap(s).youngPositions());
+        assertSameCollection(s, a, c, d, f, h);
+        assertTrue(alive(s, f));
+        assertFalse(alive(s, h));
+    }
+
+    @Test
+    public void testYoungReferredByOldGarbageSurvivesYoungCollection() throws Exception {
+        //the young collection does not trace the old objects,
+        //thus it keeps the young objects referred by old garbage
+        final long g = newObject(this.state);
+        makeOld(this.state);
+        final long y = newObject(this.state);
+        link(this.state, g, y);
+        final State sFull = this.state.clone();
+        sFull.gc();
+        this.state.gcYoung();
+        assertFalse(alive(sFull, y));
+        assertTrue(alive(this.state, y));
+    }
+}